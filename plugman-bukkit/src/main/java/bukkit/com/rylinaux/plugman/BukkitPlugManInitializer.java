@@ -32,15 +32,22 @@ import bukkit.com.rylinaux.plugman.config.BukkitPlugManConfigurationManager;
 import bukkit.com.rylinaux.plugman.messaging.BukkitColorFormatter;
 import bukkit.com.rylinaux.plugman.plugin.BukkitPlugin;
 import bukkit.com.rylinaux.plugman.pluginmanager.BukkitPluginManager;
+import bukkit.com.rylinaux.plugman.profiling.BukkitSamplingProfiler;
+import bukkit.com.rylinaux.plugman.profiling.BukkitTaskProfiler;
+import bukkit.com.rylinaux.plugman.profiling.CommandProfiler;
+import bukkit.com.rylinaux.plugman.profiling.EventProfiler;
 import bukkit.com.rylinaux.plugman.util.BukkitThreadUtil;
+import bukkit.com.rylinaux.plugman.util.PlatformScheduler;
 import core.com.rylinaux.plugman.auto.AutoFeatureManager;
 import core.com.rylinaux.plugman.config.PlugManConfigurationManager;
 import core.com.rylinaux.plugman.file.messaging.MessageFormatter;
 import core.com.rylinaux.plugman.initialization.BasePlugManInitializer;
 import core.com.rylinaux.plugman.logging.PluginLogger;
 import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.profiling.ProfilerRegistry;
 import core.com.rylinaux.plugman.services.ServiceRegistry;
 import core.com.rylinaux.plugman.util.ThreadUtil;
+import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
@@ -69,9 +76,25 @@ public class BukkitPlugManInitializer extends BasePlugManInitializer {
         return new BukkitPluginManager();
     }
 
+    @Override
+    public void initializeCoreServices() {
+        serviceRegistry.register(PlatformScheduler.class, PlatformScheduler.detect(plugin));
+        super.initializeCoreServices();
+    }
+
     @Override
     protected ThreadUtil createThreadUtil() {
-        return new BukkitThreadUtil();
+        return new BukkitThreadUtil(serviceRegistry.get(PlatformScheduler.class));
+    }
+
+    @Override
+    protected void registerProfilers(ProfilerRegistry profilers) {
+        profilers.register(new EventProfiler());
+        profilers.register(new CommandProfiler(serviceRegistry));
+
+        var folia = serviceRegistry.get(PlatformScheduler.class).isFolia();
+        if (!folia) profilers.register(new BukkitTaskProfiler(serviceRegistry.get(ThreadUtil.class)));
+        profilers.register(new BukkitSamplingProfiler(new File(getDataFolder(), "profiles"), logger, folia));
     }
 
     @Override
@@ -85,4 +108,19 @@ public class BukkitPlugManInitializer extends BasePlugManInitializer {
     protected AutoFeatureManager createAutoFeatureManager() {
         return new BukkitAutoFeatureManager(serviceRegistry);
     }
-}
\ No newline at end of file
+
+    @Override
+    protected File getUpdateFolder() {
+        return Bukkit.getUpdateFolderFile();
+    }
+
+    @Override
+    protected boolean isUpdateFolderInstalled() {
+        return true;
+    }
+
+    @Override
+    protected String getGameVersion() {
+        return Bukkit.getBukkitVersion().split("-")[0];
+    }
+}
@@ -30,11 +30,14 @@ import bukkit.com.rylinaux.plugman.commands.CommandCreator;
 import bukkit.com.rylinaux.plugman.commands.PlugManCommandHandler;
 import bukkit.com.rylinaux.plugman.commands.PlugManTabCompleter;
 import bukkit.com.rylinaux.plugman.logging.BukkitPluginLogger;
+import bukkit.com.rylinaux.plugman.profiling.StartupRecorder;
 import core.com.rylinaux.plugman.config.PlugManConfigurationManager;
 import core.com.rylinaux.plugman.file.PlugManFileManager;
+import core.com.rylinaux.plugman.profiling.StartupSampler;
 import core.com.rylinaux.plugman.services.ServiceRegistry;
 import lombok.Getter;
 import lombok.experimental.Delegate;
+import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.ApiStatus;
 
@@ -57,9 +60,16 @@ public class PlugManBukkit extends JavaPlugin {
     @ApiStatus.Internal
     public Runnable hook = () -> {
     };
+    @ApiStatus.Internal
+    public StartupSampler startupSampler;
     @Delegate
     private PlugManFileManager fileManager;
 
+    @Override
+    public void onLoad() {
+        // Worlds are only loaded after every plugin's onLoad, so this is a server startup and not a later load
+        if (startupSampler == null && Bukkit.getWorlds().isEmpty()) startupSampler = StartupSampler.start(Thread.currentThread());
+    }
 
     @Override
     public void onEnable() {
@@ -85,18 +95,22 @@ public class PlugManBukkit extends JavaPlugin {
         configurationManager.initializeConfiguration();
         fileManager.scanExistingPlugins();
 
-        // Run the platform hook (e.g. Paper/Folia) BEFORE setupAutoFeatures so
-        // that platform-specific ThreadUtil (PaperThreadUtil / FoliaLib) is
-        // already registered when auto-features schedule their repeating tasks.
+        // Run the platform hook (e.g. Paper) BEFORE setupAutoFeatures so
+        // that the platform-specific PluginManager is already registered
+        // when auto-features schedule their repeating tasks.
         hook.run();
 
         initializer.setupAutoFeatures();
+        initializer.setupUpdateScanner();
+
+        if (startupSampler != null) getServer().getPluginManager().registerEvents(new StartupRecorder(startupSampler, serviceRegistry), this);
     }
 
 
     @Override
     public void onDisable() {
         PlugManBukkit.instance = null;
+        if (startupSampler != null) startupSampler.stop(ignored -> null);
         var logger = new BukkitPluginLogger(getLogger());
         var initializer = new BukkitPlugManInitializer(this, serviceRegistry, logger);
         initializer.cleanup();
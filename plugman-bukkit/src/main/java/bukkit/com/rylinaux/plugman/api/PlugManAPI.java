@@ -27,6 +27,10 @@ package bukkit.com.rylinaux.plugman.api;
  */
 
 import bukkit.com.rylinaux.plugman.PlugManBukkit;
+import core.com.rylinaux.plugman.metrics.PlugManMetrics;
+import core.com.rylinaux.plugman.metrics.PluginResourceAccountant;
+import core.com.rylinaux.plugman.profiling.Profiler;
+import core.com.rylinaux.plugman.profiling.ProfilerRegistry;
 import lombok.experimental.UtilityClass;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
@@ -81,6 +85,40 @@ public class PlugManAPI {
         return pleaseAddMeToGentleUnload(plugin, gentleUnload);
     }
 
+    /**
+     * Get one of PlugMan's profilers, for example "events" or "tasks", to start it or read its timings
+     *
+     * @param name = The name of the profiler
+     * @return = The profiler, or null if this server does not have it
+     */
+    public static Profiler getProfiler(String name) {
+        if (PlugManBukkit.getInstance() == null) return null;
+
+        return PlugManBukkit.getInstance().get(ProfilerRegistry.class).get(name);
+    }
+
+    /**
+     * Get the counters and latency histograms of PlugMan's loads, unloads, reloads, update checks and auto feature scans
+     *
+     * @return = The metrics, or null if PlugMan is not enabled
+     */
+    public static PlugManMetrics getMetrics() {
+        if (PlugManBukkit.getInstance() == null) return null;
+
+        return PlugManBukkit.getInstance().get(PlugManMetrics.class);
+    }
+
+    /**
+     * Get the accountant of the classes, metaspace, threads, listeners, tasks and commands every plugin holds on to.
+     *
+     * @return the accountant, or null if PlugManX is not enabled
+     */
+    public static PluginResourceAccountant getResourceAccountant() {
+        if (PlugManBukkit.getInstance() == null) return null;
+
+        return PlugManBukkit.getInstance().get(PluginResourceAccountant.class);
+    }
+
     private class DummyUnload implements GentleUnload {
         @Override
         public boolean askingForGentleUnload() {
@@ -59,6 +59,10 @@ public class PlugManCommandHandler implements CommandExecutor {
             case "reload" -> new ReloadCommand(plugManSender, registry);
             case "unload" -> new UnloadCommand(plugManSender, registry);
             case "check" -> new CheckCommand(plugManSender, registry);
+            case "download" -> new DownloadCommand(plugManSender, registry);
+            case "profile" -> new ProfileCommand(plugManSender, registry);
+            case "startup" -> new StartupCommand(plugManSender, registry);
+            case "stats" -> new StatsCommand(plugManSender, registry);
             default -> new HelpCommand(plugManSender, registry);
         };
 
@@ -27,6 +27,7 @@ package bukkit.com.rylinaux.plugman.commands;
  */
 
 import bukkit.com.rylinaux.plugman.PlugManBukkit;
+import core.com.rylinaux.plugman.profiling.ProfilerRegistry;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
@@ -54,7 +55,7 @@ public class PlugManTabCompleter implements TabCompleter {
     /**
      * Valid command names.
      */
-    private static final String[] COMMANDS = {"check", "disable", "dump", "enable", "help", "info", "list", "load", "lookup", "reload", "restart", "unload", "usage"};
+    private static final String[] COMMANDS = {"check", "disable", "download", "dump", "enable", "help", "info", "list", "load", "lookup", "profile", "reload", "restart", "startup", "stats", "unload", "usage"};
 
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String label, String[] args) {
@@ -87,6 +88,7 @@ public class PlugManTabCompleter implements TabCompleter {
         switch (command) {
             case "load" -> completeLoadablePlugins(partialArg, completions);
             case "lookup" -> completeKnownCommands(partialArg, completions);
+            case "profile" -> completeProfilers(partialArg, completions);
             case "enable" -> completeDisabledPlugins(partialArg, completions);
             case "disable" -> completeEnabledPlugins(partialArg, completions);
             default -> completeAllPlugins(partialArg, completions);
@@ -154,6 +156,11 @@ public class PlugManTabCompleter implements TabCompleter {
         StringUtil.copyPartialMatches(partialCommand, commands, completions);
     }
 
+    private void completeProfilers(String partialProfiler, List<String> completions) {
+        var profilers = PlugManBukkit.getInstance().<ProfilerRegistry>get(ProfilerRegistry.class).getNames();
+        StringUtil.copyPartialMatches(partialProfiler, profilers, completions);
+    }
+
     private void completeDisabledPlugins(String partialPlugin, List<String> completions) {
         var plugins = PlugManBukkit.getInstance().getPluginManager().getDisabledPluginNames(false);
         StringUtil.copyPartialMatches(partialPlugin, plugins, completions);
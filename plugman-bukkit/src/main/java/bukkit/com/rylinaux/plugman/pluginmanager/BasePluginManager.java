@@ -28,6 +28,7 @@ package bukkit.com.rylinaux.plugman.pluginmanager;
 
 import bukkit.com.rylinaux.plugman.PlugManBukkit;
 import bukkit.com.rylinaux.plugman.api.PlugManAPI;
+import bukkit.com.rylinaux.plugman.util.PlatformScheduler;
 import core.com.rylinaux.plugman.config.PlugManConfigurationManager;
 import core.com.rylinaux.plugman.plugins.Command;
 import core.com.rylinaux.plugman.plugins.CommandMapWrap;
@@ -35,9 +36,10 @@ import core.com.rylinaux.plugman.plugins.Plugin;
 import core.com.rylinaux.plugman.plugins.PluginManager;
 import core.com.rylinaux.plugman.util.reflection.FieldAccessor;
 import org.bukkit.Bukkit;
-import org.bukkit.command.PluginCommand;
+import org.bukkit.command.PluginIdentifiableCommand;
 import org.bukkit.command.SimpleCommandMap;
 import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
 import org.bukkit.plugin.RegisteredListener;
 import org.jetbrains.annotations.ApiStatus;
 
@@ -45,8 +47,14 @@ import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.net.URLClassLoader;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -127,19 +135,6 @@ public abstract class BasePluginManager implements PluginManager {
         return null;
     }
 
-    /**
-     * Common plugin command handling logic.
-     */
-    protected void handlePluginCommand(Plugin plugin, SimpleCommandMap commandMap,
-                                       CommandMapWrap<org.bukkit.command.Command> modifiedKnownCommands,
-                                       Map.Entry<String, Command> entry) {
-        var command = (PluginCommand) entry.getValue().<org.bukkit.command.Command>getHandle();
-        var bukkitPlugin = plugin.<org.bukkit.plugin.Plugin>getHandle();
-        if (command.getPlugin() != bukkitPlugin) return;
-        command.unregister(commandMap);
-        modifiedKnownCommands.remove(entry.getKey());
-    }
-
     /**
      * Common broken command removal logic.
      */
@@ -157,7 +152,7 @@ public abstract class BasePluginManager implements PluginManager {
      * Common command loading logic.
      */
     protected synchronized void scheduleCommandLoading() {
-        Bukkit.getScheduler().runTaskLater(PlugManBukkit.getInstance(), this::syncCommands, 10L);
+        PlugManBukkit.getInstance().<PlatformScheduler>get(PlatformScheduler.class).runLater(this::syncCommands, Duration.ofMillis(500));
     }
 
 
@@ -166,6 +161,52 @@ public abstract class BasePluginManager implements PluginManager {
      */
     protected abstract void syncCommands();
 
+    /**
+     * Count commands by the plugin that owns them, or by their namespace if they do not say.
+     */
+    @Override
+    public Map<String, Integer> getCommandCounts() {
+        var knownCommands = getKnownCommands();
+        if (knownCommands == null) return null;
+
+        var commands = new HashMap<String, Set<Object>>();
+        for (var entry : knownCommands.entrySet()) {
+            var handle = entry.getValue().getHandle();
+            String owner;
+            if (handle instanceof PluginIdentifiableCommand command) owner = command.getPlugin().getName();
+            else if (entry.getKey().indexOf(':') > 0) owner = entry.getKey().substring(0, entry.getKey().indexOf(':'));
+            else continue;
+
+            commands.computeIfAbsent(owner.toLowerCase(Locale.ROOT), ignored -> Collections.newSetFromMap(new IdentityHashMap<>())).add(handle);
+        }
+
+        var counts = new HashMap<String, Integer>();
+        commands.forEach((owner, handles) -> counts.put(owner, handles.size()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Integer> getListenerCounts() {
+        var counts = new HashMap<String, Integer>();
+        for (var handlerList : HandlerList.getHandlerLists())
+            for (var listener : handlerList.getRegisteredListeners()) counts.merge(listener.getPlugin().getName().toLowerCase(Locale.ROOT), 1, Integer::sum);
+        return counts;
+    }
+
+    /**
+     * Count pending tasks by the plugin that owns them. Folia has no list of pending tasks.
+     */
+    @Override
+    public Map<String, Integer> getTaskCounts() {
+        var counts = new HashMap<String, Integer>();
+        try {
+            for (var task : Bukkit.getScheduler().getPendingTasks()) counts.merge(task.getOwner().getName().toLowerCase(Locale.ROOT), 1, Integer::sum);
+        } catch (UnsupportedOperationException exception) {
+            return null;
+        }
+        return counts;
+    }
+
     /**
      * Common data structure for unload operations.
      */
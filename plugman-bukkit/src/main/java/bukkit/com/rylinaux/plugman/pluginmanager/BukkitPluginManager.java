@@ -5,24 +5,27 @@ import bukkit.com.rylinaux.plugman.plugin.BukkitCommand;
 import bukkit.com.rylinaux.plugman.plugin.BukkitPlugin;
 import core.com.rylinaux.plugman.PluginResult;
 import core.com.rylinaux.plugman.config.PlugManConfigurationManager;
+import core.com.rylinaux.plugman.metrics.PlugManMetrics;
 import core.com.rylinaux.plugman.plugins.Command;
+import core.com.rylinaux.plugman.plugins.CommandIndex;
 import core.com.rylinaux.plugman.plugins.CommandMapWrap;
 import core.com.rylinaux.plugman.plugins.Plugin;
+import core.com.rylinaux.plugman.profiling.CommandSyncEvent;
+import core.com.rylinaux.plugman.profiling.PluginOperationEvent;
+import core.com.rylinaux.plugman.profiling.PluginOperationEvent.Phase;
 import core.com.rylinaux.plugman.util.StringUtil;
 import core.com.rylinaux.plugman.util.reflection.ClassAccessor;
 import core.com.rylinaux.plugman.util.reflection.FieldAccessor;
 import lombok.SneakyThrows;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
-import org.bukkit.command.CommandMap;
-import org.bukkit.command.PluginCommand;
+import org.bukkit.command.PluginIdentifiableCommand;
 import org.bukkit.command.SimpleCommandMap;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.bukkit.plugin.InvalidDescriptionException;
 import org.bukkit.plugin.InvalidPluginException;
 import org.bukkit.plugin.RegisteredListener;
-import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.ApiStatus;
 
 import java.io.File;
@@ -68,8 +71,14 @@ public class BukkitPluginManager extends BasePluginManager {
         }
     }
 
+    /**
+     * Owner of commands whose plugin jar was closed before they were unregistered.
+     */
+    private static final String BROKEN_OWNER = " broken";
+
     private final Class<?> pluginClassLoaderClass;
     private final Function<ClassLoader, org.bukkit.plugin.Plugin> getPluginFromClassLoader;
+    private final CommandIndex<org.bukkit.command.Command> commandIndex = new CommandIndex<>(this::getKnownCommandMap, this::resolveOwner);
 
     public BukkitPluginManager() {
         pluginClassLoaderClass = ClassAccessor.getClass("org.bukkit.plugin.java.PluginClassLoader");
@@ -90,11 +99,13 @@ public class BukkitPluginManager extends BasePluginManager {
      */
     @Override
     public PluginResult enable(Plugin plugin) {
-        if (plugin == null) return new PluginResult(false, "error.invalid-plugin");
-        if (plugin.isEnabled()) return new PluginResult(false, "enable.already-enabled");
-        var bukkitPlugin = plugin.<org.bukkit.plugin.Plugin>getHandle();
-        Bukkit.getPluginManager().enablePlugin(bukkitPlugin);
-        return new PluginResult(true, "enable.enabled");
+        return PluginOperationEvent.record(Phase.ENABLE, plugin, () -> {
+            if (plugin == null) return new PluginResult(false, "error.invalid-plugin");
+            if (plugin.isEnabled()) return new PluginResult(false, "enable.already-enabled");
+            var bukkitPlugin = plugin.<org.bukkit.plugin.Plugin>getHandle();
+            Bukkit.getPluginManager().enablePlugin(bukkitPlugin);
+            return new PluginResult(true, "enable.enabled");
+        });
     }
 
     /**
@@ -118,11 +129,13 @@ public class BukkitPluginManager extends BasePluginManager {
      */
     @Override
     public PluginResult disable(Plugin plugin) {
-        if (plugin == null) return new PluginResult(false, "plugin.null");
-        if (!plugin.isEnabled()) return new PluginResult(false, "plugin.already-disabled");
-        var bukkitPlugin = plugin.<org.bukkit.plugin.Plugin>getHandle();
-        Bukkit.getPluginManager().disablePlugin(bukkitPlugin);
-        return new PluginResult(true, "plugin.disabled");
+        return PluginOperationEvent.record(Phase.DISABLE, plugin, () -> {
+            if (plugin == null) return new PluginResult(false, "plugin.null");
+            if (!plugin.isEnabled()) return new PluginResult(false, "plugin.already-disabled");
+            var bukkitPlugin = plugin.<org.bukkit.plugin.Plugin>getHandle();
+            Bukkit.getPluginManager().disablePlugin(bukkitPlugin);
+            return new PluginResult(true, "plugin.disabled");
+        });
     }
 
     /**
@@ -250,12 +263,9 @@ public class BukkitPluginManager extends BasePluginManager {
      */
     @Override
     public String getUsages(Plugin plugin) {
-        var parsedCommands = getCommandsFromPlugin(plugin).stream().map(s -> {
-            var parts = s.getKey().split(":");
-            // parts length equals 1 means that the key is the command
-            return parts.length == 1? parts[0] : parts[1];
-        }).distinct().collect(Collectors.joining(", "));
-
+        var parsedCommands = commandIndex.getCommands(plugin.getName()).keySet().stream()
+                .map(key -> key.substring(key.lastIndexOf(':') + 1))
+                .distinct().collect(Collectors.joining(", "));
 
         if (parsedCommands.isEmpty()) return "usage.no-commands";
 
@@ -264,20 +274,7 @@ public class BukkitPluginManager extends BasePluginManager {
 
     @ApiStatus.Internal
     public List<Map.Entry<String, Command>> getCommandsFromPlugin(Plugin plugin) {
-        var knownCommands = getKnownCommands();
-
-        return knownCommands.entrySet().stream()
-                .filter(entry -> {
-                    var name = entry.getKey();
-                    if (name.contains(":")) return name.split(":")[0].equalsIgnoreCase(plugin.getName());
-                    else {
-                        var pluginCommand = knownCommands.get(plugin.getName().toLowerCase() + ":" + name.toLowerCase());
-                        if (pluginCommand != null && pluginCommand.getHandle() == entry.getValue().getHandle()) return true;
-
-                        var classLoader = entry.getValue().getHandle().getClass().getClassLoader();
-                        return classLoader.getClass() == pluginClassLoaderClass && getPluginFromClassLoader.apply(classLoader) == plugin.getHandle();
-                    }
-                }).collect(Collectors.toList());
+        return toEntries(commandIndex.getCommands(plugin.getName()));
     }
 
     /**
@@ -288,36 +285,43 @@ public class BukkitPluginManager extends BasePluginManager {
      */
     @Override
     public List<String> findByCommand(String command) {
-        var plugins = new ArrayList<String>();
-
-        for (var entry : getKnownCommands().entrySet()) {
-            var cl = entry.getValue().getHandle().getClass().getClassLoader();
-
-            if (cl.getClass() != pluginClassLoaderClass) handleNonPluginClassLoaderCommand(entry, command, plugins);
-            else handlePluginClassLoaderCommand(entry, command, plugins, cl);
-        }
-
+        var plugins = new ArrayList<>(commandIndex.findOwners(command));
+        plugins.remove(BROKEN_OWNER);
         return plugins;
     }
 
-    private void handleNonPluginClassLoaderCommand(Map.Entry<String, Command> entry, String command, List<String> plugins) {
-        var parts = entry.getKey().split(":");
+    /**
+     * Resolve the plugin owning a command, from the plugin class loader that loaded it, the plugin it
+     * reports or stores, or its namespace.
+     */
+    private String resolveOwner(String key, org.bukkit.command.Command command) {
+        try {
+            if (command instanceof PluginIdentifiableCommand identifiable) return identifiable.getPlugin().getName();
 
-        if (parts.length != 2 || !parts[1].equalsIgnoreCase(command)) return;
-        Arrays.stream(Bukkit.getPluginManager().getPlugins())
-                .filter(pl -> pl.getName().equalsIgnoreCase(parts[0]))
-                .findFirst().ifPresent(plugin -> plugins.add(plugin.getName()));
-    }
+            var classLoader = command.getClass().getClassLoader();
+            if (classLoader != null && classLoader.getClass() == pluginClassLoaderClass) return getPluginFromClassLoader.apply(classLoader).getName();
 
-    private void handlePluginClassLoaderCommand(Map.Entry<String, Command> entry, String command, List<String> plugins, ClassLoader classLoader) {
-        var parts = entry.getKey().split(":");
-        var cmd = parts[parts.length - 1];
+            var pluginField = FieldAccessor.getFirstFieldName(command.getClass(), org.bukkit.plugin.Plugin.class);
+            var owningPlugin = pluginField == null? null : FieldAccessor.<org.bukkit.plugin.Plugin>getValue(command.getClass(), pluginField, command);
+            if (owningPlugin != null) return owningPlugin.getName();
+        } catch (IllegalStateException exception) {
+            if ("zip file closed".equalsIgnoreCase(exception.getMessage())) return BROKEN_OWNER;
+        } catch (IllegalAccessException | RuntimeException exception) {
+            PlugManBukkit.getInstance().getLogger().log(Level.FINE, "Failed to resolve the plugin owning command " + key, exception);
+        }
 
-        if (!cmd.equalsIgnoreCase(command)) return;
+        var separator = key.indexOf(':');
+        if (separator <= 0) return null;
 
-        var plugin = (JavaPlugin) getPluginFromClassLoader.apply(classLoader);
+        var namespace = key.substring(0, separator);
+        for (var plugin : Bukkit.getPluginManager().getPlugins()) if (plugin.getName().equalsIgnoreCase(namespace)) return plugin.getName();
+        return null;
+    }
 
-        if (!plugins.contains(plugin.getName())) plugins.add(plugin.getName());
+    private static List<Map.Entry<String, Command>> toEntries(Map<String, org.bukkit.command.Command> commands) {
+        var entries = new ArrayList<Map.Entry<String, Command>>(commands.size());
+        for (var entry : commands.entrySet()) entries.add(Map.entry(entry.getKey(), new BukkitCommand(entry.getValue())));
+        return entries;
     }
 
     /**
@@ -351,16 +355,18 @@ public class BukkitPluginManager extends BasePluginManager {
      */
     @Override
     public PluginResult load(String name) {
-        var pluginFile = findPluginFile(name);
-        if (pluginFile == null) return new PluginResult(false, "load.cannot-find");
+        return PluginOperationEvent.record(Phase.LOAD, name, () -> {
+            var pluginFile = findPluginFile(name);
+            if (pluginFile == null) return new PluginResult(false, "load.cannot-find");
 
-        var target = loadAndEnablePlugin(pluginFile, false);
-        if (target == null) return new PluginResult(false, "load.invalid-plugin");
+            var target = loadAndEnablePlugin(pluginFile, false);
+            if (target == null) return new PluginResult(false, "load.invalid-plugin");
 
-        scheduleCommandLoading();
-        PlugManBukkit.getInstance().getFilePluginMap().put(pluginFile.getName(), target.getName());
+            scheduleCommandLoading();
+            PlugManBukkit.getInstance().setPluginNameForFile(pluginFile.getName(), target.getName());
 
-        return new PluginResult(true, "load.loaded");
+            return new PluginResult(true, "load.loaded");
+        });
     }
 
     @ApiStatus.Internal
@@ -391,11 +397,14 @@ public class BukkitPluginManager extends BasePluginManager {
 
     @Override
     public CommandMapWrap<org.bukkit.command.Command> getKnownCommands() {
+        var knownCommands = getKnownCommandMap();
+        return knownCommands == null? null : new CommandMapWrap<>(knownCommands, BukkitCommand::new);
+    }
+
+    private Map<String, org.bukkit.command.Command> getKnownCommandMap() {
         try {
             var commandMap = getCommandMap();
-            var knownCommands = FieldAccessor.<Map<String, org.bukkit.command.Command>>getValue(SimpleCommandMap.class, "knownCommands", commandMap);
-
-            return new CommandMapWrap<>(knownCommands, BukkitCommand::new);
+            return FieldAccessor.<Map<String, org.bukkit.command.Command>>getValue(SimpleCommandMap.class, "knownCommands", commandMap);
         } catch (Exception exception) {
             PlugManBukkit.getInstance().getLogger().log(Level.SEVERE, "Failed to get known commands", exception);
             return null;
@@ -410,21 +419,23 @@ public class BukkitPluginManager extends BasePluginManager {
      */
     @Override
     public synchronized PluginResult unload(Plugin plugin) {
-        if (!handleGentleUnload(plugin)) return new PluginResult(false, "unload.gentle-failed");
+        return PluginOperationEvent.record(Phase.UNLOAD, plugin, () -> {
+            if (!handleGentleUnload(plugin)) return new PluginResult(false, "unload.gentle-failed");
 
-        //syncCommands();
+            //syncCommands();
 
-        var unloadData = extractPluginManagerData(plugin);
-        if (unloadData == null) return new PluginResult(false, "unload.failed");
+            var unloadData = extractPluginManagerData(plugin);
+            if (unloadData == null) return new PluginResult(false, "unload.failed");
 
-        disableAndCleanupPlugin(plugin, unloadData);
-        closeClassLoader(plugin);
+            disableAndCleanupPlugin(plugin, unloadData);
+            closeClassLoader(plugin);
 
-        // Will not work on processes started with the -XX:+DisableExplicitGC flag, but lets try it anyway.
-        // This tries to get around the issue where Windows refuses to unlock jar files that were previously loaded into the JVM.
-        System.gc();
+            // Will not work on processes started with the -XX:+DisableExplicitGC flag, but lets try it anyway.
+            // This tries to get around the issue where Windows refuses to unlock jar files that were previously loaded into the JVM.
+            System.gc();
 
-        return new PluginResult(true, "unload.unloaded");
+            return new PluginResult(true, "unload.unloaded");
+        });
     }
 
     @SneakyThrows
@@ -474,9 +485,12 @@ public class BukkitPluginManager extends BasePluginManager {
 
         var modifiedKnownCommands = data.commands();
 
-        for (var entry : modifiedKnownCommands.asMap().entrySet())
-            if (entry.getValue().getHandle() instanceof PluginCommand) handlePluginCommand(plugin, data.commandMap(), modifiedKnownCommands, entry);
-            else handleNonPluginCommand(plugin, data.commandMap(), modifiedKnownCommands, entry);
+        for (var entry : getCommandsFromPlugin(plugin)) {
+            entry.getValue().<org.bukkit.command.Command>getHandle().unregister(data.commandMap());
+            modifiedKnownCommands.remove(entry.getKey());
+        }
+        for (var entry : toEntries(commandIndex.getCommands(BROKEN_OWNER)))
+            handleBrokenCommand(entry, data.commandMap(), modifiedKnownCommands, BukkitPluginManager.class.getName());
 
         syncCommands();
     }
@@ -494,37 +508,6 @@ public class BukkitPluginManager extends BasePluginManager {
         return plugManCommands;
     }
 
-    @ApiStatus.Internal
-    public void handleNonPluginCommand(Plugin plugin, SimpleCommandMap commandMap,
-                                       CommandMapWrap<org.bukkit.command.Command> modifiedKnownCommands,
-                                       Map.Entry<String, Command> entry) {
-        try {
-            unregisterNonPluginCommands(plugin, commandMap, modifiedKnownCommands, entry);
-        } catch (IllegalStateException exception) {
-            if (!exception.getMessage().equalsIgnoreCase("zip file closed")) return;
-            handleBrokenCommand(entry, commandMap, modifiedKnownCommands, BukkitPluginManager.class.getName());
-        }
-    }
-
-    @ApiStatus.Internal
-    public void unregisterNonPluginCommands(Plugin plugin, CommandMap commandMap, CommandMapWrap<org.bukkit.command.Command> commands,
-                                            Map.Entry<String, Command> entry) {
-        var command = entry.getValue();
-        var handle = command.<org.bukkit.command.Command>getHandle();
-
-        var pluginField = FieldAccessor.getFirstFieldName(handle.getClass(), Plugin.class);
-
-        try {
-            var owningPlugin = FieldAccessor.<org.bukkit.plugin.Plugin>getValue(handle.getClass(), pluginField, handle);
-            if (owningPlugin != null && owningPlugin.getName().equalsIgnoreCase(plugin.getName())) {
-                handle.unregister(commandMap);
-                commands.remove(entry.getKey());
-            }
-        } catch (IllegalAccessException exception) {
-            PlugManBukkit.getInstance().getLogger().log(Level.SEVERE, "Failed to unregister command for plugin: " + plugin.getName(), exception);
-        }
-    }
-
     @Override
     public boolean isPaperPlugin(Plugin plugin) {
         return false;
@@ -538,7 +521,15 @@ public class BukkitPluginManager extends BasePluginManager {
     @ApiStatus.Internal
     @Override
     public synchronized void syncCommands() {
-        syncCommandsRunnable.run();
-        Bukkit.getOnlinePlayers().forEach(Player::updateCommands);
+        commandIndex.invalidate();
+        var players = Bukkit.getOnlinePlayers();
+        var start = System.nanoTime();
+        CommandSyncEvent.record(players.size(), () -> {
+            syncCommandsRunnable.run();
+            players.forEach(Player::updateCommands);
+        });
+
+        var plugMan = PlugManBukkit.getInstance();
+        if (plugMan != null) plugMan.getOptional(PlugManMetrics.class).ifPresent(metrics -> metrics.recordCommandSync(System.nanoTime() - start));
     }
 }
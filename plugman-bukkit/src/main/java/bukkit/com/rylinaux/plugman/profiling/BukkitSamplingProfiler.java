@@ -0,0 +1,47 @@
+package bukkit.com.rylinaux.plugman.profiling;
+
+import core.com.rylinaux.plugman.logging.PluginLogger;
+import core.com.rylinaux.plugman.profiling.SamplingProfiler;
+import core.com.rylinaux.plugman.profiling.ThreadFinder;
+import org.bukkit.Bukkit;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Samples the server thread, or every region thread on Folia.
+ */
+public class BukkitSamplingProfiler extends SamplingProfiler {
+    private static final String FOLIA_THREAD_PREFIX = "Region Scheduler Thread";
+    private static final String SERVER_THREAD = "Server thread";
+
+    private final boolean folia;
+    private final Thread serverThread;
+
+    /**
+     * Must be created on the server thread.
+     */
+    public BukkitSamplingProfiler(File folder, PluginLogger logger, boolean folia) {
+        super(folder, logger);
+        this.folia = folia;
+        this.serverThread = Bukkit.isPrimaryThread()? Thread.currentThread() : null;
+    }
+
+    @Override
+    protected Collection<Thread> getSampledThreads() {
+        if (folia) return ThreadFinder.findThreads(thread -> thread.getName().startsWith(FOLIA_THREAD_PREFIX));
+        if (serverThread != null) return List.of(serverThread);
+
+        return ThreadFinder.findThreads(thread -> thread.getName().equals(SERVER_THREAD));
+    }
+
+    @Override
+    protected Map<ClassLoader, String> getPluginClassLoaders() {
+        var loaders = new HashMap<ClassLoader, String>();
+        for (var plugin : Bukkit.getPluginManager().getPlugins()) loaders.put(plugin.getClass().getClassLoader(), plugin.getName());
+        return loaders;
+    }
+}
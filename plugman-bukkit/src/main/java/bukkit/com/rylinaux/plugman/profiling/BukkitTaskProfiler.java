@@ -0,0 +1,34 @@
+package bukkit.com.rylinaux.plugman.profiling;
+
+import core.com.rylinaux.plugman.profiling.TaskProfiler;
+import core.com.rylinaux.plugman.util.ThreadUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Collection;
+
+/**
+ * Times tasks on Bukkit's scheduler. The server keeps a task's body in {@code rTask} or {@code cTask}, or in
+ * {@code task} on older versions. Folia has no list of pending tasks, so this is not available there.
+ */
+public class BukkitTaskProfiler extends TaskProfiler<BukkitTask> {
+
+    public BukkitTaskProfiler(ThreadUtil threadUtil) {
+        super(threadUtil, "rTask", "cTask", "task");
+    }
+
+    @Override
+    protected Collection<BukkitTask> getPendingTasks() {
+        return Bukkit.getScheduler().getPendingTasks();
+    }
+
+    @Override
+    protected String getOwner(BukkitTask task) {
+        return task.getOwner().getName();
+    }
+
+    @Override
+    protected boolean isSync(BukkitTask task) {
+        return task.isSync();
+    }
+}
@@ -0,0 +1,103 @@
+package bukkit.com.rylinaux.plugman.profiling;
+
+import core.com.rylinaux.plugman.config.PlugManConfigurationManager;
+import core.com.rylinaux.plugman.logging.PluginLogger;
+import core.com.rylinaux.plugman.profiling.Profiler;
+import core.com.rylinaux.plugman.profiling.TimingKey;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.util.StringUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.command.TabCompleter;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every plugin command's executor and tab completer, by plugin and command.
+ * <p>
+ * Starting replaces the executor and tab completer of every registered {@link PluginCommand} with a
+ * {@link ProfiledExecutor} and {@link ProfiledCompleter}, and stopping puts the originals back. Calls on the main
+ * thread that take longer than {@code profiling.slow-command-millis} are logged. Commands registered while the
+ * profiler runs are not timed until it is started again.
+ */
+public class CommandProfiler extends Profiler {
+    private final ServiceRegistry serviceRegistry;
+    private final Map<PluginCommand, Hook> hooked = new IdentityHashMap<>();
+    private volatile long slowNanos;
+
+    public CommandProfiler(ServiceRegistry serviceRegistry) {
+        super("commands");
+        this.serviceRegistry = serviceRegistry;
+    }
+
+    @Override
+    protected void install() {
+        var config = serviceRegistry.get(PlugManConfigurationManager.class).getPlugManConfig().getProfiling();
+        slowNanos = TimeUnit.MILLISECONDS.toNanos(config.getSlowCommandMillis());
+
+        var knownCommands = serviceRegistry.getPluginManager().getKnownCommands();
+        if (knownCommands == null) return;
+
+        for (var command : knownCommands.asMap().values())
+            if (command.getHandle() instanceof PluginCommand pluginCommand && !hooked.containsKey(pluginCommand)) hook(pluginCommand);
+    }
+
+    @Override
+    protected void uninstall() {
+        for (var entry : hooked.entrySet()) unhook(entry.getKey(), entry.getValue());
+        hooked.clear();
+    }
+
+    @Override
+    protected void forget(String plugin) {
+        var iterator = hooked.entrySet().iterator();
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            if (!entry.getKey().getPlugin().getName().equalsIgnoreCase(plugin)) continue;
+
+            unhook(entry.getKey(), entry.getValue());
+            iterator.remove();
+        }
+    }
+
+    private void hook(PluginCommand command) {
+        var executor = command.getExecutor();
+        var completer = command.getTabCompleter();
+        var plugin = command.getPlugin().getName();
+        var name = "/" + command.getName();
+
+        command.setExecutor(new ProfiledExecutor(executor, stats(new TimingKey(plugin, name, "execute")), this));
+
+        // Without a completer, Bukkit asks the executor if it is one, which the wrapper is not
+        var effectiveCompleter = completer == null && executor instanceof TabCompleter tabCompleter? tabCompleter : completer;
+        if (effectiveCompleter != null) command.setTabCompleter(new ProfiledCompleter(effectiveCompleter, stats(new TimingKey(plugin, name, "tab-complete")), this));
+
+        hooked.put(command, new Hook(executor, completer));
+    }
+
+    /**
+     * Put the original executor and completer back, unless the plugin replaced them in the meantime.
+     */
+    private static void unhook(PluginCommand command, Hook hook) {
+        if (command.getExecutor() instanceof ProfiledExecutor) command.setExecutor(hook.executor());
+        if (command.getTabCompleter() instanceof ProfiledCompleter) command.setTabCompleter(hook.completer());
+    }
+
+    /**
+     * Log a call that held up the main thread for longer than configured.
+     */
+    void checkSlow(Command command, String action, long nanos) {
+        var slow = slowNanos;
+        if (slow <= 0 || nanos <= slow || !Bukkit.isPrimaryThread()) return;
+
+        var plugin = command instanceof PluginCommand pluginCommand? pluginCommand.getPlugin().getName() : "unknown";
+        serviceRegistry.get(PluginLogger.class).warning("Slow command: " + plugin + " took " + StringUtil.formatNanos(nanos) + " to " + action + " /" + command.getName() + " on the main thread");
+    }
+
+    private record Hook(CommandExecutor executor, TabCompleter completer) {
+    }
+}
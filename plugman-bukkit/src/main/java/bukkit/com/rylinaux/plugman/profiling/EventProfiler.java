@@ -0,0 +1,118 @@
+package bukkit.com.rylinaux.plugman.profiling;
+
+import core.com.rylinaux.plugman.profiling.Profiler;
+import core.com.rylinaux.plugman.profiling.TimingKey;
+import core.com.rylinaux.plugman.util.reflection.FieldAccessor;
+import lombok.SneakyThrows;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.plugin.RegisteredListener;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Times every plugin's event listeners, by plugin, event and listener method.
+ * <p>
+ * Starting replaces every registered listener in place with a {@link ProfiledListener}, keeping its position in
+ * the handler list, and stopping puts the originals back. Listeners registered while the profiler runs are not
+ * timed until it is started again.
+ */
+public class EventProfiler extends Profiler {
+    private final Set<HandlerList> handlerLists = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public EventProfiler() {
+        super("events");
+    }
+
+    @Override
+    protected void install() {
+        for (var handlerList : HandlerList.getHandlerLists()) {
+            replace(handlerList, listener -> !(listener instanceof ProfiledListener), listener -> new ProfiledListener(listener, stats(describe(listener))));
+            handlerLists.add(handlerList);
+        }
+    }
+
+    @Override
+    protected void uninstall() {
+        for (var handlerList : handlerLists) replace(handlerList, ProfiledListener.class::isInstance, listener -> ((ProfiledListener) listener).getOriginal());
+        handlerLists.clear();
+    }
+
+    @Override
+    protected void forget(String plugin) {
+        for (var handlerList : handlerLists)
+            replace(handlerList, listener -> listener instanceof ProfiledListener && listener.getPlugin().getName().equalsIgnoreCase(plugin),
+                    listener -> ((ProfiledListener) listener).getOriginal());
+    }
+
+    /**
+     * Replace listeners in a handler list without changing their order, and make it bake the listeners again.
+     */
+    @SneakyThrows
+    private static void replace(HandlerList handlerList, Predicate<RegisteredListener> filter, UnaryOperator<RegisteredListener> replacement) {
+        synchronized (handlerList) {
+            Map<EventPriority, ArrayList<RegisteredListener>> slots = FieldAccessor.getValue(HandlerList.class, "handlerslots", handlerList);
+            if (slots == null) return;
+
+            var changed = false;
+            for (var listeners : slots.values())
+                for (var i = 0; i < listeners.size(); i++) {
+                    var listener = listeners.get(i);
+                    if (!filter.test(listener)) continue;
+
+                    listeners.set(i, replacement.apply(listener));
+                    changed = true;
+                }
+
+            if (changed) FieldAccessor.setValue(HandlerList.class, "handlers", handlerList, null);
+        }
+    }
+
+    /**
+     * Work out the event and the listener method a registered listener calls. The executor is generated by the
+     * server and only keeps them in captured fields, so this is best effort: without a method, the listener class
+     * is used, and without an event class, the first handler method with the right priority.
+     */
+    private static TimingKey describe(RegisteredListener listener) {
+        var listenerClass = listener.getListener().getClass();
+        Class<?> eventClass = null;
+        Method method = null;
+
+        try {
+            Object executor = FieldAccessor.getValue(RegisteredListener.class, "executor", listener);
+            if (executor != null) {
+                eventClass = firstField(executor, Class.class);
+                method = firstField(executor, Method.class);
+            }
+        } catch (IllegalAccessException | RuntimeException ignored) {
+        }
+
+        if (method == null) for (var candidate : listenerClass.getDeclaredMethods()) {
+            var handler = candidate.getAnnotation(EventHandler.class);
+            if (handler == null || handler.priority() != listener.getPriority() || candidate.getParameterCount() != 1) continue;
+            if (eventClass != null && candidate.getParameterTypes()[0] != eventClass) continue;
+
+            method = candidate;
+            break;
+        }
+
+        if (eventClass == null && method != null) eventClass = method.getParameterTypes()[0];
+
+        var event = eventClass == null? "unknown" : eventClass.getSimpleName();
+        var target = listenerClass.getSimpleName() + (method == null? "" : "#" + method.getName());
+        return new TimingKey(listener.getPlugin().getName(), event, target);
+    }
+
+    private static <T> T firstField(Object instance, Class<T> type) throws IllegalAccessException {
+        var name = FieldAccessor.getFirstFieldName(instance.getClass(), type);
+        return name == null? null : type.cast(FieldAccessor.getValue(instance.getClass(), name, instance));
+    }
+}
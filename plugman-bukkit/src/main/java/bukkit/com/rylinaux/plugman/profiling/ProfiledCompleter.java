@@ -0,0 +1,33 @@
+package bukkit.com.rylinaux.plugman.profiling;
+
+import core.com.rylinaux.plugman.profiling.TimingStats;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+
+import java.util.List;
+
+/**
+ * Times a plugin command's tab completer. Put in place of the original by {@link CommandProfiler}.
+ */
+@RequiredArgsConstructor
+final class ProfiledCompleter implements TabCompleter {
+    @Getter
+    private final TabCompleter original;
+    private final TimingStats stats;
+    private final CommandProfiler profiler;
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String label, String[] args) {
+        var start = System.nanoTime();
+        try {
+            return original.onTabComplete(sender, command, label, args);
+        } finally {
+            var nanos = System.nanoTime() - start;
+            stats.record(nanos);
+            profiler.checkSlow(command, "tab complete", nanos);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package bukkit.com.rylinaux.plugman.profiling;
+
+import core.com.rylinaux.plugman.profiling.TimingStats;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+
+/**
+ * Times a plugin command's executor. Put in place of the original by {@link CommandProfiler}.
+ */
+@RequiredArgsConstructor
+final class ProfiledExecutor implements CommandExecutor {
+    @Getter
+    private final CommandExecutor original;
+    private final TimingStats stats;
+    private final CommandProfiler profiler;
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        var start = System.nanoTime();
+        try {
+            return original.onCommand(sender, command, label, args);
+        } finally {
+            var nanos = System.nanoTime() - start;
+            stats.record(nanos);
+            profiler.checkSlow(command, "run", nanos);
+        }
+    }
+}
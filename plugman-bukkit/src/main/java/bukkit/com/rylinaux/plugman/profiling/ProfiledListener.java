@@ -0,0 +1,36 @@
+package bukkit.com.rylinaux.plugman.profiling;
+
+import core.com.rylinaux.plugman.profiling.TimingStats;
+import lombok.Getter;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.plugin.RegisteredListener;
+
+/**
+ * Times calls to a registered listener. Put in place of the original in its handler list by {@link EventProfiler}.
+ */
+final class ProfiledListener extends RegisteredListener {
+    @Getter
+    private final RegisteredListener original;
+    private final TimingStats stats;
+
+    ProfiledListener(RegisteredListener original, TimingStats stats) {
+        super(original.getListener(), (listener, event) -> original.callEvent(event), original.getPriority(), original.getPlugin(), original.isIgnoringCancelled());
+        this.original = original;
+        this.stats = stats;
+    }
+
+    @Override
+    public void callEvent(Event event) throws EventException {
+        // Skipped calls are not timed, they would only drag the average down
+        if (original.isIgnoringCancelled() && event instanceof Cancellable cancellable && cancellable.isCancelled()) return;
+
+        var start = System.nanoTime();
+        try {
+            original.callEvent(event);
+        } finally {
+            stats.record(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package bukkit.com.rylinaux.plugman.profiling;
+
+import core.com.rylinaux.plugman.profiling.StartupHistory;
+import core.com.rylinaux.plugman.profiling.StartupRecord;
+import core.com.rylinaux.plugman.profiling.StartupSampler;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.util.IoExecutor;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.ServerLoadEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stops the {@link StartupSampler} once the server is done starting and adds the startup to the
+ * {@link StartupHistory}.
+ */
+@RequiredArgsConstructor
+public class StartupRecorder implements Listener {
+    private final StartupSampler sampler;
+    private final ServiceRegistry serviceRegistry;
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onServerLoad(ServerLoadEvent event) {
+        HandlerList.unregisterAll(this);
+
+        var plugins = sampler.stop(getPluginClasses()::get);
+        if (event.getType() != ServerLoadEvent.LoadType.STARTUP) return;
+
+        var runtime = ManagementFactory.getRuntimeMXBean();
+        var startup = new StartupRecord(runtime.getStartTime(), TimeUnit.MILLISECONDS.toNanos(runtime.getUptime()), plugins);
+        serviceRegistry.get(IoExecutor.class).execute(() -> serviceRegistry.get(StartupHistory.class).record(startup));
+    }
+
+    /**
+     * Map every plugin's main class, and the classes it extends, to the plugin, so an {@code onEnable} inherited
+     * from a library still counts.
+     */
+    private static Map<String, String> getPluginClasses() {
+        var classes = new HashMap<String, String>();
+        for (var plugin : Bukkit.getPluginManager().getPlugins())
+            for (Class<?> type = plugin.getClass(); type != null && type != JavaPlugin.class; type = type.getSuperclass())
+                classes.putIfAbsent(type.getName(), plugin.getName());
+        return classes;
+    }
+}
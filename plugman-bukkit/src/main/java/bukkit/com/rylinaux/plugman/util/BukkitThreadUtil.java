@@ -26,31 +26,20 @@ package bukkit.com.rylinaux.plugman.util;
  * #L%
  */
 
-import bukkit.com.rylinaux.plugman.PlugManBukkit;
+import core.com.rylinaux.plugman.util.ScheduledTask;
 import core.com.rylinaux.plugman.util.ThreadUtil;
-import org.bukkit.Bukkit;
+import lombok.RequiredArgsConstructor;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
 
 /**
  * Utility class for threading.
  *
  * @author rylinaux
  */
+@RequiredArgsConstructor
 public class BukkitThreadUtil implements ThreadUtil {
-
-    /**
-     * Returns true when this JVM is running inside a Folia server.
-     * Folia adds {@code io.papermc.paper.threadedregions.RegionizedServer}.
-     */
-    private static boolean isFolia() {
-        try {
-            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
-            return true;
-        } catch (ClassNotFoundException ignored) {
-            return false;
-        }
-    }
+    private final PlatformScheduler scheduler;
 
     /**
      * Run a task in a separate thread.
@@ -59,12 +48,7 @@ public class BukkitThreadUtil implements ThreadUtil {
      */
     @Override
     public void async(Runnable runnable) {
-        if (isFolia()) {
-            new com.tcoded.folialib.FoliaLib(PlugManBukkit.getInstance())
-                    .getScheduler().runAsync((ignored) -> runnable.run());
-            return;
-        }
-        Bukkit.getScheduler().runTaskAsynchronously(PlugManBukkit.getInstance(), runnable);
+        scheduler.runAsync(runnable);
     }
 
     /**
@@ -74,31 +58,32 @@ public class BukkitThreadUtil implements ThreadUtil {
      */
     @Override
     public void sync(Runnable runnable) {
-        if (isFolia()) {
-            new com.tcoded.folialib.FoliaLib(PlugManBukkit.getInstance())
-                    .getScheduler().runLater(runnable, 0L);
-            return;
-        }
-        Bukkit.getScheduler().runTask(PlugManBukkit.getInstance(), runnable);
+        scheduler.runSync(runnable);
     }
 
+    /**
+     * Run a repeating task in the main thread. The delay and period are rounded up to whole ticks.
+     *
+     * @param runnable the task.
+     * @param delay    the delay before the first run.
+     * @param period   the time between runs.
+     * @return the scheduled task.
+     */
     @Override
-    public void syncRepeating(Runnable runnable, long delay, long period) {
-        if (isFolia()) {
-            new com.tcoded.folialib.FoliaLib(PlugManBukkit.getInstance())
-                    .getScheduler().runTimer(runnable, delay, period, TimeUnit.MILLISECONDS);
-            return;
-        }
-        Bukkit.getScheduler().scheduleSyncRepeatingTask(PlugManBukkit.getInstance(), runnable, delay / 1000 / 20, period / 1000 / 20);
+    public ScheduledTask syncRepeating(Runnable runnable, Duration delay, Duration period) {
+        return scheduler.runTimer(runnable, delay, period);
     }
 
+    /**
+     * Run a repeating task in a separate thread. The delay and period are rounded up to whole ticks.
+     *
+     * @param runnable the task.
+     * @param delay    the delay before the first run.
+     * @param period   the time between runs.
+     * @return the scheduled task.
+     */
     @Override
-    public void asyncRepeating(Runnable runnable, long delay, long period) {
-        if (isFolia()) {
-            new com.tcoded.folialib.FoliaLib(PlugManBukkit.getInstance())
-                    .getScheduler().runTimerAsync(runnable, delay, period, TimeUnit.MILLISECONDS);
-            return;
-        }
-        Bukkit.getScheduler().scheduleAsyncRepeatingTask(PlugManBukkit.getInstance(), runnable, delay / 1000 / 20, period / 1000 / 20);
+    public ScheduledTask asyncRepeating(Runnable runnable, Duration delay, Duration period) {
+        return scheduler.runTimerAsync(runnable, delay, period);
     }
 }
@@ -0,0 +1,94 @@
+package bukkit.com.rylinaux.plugman.util;
+
+import com.tcoded.folialib.FoliaLib;
+import core.com.rylinaux.plugman.util.ScheduledTask;
+import core.com.rylinaux.plugman.util.ThreadUtil;
+import core.com.rylinaux.plugman.util.reflection.ClassAccessor;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules tasks on Bukkit's scheduler, or through FoliaLib on Folia.
+ * <p>
+ * The server is checked for Folia once, when PlugMan is enabled, and a single FoliaLib instance is kept
+ * for every task after that.
+ */
+public class PlatformScheduler {
+    private final JavaPlugin plugin;
+    private final FoliaLib foliaLib;
+    @Getter
+    private final boolean folia;
+
+    private PlatformScheduler(JavaPlugin plugin, FoliaLib foliaLib) {
+        this.plugin = plugin;
+        this.foliaLib = foliaLib;
+        this.folia = foliaLib != null;
+    }
+
+    /**
+     * Create the scheduler for the running server.
+     *
+     * @param plugin the plugin owning the tasks
+     * @return the scheduler
+     */
+    public static PlatformScheduler detect(JavaPlugin plugin) {
+        var folia = ClassAccessor.classExists("io.papermc.paper.threadedregions.RegionizedServer");
+        return new PlatformScheduler(plugin, folia? new FoliaLib(plugin) : null);
+    }
+
+    /**
+     * Run a task in a separate thread.
+     */
+    public void runAsync(Runnable runnable) {
+        if (folia) foliaLib.getScheduler().runAsync(ignored -> runnable.run());
+        else Bukkit.getScheduler().runTaskAsynchronously(plugin, runnable);
+    }
+
+    /**
+     * Run a task in the main thread, or the global region on Folia.
+     */
+    public void runSync(Runnable runnable) {
+        if (folia) foliaLib.getScheduler().runNextTick(ignored -> runnable.run());
+        else Bukkit.getScheduler().runTask(plugin, runnable);
+    }
+
+    /**
+     * Run a task in the main thread after a delay, rounded up to whole ticks.
+     */
+    public ScheduledTask runLater(Runnable runnable, Duration delay) {
+        if (folia) {
+            var task = foliaLib.getScheduler().runLater(runnable, delay.toMillis(), TimeUnit.MILLISECONDS);
+            return ScheduledTask.of(task::cancel, task::isCancelled);
+        }
+        var task = Bukkit.getScheduler().runTaskLater(plugin, runnable, ThreadUtil.toTicks(delay));
+        return ScheduledTask.of(task::cancel, task::isCancelled);
+    }
+
+    /**
+     * Run a repeating task in the main thread. The delay and period are rounded up to whole ticks.
+     */
+    public ScheduledTask runTimer(Runnable runnable, Duration delay, Duration period) {
+        if (folia) {
+            var task = foliaLib.getScheduler().runTimer(runnable, delay.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+            return ScheduledTask.of(task::cancel, task::isCancelled);
+        }
+        var task = Bukkit.getScheduler().runTaskTimer(plugin, runnable, ThreadUtil.toTicks(delay), ThreadUtil.toPeriodTicks(period));
+        return ScheduledTask.of(task::cancel, task::isCancelled);
+    }
+
+    /**
+     * Run a repeating task in a separate thread. The delay and period are rounded up to whole ticks.
+     */
+    public ScheduledTask runTimerAsync(Runnable runnable, Duration delay, Duration period) {
+        if (folia) {
+            var task = foliaLib.getScheduler().runTimerAsync(runnable, delay.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+            return ScheduledTask.of(task::cancel, task::isCancelled);
+        }
+        var task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, runnable, ThreadUtil.toTicks(delay), ThreadUtil.toPeriodTicks(period));
+        return ScheduledTask.of(task::cancel, task::isCancelled);
+    }
+}
@@ -32,6 +32,7 @@ import bungee.com.rylinaux.plugman.config.BungeePlugManConfigurationManager;
 import bungee.com.rylinaux.plugman.messaging.BungeeColorFormatter;
 import bungee.com.rylinaux.plugman.plugin.BungeePlugin;
 import bungee.com.rylinaux.plugman.pluginmanager.BungeePluginManager;
+import bungee.com.rylinaux.plugman.profiling.BungeeTaskProfiler;
 import bungee.com.rylinaux.plugman.util.BungeeThreadUtil;
 import core.com.rylinaux.plugman.auto.AutoFeatureManager;
 import core.com.rylinaux.plugman.config.PlugManConfigurationManager;
@@ -39,8 +40,10 @@ import core.com.rylinaux.plugman.file.messaging.MessageFormatter;
 import core.com.rylinaux.plugman.initialization.BasePlugManInitializer;
 import core.com.rylinaux.plugman.logging.PluginLogger;
 import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.profiling.ProfilerRegistry;
 import core.com.rylinaux.plugman.services.ServiceRegistry;
 import core.com.rylinaux.plugman.util.ThreadUtil;
+import core.com.rylinaux.plugman.util.updatechecker.HangarUtil;
 import net.md_5.bungee.config.ConfigurationProvider;
 import net.md_5.bungee.config.YamlConfiguration;
 
@@ -78,6 +81,11 @@ public class BungeePlugManInitializer extends BasePlugManInitializer {
         return new BungeeThreadUtil();
     }
 
+    @Override
+    protected void registerProfilers(ProfilerRegistry profilers) {
+        profilers.register(new BungeeTaskProfiler(serviceRegistry.get(ThreadUtil.class)));
+    }
+
     @Override
     protected MessageFormatter createMessageFormatter() throws IOException {
         var messagesFile = new File(getDataFolder(), "messages.yml");
@@ -91,4 +99,9 @@ public class BungeePlugManInitializer extends BasePlugManInitializer {
     protected AutoFeatureManager createAutoFeatureManager() {
         return new BungeeAutoFeatureManager(serviceRegistry);
     }
-}
\ No newline at end of file
+
+    @Override
+    protected String getHangarPlatform() {
+        return HangarUtil.WATERFALL;
+    }
+}
@@ -80,6 +80,7 @@ public final class PlugManBungee extends Plugin implements Listener {
         fileManager.scanExistingPlugins();
 
         initializer.setupAutoFeatures();
+        initializer.setupUpdateScanner();
     }
 
     public void saveDefaultConfig() {
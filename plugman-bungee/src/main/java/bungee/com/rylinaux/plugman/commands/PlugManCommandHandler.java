@@ -42,7 +42,7 @@ public class PlugManCommandHandler extends Command implements TabExecutor {
     /**
      * Valid command names.
      */
-    private static final String[] COMMANDS = {"check", "disable", "dump", "enable", "help", "info", "list", "load", "lookup", "reload", "restart", "unload", "usage"};
+    private static final String[] COMMANDS = {"check", "disable", "download", "dump", "enable", "help", "info", "list", "load", "lookup", "profile", "reload", "restart", "startup", "stats", "unload", "usage"};
     private TabExecutor tabCompleter = new PlugManTabCompleter();
 
     public PlugManCommandHandler() {
@@ -73,6 +73,10 @@ public class PlugManCommandHandler extends Command implements TabExecutor {
             case "disable", "unload" -> new UnloadCommand(plugManSender, registry);
             case "restart", "reload" -> new ReloadCommand(plugManSender, registry);
             case "check" -> new CheckCommand(plugManSender, registry);
+            case "download" -> new DownloadCommand(plugManSender, registry);
+            case "profile" -> new ProfileCommand(plugManSender, registry);
+            case "startup" -> new StartupCommand(plugManSender, registry);
+            case "stats" -> new StatsCommand(plugManSender, registry);
             default -> new HelpCommand(plugManSender, registry);
         };
 
@@ -9,6 +9,8 @@ import core.com.rylinaux.plugman.config.PlugManConfigurationManager;
 import core.com.rylinaux.plugman.plugins.CommandMapWrap;
 import core.com.rylinaux.plugman.plugins.Plugin;
 import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.profiling.PluginOperationEvent;
+import core.com.rylinaux.plugman.profiling.PluginOperationEvent.Phase;
 import core.com.rylinaux.plugman.util.reflection.FieldAccessor;
 import lombok.SneakyThrows;
 import net.md_5.bungee.api.ProxyServer;
@@ -29,16 +31,18 @@ public class BungeePluginManager implements PluginManager {
 
     @Override
     public PluginResult enable(Plugin plugin) {
-        if (plugin == null) return new PluginResult(false, "error.invalid-plugin");
-        if (plugin.isEnabled()) return new PluginResult(false, "enable.already-enabled");
-        var bungeePlugin = plugin.<net.md_5.bungee.api.plugin.Plugin>getHandle();
-        try {
-            bungeePlugin.onEnable();
-            return new PluginResult(true, "enable.enabled");
-        } catch (Exception e) {
-            PlugManBungee.getInstance().getLogger().log(Level.SEVERE, "Error enabling plugin " + plugin.getName(), e);
-            return new PluginResult(false, "enable.failed");
-        }
+        return PluginOperationEvent.record(Phase.ENABLE, plugin, () -> {
+            if (plugin == null) return new PluginResult(false, "error.invalid-plugin");
+            if (plugin.isEnabled()) return new PluginResult(false, "enable.already-enabled");
+            var bungeePlugin = plugin.<net.md_5.bungee.api.plugin.Plugin>getHandle();
+            try {
+                bungeePlugin.onEnable();
+                return new PluginResult(true, "enable.enabled");
+            } catch (Exception e) {
+                PlugManBungee.getInstance().getLogger().log(Level.SEVERE, "Error enabling plugin " + plugin.getName(), e);
+                return new PluginResult(false, "enable.failed");
+            }
+        });
     }
 
     @Override
@@ -54,11 +58,13 @@ public class BungeePluginManager implements PluginManager {
 
     @Override
     public PluginResult disable(Plugin plugin) {
-        if (plugin == null) return new PluginResult(false, "plugin.null");
-        if (!plugin.isEnabled()) return new PluginResult(false, "plugin.already-disabled");
-        var result = unload(plugin);
-        if (result.success()) return new PluginResult(true, "plugin.disabled");
-        return result;
+        return PluginOperationEvent.record(Phase.DISABLE, plugin, () -> {
+            if (plugin == null) return new PluginResult(false, "plugin.null");
+            if (!plugin.isEnabled()) return new PluginResult(false, "plugin.already-disabled");
+            var result = unload(plugin);
+            if (result.success()) return new PluginResult(true, "plugin.disabled");
+            return result;
+        });
     }
 
     @Override
@@ -123,6 +129,44 @@ public class BungeePluginManager implements PluginManager {
         return plugin != null? plugin.getVersion() : null;
     }
 
+    @Override
+    public Map<String, Integer> getCommandCounts() {
+        return countByPlugin("commandsByPlugin");
+    }
+
+    @Override
+    public Map<String, Integer> getListenerCounts() {
+        return countByPlugin("listenersByPlugin");
+    }
+
+    /**
+     * Count tasks by plugin, from the scheduler's {@code tasksByPlugin}.
+     */
+    @SneakyThrows
+    @Override
+    public Map<String, Integer> getTaskCounts() {
+        var scheduler = ProxyServer.getInstance().getScheduler();
+        var tasksByPlugin = FieldAccessor.<Multimap<net.md_5.bungee.api.plugin.Plugin, ?>>getValue(scheduler.getClass(), "tasksByPlugin", scheduler);
+        if (tasksByPlugin == null) return null;
+
+        var counts = new HashMap<String, Integer>();
+        synchronized (tasksByPlugin) {
+            for (var entry : tasksByPlugin.asMap().entrySet()) counts.put(entry.getKey().getDescription().getName().toLowerCase(Locale.ROOT), entry.getValue().size());
+        }
+        return counts;
+    }
+
+    @SneakyThrows
+    private Map<String, Integer> countByPlugin(String fieldName) {
+        var pluginManager = ProxyServer.getInstance().getPluginManager();
+        var byPlugin = FieldAccessor.<Multimap<net.md_5.bungee.api.plugin.Plugin, ?>>getValue(net.md_5.bungee.api.plugin.PluginManager.class, fieldName, pluginManager);
+        if (byPlugin == null) return null;
+
+        var counts = new HashMap<String, Integer>();
+        for (var entry : byPlugin.asMap().entrySet()) counts.put(entry.getKey().getDescription().getName().toLowerCase(Locale.ROOT), entry.getValue().size());
+        return counts;
+    }
+
     @SneakyThrows
     @Override
     public String getUsages(Plugin plugin) {
@@ -188,11 +232,13 @@ public class BungeePluginManager implements PluginManager {
 
     @Override
     public PluginResult load(String name) {
-        var file = findPluginFile(name);
-        if (file == null) return new PluginResult(false, "load.cannot-find");
-        var result = loadPluginFromFile(file);
-        if (result.success()) return new PluginResult(true, "load.loaded");
-        return new PluginResult(false, "load.invalid-plugin");
+        return PluginOperationEvent.record(Phase.LOAD, name, () -> {
+            var file = findPluginFile(name);
+            if (file == null) return new PluginResult(false, "load.cannot-find");
+            var result = loadPluginFromFile(file);
+            if (result.success()) return new PluginResult(true, "load.loaded");
+            return new PluginResult(false, "load.invalid-plugin");
+        });
     }
 
     @Override
@@ -211,8 +257,10 @@ public class BungeePluginManager implements PluginManager {
 
     @Override
     public PluginResult unload(Plugin plugin) {
-        var bungeePlugin = plugin.<net.md_5.bungee.api.plugin.Plugin>getHandle();
-        return unloadBungeePlugin(bungeePlugin);
+        return PluginOperationEvent.record(Phase.UNLOAD, plugin, () -> {
+            var bungeePlugin = plugin.<net.md_5.bungee.api.plugin.Plugin>getHandle();
+            return unloadBungeePlugin(bungeePlugin);
+        });
     }
 
     @Override
@@ -0,0 +1,49 @@
+package bungee.com.rylinaux.plugman.profiling;
+
+import com.google.common.collect.Multimap;
+import core.com.rylinaux.plugman.profiling.TaskProfiler;
+import core.com.rylinaux.plugman.util.ThreadUtil;
+import core.com.rylinaux.plugman.util.reflection.FieldAccessor;
+import net.md_5.bungee.api.ProxyServer;
+import net.md_5.bungee.api.plugin.Plugin;
+import net.md_5.bungee.api.scheduler.ScheduledTask;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Times tasks on BungeeCord's scheduler. The scheduler keeps its tasks by plugin in {@code tasksByPlugin}, and
+ * every task runs on its own thread, so they are all async.
+ */
+public class BungeeTaskProfiler extends TaskProfiler<ScheduledTask> {
+
+    public BungeeTaskProfiler(ThreadUtil threadUtil) {
+        super(threadUtil, "task");
+    }
+
+    @Override
+    protected Collection<ScheduledTask> getPendingTasks() {
+        var scheduler = ProxyServer.getInstance().getScheduler();
+
+        try {
+            Multimap<Plugin, ? extends ScheduledTask> tasks = FieldAccessor.getValue(scheduler.getClass(), "tasksByPlugin", scheduler);
+            if (tasks == null) return List.of();
+
+            synchronized (tasks) {
+                return List.copyOf(tasks.values());
+            }
+        } catch (IllegalAccessException exception) {
+            return List.of();
+        }
+    }
+
+    @Override
+    protected String getOwner(ScheduledTask task) {
+        return task.getOwner().getDescription().getName();
+    }
+
+    @Override
+    protected boolean isSync(ScheduledTask task) {
+        return false;
+    }
+}
@@ -1,10 +1,13 @@
 package bungee.com.rylinaux.plugman.util;
 
 import bungee.com.rylinaux.plugman.PlugManBungee;
+import core.com.rylinaux.plugman.util.ScheduledTask;
 import core.com.rylinaux.plugman.util.ThreadUtil;
 import net.md_5.bungee.api.ProxyServer;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class BungeeThreadUtil implements ThreadUtil {
 
@@ -19,14 +22,25 @@ public class BungeeThreadUtil implements ThreadUtil {
     }
 
     @Override
-    public void syncRepeating(Runnable runnable, long delay, long period) {
-        ProxyServer.getInstance().getScheduler().schedule(PlugManBungee.getInstance(), runnable, delay, period, TimeUnit.MILLISECONDS);
+    public ScheduledTask syncRepeating(Runnable runnable, Duration delay, Duration period) {
+        var task = ProxyServer.getInstance().getScheduler().schedule(PlugManBungee.getInstance(), runnable, delay.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+        return wrap(task);
     }
 
     @Override
-    public void asyncRepeating(Runnable runnable, long delay, long period) {
+    public ScheduledTask asyncRepeating(Runnable runnable, Duration delay, Duration period) {
         var scheduler = ProxyServer.getInstance().getScheduler();
 
-        scheduler.schedule(PlugManBungee.getInstance(), () -> scheduler.runAsync(PlugManBungee.getInstance(), runnable), delay, period, TimeUnit.MILLISECONDS);
+        var task = scheduler.schedule(PlugManBungee.getInstance(), () -> scheduler.runAsync(PlugManBungee.getInstance(), runnable), delay.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+        return wrap(task);
+    }
+
+    // BungeeCord tasks cannot tell if they were cancelled, so keep track of it here
+    private static ScheduledTask wrap(net.md_5.bungee.api.scheduler.ScheduledTask task) {
+        var cancelled = new AtomicBoolean();
+        return ScheduledTask.of(() -> {
+            cancelled.set(true);
+            task.cancel();
+        }, cancelled::get);
     }
 }
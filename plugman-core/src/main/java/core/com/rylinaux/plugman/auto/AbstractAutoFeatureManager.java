@@ -26,16 +26,21 @@ package core.com.rylinaux.plugman.auto;
  * #L%
  */
 
+import core.com.rylinaux.plugman.PluginResult;
 import core.com.rylinaux.plugman.config.PlugManConfigurationManager;
 import core.com.rylinaux.plugman.file.PlugManFileManager;
 import core.com.rylinaux.plugman.logging.PluginLogger;
+import core.com.rylinaux.plugman.metrics.PlugManMetrics;
+import core.com.rylinaux.plugman.profiling.AutoFeatureScanEvent;
 import core.com.rylinaux.plugman.services.ServiceRegistry;
 import core.com.rylinaux.plugman.util.ThreadUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Delegate;
 
 import java.io.File;
-import java.util.HashSet;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntSupplier;
 
 /**
  * Abstract base implementation for auto-load, auto-unload, and auto-reload features.
@@ -95,92 +100,128 @@ public abstract class AbstractAutoFeatureManager implements AutoFeatureManager {
 
     protected void setupAutoLoad() {
         var config = getConfigurationManager().getPlugManConfig();
-        var interval = config.getAutoLoad().getCheckEverySeconds() * 1000; // Convert to milliseconds for platform compatibility
-        getThreadUtil().asyncRepeating(() -> {
-            if (!new File("plugins").isDirectory()) return;
-
-            for (var file : getFileManager().getJarFiles()) {
-                if (getFileManager().isFileTracked(file.getName())) continue;
-                getThreadUtil().sync(() -> {
-                    var pluginName = file.getName().replace(".jar", "");
-                    var message = getPluginManager().load(pluginName);
-                    getLogger().info(getMessageFormatter().formatMessage(message.messageId(), pluginName));
-                });
-
-                getFileManager().trackFile(file);
-            }
-        }, interval, interval);
+        var interval = Duration.ofSeconds(config.getAutoLoad().getCheckEverySeconds());
+        getThreadUtil().asyncRepeating(() -> scan("auto-load", this::scanForNewPlugins), interval, interval);
     }
 
     protected void setupAutoUnload() {
         var config = getConfigurationManager().getPlugManConfig();
-        var interval = config.getAutoUnload().getCheckEverySeconds() * 1000; // Convert to milliseconds for platform compatibility
-        getThreadUtil().asyncRepeating(() -> {
-            if (!new File("plugins").isDirectory()) return;
-
-            for (var fileName : new HashSet<>(getFileManager().getTrackedFileNames())) {
-                if (new File("plugins", fileName).exists()) continue;
+        var interval = Duration.ofSeconds(config.getAutoUnload().getCheckEverySeconds());
+        getThreadUtil().asyncRepeating(() -> scan("auto-unload", this::scanForRemovedPlugins), interval, interval);
+    }
 
-                var pluginName = getFileManager().getPluginNameForFile(fileName);
-                if (pluginName == null) {
-                    getFileManager().untrackFile(fileName);
-                    continue;
-                }
+    protected void setupAutoReload() {
+        var config = getConfigurationManager().getPlugManConfig();
+        var interval = Duration.ofSeconds(config.getAutoReload().getCheckEverySeconds());
+        getThreadUtil().asyncRepeating(() -> scan("auto-reload", this::scanForChangedPlugins), interval, interval);
+    }
 
-                var pluginInstance = getPluginManager().getPluginByName(pluginName);
-                if (pluginInstance == null) {
-                    getFileManager().untrackFile(fileName);
-                    continue;
-                }
+    /**
+     * Run a scan of the plugins folder, recorded as a JFR event and in the metrics.
+     */
+    private void scan(String feature, IntSupplier scan) {
+        var start = System.nanoTime();
+        try {
+            AutoFeatureScanEvent.record(feature, scan);
+        } finally {
+            var nanos = System.nanoTime() - start;
+            serviceRegistry.getOptional(PlugManMetrics.class).ifPresent(metrics -> metrics.recordAutoFeatureScan(feature, nanos));
+        }
+    }
 
-                if (getPluginManager().isIgnored(pluginInstance)) continue;
+    /**
+     * Load every jar that is not tracked yet.
+     *
+     * @return the number of loads queued
+     */
+    private int scanForNewPlugins() {
+        if (!new File("plugins").isDirectory()) return 0;
+
+        var queued = 0;
+        for (var file : getFileManager().getJarFiles()) {
+            if (getFileManager().isFileTracked(file.getName())) continue;
+            var pluginName = file.getName().replace(".jar", "");
+            logResult(getPluginLifecycleQueue().load(pluginName), pluginName);
+            queued++;
+
+            getFileManager().trackFile(file);
+        }
+        return queued;
+    }
 
+    /**
+     * Unload every plugin whose tracked jar was deleted.
+     *
+     * @return the number of unloads queued
+     */
+    private int scanForRemovedPlugins() {
+        if (!new File("plugins").isDirectory()) return 0;
+
+        var queued = 0;
+        for (var tracked : getFileManager().getTrackedFiles()) {
+            var fileName = tracked.name();
+            if (tracked.hash() == null || new File("plugins", fileName).exists()) continue;
+
+            var pluginName = tracked.pluginName();
+            if (pluginName == null) {
                 getFileManager().untrackFile(fileName);
-                getThreadUtil().sync(() -> {
-                    var message = getPluginManager().unload(pluginInstance);
-                    getLogger().info(getMessageFormatter().formatMessage(message.messageId(), pluginInstance.getName()));
-                });
+                continue;
             }
-        }, interval, interval);
-    }
 
-    protected void setupAutoReload() {
-        var config = getConfigurationManager().getPlugManConfig();
-        var interval = config.getAutoReload().getCheckEverySeconds() * 1000; // Convert to milliseconds for platform compatibility
-        getThreadUtil().asyncRepeating(() -> {
-            if (!new File("plugins").isDirectory()) return;
+            var pluginInstance = getPluginManager().getPluginByName(pluginName);
+            if (pluginInstance == null) {
+                getFileManager().untrackFile(fileName);
+                continue;
+            }
 
-            for (var file : getFileManager().getJarFiles()) {
-                if (!getFileManager().isFileTracked(file.getName())) continue;
+            if (getPluginManager().isIgnored(pluginInstance)) continue;
 
-                if (getFileManager().hasFileChanged(file)) {
-                    var pluginName = getFileManager().getPluginNameForFile(file.getName());
-                    if (pluginName == null) {
-                        getFileManager().untrackFile(file.getName());
-                        continue;
-                    }
+            getFileManager().untrackFile(fileName);
+            logResult(getPluginLifecycleQueue().unload(pluginInstance.getName()), pluginInstance.getName());
+            queued++;
+        }
+        return queued;
+    }
 
-                    var pluginInstance = getPluginManager().getPluginByName(pluginName);
-                    if (pluginInstance == null) {
-                        getFileManager().untrackFile(file.getName());
-                        continue;
-                    }
+    /**
+     * Reload every plugin whose tracked jar changed.
+     *
+     * @return the number of reloads queued
+     */
+    private int scanForChangedPlugins() {
+        if (!new File("plugins").isDirectory()) return 0;
 
-                    if (getPluginManager().isIgnored(pluginInstance)) continue;
+        var queued = 0;
+        for (var file : getFileManager().getJarFiles()) {
+            if (!getFileManager().isFileTracked(file.getName())) continue;
 
-                    getFileManager().updateFileHash(file);
+            if (getFileManager().hasFileChanged(file)) {
+                var pluginName = getFileManager().getPluginNameForFile(file.getName());
+                if (pluginName == null) {
+                    getFileManager().untrackFile(file.getName());
+                    continue;
+                }
 
-                    getThreadUtil().sync(() -> {
-                        var unloadMessage = getPluginManager().unload(pluginInstance);
-                        getLogger().info(getMessageFormatter().formatMessage(unloadMessage.messageId(), pluginInstance.getName()));
+                var pluginInstance = getPluginManager().getPluginByName(pluginName);
+                if (pluginInstance == null) {
+                    getFileManager().untrackFile(file.getName());
+                    continue;
+                }
 
-                        if (!unloadMessage.success()) return;
+                if (getPluginManager().isIgnored(pluginInstance)) continue;
 
-                        var loadMessage = getPluginManager().load(pluginInstance.getName());
-                        getLogger().info(getMessageFormatter().formatMessage(loadMessage.messageId(), pluginInstance.getName()));
-                    });
-                }
+                getFileManager().updateFileHash(file);
+                logResult(getPluginLifecycleQueue().reload(pluginInstance.getName()), pluginInstance.getName());
+                queued++;
             }
-        }, interval, interval);
+        }
+        return queued;
+    }
+
+    private void logResult(CompletableFuture<PluginResult> result, String pluginName) {
+        result.whenComplete((message, throwable) -> {
+            if (throwable != null) getLogger().severe("Failed to change " + pluginName, throwable);
+            else getLogger().info(getMessageFormatter().formatMessage(message.messageId(), pluginName));
+        });
     }
 }
\ No newline at end of file
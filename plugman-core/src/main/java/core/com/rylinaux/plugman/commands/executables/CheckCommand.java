@@ -29,19 +29,23 @@ package core.com.rylinaux.plugman.commands.executables;
 
 import core.com.rylinaux.plugman.commands.AbstractCommand;
 import core.com.rylinaux.plugman.commands.CommandSender;
-import core.com.rylinaux.plugman.config.PlugManConfigurationManager;
 import core.com.rylinaux.plugman.logging.PluginLogger;
 import core.com.rylinaux.plugman.pojo.UpdateResult;
 import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.update.UpdateScanner;
+import core.com.rylinaux.plugman.update.UpdateSnapshot;
+import core.com.rylinaux.plugman.update.provider.UpdateProviderRegistry;
 import core.com.rylinaux.plugman.util.FlagUtil;
 import core.com.rylinaux.plugman.util.StringUtil;
+import core.com.rylinaux.plugman.util.IoExecutor;
 import core.com.rylinaux.plugman.util.ThreadUtil;
-import core.com.rylinaux.plugman.util.updatechecker.UpdateUtil;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Command that checks if a plugin is up-to-date.
@@ -64,7 +68,7 @@ public class CheckCommand extends AbstractCommand {
     /**
      * The proper usage of the command.
      */
-    public static final String USAGE = "/plugman check <plugin>";
+    public static final String USAGE = "/plugman check <plugin|all> [-f] [-r]";
     /**
      * The sub permissions of the command.
      */
@@ -91,6 +95,7 @@ public class CheckCommand extends AbstractCommand {
         if (!validateArguments(label, args, 2)) return;
 
         var toFile = FlagUtil.hasFlag(args, 'f');
+        var refresh = FlagUtil.hasFlag(args, 'r');
 
         if (args[1] == null) {
             sendSpecifyPluginMessage();
@@ -98,91 +103,124 @@ public class CheckCommand extends AbstractCommand {
             return;
         }
 
+        var threadUtil = get(ThreadUtil.class);
+        var scanner = getOptional(UpdateScanner.class).orElse(null);
+
         if (args[1].equalsIgnoreCase("all") || args[1].equalsIgnoreCase("*")) {
             if (!hasPermission("all")) {
                 sendNoPermissionMessage();
                 return;
             }
 
-            sender.sendMessage("check.header");
+            if (scanner == null) {
+                sender.sendMessage("check.header");
+                get(UpdateProviderRegistry.class).checkAll().thenAccept(results -> report(sender, results, toFile));
+                return;
+            }
 
-            var threadUtil = get(ThreadUtil.class);
+            var snapshot = scanner.getSnapshot();
+            if (refresh || snapshot.isEmpty()) {
+                sender.sendMessage(snapshot.isEmpty()? "check.snapshot-missing" : "check.refreshing");
+                scanner.refresh().thenAccept(refreshed -> report(sender, toResults(refreshed), toFile));
+                return;
+            }
 
-            threadUtil.async(() -> {
-                var results = UpdateUtil.checkUpToDate(getPluginManager(), get(PlugManConfigurationManager.class).getResourceMappingsConfig());
+            sender.sendMessage("check.snapshot-age", StringUtil.formatDuration(System.currentTimeMillis() - snapshot.oldestCheck()));
+            get(IoExecutor.class).execute(() -> report(sender, toResults(snapshot), toFile));
+            return;
+        }
 
-                var upToDate = new StringBuilder();
-                var outOfDate = new StringBuilder();
-                var unknown = new StringBuilder();
+        var pluginName = StringUtil.consolidateStrings(args, 1).replaceAll(" ", "+").replace("-[a-zA-Z]", "").replace("+null", "");
 
-                for (var entry : results.entrySet()) {
+        if (scanner != null && !refresh) {
+            var entry = scanner.getSnapshot().get(pluginName);
+            if (entry != null) {
+                sender.sendMessage("check.snapshot-age", StringUtil.formatDuration(System.currentTimeMillis() - entry.checkedAt()));
+                sendResult(sender, entry.toResult());
+                return;
+            }
+        }
 
-                    var result = entry.getValue().type();
+        sender.sendMessage(("check.header"));
 
-                    var currentVersion = getPluginManager().getPluginByName(entry.getKey()).getVersion();
+        get(UpdateProviderRegistry.class).check(pluginName).thenAccept(result -> {
+            if (scanner != null && getPluginManager().getPluginByName(pluginName) != null) scanner.record(pluginName, result);
 
-                    if (result == UpdateResult.ResultType.UP_TO_DATE)
-                        upToDate.append(entry.getKey()).append("(").append(currentVersion).append(") ");
-                    else if (result == UpdateResult.ResultType.INVALID_PLUGIN || result == UpdateResult.ResultType.NOT_INSTALLED)
-                        unknown.append(entry.getKey()).append("(").append(currentVersion).append(") ");
-                    else outOfDate.append(entry.getKey())
-                                .append("(")
-                                .append(currentVersion)
-                                .append(" -> ")
-                                .append(entry.getValue().latestVersion())
-                                .append(") ");
+            threadUtil.sync(() -> sendResult(sender, result));
+        });
+    }
 
-                }
+    private void sendResult(CommandSender sender, UpdateResult result) {
+        switch (result.type()) {
+            case NOT_INSTALLED -> sender.sendMessage("check.not-found", result.latestVersion());
+            case OUT_OF_DATE -> sender.sendMessage("check.out-of-date", result.currentVersion(), result.latestVersion());
+            case UP_TO_DATE -> sender.sendMessage("check.up-to-date", result.currentVersion());
+            case UNKNOWN -> sender.sendMessage("check.unknown");
+            default -> sender.sendMessage("check.not-found-spigot");
+        }
+    }
 
-                if (!toFile) {
-                    threadUtil.sync(() -> {
-                        sender.sendMessage("check.up-to-date-player", upToDate.toString());
-                        sender.sendMessage("check.out-of-date-player", outOfDate.toString());
-                        sender.sendMessage("check.unknown-player", unknown.toString());
-                    });
-                    return;
-                }
+    private Map<String, UpdateResult> toResults(UpdateSnapshot snapshot) {
+        var results = new TreeMap<String, UpdateResult>();
+        for (var entry : snapshot.entries().values()) results.put(entry.name(), entry.toResult());
+        return results;
+    }
 
-                var outFile = new File(Path.of("plugins", "PlugManX").toFile(), "updates.txt");
+    /**
+     * Send or write the results of checking all plugins. Must be called off the main thread.
+     */
+    private void report(CommandSender sender, Map<String, UpdateResult> results, boolean toFile) {
+        var threadUtil = get(ThreadUtil.class);
 
-                try (var writer = new PrintWriter(outFile)) {
-                    writer.println("Up-to-date (Installed):");
-                    writer.println(upToDate);
+        var upToDate = new StringBuilder();
+        var outOfDate = new StringBuilder();
+        var unknown = new StringBuilder();
 
-                    writer.println("Out-of-date (Installed -> Latest):");
-                    writer.println(outOfDate);
+        for (var entry : results.entrySet()) {
 
-                    writer.println("Unknown (Installed):");
-                    writer.println(unknown);
-                } catch (IOException exception) {
-                    var logger = get(PluginLogger.class);
-                    logger.warning("Error writing to file: " + exception.getMessage());
-                    return;
-                }
+            var result = entry.getValue().type();
 
-                sender.sendMessage("check.file-done", outFile.getPath());
-            });
+            var currentVersion = entry.getValue().currentVersion();
+
+            if (result == UpdateResult.ResultType.UP_TO_DATE)
+                upToDate.append(entry.getKey()).append("(").append(currentVersion).append(") ");
+            else if (result == UpdateResult.ResultType.INVALID_PLUGIN || result == UpdateResult.ResultType.NOT_INSTALLED || result == UpdateResult.ResultType.UNKNOWN)
+                unknown.append(entry.getKey()).append("(").append(currentVersion).append(") ");
+            else outOfDate.append(entry.getKey())
+                        .append("(")
+                        .append(currentVersion)
+                        .append(" -> ")
+                        .append(entry.getValue().latestVersion())
+                        .append(") ");
 
+        }
+
+        if (!toFile) {
+            threadUtil.sync(() -> {
+                sender.sendMessage("check.up-to-date-player", upToDate.toString());
+                sender.sendMessage("check.out-of-date-player", outOfDate.toString());
+                sender.sendMessage("check.unknown-player", unknown.toString());
+            });
             return;
         }
 
-        var pluginName = StringUtil.consolidateStrings(args, 1).replaceAll(" ", "+").replace("-[a-zA-Z]", "").replace("+null", "");
+        var outFile = new File(Path.of("plugins", "PlugManX").toFile(), "updates.txt");
 
-        sender.sendMessage(("check.header"));
+        try (var writer = new PrintWriter(outFile)) {
+            writer.println("Up-to-date (Installed):");
+            writer.println(upToDate);
 
-        var threadUtil = get(ThreadUtil.class);
+            writer.println("Out-of-date (Installed -> Latest):");
+            writer.println(outOfDate);
 
-        threadUtil.async(() -> {
-            var result = UpdateUtil.checkUpToDate(pluginName, getPluginManager(), get(PlugManConfigurationManager.class).getResourceMappingsConfig());
+            writer.println("Unknown (Installed):");
+            writer.println(unknown);
+        } catch (IOException exception) {
+            var logger = get(PluginLogger.class);
+            logger.warning("Error writing to file: " + exception.getMessage());
+            return;
+        }
 
-            threadUtil.sync(() -> {
-                switch (result.type()) {
-                    case NOT_INSTALLED -> sender.sendMessage("check.not-found", result.latestVersion());
-                    case OUT_OF_DATE -> sender.sendMessage("check.out-of-date", result.currentVersion(), result.latestVersion());
-                    case UP_TO_DATE -> sender.sendMessage("check.up-to-date", result.currentVersion());
-                    default -> sender.sendMessage("check.not-found-spigot");
-                }
-            });
-        });
+        sender.sendMessage("check.file-done", outFile.getPath());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,126 @@
+package core.com.rylinaux.plugman.commands.executables;
+
+import core.com.rylinaux.plugman.commands.AbstractCommand;
+import core.com.rylinaux.plugman.commands.CommandSender;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.update.DownloadResult;
+import core.com.rylinaux.plugman.update.UpdateDownloader;
+import core.com.rylinaux.plugman.util.ThreadUtil;
+
+import java.util.Map;
+
+/**
+ * Command that downloads the latest version of a plugin into the update folder.
+ */
+public class DownloadCommand extends AbstractCommand {
+    /**
+     * The name of the command.
+     */
+    public static final String NAME = "Download";
+    /**
+     * The description of the command.
+     */
+    public static final String DESCRIPTION = "Download the latest version of a plugin into the update folder.";
+    /**
+     * The main permission of the command.
+     */
+    public static final String PERMISSION = "plugman.download";
+    /**
+     * The proper usage of the command.
+     */
+    public static final String USAGE = "/plugman download <plugin|all>";
+    /**
+     * The sub permissions of the command.
+     */
+    public static final String[] SUB_PERMISSIONS = {"all"};
+
+    /**
+     * Construct out object.
+     *
+     * @param sender   the command sender
+     * @param registry the service registry
+     */
+    public DownloadCommand(CommandSender sender, ServiceRegistry registry) {
+        super(sender, NAME, DESCRIPTION, PERMISSION, SUB_PERMISSIONS, USAGE, registry);
+    }
+
+    /**
+     * Execute the command.
+     *
+     * @param sender the sender of the command
+     * @param label  the name of the command
+     * @param args   the arguments supplied
+     */
+    @Override
+    public void execute(CommandSender sender, String label, String[] args) {
+        if (!validateArguments(label, args, 2)) return;
+
+        var threadUtil = get(ThreadUtil.class);
+        var downloader = get(UpdateDownloader.class);
+
+        if (args[1].equalsIgnoreCase("all") || args[1].equalsIgnoreCase("*")) {
+            if (!hasPermission("all")) {
+                sendNoPermissionMessage();
+                return;
+            }
+
+            sender.sendMessage("download.header-all");
+            downloader.downloadAll().thenAccept(results -> threadUtil.sync(() -> report(sender, results)));
+            return;
+        }
+
+        var target = getPluginManager().getPluginByName(args, 1);
+
+        if (target == null) {
+            sendInvalidPluginMessage();
+            sendUsage(label);
+            return;
+        }
+
+        sender.sendMessage("download.header", target.getName());
+        downloader.download(target.getName(), false).thenAccept(result -> threadUtil.sync(() -> sendResult(sender, target.getName(), result)));
+    }
+
+    private void sendResult(CommandSender sender, String pluginName, DownloadResult result) {
+        switch (result.type()) {
+            case DOWNLOADED -> sender.sendMessage(get(UpdateDownloader.class).isInstalledOnRestart()? "download.downloaded" : "download.downloaded-manual", pluginName, result.file().version(), result.target().getPath());
+            case UP_TO_DATE -> sender.sendMessage("download.up-to-date", pluginName, result.currentVersion());
+            case NO_CHECKSUM -> sender.sendMessage("download.no-checksum", pluginName, result.file().providerId());
+            case CHECKSUM_MISMATCH -> sender.sendMessage("download.checksum-mismatch", pluginName);
+            case FAILED -> sender.sendMessage("download.failed", pluginName);
+            default -> sender.sendMessage("download.not-found", pluginName);
+        }
+    }
+
+    private void report(CommandSender sender, Map<String, DownloadResult> results) {
+        var downloaded = new StringBuilder();
+        var failed = new StringBuilder();
+        var downloadedCount = 0;
+        var failedCount = 0;
+
+        for (var entry : results.entrySet()) {
+            var result = entry.getValue();
+
+            switch (result.type()) {
+                case DOWNLOADED -> {
+                    downloadedCount++;
+                    downloaded.append(entry.getKey())
+                            .append("(")
+                            .append(result.currentVersion())
+                            .append(" -> ")
+                            .append(result.file().version())
+                            .append(") ");
+                }
+                case NO_CHECKSUM, CHECKSUM_MISMATCH, FAILED -> {
+                    failedCount++;
+                    failed.append(entry.getKey()).append("(").append(result.type().name().toLowerCase().replace('_', '-')).append(") ");
+                }
+                default -> {
+                }
+            }
+        }
+
+        sender.sendMessage("download.downloaded-all", downloadedCount, downloaded.toString());
+        if (failedCount > 0) sender.sendMessage("download.failed-all", failedCount, failed.toString());
+    }
+}
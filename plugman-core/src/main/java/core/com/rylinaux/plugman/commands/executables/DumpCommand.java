@@ -29,16 +29,13 @@ package core.com.rylinaux.plugman.commands.executables;
 
 import core.com.rylinaux.plugman.commands.AbstractCommand;
 import core.com.rylinaux.plugman.commands.CommandSender;
+import core.com.rylinaux.plugman.file.PluginDumper;
 import core.com.rylinaux.plugman.logging.PluginLogger;
 import core.com.rylinaux.plugman.services.ServiceRegistry;
-
-import java.io.File;
-import java.io.IOException;
-import java.io.PrintWriter;
-import java.nio.file.Path;
+import core.com.rylinaux.plugman.util.ThreadUtil;
 
 /**
- * Command that dumps plugin names and versions to file.
+ * Command that dumps every plugin with its version, state, jar and registrations to file.
  *
  * @author rylinaux
  */
@@ -61,7 +58,7 @@ public class DumpCommand extends AbstractCommand {
     /**
      * The proper usage of the command.
      */
-    public static final String USAGE = "/plugman dump";
+    public static final String USAGE = "/plugman dump [jsonl|csv|txt]";
 
     /**
      * The sub permissions of the command.
@@ -86,34 +83,23 @@ public class DumpCommand extends AbstractCommand {
      */
     @Override
     public void execute(CommandSender sender, String label, String[] args) {
-        var dumpFile = new File(Path.of("plugins", "PlugManX").toFile(), "versions.txt");
-
-        var plugins = getPluginManager().getPluginNames(true);
-        plugins.sort(String.CASE_INSENSITIVE_ORDER);
+        var format = args.length > 1? PluginDumper.Format.fromName(args[1]) : PluginDumper.Format.JSONL;
+        if (format == null) {
+            sendUsage(label);
+            return;
+        }
 
-        try (var writer = new PrintWriter(dumpFile)) {
-            for (var plugin : plugins) {
-                plugin = reformat(plugin);
+        var threadUtil = get(ThreadUtil.class);
 
-                writer.println(plugin);
+        sender.sendMessage("dump.dumping", format.getFileName());
+        get(PluginDumper.class).dump(format).whenComplete((file, exception) -> threadUtil.sync(() -> {
+            if (exception == null) {
+                sender.sendMessage("dump.dumped", file.getName());
+                return;
             }
-            writer.flush();
 
-            sender.sendMessage("dump.dumped", dumpFile.getName());
-        } catch (IOException exception) {
-            var logger = get(PluginLogger.class);
             sender.sendMessage("dump.error");
-            logger.severe("Failed to write dump file: " + dumpFile.getPath(), exception);
-        }
-    }
-
-    private String reformat(String plugin) {
-        if (plugin.startsWith("§a")) plugin = plugin + " - Enabled";
-
-        if (plugin.startsWith("§c")) plugin = plugin + " - Disabled";
-
-        plugin = plugin.substring(2);
-
-        return plugin;
+            get(PluginLogger.class).severe("Failed to write dump file: " + format.getFileName(), exception);
+        }));
     }
 }
@@ -26,15 +26,14 @@ package core.com.rylinaux.plugman.commands.executables;
  * #L%
  */
 
-import com.google.common.base.Joiner;
 import core.com.rylinaux.plugman.commands.AbstractCommand;
 import core.com.rylinaux.plugman.commands.CommandSender;
-import core.com.rylinaux.plugman.plugins.Plugin;
+import core.com.rylinaux.plugman.plugins.PluginListIndex;
 import core.com.rylinaux.plugman.services.ServiceRegistry;
-import lombok.RequiredArgsConstructor;
 
 import java.util.ArrayList;
-import java.util.function.Function;
+import java.util.Locale;
+import java.util.stream.Collectors;
 
 /**
  * Command that lists plugins.
@@ -51,7 +50,7 @@ public class ListCommand extends AbstractCommand {
     /**
      * The description of the command.
      */
-    public static final String DESCRIPTION = "List all plugins.";
+    public static final String DESCRIPTION = "List plugins a page at a time.";
 
     /**
      * The main permission of the command.
@@ -61,13 +60,18 @@ public class ListCommand extends AbstractCommand {
     /**
      * The proper usage of the command.
      */
-    public static final String USAGE = "/plugman list [-v]";
+    public static final String USAGE = "/plugman list [page] [-v] [-e|-d] [-p] [name:<prefix>] [author:<name>]";
 
     /**
      * The sub permissions of the command.
      */
     public static final String[] SUB_PERMISSIONS = {""};
 
+    /**
+     * The number of plugins per page.
+     */
+    public static final int PAGE_SIZE = 40;
+
     /**
      * Construct out object.
      *
@@ -86,28 +90,61 @@ public class ListCommand extends AbstractCommand {
      */
     @Override
     public void execute(CommandSender sender, String label, String[] args) {
-        var includeVersions = core.com.rylinaux.plugman.util.FlagUtil.hasFlag(args, 'v');
+        var includeVersions = false;
+        var page = 1;
+        var state = PluginListIndex.State.ANY;
+        var paperOnly = false;
+        String namePrefix = null;
+        String author = null;
+        var filterArgs = new ArrayList<String>();
+
+        for (var i = 1; i < args.length; i++) {
+            var arg = args[i];
+            var lowerArg = arg.toLowerCase(Locale.ROOT);
+
+            if (lowerArg.equals("-v")) includeVersions = true;
+            else if (lowerArg.equals("-e")) state = PluginListIndex.State.ENABLED;
+            else if (lowerArg.equals("-d")) state = PluginListIndex.State.DISABLED;
+            else if (lowerArg.equals("-p")) paperOnly = true;
+            else if (lowerArg.startsWith("name:") && arg.length() > 5) namePrefix = arg.substring(5);
+            else if (lowerArg.startsWith("author:") && arg.length() > 7) author = arg.substring(7);
+            else if (isPage(arg)) {
+                page = Integer.parseInt(arg);
+                continue;
+            } else {
+                sendUsage(label);
+                return;
+            }
+
+            filterArgs.add(arg);
+        }
 
-        var pluginList = new ArrayList<String>();
-        var formatFunction = new PluginStringFunction(includeVersions);
+        var filter = new PluginListIndex.Filter(state, paperOnly, namePrefix, author);
+        var result = getPluginListIndex().page(filter, page, PAGE_SIZE);
 
-        getPluginManager().getPlugins().stream().map(formatFunction).forEach(pluginList::add);
+        if (result.plugins().isEmpty()) {
+            sender.sendMessage(page == 1? "list.none" : "list.no-page", page);
+            return;
+        }
 
-        pluginList.sort(String.CASE_INSENSITIVE_ORDER);
+        var finalIncludeVersions = includeVersions;
+        var plugins = result.plugins().stream()
+                .map(plugin -> getPluginManager().getFormattedName(plugin, finalIncludeVersions))
+                .collect(Collectors.joining(", "));
 
-        var plugins = Joiner.on(", ").join(pluginList);
+        if (result.total() >= 0) sender.sendMessage("list.list", result.total(), plugins, page, (result.total() + PAGE_SIZE - 1) / PAGE_SIZE);
+        else sender.sendMessage("list.filtered", page, plugins);
 
-        sender.sendMessage("list.list", pluginList.size(), plugins);
+        if (!result.hasMore()) return;
 
+        filterArgs.add(0, "list");
+        filterArgs.add(String.valueOf(page + 1));
+        sender.sendMessage("list.next-page", label, String.join(" ", filterArgs));
     }
 
-    @RequiredArgsConstructor
-    private class PluginStringFunction implements Function<Plugin, String> {
-        private final boolean includeVersions;
-
-        @Override
-        public String apply(Plugin test) {
-            return getPluginManager().getFormattedName(test, includeVersions);
-        }
+    private static boolean isPage(String arg) {
+        if (arg.isEmpty() || arg.length() > 6) return false;
+        for (var i = 0; i < arg.length(); i++) if (arg.charAt(i) < '0' || arg.charAt(i) > '9') return false;
+        return Integer.parseInt(arg) > 0;
     }
 }
@@ -28,6 +28,7 @@ package core.com.rylinaux.plugman.commands.executables;
 
 import core.com.rylinaux.plugman.commands.AbstractCommand;
 import core.com.rylinaux.plugman.commands.CommandSender;
+import core.com.rylinaux.plugman.logging.PluginLogger;
 import core.com.rylinaux.plugman.services.ServiceRegistry;
 import core.com.rylinaux.plugman.util.StringUtil;
 
@@ -101,7 +102,14 @@ public class LoadCommand extends AbstractCommand {
             return;
         }
 
-        var result = getPluginManager().load(name);
-        sender.sendMessage(result.messageId(), name);
+        getPluginLifecycleQueue().load(name).whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                sender.sendMessage(result.messageId(), name);
+                return;
+            }
+
+            get(PluginLogger.class).severe("Failed to load " + name, throwable);
+            sender.sendMessage("load.failed", name);
+        });
     }
 }
@@ -0,0 +1,108 @@
+package core.com.rylinaux.plugman.commands.executables;
+
+import core.com.rylinaux.plugman.commands.AbstractCommand;
+import core.com.rylinaux.plugman.commands.CommandSender;
+import core.com.rylinaux.plugman.profiling.Profiler;
+import core.com.rylinaux.plugman.profiling.ProfilerRegistry;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.util.StringUtil;
+
+/**
+ * Command that starts, stops and shows the profilers.
+ *
+ * @author rylinaux
+ */
+public class ProfileCommand extends AbstractCommand {
+    /**
+     * The name of the command.
+     */
+    public static final String NAME = "Profile";
+
+    /**
+     * The description of the command.
+     */
+    public static final String DESCRIPTION = "Profile the time plugins take.";
+
+    /**
+     * The main permission of the command.
+     */
+    public static final String PERMISSION = "plugman.profile";
+
+    /**
+     * The proper usage of the command.
+     */
+    public static final String USAGE = "/plugman profile <profiler> [start|stop|reset|plugin]";
+
+    /**
+     * The sub permissions of the command.
+     */
+    public static final String[] SUB_PERMISSIONS = {""};
+
+    /**
+     * How many timings are shown at once.
+     */
+    private static final int LIMIT = 10;
+
+    /**
+     * Construct out object.
+     *
+     * @param sender the command sender
+     */
+    public ProfileCommand(CommandSender sender, ServiceRegistry registry) {
+        super(sender, NAME, DESCRIPTION, PERMISSION, SUB_PERMISSIONS, USAGE, registry);
+    }
+
+    /**
+     * Execute the command.
+     *
+     * @param sender the sender of the command
+     * @param label  the name of the command
+     * @param args   the arguments supplied
+     */
+    @Override
+    public void execute(CommandSender sender, String label, String[] args) {
+        var profilers = get(ProfilerRegistry.class);
+        var available = String.join(", ", profilers.getNames());
+
+        if (args.length < 2) {
+            sender.sendMessage("profile.available", available);
+            sendUsage(label);
+            return;
+        }
+
+        var profiler = profilers.get(args[1]);
+        if (profiler == null) {
+            sender.sendMessage("profile.unknown", args[1], available);
+            return;
+        }
+
+        var action = args.length > 2? args[2].toLowerCase() : "";
+        switch (action) {
+            case "start" -> sender.sendMessage(profiler.start()? "profile.started" : "profile.already-running", profiler.getName(), label);
+            case "stop" -> sender.sendMessage(profiler.stop()? "profile.stopped" : "profile.not-running", profiler.getName());
+            case "reset" -> {
+                profiler.reset();
+                sender.sendMessage("profile.reset", profiler.getName());
+            }
+            default -> show(sender, profiler, action.isEmpty()? null : StringUtil.consolidateStrings(args, 2));
+        }
+    }
+
+    private void show(CommandSender sender, Profiler profiler, String plugin) {
+        var timings = profiler.top(plugin, LIMIT);
+        sender.sendMessage(profiler.isRunning()? "profile.header-running" : "profile.header-stopped", profiler.getName());
+
+        if (timings.isEmpty()) {
+            sender.sendMessage("profile.none");
+            return;
+        }
+
+        for (var timing : timings) {
+            var key = timing.getKey();
+            var stats = timing.getValue();
+            sender.sendMessage(false, "profile.entry", key.plugin(), key.name(), key.detail(), stats.getCount(),
+                    StringUtil.formatNanos(stats.getMeanNanos()), StringUtil.formatNanos(stats.getPercentileNanos(99)),
+                    StringUtil.formatNanos(stats.getMaxNanos()), StringUtil.formatNanos(stats.getTotalNanos()));
+        }
+    }
+}
@@ -28,10 +28,13 @@ package core.com.rylinaux.plugman.commands.executables;
 
 import core.com.rylinaux.plugman.commands.AbstractCommand;
 import core.com.rylinaux.plugman.commands.CommandSender;
+import core.com.rylinaux.plugman.logging.PluginLogger;
 import core.com.rylinaux.plugman.plugins.Plugin;
 import core.com.rylinaux.plugman.services.ServiceRegistry;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Command that reloads plugin(s).
@@ -104,44 +107,45 @@ public class ReloadCommand extends AbstractCommand {
         var plugins = getPluginManager().getPlugins().stream().filter(plugin ->
                 plugin != null && !getPluginManager().isIgnored(plugin)).toList();
 
-        var failedPlugins = new ArrayList<String>();
+        var failedPlugins = Collections.synchronizedList(new ArrayList<String>());
+        var reloads = plugins.stream().map(plugin -> reloadPlugin(sender, label, plugin).thenAccept(success -> {
+            if (!success) failedPlugins.add(plugin.getName());
+        })).toArray(CompletableFuture[]::new);
 
-        for (var plugin : plugins) {
-            var success = reloadPlugin(sender, label, plugin);
-
-            if (success) continue;
-            failedPlugins.add(plugin.getName());
-        }
+        CompletableFuture.allOf(reloads).whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                get(PluginLogger.class).severe("Failed to reload all plugins", throwable);
+                sender.sendMessage("reload.all-failed", String.join(", ", failedPlugins));
+                return;
+            }
 
-        if (failedPlugins.isEmpty()) {
-            sender.sendMessage("reload.all");
-            return;
-        }
+            if (failedPlugins.isEmpty()) {
+                sender.sendMessage("reload.all");
+                return;
+            }
 
-        sender.sendMessage("reload.all-failed", String.join(", ", failedPlugins));
+            sender.sendMessage("reload.all-failed", String.join(", ", failedPlugins));
+        });
     }
 
-    private boolean reloadPlugin(CommandSender sender, String label, Plugin target) {
+    private CompletableFuture<Boolean> reloadPlugin(CommandSender sender, String label, Plugin target) {
         if (target == null) {
             sendInvalidPluginMessage();
             sendUsage(label);
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
 
-        var result = getPluginManager().unload(target);
-        if (!result.success()) {
-            sender.sendMessage(result.messageId(), target.getName());
-            return false;
-        }
+        // A failed reload is reported here and counted as unsuccessful, so reloading all plugins still finishes
+        return getPluginLifecycleQueue().reload(target.getName()).handle((result, throwable) -> {
+            if (throwable == null) {
+                sender.sendMessage(result.messageId(), target.getName());
+                return result.success();
+            }
 
-        result = getPluginManager().load(target);
-        if (!result.success()) {
-            sender.sendMessage(result.messageId(), target.getName());
+            get(PluginLogger.class).severe("Failed to reload " + target.getName(), throwable);
+            sender.sendMessage("reload.failed", target.getName());
             return false;
-        }
-
-        sender.sendMessage("reload.reloaded", target.getName());
-        return true;
+        });
     }
 
 }
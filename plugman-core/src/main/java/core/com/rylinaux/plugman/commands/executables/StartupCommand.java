@@ -0,0 +1,128 @@
+package core.com.rylinaux.plugman.commands.executables;
+
+import core.com.rylinaux.plugman.commands.AbstractCommand;
+import core.com.rylinaux.plugman.commands.CommandSender;
+import core.com.rylinaux.plugman.logging.PluginLogger;
+import core.com.rylinaux.plugman.profiling.StartupHistory;
+import core.com.rylinaux.plugman.profiling.StartupRecord;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.util.IoExecutor;
+import core.com.rylinaux.plugman.util.StringUtil;
+import core.com.rylinaux.plugman.util.ThreadUtil;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Command that shows how long plugins took to load and enable during the last server startups.
+ *
+ * @author rylinaux
+ */
+public class StartupCommand extends AbstractCommand {
+    /**
+     * The name of the command.
+     */
+    public static final String NAME = "Startup";
+
+    /**
+     * The description of the command.
+     */
+    public static final String DESCRIPTION = "Show how long plugins took to start.";
+
+    /**
+     * The main permission of the command.
+     */
+    public static final String PERMISSION = "plugman.startup";
+
+    /**
+     * The proper usage of the command.
+     */
+    public static final String USAGE = "/plugman startup [plugin]";
+
+    /**
+     * The sub permissions of the command.
+     */
+    public static final String[] SUB_PERMISSIONS = {""};
+
+    /**
+     * How many plugins are shown at once.
+     */
+    private static final int LIMIT = 10;
+
+    /**
+     * Construct out object.
+     *
+     * @param sender the command sender
+     */
+    public StartupCommand(CommandSender sender, ServiceRegistry registry) {
+        super(sender, NAME, DESCRIPTION, PERMISSION, SUB_PERMISSIONS, USAGE, registry);
+    }
+
+    /**
+     * Execute the command.
+     *
+     * @param sender the sender of the command
+     * @param label  the name of the command
+     * @param args   the arguments supplied
+     */
+    @Override
+    public void execute(CommandSender sender, String label, String[] args) {
+        var history = get(StartupHistory.class);
+        var threadUtil = get(ThreadUtil.class);
+        var plugin = args.length > 1? StringUtil.consolidateStrings(args, 1) : null;
+
+        // The history is read from disk the first time
+        get(IoExecutor.class).supply(history::getStartups).whenComplete((startups, exception) -> threadUtil.sync(() -> {
+            if (exception != null) {
+                get(PluginLogger.class).severe("Failed to read the startup history", exception);
+                sender.sendMessage("startup.none");
+                return;
+            }
+
+            if (startups.isEmpty()) sender.sendMessage("startup.none");
+            else if (plugin == null) showLast(sender, history, startups.getLast());
+            else showPlugin(sender, startups, plugin);
+        }));
+    }
+
+    private void showLast(CommandSender sender, StartupHistory history, StartupRecord last) {
+        var earlier = history.getEarlierAverage(null);
+        if (earlier.isPresent())
+            sender.sendMessage("startup.header", StringUtil.formatNanos(last.bootNanos()), formatChange(last.bootNanos(), earlier), history.getStartups().size() - 1);
+        else sender.sendMessage("startup.header-first", StringUtil.formatNanos(last.bootNanos()));
+
+        for (var startup : last.plugins().stream().limit(LIMIT).toList()) {
+            var load = startup.load();
+            var enable = startup.enable();
+            var change = history.getEarlierAverage(startup.plugin());
+            sender.sendMessage(false, "startup.entry", startup.plugin(),
+                    StringUtil.formatNanos(load.wallNanos()), StringUtil.formatNanos(load.cpuNanos()), load.classes(),
+                    StringUtil.formatNanos(enable.wallNanos()), StringUtil.formatNanos(enable.cpuNanos()), enable.classes(),
+                    change.isPresent()? "(" + formatChange(startup.totalNanos(), change) + ")" : "");
+        }
+    }
+
+    private void showPlugin(CommandSender sender, List<StartupRecord> startups, String plugin) {
+        var found = startups.stream().filter(startup -> startup.find(plugin) != null).toList();
+        if (found.isEmpty()) {
+            sender.sendMessage("startup.not-found", plugin);
+            return;
+        }
+
+        sender.sendMessage("startup.plugin-header", found.getLast().find(plugin).plugin());
+
+        var dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+        for (var startup : found) {
+            var timings = startup.find(plugin);
+            sender.sendMessage(false, "startup.plugin-entry", dateFormat.format(new Date(startup.startedAt())),
+                    StringUtil.formatNanos(timings.load().wallNanos()), StringUtil.formatNanos(timings.enable().wallNanos()));
+        }
+    }
+
+    private static String formatChange(long nanos, OptionalLong average) {
+        var change = nanos - average.getAsLong();
+        return (change < 0? "-" : "+") + StringUtil.formatNanos(Math.abs(change));
+    }
+}
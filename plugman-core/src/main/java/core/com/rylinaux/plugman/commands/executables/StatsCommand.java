@@ -0,0 +1,119 @@
+package core.com.rylinaux.plugman.commands.executables;
+
+import core.com.rylinaux.plugman.commands.AbstractCommand;
+import core.com.rylinaux.plugman.commands.CommandSender;
+import core.com.rylinaux.plugman.logging.PluginLogger;
+import core.com.rylinaux.plugman.metrics.PluginResourceAccountant;
+import core.com.rylinaux.plugman.metrics.PluginResources;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.util.StringUtil;
+import core.com.rylinaux.plugman.util.ThreadUtil;
+
+/**
+ * Command that shows the classes, metaspace, threads, listeners, tasks and commands every plugin holds on to.
+ *
+ * @author rylinaux
+ */
+public class StatsCommand extends AbstractCommand {
+    /**
+     * The name of the command.
+     */
+    public static final String NAME = "Stats";
+
+    /**
+     * The description of the command.
+     */
+    public static final String DESCRIPTION = "Show the resources plugins hold on to.";
+
+    /**
+     * The main permission of the command.
+     */
+    public static final String PERMISSION = "plugman.stats";
+
+    /**
+     * The proper usage of the command.
+     */
+    public static final String USAGE = "/plugman stats [plugin]";
+
+    /**
+     * The sub permissions of the command.
+     */
+    public static final String[] SUB_PERMISSIONS = {""};
+
+    /**
+     * How many plugins are shown at once.
+     */
+    private static final int LIMIT = 10;
+
+    /**
+     * Construct out object.
+     *
+     * @param sender the command sender
+     */
+    public StatsCommand(CommandSender sender, ServiceRegistry registry) {
+        super(sender, NAME, DESCRIPTION, PERMISSION, SUB_PERMISSIONS, USAGE, registry);
+    }
+
+    /**
+     * Execute the command.
+     *
+     * @param sender the sender of the command
+     * @param label  the name of the command
+     * @param args   the arguments supplied
+     */
+    @Override
+    public void execute(CommandSender sender, String label, String[] args) {
+        var accountant = get(PluginResourceAccountant.class);
+        var threadUtil = get(ThreadUtil.class);
+
+        if (args.length < 2) {
+            accountant.getResources().whenComplete((resources, exception) -> threadUtil.sync(() -> {
+                if (exception != null) {
+                    sendError(sender, exception);
+                    return;
+                }
+
+                sender.sendMessage("stats.header");
+                for (var entry : resources.stream().limit(LIMIT).toList())
+                    sender.sendMessage(false, "stats.entry", entry.plugin(), format(entry.classes()), formatBytes(entry.metaspaceBytes()),
+                            entry.threads().size(), format(entry.listeners()), format(entry.tasks()), format(entry.commands()));
+            }));
+            return;
+        }
+
+        var target = getPluginManager().getPluginByName(args, 1);
+        if (target == null) {
+            sendInvalidPluginMessage();
+            sendUsage(label);
+            return;
+        }
+
+        accountant.getResources(target.getName()).whenComplete((resources, exception) -> threadUtil.sync(() -> {
+            if (exception != null) sendError(sender, exception);
+            else if (resources == null) sendInvalidPluginMessage();
+            else showPlugin(sender, resources);
+        }));
+    }
+
+    private void showPlugin(CommandSender sender, PluginResources resources) {
+        sender.sendMessage("stats.plugin-header", resources.plugin());
+        sender.sendMessage(false, "stats.classes", format(resources.classes()), formatBytes(resources.metaspaceBytes()));
+        sender.sendMessage(false, "stats.threads", resources.threads().size(), String.join(", ", resources.threads()));
+        sender.sendMessage(false, "stats.listeners", format(resources.listeners()));
+        sender.sendMessage(false, "stats.tasks", format(resources.tasks()));
+        sender.sendMessage(false, "stats.commands", format(resources.commands()));
+    }
+
+    private void sendError(CommandSender sender, Throwable exception) {
+        get(PluginLogger.class).severe("Failed to collect the plugin resources", exception);
+        sender.sendMessage("stats.error");
+    }
+
+    private static String format(int count) {
+        return count < 0? "?" : String.valueOf(count);
+    }
+
+    private static String formatBytes(long bytes) {
+        return bytes < 0? "?" : StringUtil.formatBytes(bytes);
+    }
+}
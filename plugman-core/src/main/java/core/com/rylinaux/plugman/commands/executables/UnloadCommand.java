@@ -28,6 +28,7 @@ package core.com.rylinaux.plugman.commands.executables;
 
 import core.com.rylinaux.plugman.commands.AbstractCommand;
 import core.com.rylinaux.plugman.commands.CommandSender;
+import core.com.rylinaux.plugman.logging.PluginLogger;
 import core.com.rylinaux.plugman.services.ServiceRegistry;
 
 /**
@@ -86,8 +87,14 @@ public class UnloadCommand extends AbstractCommand {
 
         if (!validatePlugin(label, target)) return;
 
-        var message = getPluginManager().unload(target);
+        getPluginLifecycleQueue().unload(target.getName()).whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                sender.sendMessage(result.messageId(), target.getName());
+                return;
+            }
 
-        sender.sendMessage(message.messageId(), target.getName());
+            get(PluginLogger.class).severe("Failed to unload " + target.getName(), throwable);
+            sender.sendMessage("unload.failed", target.getName());
+        });
     }
 }
@@ -17,7 +17,7 @@ import java.util.List;
  */
 @RequiredArgsConstructor
 public class PlugManConfigurationManager {
-    public static final int CURRENT_CONFIG_VERSION = 3;
+    public static final int CURRENT_CONFIG_VERSION = 6;
 
     private final YamlConfigurationProvider configProvider;
     private final PluginLogger logger;
@@ -87,6 +87,9 @@ public class PlugManConfigurationManager {
                 plugManConfig.getAutoLoad() != null &&
                 plugManConfig.getAutoUnload() != null &&
                 plugManConfig.getAutoReload() != null &&
+                plugManConfig.getUpdateCheck() != null &&
+                plugManConfig.getProfiling() != null &&
+                plugManConfig.getMetricsEndpoint() != null &&
                 plugManConfig.getIgnoredPlugins() != null;
     }
 
@@ -120,10 +123,55 @@ public class PlugManConfigurationManager {
                 continue;
             }
 
-            if (configVersion == 2) migrateToVersion3();
+            if (configVersion == 2) {
+                migrateToVersion3();
+                continue;
+            }
+
+            if (configVersion == 3) {
+                migrateToVersion4();
+                continue;
+            }
+
+            if (configVersion == 4) {
+                migrateToVersion5();
+                continue;
+            }
+
+            if (configVersion == 5) migrateToVersion6();
         }
     }
 
+    /**
+     * Migrate configuration to version 6, which adds the metrics-endpoint section
+     */
+    private void migrateToVersion6() {
+        plugManConfig.setVersion(6);
+        saveJacksonConfiguration();
+
+        logger.info("Migrated config to version 6.");
+    }
+
+    /**
+     * Migrate configuration to version 5, which adds the profiling section
+     */
+    private void migrateToVersion5() {
+        plugManConfig.setVersion(5);
+        saveJacksonConfiguration();
+
+        logger.info("Migrated config to version 5.");
+    }
+
+    /**
+     * Migrate configuration to version 4, which adds the update-check section
+     */
+    private void migrateToVersion4() {
+        plugManConfig.setVersion(4);
+        saveJacksonConfiguration();
+
+        logger.info("Migrated config to version 4.");
+    }
+
     private void migrateToVersion3() {
         plugManConfig.setVersion(3);
         saveJacksonConfiguration();
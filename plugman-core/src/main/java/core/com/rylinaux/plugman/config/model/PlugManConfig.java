@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Jackson-based configuration model for PlugMan main configuration.
@@ -18,7 +19,7 @@ public class PlugManConfig {
      * Configuration version for migration purposes
      */
     @JsonProperty("version")
-    private int version = 3;
+    private int version = 5;
 
     /**
      * Auto-load configuration settings
@@ -50,6 +51,24 @@ public class PlugManConfig {
     @JsonProperty("notify-on-broken-command-removal")
     private boolean notifyOnBrokenCommandRemoval = true;
 
+    /**
+     * Background update check settings
+     */
+    @JsonProperty("update-check")
+    private UpdateCheckConfig updateCheck = new UpdateCheckConfig();
+
+    /**
+     * Profiler settings
+     */
+    @JsonProperty("profiling")
+    private ProfilingConfig profiling = new ProfilingConfig();
+
+    /**
+     * Local OpenMetrics endpoint settings
+     */
+    @JsonProperty("metrics-endpoint")
+    private MetricsEndpointConfig metricsEndpoint = new MetricsEndpointConfig();
+
     @Data
     public static class GenericLoadConfig {
         @JsonProperty("enabled")
@@ -57,4 +76,34 @@ public class PlugManConfig {
         @JsonProperty("check-every-seconds")
         private long checkEverySeconds = 10;
     }
-}
\ No newline at end of file
+
+    @Data
+    public static class UpdateCheckConfig {
+        @JsonProperty("enabled")
+        private boolean enabled = false;
+        @JsonProperty("interval-minutes")
+        private long intervalMinutes = 360;
+        @JsonProperty("initial-delay-seconds")
+        private long initialDelaySeconds = 60;
+        @JsonProperty("max-concurrent-requests")
+        private int maxConcurrentRequests = 4;
+        @JsonProperty("max-concurrent-downloads")
+        private int maxConcurrentDownloads = 3;
+        @JsonProperty("provider-priorities")
+        private Map<String, Integer> providerPriorities = Map.of();
+    }
+
+    @Data
+    public static class ProfilingConfig {
+        @JsonProperty("slow-command-millis")
+        private long slowCommandMillis = 50;
+    }
+
+    @Data
+    public static class MetricsEndpointConfig {
+        @JsonProperty("enabled")
+        private boolean enabled = false;
+        @JsonProperty("port")
+        private int port = 9941;
+    }
+}
@@ -1,9 +1,13 @@
 package core.com.rylinaux.plugman.config.model;
 
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
+import java.util.Locale;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Jackson-based configuration model for resource mappings.
@@ -51,5 +55,37 @@ public class ResourceMappingsConfig {
          */
         @JsonProperty("github")
         private String github;
+
+        /**
+         * Resource ids for third-party update providers, keyed by provider id
+         */
+        private Map<String, String> providers = new TreeMap<>();
+
+        @JsonAnySetter
+        public void setProvider(String providerId, Object resourceId) {
+            if (resourceId != null) providers.put(providerId.toLowerCase(Locale.ROOT), String.valueOf(resourceId));
+        }
+
+        @JsonAnyGetter
+        public Map<String, String> getProviders() {
+            return providers;
+        }
+
+        /**
+         * Get the resource id configured for an update provider.
+         *
+         * @param providerId the provider id
+         * @return the resource id, or null if none is configured
+         */
+        public String getResourceId(String providerId) {
+            return switch (providerId) {
+                case "github" -> github;
+                case "modrinth" -> modrinth;
+                case "hangar" -> hangar;
+                case "spiget" -> id != null && Boolean.TRUE.equals(spigotmc)? String.valueOf(id) : providers.get(providerId);
+                case "curseforge" -> id != null && Boolean.FALSE.equals(spigotmc)? String.valueOf(id) : providers.get(providerId);
+                default -> providers.get(providerId);
+            };
+        }
     }
 }
\ No newline at end of file
@@ -29,17 +29,22 @@ package core.com.rylinaux.plugman.file;
 import com.google.common.hash.Hashing;
 import com.google.common.io.Files;
 import core.com.rylinaux.plugman.logging.PluginLogger;
-import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarFile;
 import java.util.zip.ZipException;
 
 /**
  * Manages file operations for PlugMan including plugin scanning, file tracking, and hash calculation.
+ * <p>
+ * Tracked files are kept as immutable {@link TrackedFile} records in a concurrent map, so the auto features
+ * can iterate over them from a background thread without copying or locking while commands and plugin loads
+ * update them. A record is always replaced as a whole, so its hash and plugin name never come from two
+ * different updates.
  *
  * @author rylinaux
  */
@@ -49,61 +54,108 @@ public class PlugManFileManager {
     private final PluginLogger logger;
 
     /**
-     * Stores all file names + hashes for auto (re/un)load
+     * Stores all tracked files by file name for auto (re/un)load
      */
-    private final Map<String, String> fileHashMap = new HashMap<>();
-
-    /**
-     * Stores all file names + plugin names for auto unload
-     */
-    @Getter
-    private final Map<String, String> filePluginMap = new HashMap<>();
+    private final Map<String, TrackedFile> trackedFiles = new ConcurrentHashMap<>();
 
     public void scanExistingPlugins() {
-        for (var file : new File("plugins").listFiles()) {
-            if (file.isDirectory()) continue;
-            if (!file.getName().toLowerCase(Locale.ROOT).endsWith(".jar")) continue;
-
-            trackFile(file);
-        }
+        for (var file : getJarFiles()) trackFile(file);
     }
 
     public void trackFile(File file) {
         var hash = calculateFileHash(file);
-        if (hash != null) fileHashMap.put(file.getName(), hash);
-
         var descriptionFile = getPluginDescription(file);
-        if (descriptionFile != null) filePluginMap.put(file.getName(), descriptionFile.name());
+        var pluginName = descriptionFile == null? null : descriptionFile.name();
+
+        trackedFiles.compute(file.getName(), (name, tracked) -> {
+            if (tracked == null) return new TrackedFile(name, file.length(), file.lastModified(), hash, pluginName);
+
+            var updated = hash == null? tracked : tracked.withHash(file, hash);
+            return pluginName == null? updated : updated.withPluginName(pluginName);
+        });
     }
 
     public void untrackFile(String fileName) {
-        fileHashMap.remove(fileName);
-        filePluginMap.remove(fileName);
+        trackedFiles.remove(fileName);
     }
 
     public boolean isFileTracked(String fileName) {
-        return fileHashMap.containsKey(fileName);
+        var tracked = trackedFiles.get(fileName);
+        return tracked != null && tracked.hash() != null;
+    }
+
+    /**
+     * Get the tracked files. The collection is a read-only live view: it can be iterated while files are
+     * tracked and untracked, and reflects some or all of those changes.
+     *
+     * @return the tracked files
+     */
+    public Collection<TrackedFile> getTrackedFiles() {
+        return Collections.unmodifiableCollection(trackedFiles.values());
     }
 
+    /**
+     * Get the names of the tracked files as a read-only live view, see {@link #getTrackedFiles()}.
+     *
+     * @return the tracked file names
+     */
     public Set<String> getTrackedFileNames() {
-        return new HashSet<>(fileHashMap.keySet());
+        return Collections.unmodifiableSet(trackedFiles.keySet());
     }
 
     public String getPluginNameForFile(String fileName) {
-        return filePluginMap.get(fileName);
+        var tracked = trackedFiles.get(fileName);
+        return tracked == null? null : tracked.pluginName();
     }
 
+    /**
+     * Remember which plugin was loaded from a file, without hashing the file.
+     *
+     * @param fileName   the file name
+     * @param pluginName the plugin name
+     */
+    public void setPluginNameForFile(String fileName, String pluginName) {
+        trackedFiles.compute(fileName, (name, tracked) ->
+                tracked == null? new TrackedFile(name, -1, -1, null, pluginName) : tracked.withPluginName(pluginName));
+    }
+
+    /**
+     * Check whether a tracked file has changed since it was hashed. The file is only hashed again if its size
+     * or modified time changed.
+     *
+     * @param file the file
+     * @return true if the file is tracked and its contents changed
+     */
     public boolean hasFileChanged(File file) {
+        var tracked = trackedFiles.get(file.getName());
+        if (tracked == null || tracked.hash() == null || tracked.matches(file)) return false;
+
         var currentHash = calculateFileHash(file);
         if (currentHash == null) return false;
+        if (!currentHash.equalsIgnoreCase(tracked.hash())) return true;
+
+        // Only touched, remember the new size and modified time so it is not hashed again
+        trackedFiles.replace(file.getName(), tracked, tracked.withHash(file, tracked.hash()));
+        return false;
+    }
 
-        var storedHash = fileHashMap.get(file.getName());
-        return storedHash != null && !currentHash.equalsIgnoreCase(storedHash);
+    /**
+     * Get the SHA-256 hash of a jar, taken from the tracked hashes if the file is tracked and unchanged.
+     *
+     * @param file the jar
+     * @return the hash, or null if it could not be calculated
+     */
+    public String getFileHash(File file) {
+        var tracked = trackedFiles.get(file.getName());
+        return tracked != null && tracked.hash() != null && tracked.matches(file)? tracked.hash() : calculateFileHash(file);
     }
 
     public void updateFileHash(File file) {
         var hash = calculateFileHash(file);
-        if (hash != null) fileHashMap.put(file.getName(), hash);
+        if (hash == null) return;
+
+        trackedFiles.compute(file.getName(), (name, tracked) ->
+                tracked == null? new TrackedFile(name, file.length(), file.lastModified(), hash, null) : tracked.withHash(file, hash));
     }
 
     private String calculateFileHash(File file) {
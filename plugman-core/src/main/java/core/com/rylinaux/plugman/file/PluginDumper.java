@@ -0,0 +1,221 @@
+package core.com.rylinaux.plugman.file;
+
+import com.google.gson.Gson;
+import core.com.rylinaux.plugman.logging.PluginLogger;
+import core.com.rylinaux.plugman.plugins.Plugin;
+import core.com.rylinaux.plugman.plugins.PluginListIndex;
+import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.pojo.PluginDumpRecord;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.util.IoExecutor;
+import core.com.rylinaux.plugman.util.updatechecker.JsonStreamUtil;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Writes every installed plugin to a file for {@code /plugman dump}.
+ * <p>
+ * Only the state that has to come from the server, such as names, enabled state, command and listener
+ * counts, is collected on the calling thread. Jar sizes and hashes are read, and the file is written, on
+ * PlugMan's {@link IoExecutor}, one plugin at a time through a buffered {@link FileChannel}. The file is written
+ * next to the target and moved over it when complete, so scripts never read half a dump.
+ */
+@RequiredArgsConstructor
+public class PluginDumper {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Gson GSON = JsonStreamUtil.GSON.newBuilder().serializeNulls().create();
+
+    private final ServiceRegistry serviceRegistry;
+    @Getter
+    private final File folder;
+
+    /**
+     * Dump every installed plugin. Must be called on the main thread.
+     *
+     * @param format the format to write
+     * @return a future completed with the written file on an I/O thread
+     */
+    public CompletableFuture<File> dump(Format format) {
+        var records = collect();
+        var target = new File(folder, format.getFileName());
+        var future = new CompletableFuture<File>();
+
+        get(IoExecutor.class).execute(() -> {
+            try {
+                write(format, records, target.toPath());
+                future.complete(target);
+            } catch (IOException | RuntimeException exception) {
+                future.completeExceptionally(exception);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Collect the state of every plugin that has to be read on the main thread, sorted by name.
+     *
+     * @return the records, without jar sizes and hashes
+     */
+    public List<PluginDumpRecord> collect() {
+        var pluginManager = get(PluginManager.class);
+        var plugins = get(PluginListIndex.class).page(PluginListIndex.Filter.ALL, 1, Integer.MAX_VALUE).plugins();
+        var commandCounts = pluginManager.getCommandCounts();
+        var listenerCounts = pluginManager.getListenerCounts();
+
+        var records = new ArrayList<PluginDumpRecord>(plugins.size());
+        for (var plugin : plugins) {
+            var key = plugin.getName().toLowerCase(Locale.ROOT);
+            var file = plugin.getFile();
+            records.add(new PluginDumpRecord(plugin.getName(), plugin.getVersion(), plugin.isEnabled(), pluginManager.isPaperPlugin(plugin),
+                    file == null? null : file.getPath(), -1, null, nonNull(plugin.getDepend()), nonNull(plugin.getSoftDepend()),
+                    count(commandCounts, key), count(listenerCounts, key), describeClassLoader(plugin)));
+        }
+        return records;
+    }
+
+    private void write(Format format, List<PluginDumpRecord> records, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        var temp = Files.createTempFile(target.getParent(), "." + target.getFileName(), ".tmp");
+        var fileManager = serviceRegistry.getOptional(PlugManFileManager.class).orElseGet(() -> new PlugManFileManager(get(PluginLogger.class)));
+
+        try {
+            try (var channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 var writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                format.writeHeader(writer);
+                for (var record : records) format.write(writer, readJar(record, fileManager));
+                writer.flush();
+                channel.force(false);
+            }
+
+            move(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static PluginDumpRecord readJar(PluginDumpRecord record, PlugManFileManager fileManager) {
+        if (record.file() == null) return record;
+
+        var file = new File(record.file());
+        if (!file.isFile()) return record;
+
+        return record.withJar(file.length(), fileManager.getFileHash(file));
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String describeClassLoader(Plugin plugin) {
+        Object handle = plugin.getHandle();
+        if (handle == null) return null;
+
+        var classLoader = handle.getClass().getClassLoader();
+        if (classLoader == null) return "bootstrap";
+        return classLoader.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(classLoader));
+    }
+
+    private static Integer count(Map<String, Integer> counts, String key) {
+        return counts == null? null : counts.getOrDefault(key, 0);
+    }
+
+    private static List<String> nonNull(List<String> list) {
+        return list == null? List.of() : list;
+    }
+
+    private <T> T get(Class<T> type) {
+        return serviceRegistry.get(type);
+    }
+
+    /**
+     * Formats a dump can be written in.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+        /**
+         * One JSON object per line.
+         */
+        JSONL("plugins.jsonl") {
+            @Override
+            void write(Writer writer, PluginDumpRecord record) throws IOException {
+                GSON.toJson(record, writer);
+                writer.write('\n');
+            }
+        },
+        /**
+         * Comma separated values with a header row. Dependencies are separated by semicolons.
+         */
+        CSV("plugins.csv") {
+            @Override
+            void writeHeader(Writer writer) throws IOException {
+                writer.write("name,version,enabled,paper,file,size,sha256,depend,softDepend,commands,listeners,classLoader\n");
+            }
+
+            @Override
+            void write(Writer writer, PluginDumpRecord record) throws IOException {
+                writer.write(csv(record.name()) + ',' + csv(record.version()) + ',' + record.enabled() + ',' + record.paper() + ','
+                             + csv(record.file()) + ',' + record.size() + ',' + csv(record.sha256()) + ','
+                             + csv(String.join(";", record.depend())) + ',' + csv(String.join(";", record.softDepend())) + ','
+                             + csv(record.commands()) + ',' + csv(record.listeners()) + ',' + csv(record.classLoader()) + '\n');
+            }
+        },
+        /**
+         * The plain list of names, versions and states that {@code versions.txt} always had.
+         */
+        TXT("versions.txt") {
+            @Override
+            void write(Writer writer, PluginDumpRecord record) throws IOException {
+                writer.write(record.name() + " v" + record.version() + " - " + (record.enabled()? "Enabled" : "Disabled") + '\n');
+            }
+        };
+
+        private final String fileName;
+
+        /**
+         * Get a format by name.
+         *
+         * @param name the name, case-insensitive
+         * @return the format, or null if there is none with that name
+         */
+        public static Format fromName(String name) {
+            for (var format : values()) if (format.name().equalsIgnoreCase(name)) return format;
+            return null;
+        }
+
+        void writeHeader(Writer writer) throws IOException {
+        }
+
+        abstract void write(Writer writer, PluginDumpRecord record) throws IOException;
+
+        private static String csv(Object value) {
+            if (value == null) return "";
+
+            var text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) return text;
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package core.com.rylinaux.plugman.file;
+
+import java.io.File;
+
+/**
+ * A jar tracked for auto (re/un)load, as it was when it was last hashed.
+ *
+ * @param name         the file name
+ * @param size         the file size in bytes
+ * @param lastModified the last modified time in milliseconds
+ * @param hash         the SHA-256 hash of the file
+ * @param pluginName   the name of the plugin in the jar, or null if it is not known
+ */
+public record TrackedFile(String name, long size, long lastModified, String hash, String pluginName) {
+
+    /**
+     * Check whether a file still has the size and modified time it had when it was hashed.
+     * If it does, the stored hash can be used without reading the file again.
+     *
+     * @param file the file
+     * @return true if the size and modified time match
+     */
+    public boolean matches(File file) {
+        return size == file.length() && lastModified == file.lastModified();
+    }
+
+    public TrackedFile withHash(File file, String hash) {
+        return new TrackedFile(name, file.length(), file.lastModified(), hash, pluginName);
+    }
+
+    public TrackedFile withPluginName(String pluginName) {
+        return new TrackedFile(name, size, lastModified, hash, pluginName);
+    }
+}
@@ -28,21 +28,40 @@ package core.com.rylinaux.plugman.file.messaging;
 
 import core.com.rylinaux.plugman.config.YamlConfigurationProvider;
 import core.com.rylinaux.plugman.messaging.ColorFormatter;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages custom messages.
+ * <p>
+ * Messages are compiled into {@link MessageTemplate}s, with and without the prefix, when the file is
+ * loaded, so sending a message is a map lookup and a single pass over the template. Keys the
+ * configuration provider cannot list are compiled on first use.
  *
  * @author rylinaux
  */
 @Getter
-@RequiredArgsConstructor
 public class MessageFormatter {
     private final MessageFile messageFile;
     private final ColorFormatter colorFormatter;
+    @Getter(AccessLevel.NONE)
+    private final Templates templates;
+
+    /**
+     * Construct our object.
+     *
+     * @param messageFile    the message file
+     * @param colorFormatter the color formatter
+     */
+    public MessageFormatter(MessageFile messageFile, ColorFormatter colorFormatter) {
+        this.messageFile = messageFile;
+        this.colorFormatter = colorFormatter;
+        this.templates = compileTemplates();
+    }
 
     /**
      * Construct our object.
@@ -51,8 +70,7 @@ public class MessageFormatter {
      * @param colorFormatter the color formatter
      */
     public MessageFormatter(YamlConfigurationProvider yamlProvider, ColorFormatter colorFormatter) {
-        messageFile = new MessageFile(Path.of("plugins", "PlugManX", "messages.yml").toFile(), yamlProvider);
-        this.colorFormatter = colorFormatter;
+        this(new MessageFile(Path.of("plugins", "PlugManX", "messages.yml").toFile(), yamlProvider), colorFormatter);
     }
 
     /**
@@ -75,13 +93,10 @@ public class MessageFormatter {
      * @return the formatted String
      */
     public String formatMessage(boolean prefix, String key, Object... args) {
-        var rawMessage = messageFile.getString(key);
-        if (rawMessage == null) return "Error: '" + key + "' not found in messages.yml";
-
-        var message = prefix? messageFile.getString("prefix") + rawMessage : rawMessage;
+        var message = templates.get(key);
+        if (message == null) return "Error: '" + key + "' not found in messages.yml";
 
-        for (var i = 0; i < args.length; i++) message = message.replace("{" + i + "}", String.valueOf(args[i]));
-        return colorFormatter.translateAlternateColorCodes('&', message);
+        return (prefix? message.prefixed() : message.plain()).format(args);
     }
 
     /**
@@ -91,6 +106,58 @@ public class MessageFormatter {
      * @return the message with the prefix.
      */
     public String prefix(String msg) {
-        return colorFormatter.translateAlternateColorCodes('&', messageFile.getString("prefix") + msg);
+        return colorFormatter.translateAlternateColorCodes('&', templates.prefix() + msg);
+    }
+
+    private Templates compileTemplates() {
+        var templates = new Templates(messageFile, colorFormatter);
+
+        var root = messageFile.getYamlProvider().getConfigurationSection("");
+        if (root != null) for (var key : root.getKeys(true))
+            if (messageFile.getYamlProvider().get(key) instanceof String) templates.get(key);
+        return templates;
+    }
+
+    /**
+     * The compiled messages.
+     */
+    private static final class Templates {
+        private final MessageFile messageFile;
+        private final ColorFormatter colorFormatter;
+        private final String prefix;
+        private final Map<String, CompiledMessage> messages = new ConcurrentHashMap<>();
+
+        private Templates(MessageFile messageFile, ColorFormatter colorFormatter) {
+            this.messageFile = messageFile;
+            this.colorFormatter = colorFormatter;
+            var prefix = messageFile.getString("prefix");
+            this.prefix = prefix == null? "" : prefix;
+        }
+
+        private String prefix() {
+            return prefix;
+        }
+
+        /**
+         * Get the compiled message of a key, compiling it if needed.
+         *
+         * @return the message, or null if the key is not a message
+         */
+        private CompiledMessage get(String key) {
+            var message = messages.get(key);
+            if (message != null) return message;
+
+            var raw = messageFile.getString(key);
+            if (raw == null) return null;
+
+            return messages.computeIfAbsent(key, ignored -> new CompiledMessage(
+                    MessageTemplate.compile(raw, colorFormatter), MessageTemplate.compile(prefix + raw, colorFormatter)));
+        }
+    }
+
+    /**
+     * A message compiled with and without the prefix.
+     */
+    private record CompiledMessage(MessageTemplate plain, MessageTemplate prefixed) {
     }
 }
@@ -0,0 +1,152 @@
+package core.com.rylinaux.plugman.file.messaging;
+
+import core.com.rylinaux.plugman.messaging.ColorFormatter;
+
+import java.util.ArrayList;
+
+/**
+ * A message from messages.yml, split into literal text and {@code {n}} placeholders.
+ * <p>
+ * Color codes are translated once when the template is compiled, so formatting is a single pass
+ * that appends literals and arguments to one {@link StringBuilder}. Arguments are inserted as they
+ * are; color codes inside them are not translated. Placeholders without a matching argument are
+ * kept as {@code {n}}.
+ */
+public final class MessageTemplate {
+    /**
+     * First private use character. Placeholders are swapped for these while color codes are translated,
+     * so the formatter sees the whole message at once and the placeholder positions survive.
+     */
+    private static final char MARKER_BASE = '\uE000';
+    private static final int MAX_PLACEHOLDERS = '\uF8FF' - MARKER_BASE;
+
+    private final String[] literals;
+    private final int[] indexes;
+    private final int literalLength;
+
+    private MessageTemplate(String[] literals, int[] indexes) {
+        this.literals = literals;
+        this.indexes = indexes;
+
+        var length = 0;
+        for (var literal : literals) length += literal.length();
+        this.literalLength = length;
+    }
+
+    /**
+     * Compile a raw message.
+     *
+     * @param raw            the message with {@code &} color codes and {@code {n}} placeholders
+     * @param colorFormatter the formatter translating the color codes
+     * @return the template
+     */
+    public static MessageTemplate compile(String raw, ColorFormatter colorFormatter) {
+        var marked = new StringBuilder(raw.length());
+        var indexes = new ArrayList<Integer>();
+
+        for (var i = 0; i < raw.length(); i++) {
+            var end = placeholderEnd(raw, i);
+            if (end < 0 || indexes.size() >= MAX_PLACEHOLDERS) {
+                marked.append(raw.charAt(i));
+                continue;
+            }
+
+            marked.append((char) (MARKER_BASE + indexes.size()));
+            indexes.add(Integer.parseInt(raw, i + 1, end, 10));
+            i = end;
+        }
+
+        if (indexes.isEmpty()) return new MessageTemplate(new String[]{colorFormatter.translateAlternateColorCodes('&', raw)}, new int[0]);
+
+        var translated = colorFormatter.translateAlternateColorCodes('&', marked.toString());
+        var template = split(translated, indexes);
+        return template != null? template : compileSeparately(raw, colorFormatter);
+    }
+
+    /**
+     * Format the message.
+     *
+     * @param args the arguments for the placeholders
+     * @return the formatted message
+     */
+    public String format(Object... args) {
+        if (indexes.length == 0) return literals[0];
+
+        var argCount = args == null? 0 : args.length;
+        var builder = new StringBuilder(literalLength + indexes.length * 16);
+        builder.append(literals[0]);
+        for (var i = 0; i < indexes.length; i++) {
+            var index = indexes[i];
+            if (index < argCount) builder.append(args[index]);
+            else builder.append('{').append(index).append('}');
+            builder.append(literals[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+
+    /**
+     * Split a translated message at its markers.
+     *
+     * @return the template, or null if the formatter did not keep every marker in order
+     */
+    private static MessageTemplate split(String translated, ArrayList<Integer> indexes) {
+        var literals = new String[indexes.size() + 1];
+        var found = 0;
+        var start = 0;
+
+        for (var i = 0; i < translated.length(); i++) {
+            var marker = translated.charAt(i) - MARKER_BASE;
+            if (marker < 0 || marker >= indexes.size()) continue;
+            if (marker != found) return null;
+
+            literals[found++] = translated.substring(start, i);
+            start = i + 1;
+        }
+        if (found != indexes.size()) return null;
+
+        literals[found] = translated.substring(start);
+        return new MessageTemplate(literals, indexes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Fallback for formatters that do not keep the markers: translate every literal on its own.
+     */
+    private static MessageTemplate compileSeparately(String raw, ColorFormatter colorFormatter) {
+        var literals = new ArrayList<String>();
+        var indexes = new ArrayList<Integer>();
+        var start = 0;
+
+        for (var i = 0; i < raw.length(); i++) {
+            var end = placeholderEnd(raw, i);
+            if (end < 0) continue;
+
+            literals.add(colorFormatter.translateAlternateColorCodes('&', raw.substring(start, i)));
+            indexes.add(Integer.parseInt(raw, i + 1, end, 10));
+            start = end + 1;
+            i = end;
+        }
+        literals.add(colorFormatter.translateAlternateColorCodes('&', raw.substring(start)));
+
+        return new MessageTemplate(literals.toArray(String[]::new), indexes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Get the position of the closing brace if a placeholder starts at the given position.
+     *
+     * @return the position of the closing brace, or -1 if there is no placeholder
+     */
+    private static int placeholderEnd(String raw, int start) {
+        if (raw.charAt(start) != '{') return -1;
+
+        var i = start + 1;
+        // Indexes above 9999 are not placeholders, which also keeps parseInt from overflowing
+        while (i < raw.length() && i - start <= 4 && raw.charAt(i) >= '0' && raw.charAt(i) <= '9') i++;
+        if (i == start + 1 || i >= raw.length() || raw.charAt(i) != '}') return -1;
+        return i;
+    }
+}
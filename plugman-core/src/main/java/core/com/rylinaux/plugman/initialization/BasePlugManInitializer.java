@@ -28,15 +28,30 @@ package core.com.rylinaux.plugman.initialization;
 
 import core.com.rylinaux.plugman.auto.AutoFeatureManager;
 import core.com.rylinaux.plugman.config.PlugManConfigurationManager;
+import core.com.rylinaux.plugman.file.PluginDumper;
 import core.com.rylinaux.plugman.file.messaging.MessageFormatter;
 import core.com.rylinaux.plugman.logging.PluginLogger;
+import core.com.rylinaux.plugman.metrics.ClassLoaderLeakTracker;
+import core.com.rylinaux.plugman.metrics.MetricsEndpoint;
+import core.com.rylinaux.plugman.metrics.PlugManMBeans;
+import core.com.rylinaux.plugman.metrics.PlugManMetrics;
+import core.com.rylinaux.plugman.metrics.PluginResourceAccountant;
 import core.com.rylinaux.plugman.plugins.Plugin;
+import core.com.rylinaux.plugman.plugins.PluginLifecycleQueue;
+import core.com.rylinaux.plugman.plugins.PluginListIndex;
 import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.profiling.ProfilerRegistry;
+import core.com.rylinaux.plugman.profiling.StartupHistory;
 import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.update.UpdateDownloader;
+import core.com.rylinaux.plugman.update.UpdateScanner;
+import core.com.rylinaux.plugman.update.provider.UpdateProviderRegistry;
+import core.com.rylinaux.plugman.util.IoExecutor;
 import core.com.rylinaux.plugman.util.ThreadUtil;
 import core.com.rylinaux.plugman.util.reflection.ClassAccessor;
 import core.com.rylinaux.plugman.util.reflection.FieldAccessor;
 import core.com.rylinaux.plugman.util.reflection.MethodAccessor;
+import core.com.rylinaux.plugman.util.updatechecker.HangarUtil;
 import lombok.Getter;
 
 import java.io.File;
@@ -83,9 +98,34 @@ public abstract class BasePlugManInitializer {
 
         var pluginManager = createPluginManager();
         serviceRegistry.register(PluginManager.class, pluginManager);
+        serviceRegistry.register(PluginListIndex.class, new PluginListIndex(pluginManager));
+        serviceRegistry.register(PluginDumper.class, new PluginDumper(serviceRegistry, dataFolder));
 
         var threadUtil = createThreadUtil();
         serviceRegistry.register(ThreadUtil.class, threadUtil);
+        serviceRegistry.register(IoExecutor.class, new IoExecutor());
+        serviceRegistry.register(PluginLifecycleQueue.class, new PluginLifecycleQueue(serviceRegistry));
+
+        var profilers = new ProfilerRegistry();
+        registerProfilers(profilers);
+        serviceRegistry.register(ProfilerRegistry.class, profilers);
+        serviceRegistry.register(StartupHistory.class, new StartupHistory(dataFolder, logger));
+
+        serviceRegistry.register(UpdateProviderRegistry.class, UpdateProviderRegistry.withBuiltinProviders(serviceRegistry, getHangarPlatform(), getGameVersion()));
+        serviceRegistry.register(UpdateDownloader.class, new UpdateDownloader(serviceRegistry, getUpdateFolder(), isUpdateFolderInstalled()));
+
+        serviceRegistry.register(PlugManMetrics.class, new PlugManMetrics());
+        serviceRegistry.register(ClassLoaderLeakTracker.class, new ClassLoaderLeakTracker());
+        serviceRegistry.register(PluginResourceAccountant.class, new PluginResourceAccountant(serviceRegistry));
+        var mbeans = new PlugManMBeans(serviceRegistry, logger);
+        serviceRegistry.register(PlugManMBeans.class, mbeans);
+        mbeans.register();
+
+        var endpointConfig = configurationManager.getPlugManConfig().getMetricsEndpoint();
+        if (endpointConfig.isEnabled()) {
+            var endpoint = new MetricsEndpoint(serviceRegistry, logger, endpointConfig.getPort());
+            if (endpoint.start()) serviceRegistry.register(MetricsEndpoint.class, endpoint);
+        }
     }
 
     /**
@@ -110,10 +150,29 @@ public abstract class BasePlugManInitializer {
         autoFeatureManager.setupAutoFeatures();
     }
 
+    /**
+     * Start the background update scanner if it is enabled
+     */
+    public void setupUpdateScanner() {
+        var config = serviceRegistry.get(PlugManConfigurationManager.class).getPlugManConfig().getUpdateCheck();
+        if (!config.isEnabled()) return;
+
+        var updateScanner = new UpdateScanner(serviceRegistry, dataFolder);
+        serviceRegistry.register(UpdateScanner.class, updateScanner);
+        updateScanner.start();
+    }
+
     /**
      * Cleanup resources and clear caches
      */
     public void cleanup() {
+        serviceRegistry.getOptional(UpdateScanner.class).ifPresent(UpdateScanner::shutdown);
+        serviceRegistry.getOptional(UpdateDownloader.class).ifPresent(UpdateDownloader::shutdown);
+        serviceRegistry.getOptional(UpdateProviderRegistry.class).ifPresent(UpdateProviderRegistry::shutdown);
+        serviceRegistry.getOptional(IoExecutor.class).ifPresent(IoExecutor::shutdown);
+        serviceRegistry.getOptional(ProfilerRegistry.class).ifPresent(ProfilerRegistry::shutdown);
+        serviceRegistry.getOptional(PlugManMBeans.class).ifPresent(PlugManMBeans::unregister);
+        serviceRegistry.getOptional(MetricsEndpoint.class).ifPresent(MetricsEndpoint::stop);
         serviceRegistry.clear();
         ClassAccessor.clearCache();
         FieldAccessor.clearCache();
@@ -148,6 +207,40 @@ public abstract class BasePlugManInitializer {
         }
     }
 
+    /**
+     * Get the folder downloaded updates are written to
+     */
+    protected File getUpdateFolder() {
+        return Path.of("plugins", "update").toFile();
+    }
+
+    /**
+     * Whether the platform installs the jars in the update folder when it starts, proxies leave them alone
+     */
+    protected boolean isUpdateFolderInstalled() {
+        return false;
+    }
+
+    /**
+     * Get the Hangar platform this server runs, used to pick the right file when downloading updates
+     */
+    protected String getHangarPlatform() {
+        return HangarUtil.PAPER;
+    }
+
+    /**
+     * Get the Minecraft version this server runs, used to prefer updates made for it, or null if unknown
+     */
+    protected String getGameVersion() {
+        return null;
+    }
+
+    /**
+     * Register the profilers this platform supports
+     */
+    protected void registerProfilers(ProfilerRegistry profilers) {
+    }
+
     protected InputStream getResourceAsStream(String resource) {
         return getClass().getClassLoader().getResourceAsStream(resource);
     }
@@ -0,0 +1,69 @@
+package core.com.rylinaux.plugman.metrics;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Watches the class loaders of unloaded plugins and reports the ones that are still reachable a while later.
+ * <p>
+ * A loader that outlives its plugin keeps every class of the plugin in memory, usually because a thread, a
+ * listener or a static field elsewhere still points into it. Loaders are only held weakly, so watching them does
+ * not cause the leak it looks for. A loader only counts as a suspect once the grace period is over, since it can
+ * only be collected after a GC ran.
+ */
+public class ClassLoaderLeakTracker {
+    private static final Duration DEFAULT_GRACE = Duration.ofMinutes(2);
+
+    private final Duration grace;
+    private final ConcurrentLinkedQueue<Unloaded> unloaded = new ConcurrentLinkedQueue<>();
+
+    public ClassLoaderLeakTracker() {
+        this(DEFAULT_GRACE);
+    }
+
+    public ClassLoaderLeakTracker(Duration grace) {
+        this.grace = grace;
+    }
+
+    /**
+     * Start watching the class loader of a plugin that was unloaded.
+     *
+     * @param plugin the plugin name
+     * @param loader the plugin's class loader, ignored if it is null or PlugManX's own
+     */
+    public void track(String plugin, ClassLoader loader) {
+        if (isShared(loader)) return;
+
+        unloaded.add(new Unloaded(plugin, new WeakReference<>(loader), System.nanoTime()));
+    }
+
+    /**
+     * Get the plugins whose class loader is still reachable after the grace period, forgetting the collected ones.
+     *
+     * @return the plugin names, oldest unload first, a plugin unloaded twice shows up twice
+     */
+    public List<String> getSuspects() {
+        var suspects = new ArrayList<String>();
+        var now = System.nanoTime();
+
+        unloaded.removeIf(entry -> entry.loader().get() == null);
+        for (var entry : unloaded) if (now - entry.unloadedAt() >= grace.toNanos()) suspects.add(entry.plugin());
+        return suspects;
+    }
+
+    /**
+     * Check if a class loader is shared by the whole server rather than owned by one plugin.
+     *
+     * @param loader the class loader
+     * @return true for null, PlugManX's own, the system and the platform class loader
+     */
+    static boolean isShared(ClassLoader loader) {
+        return loader == null || loader == ClassLoaderLeakTracker.class.getClassLoader() || loader == ClassLoader.getSystemClassLoader() || loader == ClassLoader.getPlatformClassLoader();
+    }
+
+    private record Unloaded(String plugin, WeakReference<ClassLoader> loader, long unloadedAt) {
+    }
+}
@@ -0,0 +1,93 @@
+package core.com.rylinaux.plugman.metrics;
+
+import core.com.rylinaux.plugman.profiling.TimingStats;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Durations and failures of one kind of operation, by key. Recording is lock-free, see {@link TimingStats}.
+ */
+public class MetricGroup implements MetricGroupMXBean {
+    private final Map<String, TimingStats> stats = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+    /**
+     * Record one operation.
+     *
+     * @param key     what was done
+     * @param nanos   how long it took
+     * @param success whether it worked
+     */
+    public void record(String key, long nanos, boolean success) {
+        stats.computeIfAbsent(key, ignored -> new TimingStats()).record(nanos);
+        if (!success) failures.computeIfAbsent(key, ignored -> new LongAdder()).increment();
+    }
+
+    /**
+     * @return the timings by key
+     */
+    public Map<String, TimingStats> getStats() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    public long getFailures(String key) {
+        var adder = failures.get(key);
+        return adder == null? 0 : adder.sum();
+    }
+
+    @Override
+    public long getTotalCount() {
+        return stats.values().stream().mapToLong(TimingStats::getCount).sum();
+    }
+
+    @Override
+    public Map<String, Long> getCounts() {
+        return collect(TimingStats::getCount);
+    }
+
+    @Override
+    public Map<String, Long> getFailures() {
+        var result = new TreeMap<String, Long>();
+        for (var key : stats.keySet()) result.put(key, getFailures(key));
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getMeanNanos() {
+        return collect(TimingStats::getMeanNanos);
+    }
+
+    @Override
+    public Map<String, Long> getP99Nanos() {
+        return collect(timings -> timings.getPercentileNanos(99));
+    }
+
+    @Override
+    public Map<String, Long> getMaxNanos() {
+        return collect(TimingStats::getMaxNanos);
+    }
+
+    @Override
+    public Map<String, long[]> getHistograms() {
+        var result = new TreeMap<String, long[]>();
+        stats.forEach((key, timings) -> result.put(key, timings.getHistogram()));
+        return result;
+    }
+
+    @Override
+    public void reset() {
+        stats.clear();
+        failures.clear();
+    }
+
+    private Map<String, Long> collect(ToLongFunction<TimingStats> value) {
+        var result = new TreeMap<String, Long>();
+        stats.forEach((key, timings) -> result.put(key, value.applyAsLong(timings)));
+        return result;
+    }
+}
@@ -0,0 +1,32 @@
+package core.com.rylinaux.plugman.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of a {@link MetricGroup}. Every map is keyed by what was timed, for example the operation or the
+ * auto feature, in alphabetical order.
+ */
+public interface MetricGroupMXBean {
+
+    long getTotalCount();
+
+    Map<String, Long> getCounts();
+
+    Map<String, Long> getFailures();
+
+    Map<String, Long> getMeanNanos();
+
+    Map<String, Long> getP99Nanos();
+
+    Map<String, Long> getMaxNanos();
+
+    /**
+     * Get the histogram of every key. Bucket {@code i} holds calls that took less than {@code 2^(i + 1)}
+     * nanoseconds.
+     *
+     * @return the histograms
+     */
+    Map<String, long[]> getHistograms();
+
+    void reset();
+}
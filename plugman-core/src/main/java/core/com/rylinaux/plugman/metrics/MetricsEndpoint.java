@@ -0,0 +1,110 @@
+package core.com.rylinaux.plugman.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import core.com.rylinaux.plugman.logging.PluginLogger;
+import core.com.rylinaux.plugman.plugins.PluginListIndex;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves {@link PlugManMetrics} in the OpenMetrics format on {@code http://localhost:<port>/metrics}, for
+ * Prometheus or anything else that scrapes it.
+ * <p>
+ * The server only listens on the loopback address, so the metrics are not reachable from outside the machine
+ * unless a reverse proxy forwards them. Every scrape runs on its own virtual thread and only reads the counters,
+ * it never touches the server thread.
+ */
+public class MetricsEndpoint {
+    public static final String PATH = "/metrics";
+
+    private final ServiceRegistry serviceRegistry;
+    private final PluginLogger logger;
+    private final int port;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public MetricsEndpoint(ServiceRegistry serviceRegistry, PluginLogger logger, int port) {
+        this.serviceRegistry = serviceRegistry;
+        this.logger = logger;
+        this.port = port;
+    }
+
+    /**
+     * Start listening, logging a warning if the port is taken.
+     *
+     * @return true if the endpoint is listening
+     */
+    public synchronized boolean start() {
+        if (server != null) return true;
+
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException exception) {
+            logger.warning("Could not start the metrics endpoint on port " + port + ": " + exception.getMessage());
+            return false;
+        }
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext(PATH, this::handle);
+        server.start();
+        return true;
+    }
+
+    /**
+     * Stop listening.
+     */
+    public synchronized void stop() {
+        if (server == null) return;
+
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        executor = null;
+    }
+
+    /**
+     * Get the port the endpoint listens on, which is the configured one unless that was 0.
+     *
+     * @return the port, or -1 if the endpoint is not running
+     */
+    public synchronized int getPort() {
+        return server == null? -1 : server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET") && !exchange.getRequestMethod().equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            var metrics = serviceRegistry.getOptional(PlugManMetrics.class);
+            if (metrics.isEmpty()) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            var plugins = serviceRegistry.getOptional(PluginListIndex.class).map(PluginListIndex::size).orElse(-1);
+            var leakTracker = serviceRegistry.getOptional(ClassLoaderLeakTracker.class).orElse(null);
+            var body = OpenMetricsWriter.write(metrics.get(), leakTracker, plugins).getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", OpenMetricsWriter.CONTENT_TYPE);
+            if (exchange.getRequestMethod().equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+}
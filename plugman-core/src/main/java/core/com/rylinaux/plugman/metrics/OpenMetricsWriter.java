@@ -0,0 +1,129 @@
+package core.com.rylinaux.plugman.metrics;
+
+import core.com.rylinaux.plugman.profiling.TimingStats;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes {@link PlugManMetrics} in the OpenMetrics text format.
+ * <p>
+ * Durations are histograms in seconds. {@link TimingStats} keeps one bucket per power of two nanoseconds, and
+ * every third one is written, from about 1 µs to about 2 minutes, which keeps a series at a dozen lines.
+ */
+public final class OpenMetricsWriter {
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private static final int FIRST_BUCKET = 9;
+    private static final int BUCKET_STEP = 3;
+    private static final int LAST_BUCKET = 36;
+
+    private final StringBuilder out = new StringBuilder();
+
+    private OpenMetricsWriter() {
+    }
+
+    /**
+     * Render the metrics.
+     *
+     * @param metrics     the metrics
+     * @param leakTracker the leak tracker, or null
+     * @param plugins     the number of installed plugins, or -1 if unknown
+     * @return the exposition, ending with {@code # EOF}
+     */
+    public static String write(PlugManMetrics metrics, ClassLoaderLeakTracker leakTracker, int plugins) {
+        var writer = new OpenMetricsWriter();
+
+        if (plugins >= 0) {
+            writer.header("plugman_plugins", "gauge", "Installed plugins");
+            writer.sample("plugman_plugins", Map.of(), plugins);
+        }
+
+        writer.group("plugman_operation", "Loads, unloads and reloads through the lifecycle queue", "operation", metrics.getOperations());
+        writer.group("plugman_plugin_reload", "Reloads by plugin", "plugin", metrics.getPluginReloads());
+        writer.group("plugman_update_check", "Update checks by result", "result", metrics.getUpdateChecks());
+        writer.group("plugman_update_provider", "Update checks by provider", "provider", metrics.getUpdateProviders());
+        writer.group("plugman_auto_feature_scan", "Scans of the plugins folder by auto feature", "feature", metrics.getAutoFeatureScans());
+
+        writer.header("plugman_command_sync_seconds", "histogram", "Command trees sent to the players");
+        writer.unit("plugman_command_sync_seconds");
+        writer.histogram("plugman_command_sync_seconds", Map.of(), metrics.getCommandSyncs());
+
+        if (leakTracker != null) {
+            var suspects = new TreeMap<String, Integer>();
+            for (var plugin : leakTracker.getSuspects()) suspects.merge(plugin, 1, Integer::sum);
+
+            writer.header("plugman_leak_suspects", "gauge", "Class loaders of unloaded plugins that are still reachable");
+            suspects.forEach((plugin, count) -> writer.sample("plugman_leak_suspects", Map.of("plugin", plugin), count));
+        }
+
+        writer.out.append("# EOF\n");
+        return writer.out.toString();
+    }
+
+    private void group(String name, String help, String label, MetricGroup group) {
+        var stats = new TreeMap<>(group.getStats());
+
+        header(name + "_seconds", "histogram", help);
+        unit(name + "_seconds");
+        stats.forEach((key, timings) -> histogram(name + "_seconds", Map.of(label, key), timings));
+
+        header(name + "_failures", "counter", help + " that failed");
+        stats.keySet().forEach(key -> sample(name + "_failures_total", Map.of(label, key), group.getFailures(key)));
+    }
+
+    private void histogram(String name, Map<String, String> labels, TimingStats timings) {
+        var counts = timings.getHistogram();
+        var cumulative = 0L;
+        var bucket = 0;
+
+        for (var bound = FIRST_BUCKET; bound <= LAST_BUCKET; bound += BUCKET_STEP) {
+            for (; bucket <= bound; bucket++) cumulative += counts[bucket];
+            sample(name + "_bucket", with(labels, "le", seconds(1L << (bound + 1))), cumulative);
+        }
+
+        // Calls still being added up are counted in +Inf and _count alike, so the buckets stay monotonic
+        for (; bucket < counts.length; bucket++) cumulative += counts[bucket];
+        sample(name + "_bucket", with(labels, "le", "+Inf"), cumulative);
+        sample(name + "_count", labels, cumulative);
+        sample(name + "_sum", labels, seconds(timings.getTotalNanos()));
+    }
+
+    private void header(String name, String type, String help) {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    }
+
+    private void unit(String name) {
+        out.append("# UNIT ").append(name).append(" seconds\n");
+    }
+
+    private void sample(String name, Map<String, String> labels, Object value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{');
+            var first = true;
+            for (var label : new TreeMap<>(labels).entrySet()) {
+                if (!first) out.append(',');
+                out.append(label.getKey()).append("=\"").append(escape(label.getValue())).append('"');
+                first = false;
+            }
+            out.append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static Map<String, String> with(Map<String, String> labels, String key, String value) {
+        var result = new TreeMap<>(labels);
+        result.put(key, value);
+        return result;
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
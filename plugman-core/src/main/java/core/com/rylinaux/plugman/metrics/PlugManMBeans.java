@@ -0,0 +1,64 @@
+package core.com.rylinaux.plugman.metrics;
+
+import core.com.rylinaux.plugman.logging.PluginLogger;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import lombok.RequiredArgsConstructor;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registers PlugManX's MBeans under {@code com.rylinaux.plugman} with the platform MBean server, so JMX agents
+ * can read them:
+ * <ul>
+ *     <li>{@code type=Status}: {@link PlugManStatusMXBean}</li>
+ *     <li>{@code type=Operations}, {@code type=PluginReloads}, {@code type=UpdateChecks},
+ *     {@code type=UpdateProviders} and {@code type=AutoFeatureScans}: the {@link MetricGroup}s of
+ *     {@link PlugManMetrics}</li>
+ * </ul>
+ * MBeans left behind by an earlier instance, for example before PlugManX itself was reloaded, are replaced.
+ */
+@RequiredArgsConstructor
+public class PlugManMBeans {
+    public static final String DOMAIN = "com.rylinaux.plugman";
+
+    private final ServiceRegistry serviceRegistry;
+    private final PluginLogger logger;
+    private final List<ObjectName> registered = new ArrayList<>();
+
+    public void register() {
+        var metrics = serviceRegistry.get(PlugManMetrics.class);
+        register("Status", new PlugManStatus(serviceRegistry));
+        register("Operations", metrics.getOperations());
+        register("PluginReloads", metrics.getPluginReloads());
+        register("UpdateChecks", metrics.getUpdateChecks());
+        register("UpdateProviders", metrics.getUpdateProviders());
+        register("AutoFeatureScans", metrics.getAutoFeatureScans());
+    }
+
+    public void unregister() {
+        var server = ManagementFactory.getPlatformMBeanServer();
+        for (var name : registered)
+            try {
+                if (server.isRegistered(name)) server.unregisterMBean(name);
+            } catch (JMException exception) {
+                logger.warning("Failed to unregister MBean " + name, exception);
+            }
+        registered.clear();
+    }
+
+    private void register(String type, Object mbean) {
+        var server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            var name = new ObjectName(DOMAIN + ":type=" + type);
+            if (server.isRegistered(name)) server.unregisterMBean(name);
+            server.registerMBean(mbean, name);
+            registered.add(name);
+        } catch (JMException exception) {
+            logger.warning("Failed to register MBean " + type, exception);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package core.com.rylinaux.plugman.metrics;
+
+import core.com.rylinaux.plugman.PluginResult;
+import core.com.rylinaux.plugman.pojo.UpdateResult;
+import core.com.rylinaux.plugman.profiling.TimingStats;
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * Counters and latency histograms of the work PlugManX does, since it was enabled.
+ */
+@Getter
+public class PlugManMetrics {
+    /**
+     * Loads, unloads and reloads by operation.
+     */
+    private final MetricGroup operations = new MetricGroup();
+    /**
+     * Reloads by plugin.
+     */
+    private final MetricGroup pluginReloads = new MetricGroup();
+    /**
+     * Update checks by result, an unknown result counts as a failure.
+     */
+    private final MetricGroup updateChecks = new MetricGroup();
+    /**
+     * Update checks by the provider that answered them, a provider error counts as a failure.
+     */
+    private final MetricGroup updateProviders = new MetricGroup();
+    /**
+     * Auto feature scans of the plugins folder by feature.
+     */
+    private final MetricGroup autoFeatureScans = new MetricGroup();
+    /**
+     * Command trees sent to the players after plugins changed.
+     */
+    private final TimingStats commandSyncs = new TimingStats();
+
+    public void recordOperation(String operation, String plugin, PluginResult result, long nanos) {
+        var success = result != null && result.success();
+        operation = operation.toLowerCase(Locale.ROOT);
+        operations.record(operation, nanos, success);
+        if (operation.equals("reload")) pluginReloads.record(plugin, nanos, success);
+    }
+
+    public void recordUpdateCheck(UpdateResult result, long nanos) {
+        var type = result == null? UpdateResult.ResultType.UNKNOWN : result.type();
+        updateChecks.record(type.name().toLowerCase(Locale.ROOT), nanos, type != UpdateResult.ResultType.UNKNOWN);
+    }
+
+    public void recordProviderCheck(String provider, boolean success, long nanos) {
+        updateProviders.record(provider, nanos, success);
+    }
+
+    public void recordAutoFeatureScan(String feature, long nanos) {
+        autoFeatureScans.record(feature, nanos, true);
+    }
+
+    public void recordCommandSync(long nanos) {
+        commandSyncs.record(nanos);
+    }
+}
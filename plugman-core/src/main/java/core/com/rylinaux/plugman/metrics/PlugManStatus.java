@@ -0,0 +1,96 @@
+package core.com.rylinaux.plugman.metrics;
+
+import core.com.rylinaux.plugman.file.PlugManFileManager;
+import core.com.rylinaux.plugman.plugins.Plugin;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.update.provider.UpdateProviderRegistry;
+import core.com.rylinaux.plugman.util.reflection.ClassAccessor;
+import core.com.rylinaux.plugman.util.reflection.FieldAccessor;
+import core.com.rylinaux.plugman.util.reflection.MethodAccessor;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Answers {@link PlugManStatusMXBean} from the services, on the JMX thread.
+ */
+@RequiredArgsConstructor
+public class PlugManStatus implements PlugManStatusMXBean {
+    private static final long TIMEOUT_SECONDS = 60;
+
+    private final ServiceRegistry serviceRegistry;
+
+    @Override
+    public int getPluginCount() {
+        return serviceRegistry.getPluginManager().getPlugins().size();
+    }
+
+    @Override
+    public int getEnabledPluginCount() {
+        return (int) serviceRegistry.getPluginManager().getPlugins().stream().filter(Plugin::isEnabled).count();
+    }
+
+    @Override
+    public int getTrackedJarCount() {
+        return serviceRegistry.getOptional(PlugManFileManager.class).map(fileManager -> fileManager.getTrackedFiles().size()).orElse(0);
+    }
+
+    @Override
+    public int getPluginListIndexSize() {
+        return serviceRegistry.getPluginListIndex().size();
+    }
+
+    @Override
+    public int getQueuedOperations() {
+        return serviceRegistry.getPluginLifecycleQueue().size();
+    }
+
+    @Override
+    public int getClassCacheSize() {
+        return ClassAccessor.getCacheSize();
+    }
+
+    @Override
+    public int getFieldCacheSize() {
+        return FieldAccessor.getCacheSize();
+    }
+
+    @Override
+    public int getMethodCacheSize() {
+        return MethodAccessor.getCacheSize();
+    }
+
+    @Override
+    public String reload(String plugin) {
+        var target = serviceRegistry.getPluginManager().getPluginByName(plugin);
+        if (target == null) return "error.invalid-plugin";
+        if (serviceRegistry.getPluginManager().isIgnored(target)) return "error.ignored";
+
+        return await(serviceRegistry.getPluginLifecycleQueue().reload(target.getName())).messageId();
+    }
+
+    @Override
+    public String checkForUpdate(String plugin) {
+        var result = await(serviceRegistry.get(UpdateProviderRegistry.class).check(plugin));
+        return result.type() + " " + result.currentVersion() + " -> " + result.latestVersion();
+    }
+
+    /**
+     * Wait for an operation, which runs on the main thread or the update checker, never on the JMX thread.
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting", exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException(exception.getCause().toString(), exception.getCause());
+        } catch (TimeoutException exception) {
+            throw new IllegalStateException("Still running after " + TIMEOUT_SECONDS + " seconds");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package core.com.rylinaux.plugman.metrics;
+
+/**
+ * JMX view of the plugins PlugManX manages, its caches, and the operations it offers.
+ */
+public interface PlugManStatusMXBean {
+
+    int getPluginCount();
+
+    int getEnabledPluginCount();
+
+    int getTrackedJarCount();
+
+    int getPluginListIndexSize();
+
+    int getQueuedOperations();
+
+    int getClassCacheSize();
+
+    int getFieldCacheSize();
+
+    int getMethodCacheSize();
+
+    /**
+     * Reload a plugin through the lifecycle queue and wait for it. Plugins that are not installed or ignored are not
+     * queued.
+     *
+     * @param plugin the plugin name
+     * @return the message id of the result
+     */
+    String reload(String plugin);
+
+    /**
+     * Check a plugin for updates and wait for the result.
+     *
+     * @param plugin the plugin name
+     * @return the result type and versions
+     */
+    String checkForUpdate(String plugin);
+}
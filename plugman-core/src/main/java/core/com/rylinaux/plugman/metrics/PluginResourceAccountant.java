@@ -0,0 +1,201 @@
+package core.com.rylinaux.plugman.metrics;
+
+import core.com.rylinaux.plugman.plugins.Plugin;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.util.IoExecutor;
+import core.com.rylinaux.plugman.util.ThreadUtil;
+import core.com.rylinaux.plugman.util.reflection.FieldAccessor;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Accounts what every plugin holds on to, to tell which plugins are worth consolidating on a server that is short
+ * on memory.
+ * <p>
+ * The listeners, scheduler tasks and commands are counted in one pass on the main thread, since the platforms do not
+ * guard those maps. The rest is collected on the IO executor:
+ * <ul>
+ *     <li>classes are read from the {@code classes} map of the plugin's class loader, which Bukkit keeps; other
+ *     class loaders report -1</li>
+ *     <li>metaspace is the class count times the average metaspace of a class in this JVM, since the JVM does not
+ *     report it by class loader</li>
+ *     <li>a thread belongs to the plugin whose class loader loaded the thread's class, or else whose classes the
+ *     outermost frames of its stack run, or else whose class loader is its context class loader</li>
+ * </ul>
+ * Taking every thread's stack pauses the JVM for a moment, so results are reused for {@link #DEFAULT_TTL}.
+ */
+public class PluginResourceAccountant {
+    /**
+     * How long a result is reused for.
+     */
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(30);
+
+    private final ServiceRegistry serviceRegistry;
+    private final Duration ttl;
+    private CompletableFuture<List<PluginResources>> resources;
+    private long collectedAt;
+
+    public PluginResourceAccountant(ServiceRegistry serviceRegistry) {
+        this(serviceRegistry, DEFAULT_TTL);
+    }
+
+    public PluginResourceAccountant(ServiceRegistry serviceRegistry, Duration ttl) {
+        this.serviceRegistry = serviceRegistry;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Get the resources of every plugin, the one with the most classes first. The last result is returned while it
+     * is younger than the TTL or still being collected. Can be called from any thread.
+     *
+     * @return a future completed off the main thread
+     */
+    public synchronized CompletableFuture<List<PluginResources>> getResources() {
+        var now = System.nanoTime();
+        if (resources != null && !resources.isCompletedExceptionally() && (!resources.isDone() || now - collectedAt < ttl.toNanos()))
+            return resources;
+
+        collectedAt = now;
+        return resources = collect();
+    }
+
+    /**
+     * Get the resources of one plugin.
+     *
+     * @param plugin the plugin name, ignoring case
+     * @return a future completed with the resources, or with null if the plugin is not installed
+     */
+    public CompletableFuture<PluginResources> getResources(String plugin) {
+        return getResources().thenApply(all -> all.stream().filter(entry -> entry.plugin().equalsIgnoreCase(plugin)).findFirst().orElse(null));
+    }
+
+    /**
+     * Get the class loader of a plugin.
+     *
+     * @param plugin the plugin
+     * @return the class loader of its main class, or null
+     */
+    protected ClassLoader getClassLoader(Plugin plugin) {
+        Object handle = plugin.getHandle();
+        return handle == null? null : handle.getClass().getClassLoader();
+    }
+
+    /**
+     * Get the names of the classes a plugin's class loader defined, from the first {@code classes} field in its
+     * class hierarchy. Classes the loader only cached for other plugins are left out.
+     *
+     * @param loader the class loader
+     * @return the class names, or null if the class loader does not keep them
+     */
+    protected Collection<String> getClassNames(ClassLoader loader) {
+        for (Class<?> type = loader.getClass(); type != null && !type.getName().startsWith("java."); type = type.getSuperclass())
+            try {
+                Object classes = FieldAccessor.getValue(type, "classes", loader);
+                if (classes instanceof Map<?, ?> map) return definedBy(loader, map.values());
+                if (classes instanceof Collection<?> collection) return definedBy(loader, collection);
+            } catch (IllegalAccessException | RuntimeException exception) {
+                return null;
+            }
+        return null;
+    }
+
+    private CompletableFuture<List<PluginResources>> collect() {
+        var future = new CompletableFuture<List<PluginResources>>();
+
+        serviceRegistry.get(ThreadUtil.class).sync(() -> {
+            try {
+                var registrations = readRegistrations();
+                serviceRegistry.get(IoExecutor.class).supply(() -> account(registrations)).whenComplete((resources, exception) -> {
+                    if (exception != null) future.completeExceptionally(exception);
+                    else future.complete(resources);
+                });
+            } catch (RuntimeException exception) {
+                future.completeExceptionally(exception);
+            }
+        });
+        return future;
+    }
+
+    private Registrations readRegistrations() {
+        var pluginManager = serviceRegistry.getPluginManager();
+
+        var loaders = new LinkedHashMap<String, ClassLoader>();
+        for (var plugin : pluginManager.getPlugins()) loaders.put(plugin.getName(), getClassLoader(plugin));
+        return new Registrations(loaders, pluginManager.getListenerCounts(), pluginManager.getTaskCounts(), pluginManager.getCommandCounts());
+    }
+
+    private List<PluginResources> account(Registrations registrations) {
+        var classNames = new HashMap<String, Collection<String>>();
+        var classOwners = new HashMap<String, String>();
+        var loaderOwners = new IdentityHashMap<ClassLoader, String>();
+        registrations.loaders().forEach((plugin, loader) -> {
+            if (ClassLoaderLeakTracker.isShared(loader)) return;
+            loaderOwners.put(loader, plugin);
+
+            var names = getClassNames(loader);
+            if (names == null) return;
+            classNames.put(plugin, names);
+            for (var name : names) classOwners.put(name, plugin);
+        });
+
+        var threads = new HashMap<String, List<String>>();
+        for (var entry : Thread.getAllStackTraces().entrySet()) {
+            var owner = findOwner(entry.getKey(), entry.getValue(), loaderOwners, classOwners);
+            if (owner != null) threads.computeIfAbsent(owner, ignored -> new ArrayList<>()).add(entry.getKey().getName());
+        }
+
+        var bytesPerClass = getMetaspaceBytesPerClass();
+        var resources = new ArrayList<PluginResources>();
+        for (var plugin : registrations.loaders().keySet()) {
+            var key = plugin.toLowerCase(Locale.ROOT);
+            var names = classNames.get(plugin);
+            var classes = names == null? -1 : names.size();
+            resources.add(new PluginResources(plugin, classes, classes < 0 || bytesPerClass < 0? -1 : classes * bytesPerClass,
+                    threads.getOrDefault(plugin, List.of()).stream().sorted().toList(),
+                    count(registrations.listeners(), key), count(registrations.tasks(), key), count(registrations.commands(), key)));
+        }
+
+        resources.sort(Comparator.comparingInt(PluginResources::classes).reversed().thenComparing(PluginResources::plugin, String.CASE_INSENSITIVE_ORDER));
+        return List.copyOf(resources);
+    }
+
+    private static String findOwner(Thread thread, StackTraceElement[] stack, Map<ClassLoader, String> loaderOwners, Map<String, String> classOwners) {
+        var owner = loaderOwners.get(thread.getClass().getClassLoader());
+        for (var i = stack.length - 1; owner == null && i >= 0; i--) owner = classOwners.get(stack[i].getClassName());
+        return owner != null? owner : loaderOwners.get(thread.getContextClassLoader());
+    }
+
+    private static long getMetaspaceBytesPerClass() {
+        var classes = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+        if (classes == 0) return -1;
+
+        for (var pool : ManagementFactory.getMemoryPoolMXBeans())
+            if (pool.getName().equals("Metaspace")) return pool.getUsage().getUsed() / classes;
+        return -1;
+    }
+
+    private static List<String> definedBy(ClassLoader loader, Collection<?> classes) {
+        return classes.stream()
+                .filter(type -> type instanceof Class<?> clazz && clazz.getClassLoader() == loader)
+                .map(type -> ((Class<?>) type).getName())
+                .toList();
+    }
+
+    private static int count(Map<String, Integer> counts, String key) {
+        return counts == null? -1 : counts.getOrDefault(key, 0);
+    }
+
+    private record Registrations(Map<String, ClassLoader> loaders, Map<String, Integer> listeners, Map<String, Integer> tasks, Map<String, Integer> commands) {
+    }
+}
@@ -0,0 +1,18 @@
+package core.com.rylinaux.plugman.metrics;
+
+import java.util.List;
+
+/**
+ * What one plugin holds on to, as collected by {@link PluginResourceAccountant}. Counts the platform cannot tell
+ * are -1.
+ *
+ * @param plugin         the plugin name
+ * @param classes        the classes its class loader defined
+ * @param metaspaceBytes the metaspace those classes take, estimated from the average class size of the JVM
+ * @param threads        the names of the live threads it started or is running code on
+ * @param listeners      the event handlers it registered
+ * @param tasks          its scheduler tasks that are waiting to run or running
+ * @param commands       the commands it registered, without aliases
+ */
+public record PluginResources(String plugin, int classes, long metaspaceBytes, List<String> threads, int listeners, int tasks, int commands) {
+}
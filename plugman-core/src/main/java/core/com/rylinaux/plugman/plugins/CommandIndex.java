@@ -0,0 +1,138 @@
+package core.com.rylinaux.plugman.plugins;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Maps command labels to the plugins that own them, and plugins to the commands they registered.
+ * <p>
+ * Finding the owner of a command is the slow part, it may walk class loaders or read fields reflectively,
+ * so every command is resolved once and its owner kept for as long as the same command object stays under
+ * the same key. The index is rebuilt from the command map when it was invalidated or when the map changed
+ * size, and only commands that were added or replaced since the last rebuild are resolved again. A lookup
+ * that finds nothing rebuilds once more, so commands registered behind PlugMan's back are still found.
+ *
+ * @param <T> the platform's command type
+ */
+public class CommandIndex<T> {
+    private final Supplier<Map<String, T>> commandMap;
+    private final BiFunction<String, T, String> ownerResolver;
+
+    private Map<String, Resolved<T>> resolved = Map.of();
+    private Map<String, List<String>> ownersByLabel = Map.of();
+    private Map<String, Map<String, T>> commandsByOwner = Map.of();
+    private int indexedSize = -1;
+    private boolean stale = true;
+
+    /**
+     * Construct our object.
+     *
+     * @param commandMap    supplies the live command map, keyed by label with or without a namespace
+     * @param ownerResolver resolves the name of the plugin owning a command, or null if no plugin owns it
+     */
+    public CommandIndex(Supplier<Map<String, T>> commandMap, BiFunction<String, T, String> ownerResolver) {
+        this.commandMap = commandMap;
+        this.ownerResolver = ownerResolver;
+    }
+
+    /**
+     * Find the plugins that registered a command.
+     *
+     * @param label the command label, without namespace
+     * @return the plugin names in registration order, or an empty list
+     */
+    public synchronized List<String> findOwners(String label) {
+        var key = label.toLowerCase(Locale.ROOT);
+        var rebuilt = refreshIfChanged();
+
+        var owners = ownersByLabel.get(key);
+        if (owners == null && !rebuilt) {
+            rebuild();
+            owners = ownersByLabel.get(key);
+        }
+        return owners == null? List.of() : owners;
+    }
+
+    /**
+     * Get the commands a plugin registered.
+     *
+     * @param owner the plugin name
+     * @return the commands keyed as in the command map, or an empty map
+     */
+    public synchronized Map<String, T> getCommands(String owner) {
+        var key = owner.toLowerCase(Locale.ROOT);
+        var rebuilt = refreshIfChanged();
+
+        var commands = commandsByOwner.get(key);
+        if (commands == null && !rebuilt) {
+            rebuild();
+            commands = commandsByOwner.get(key);
+        }
+        return commands == null? Map.of() : commands;
+    }
+
+    /**
+     * Rebuild the index on the next lookup. Call this after changing the command map.
+     */
+    public synchronized void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Rebuild the index if it was invalidated or the command map changed size.
+     *
+     * @return true if the index was rebuilt
+     */
+    private boolean refreshIfChanged() {
+        var map = commandMap.get();
+        if (map == null) return false;
+        if (!stale && map.size() == indexedSize) return false;
+
+        rebuild();
+        return true;
+    }
+
+    private void rebuild() {
+        var map = commandMap.get();
+        if (map == null) return;
+
+        var previous = resolved;
+        var nextResolved = new HashMap<String, Resolved<T>>(Math.max(16, map.size() * 2));
+        var nextOwners = new HashMap<String, List<String>>();
+        var nextCommands = new HashMap<String, Map<String, T>>();
+
+        for (var entry : new ArrayList<>(map.entrySet())) {
+            var key = entry.getKey();
+            var command = entry.getValue();
+
+            var known = previous.get(key);
+            var owner = known != null && known.command() == command? known.owner() : ownerResolver.apply(key, command);
+            nextResolved.put(key, new Resolved<>(command, owner));
+            if (owner == null) continue;
+
+            var label = key.substring(key.lastIndexOf(':') + 1).toLowerCase(Locale.ROOT);
+            var owners = nextOwners.computeIfAbsent(label, ignored -> new ArrayList<>(1));
+            if (!owners.contains(owner)) owners.add(owner);
+            nextCommands.computeIfAbsent(owner.toLowerCase(Locale.ROOT), ignored -> new LinkedHashMap<>()).put(key, command);
+        }
+
+        nextOwners.replaceAll((label, owners) -> Collections.unmodifiableList(owners));
+        nextCommands.replaceAll((owner, commands) -> Collections.unmodifiableMap(commands));
+
+        resolved = nextResolved;
+        ownersByLabel = nextOwners;
+        commandsByOwner = nextCommands;
+        indexedSize = map.size();
+        stale = false;
+    }
+
+    private record Resolved<T>(T command, String owner) {
+    }
+}
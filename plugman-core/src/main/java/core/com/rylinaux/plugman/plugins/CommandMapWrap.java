@@ -1,66 +1,160 @@
 package core.com.rylinaux.plugman.plugins;
 
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.BiPredicate;
 import java.util.function.Function;
 
+/**
+ * A live view of a platform's command map as PlugMan {@link Command}s.
+ * <p>
+ * Nothing is copied: commands are wrapped when they are read, and changes go straight to the platform's map.
+ * The maps and sets returned by this class are read-only views and reflect later changes to the command map.
+ */
 public class CommandMapWrap<T> {
-    private final Map<String, Command> commands = new HashMap<>();
     private final Map<String, T> knownCommands;
+    private final Function<T, ? extends Command> pluginCommandFactory;
+    private final Map<String, Command> view;
 
     public CommandMapWrap(Map<String, T> knownCommands, Function<T, ? extends Command> pluginCommandFactory) {
         this.knownCommands = knownCommands;
-
-        // Note: Never use `forEach` here. The implementation of `forEach` seems to be a no-op
-        for (var entry : knownCommands.entrySet()) commands.put(entry.getKey(), pluginCommandFactory.apply(entry.getValue()));
+        this.pluginCommandFactory = pluginCommandFactory;
+        this.view = new View(null);
     }
 
     public Command get(String key) {
-        return commands.get(key);
+        return view.get(key);
     }
 
+    /**
+     * Register a command, unless the key is already taken.
+     *
+     * @return the command already registered under the key, or null
+     */
     public Command put(String key, Command value) {
-        if (!knownCommands.containsKey(key)) knownCommands.put(key, value.getHandle());
-        return commands.put(key, value);
+        var previous = get(key);
+        if (previous == null) knownCommands.put(key, value.getHandle());
+        return previous;
     }
 
     public void putAll(Map<? extends String, ? extends Command> otherMap) {
-        otherMap.forEach((name, command) -> knownCommands.put(name, command.getHandle()));
-        commands.putAll(otherMap);
+        for (var entry : otherMap.entrySet()) knownCommands.put(entry.getKey(), entry.getValue().getHandle());
     }
 
     public Command remove(String key) {
-        knownCommands.remove(key);
-        return commands.remove(key);
+        var handle = knownCommands.remove(key);
+        return handle == null? null : pluginCommandFactory.apply(handle);
     }
 
     public boolean remove(String key, Command value) {
-        knownCommands.remove(key, value.<T>getHandle());
-        return commands.remove(key, value);
+        return knownCommands.remove(key, value.<T>getHandle());
     }
 
     public boolean containsKey(String key) {
-        return commands.containsKey(key);
+        return knownCommands.containsKey(key);
     }
 
     public int size() {
-        return commands.size();
+        return knownCommands.size();
     }
 
     public boolean isEmpty() {
-        return commands.isEmpty();
+        return knownCommands.isEmpty();
     }
 
     public Map<String, Command> asMap() {
-        return Map.copyOf(commands);
+        return view;
     }
 
     public Set<Map.Entry<String, Command>> entrySet() {
-        return commands.entrySet();
+        return view.entrySet();
     }
 
     public Set<String> keySet() {
-        return commands.keySet();
+        return Collections.unmodifiableSet(knownCommands.keySet());
+    }
+
+    /**
+     * Get a view of the commands matching a filter, for example the ones owned by a plugin.
+     * The filter is checked against the platform's command while iterating, so nothing is wrapped
+     * or copied for commands that do not match.
+     *
+     * @param filter the filter, given the key and the platform's command
+     * @return a read-only view of the matching commands
+     */
+    public Map<String, Command> filter(BiPredicate<String, ? super T> filter) {
+        return new View(filter);
+    }
+
+    private class View extends AbstractMap<String, Command> {
+        private final BiPredicate<String, ? super T> filter;
+        private final Set<Entry<String, Command>> entrySet = new EntrySet();
+
+        private View(BiPredicate<String, ? super T> filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public Command get(Object key) {
+            var handle = knownCommands.get(key);
+            return matches(key, handle)? pluginCommandFactory.apply(handle) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return matches(key, knownCommands.get(key));
+        }
+
+        @Override
+        public Set<Entry<String, Command>> entrySet() {
+            return entrySet;
+        }
+
+        private boolean matches(Object key, T handle) {
+            return handle != null && (filter == null || filter.test((String) key, handle));
+        }
+
+        private class EntrySet extends AbstractSet<Entry<String, Command>> {
+            @Override
+            public Iterator<Entry<String, Command>> iterator() {
+                // Note: Never use `forEach` on the command map. The implementation of `forEach` seems to be a no-op
+                var iterator = knownCommands.entrySet().iterator();
+                return new Iterator<>() {
+                    private Entry<String, T> next;
+
+                    @Override
+                    public boolean hasNext() {
+                        while (next == null && iterator.hasNext()) {
+                            var candidate = iterator.next();
+                            if (matches(candidate.getKey(), candidate.getValue())) next = candidate;
+                        }
+                        return next != null;
+                    }
+
+                    @Override
+                    public Entry<String, Command> next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+
+                        var entry = next;
+                        next = null;
+                        return new SimpleImmutableEntry<>(entry.getKey(), pluginCommandFactory.apply(entry.getValue()));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                if (filter == null) return knownCommands.size();
+
+                var size = 0;
+                for (var entry : knownCommands.entrySet()) if (matches(entry.getKey(), entry.getValue())) size++;
+                return size;
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,225 @@
+package core.com.rylinaux.plugman.plugins;
+
+import core.com.rylinaux.plugman.PluginResult;
+import core.com.rylinaux.plugman.metrics.ClassLoaderLeakTracker;
+import core.com.rylinaux.plugman.metrics.PlugManMetrics;
+import core.com.rylinaux.plugman.profiling.PluginOperationEvent;
+import core.com.rylinaux.plugman.profiling.PluginOperationEvent.Phase;
+import core.com.rylinaux.plugman.profiling.ProfilerRegistry;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.util.ThreadUtil;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs every load, unload and reload one after another on the main thread.
+ * <p>
+ * Commands, the auto features and API callers submit operations from any thread and get a future for the
+ * result. Operations run in the order they were submitted. An operation that has not started yet is merged
+ * with the next one for the same plugin when the outcome is the same: three reloads become one, and an
+ * unload followed by a load becomes a reload. Merged operations share one future.
+ * <p>
+ * The plugin list index is updated after every successful operation, and profilers drop their hooks into a
+ * plugin before it is unloaded. The class loader of an unloaded plugin is watched by the
+ * {@link ClassLoaderLeakTracker}. A reload is recorded as a {@link PluginOperationEvent} around the unload and load
+ * the plugin manager records, and every operation is counted in {@link PlugManMetrics}.
+ */
+@RequiredArgsConstructor
+public class PluginLifecycleQueue {
+    private final ServiceRegistry serviceRegistry;
+
+    private final Queue<Pending> queue = new ArrayDeque<>();
+    /**
+     * The last operation not started yet for every plugin, by lower case name.
+     */
+    private final Map<String, Pending> waiting = new HashMap<>();
+    private boolean draining;
+
+    /**
+     * Load a plugin.
+     *
+     * @param name the plugin or file name
+     * @return a future completed on the main thread with the result
+     */
+    public CompletableFuture<PluginResult> load(String name) {
+        return submit(Operation.LOAD, name);
+    }
+
+    /**
+     * Unload a plugin.
+     *
+     * @param name the plugin name
+     * @return a future completed on the main thread with the result
+     */
+    public CompletableFuture<PluginResult> unload(String name) {
+        return submit(Operation.UNLOAD, name);
+    }
+
+    /**
+     * Unload a plugin and load it again.
+     *
+     * @param name the plugin name
+     * @return a future completed on the main thread with the result
+     */
+    public CompletableFuture<PluginResult> reload(String name) {
+        return submit(Operation.RELOAD, name);
+    }
+
+    /**
+     * Queue an operation, or merge it with the operation waiting for the same plugin.
+     *
+     * @param operation the operation
+     * @param name      the plugin name
+     * @return a future completed on the main thread with the result
+     */
+    public CompletableFuture<PluginResult> submit(Operation operation, String name) {
+        var key = name.toLowerCase(Locale.ROOT);
+
+        synchronized (this) {
+            var last = waiting.get(key);
+            var merged = last == null? null : last.operation.merge(operation);
+            if (merged != null) {
+                last.operation = merged;
+                return last.future;
+            }
+
+            var pending = new Pending(key, name, operation);
+            queue.add(pending);
+            waiting.put(key, pending);
+
+            if (!draining) {
+                draining = true;
+                serviceRegistry.get(ThreadUtil.class).sync(this::drain);
+            }
+            return pending.future;
+        }
+    }
+
+    /**
+     * Get the number of operations that have not started yet.
+     *
+     * @return the number of operations
+     */
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    private void drain() {
+        try {
+            while (drainNext()) {
+                // Runs one operation per iteration until the queue is empty
+            }
+        } finally {
+            // Whatever ended the loop, whatever was queued in the meantime still gets drained
+            synchronized (this) {
+                if (queue.isEmpty()) draining = false;
+                else serviceRegistry.get(ThreadUtil.class).sync(this::drain);
+            }
+        }
+    }
+
+    private boolean drainNext() {
+        Pending pending;
+        synchronized (this) {
+            pending = queue.poll();
+            if (pending == null) return false;
+            waiting.remove(pending.key, pending);
+        }
+
+        var start = System.nanoTime();
+        PluginResult result = null;
+        try {
+            result = pending.operation == Operation.RELOAD?
+                    PluginOperationEvent.record(Phase.RELOAD, pending.name, () -> run(Operation.RELOAD, pending.name)) : run(pending.operation, pending.name);
+            pending.future.complete(result);
+        } catch (Throwable throwable) {
+            pending.future.completeExceptionally(throwable);
+        } finally {
+            var nanos = System.nanoTime() - start;
+            var finished = result;
+            serviceRegistry.getOptional(PlugManMetrics.class).ifPresent(metrics -> metrics.recordOperation(pending.operation.name(), pending.name, finished, nanos));
+        }
+        return true;
+    }
+
+    private PluginResult run(Operation operation, String name) {
+        var pluginManager = serviceRegistry.getPluginManager();
+        var listIndex = serviceRegistry.getPluginListIndex();
+
+        if (operation == Operation.LOAD) {
+            var result = pluginManager.load(name);
+            if (result.success()) listIndex.pluginLoaded(name);
+            return result;
+        }
+
+        var plugin = pluginManager.getPluginByName(name);
+        if (plugin == null) {
+            if (operation == Operation.UNLOAD) return new PluginResult(false, "error.invalid-plugin");
+            // An unload merged with a load for a plugin that is not loaded
+            return run(Operation.LOAD, name);
+        }
+
+        serviceRegistry.getOptional(ProfilerRegistry.class).ifPresent(profilers -> profilers.pluginUnloaded(plugin.getName()));
+        var loader = getClassLoader(plugin);
+        var result = pluginManager.unload(plugin);
+        if (!result.success()) return result;
+        listIndex.pluginUnloaded(plugin.getName());
+        serviceRegistry.getOptional(ClassLoaderLeakTracker.class).ifPresent(tracker -> tracker.track(plugin.getName(), loader));
+        if (operation == Operation.UNLOAD) return result;
+
+        result = pluginManager.load(plugin);
+        if (!result.success()) return result;
+        listIndex.pluginLoaded(plugin.getName());
+        return new PluginResult(true, "reload.reloaded");
+    }
+
+    private static ClassLoader getClassLoader(Plugin plugin) {
+        Object handle = plugin.getHandle();
+        return handle == null? null : handle.getClass().getClassLoader();
+    }
+
+    /**
+     * An operation on a plugin.
+     */
+    public enum Operation {
+        LOAD,
+        UNLOAD,
+        RELOAD;
+
+        /**
+         * Merge this operation with the one submitted after it.
+         *
+         * @param next the next operation
+         * @return the operation with the same outcome as running both, or null if they have to run one after another
+         */
+        public Operation merge(Operation next) {
+            if (this == next) return this;
+
+            return switch (this) {
+                // Loading fresh code already covers a reload
+                case LOAD -> next == RELOAD? LOAD : null;
+                case UNLOAD -> RELOAD;
+                case RELOAD -> next == UNLOAD? UNLOAD : RELOAD;
+            };
+        }
+    }
+
+    private static final class Pending {
+        private final String key;
+        private final String name;
+        private final CompletableFuture<PluginResult> future = new CompletableFuture<>();
+        private Operation operation;
+
+        private Pending(String key, String name, Operation operation) {
+            this.key = key;
+            this.name = name;
+            this.operation = operation;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package core.com.rylinaux.plugman.plugins;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A sorted snapshot of the installed plugins, used to page through {@code /plugman list}.
+ * <p>
+ * The snapshot is an array sorted by lower case name. It is built once and then kept up to date as
+ * PlugMan loads and unloads plugins, so reading a page only touches the entries on that page. Filtering
+ * by name prefix is a binary search, the other filters are checked while walking the entries and stop as
+ * soon as the page is full. Enabled state is read from the plugin itself, so enabling or disabling a plugin
+ * does not change the snapshot.
+ * <p>
+ * Plugins loaded or unloaded by something other than PlugMan are picked up the next time the snapshot is
+ * rebuilt, see {@link #invalidate()}.
+ */
+public class PluginListIndex {
+    private static final Entry[] EMPTY = new Entry[0];
+    private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::key);
+
+    private final PluginManager pluginManager;
+    private volatile Entry[] entries = EMPTY;
+    private volatile boolean stale = true;
+
+    public PluginListIndex(PluginManager pluginManager) {
+        this.pluginManager = pluginManager;
+    }
+
+    /**
+     * Add a plugin that was just loaded, or replace it if it was loaded again.
+     * If no plugin with this name is installed, for example because a file name was given,
+     * the snapshot is rebuilt on the next read instead.
+     *
+     * @param name the plugin name
+     */
+    public synchronized void pluginLoaded(String name) {
+        if (stale) return;
+
+        var plugin = pluginManager.getPluginByName(name);
+        if (plugin == null) {
+            stale = true;
+            return;
+        }
+
+        var entry = createEntry(plugin);
+        var current = entries;
+        var index = Arrays.binarySearch(current, entry, ORDER);
+        if (index >= 0) {
+            var updated = current.clone();
+            updated[index] = entry;
+            entries = updated;
+            return;
+        }
+
+        var insert = -index - 1;
+        var updated = new Entry[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, insert);
+        updated[insert] = entry;
+        System.arraycopy(current, insert, updated, insert + 1, current.length - insert);
+        entries = updated;
+    }
+
+    /**
+     * Remove a plugin that was just unloaded.
+     *
+     * @param name the plugin name
+     */
+    public synchronized void pluginUnloaded(String name) {
+        if (stale) return;
+
+        var current = entries;
+        var index = indexOf(current, name.toLowerCase(Locale.ROOT));
+        if (index < 0) return;
+
+        var updated = new Entry[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+        entries = updated;
+    }
+
+    /**
+     * Rebuild the snapshot from the plugin manager on the next read.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Get the number of installed plugins.
+     *
+     * @return the number of plugins
+     */
+    public int size() {
+        return snapshot().length;
+    }
+
+    /**
+     * Get one page of the plugins matching a filter, in alphabetical order.
+     *
+     * @param filter   the filter
+     * @param page     the page, starting at 1
+     * @param pageSize the number of plugins per page
+     * @return the page
+     */
+    public Page page(Filter filter, int page, int pageSize) {
+        var snapshot = snapshot();
+        var offset = (long) (Math.max(1, page) - 1) * pageSize;
+
+        var from = 0;
+        var to = snapshot.length;
+        if (filter.namePrefix() != null) {
+            var prefix = filter.namePrefix().toLowerCase(Locale.ROOT);
+            from = lowerBound(snapshot, prefix);
+            to = prefixEnd(snapshot, prefix, from);
+        }
+
+        if (!filter.needsScan()) {
+            var start = (int) Math.min(to, from + offset);
+            var end = Math.min(to, start + pageSize);
+            var plugins = new ArrayList<Plugin>(end - start);
+            for (var i = start; i < end; i++) plugins.add(snapshot[i].plugin());
+            return new Page(plugins, to - from, end < to);
+        }
+
+        var plugins = new ArrayList<Plugin>(Math.min(pageSize, to - from));
+        var skipped = 0L;
+        for (var i = from; i < to; i++) {
+            if (!filter.test(snapshot[i])) continue;
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            if (plugins.size() == pageSize) return new Page(plugins, -1, true);
+            plugins.add(snapshot[i].plugin());
+        }
+        return new Page(plugins, -1, false);
+    }
+
+    private Entry[] snapshot() {
+        if (!stale) return entries;
+
+        synchronized (this) {
+            if (!stale) return entries;
+
+            var rebuilt = pluginManager.getPlugins().stream().map(this::createEntry).sorted(ORDER).toArray(Entry[]::new);
+            entries = rebuilt;
+            stale = false;
+            return rebuilt;
+        }
+    }
+
+    private Entry createEntry(Plugin plugin) {
+        var authors = plugin.getAuthors() == null? List.<String>of() : plugin.getAuthors().stream().map(author -> author.toLowerCase(Locale.ROOT)).toList();
+        return new Entry(plugin.getName().toLowerCase(Locale.ROOT), plugin, pluginManager.isPaperPlugin(plugin), authors);
+    }
+
+    private static int indexOf(Entry[] entries, String key) {
+        var index = lowerBound(entries, key);
+        return index < entries.length && entries[index].key().equals(key)? index : -1;
+    }
+
+    /**
+     * Get the first position whose key is not less than the given key.
+     */
+    private static int lowerBound(Entry[] entries, String key) {
+        var low = 0;
+        var high = entries.length;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (entries[middle].key().compareTo(key) < 0) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Get the first position after {@code from} whose key does not start with the prefix.
+     */
+    private static int prefixEnd(Entry[] entries, String prefix, int from) {
+        var low = from;
+        var high = entries.length;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (entries[middle].key().startsWith(prefix)) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * A filter for {@code /plugman list}.
+     *
+     * @param state      the enabled state to match
+     * @param paperOnly  whether to only match Paper plugins
+     * @param namePrefix the case-insensitive name prefix to match, or null
+     * @param author     the case-insensitive author to match, or null
+     */
+    public record Filter(State state, boolean paperOnly, String namePrefix, String author) {
+        /**
+         * A filter matching every plugin.
+         */
+        public static final Filter ALL = new Filter(State.ANY, false, null, null);
+
+        /**
+         * Check if the filter needs to look at every entry, rather than only the name prefix.
+         *
+         * @return true if entries have to be checked one by one
+         */
+        public boolean needsScan() {
+            return state != State.ANY || paperOnly || author != null;
+        }
+
+        private boolean test(Entry entry) {
+            if (paperOnly && !entry.paper()) return false;
+            if (state == State.ENABLED && !entry.plugin().isEnabled()) return false;
+            if (state == State.DISABLED && entry.plugin().isEnabled()) return false;
+            return author == null || entry.authors().contains(author.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * The enabled state a {@link Filter} matches.
+     */
+    public enum State {
+        ANY,
+        ENABLED,
+        DISABLED
+    }
+
+    /**
+     * A page of plugins.
+     *
+     * @param plugins the plugins on the page
+     * @param total   the number of plugins matching the filter, or -1 if it was not counted
+     * @param hasMore whether there are more plugins after this page
+     */
+    public record Page(List<Plugin> plugins, int total, boolean hasMore) {
+    }
+
+    private record Entry(String key, Plugin plugin, boolean paper, List<String> authors) {
+    }
+}
@@ -29,6 +29,7 @@ package core.com.rylinaux.plugman.plugins;
 import core.com.rylinaux.plugman.PluginResult;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public interface PluginManager {
@@ -190,4 +191,32 @@ public interface PluginManager {
     boolean isPaperPlugin(Plugin plugin);
 
     Set<Plugin> getPlugins();
+
+    /**
+     * Count the commands every plugin has registered, in one pass over the command map.
+     * Aliases of a command are not counted separately.
+     *
+     * @return the counts keyed by lower case plugin name, or null if the platform cannot tell
+     */
+    default Map<String, Integer> getCommandCounts() {
+        return null;
+    }
+
+    /**
+     * Count the event handlers every plugin has registered, in one pass over the event bus.
+     *
+     * @return the counts keyed by lower case plugin name, or null if the platform cannot tell
+     */
+    default Map<String, Integer> getListenerCounts() {
+        return null;
+    }
+
+    /**
+     * Count the scheduler tasks every plugin has waiting or running, in one pass over the scheduler.
+     *
+     * @return the counts keyed by lower case plugin name, or null if the platform cannot tell
+     */
+    default Map<String, Integer> getTaskCounts() {
+        return null;
+    }
 }
@@ -0,0 +1,34 @@
+package core.com.rylinaux.plugman.pojo;
+
+import java.util.List;
+
+/**
+ * One plugin in a {@code /plugman dump}.
+ *
+ * @param name        the plugin name
+ * @param version     the plugin version
+ * @param enabled     whether the plugin is enabled
+ * @param paper       whether the plugin is a Paper plugin
+ * @param file        the path of the jar, or null if unknown
+ * @param size        the size of the jar in bytes, or -1 if unknown
+ * @param sha256      the lower-case hex SHA-256 hash of the jar, or null if unknown
+ * @param depend      the hard dependencies
+ * @param softDepend  the soft dependencies
+ * @param commands    the number of registered commands, or null if the platform cannot tell
+ * @param listeners   the number of registered event handlers, or null if the platform cannot tell
+ * @param classLoader the class name and identity hash of the plugin's class loader
+ */
+public record PluginDumpRecord(String name, String version, boolean enabled, boolean paper, String file, long size, String sha256,
+                               List<String> depend, List<String> softDepend, Integer commands, Integer listeners, String classLoader) {
+
+    /**
+     * Copy this record with the jar's size and hash filled in.
+     *
+     * @param size   the size of the jar in bytes
+     * @param sha256 the hash of the jar
+     * @return the copy
+     */
+    public PluginDumpRecord withJar(long size, String sha256) {
+        return new PluginDumpRecord(name, version, enabled, paper, file, size, sha256, depend, softDepend, commands, listeners, classLoader);
+    }
+}
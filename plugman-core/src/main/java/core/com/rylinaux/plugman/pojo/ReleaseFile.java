@@ -0,0 +1,27 @@
+package core.com.rylinaux.plugman.pojo;
+
+/**
+ * A downloadable file of the latest release of a plugin.
+ *
+ * @param providerId the provider the file was found on
+ * @param version    the version of the release
+ * @param fileName   the file name as published
+ * @param url        the download URL
+ * @param algorithm  the {@link java.security.MessageDigest} algorithm of {@code hash}, or null if the provider publishes no hash
+ * @param hash       the lower-case hex hash of the file, or null if the provider publishes no hash
+ * @param size       the size in bytes, or -1 if unknown
+ */
+public record ReleaseFile(String providerId, String version, String fileName, String url, String algorithm, String hash, long size) {
+
+    public static final String SHA_256 = "SHA-256";
+    public static final String SHA_512 = "SHA-512";
+
+    /**
+     * Check if the file can be verified after downloading.
+     *
+     * @return true if a hash is known
+     */
+    public boolean hasChecksum() {
+        return algorithm != null && hash != null && !hash.isBlank();
+    }
+}
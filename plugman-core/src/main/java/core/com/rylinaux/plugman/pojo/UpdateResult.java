@@ -26,7 +26,6 @@ package core.com.rylinaux.plugman.pojo;
  * #L%
  */
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.experimental.Accessors;
 
@@ -37,7 +36,6 @@ import lombok.experimental.Accessors;
  */
 @Accessors(fluent = true)
 @Getter
-@AllArgsConstructor
 public class UpdateResult {
 
     /**
@@ -55,6 +53,31 @@ public class UpdateResult {
      */
     private final String latestVersion;
 
+    /**
+     * The parsed current version, or null if there is none.
+     */
+    private final Version parsedCurrentVersion;
+
+    /**
+     * The parsed latest version, or null if there is none.
+     */
+    private final Version parsedLatestVersion;
+
+    /**
+     * Construct the object.
+     *
+     * @param type           the type of the result.
+     * @param currentVersion the current version.
+     * @param latestVersion  the latest version.
+     */
+    public UpdateResult(ResultType type, String currentVersion, String latestVersion) {
+        this.type = type;
+        this.currentVersion = currentVersion;
+        this.latestVersion = latestVersion;
+        this.parsedCurrentVersion = Version.parse(currentVersion);
+        this.parsedLatestVersion = Version.parse(latestVersion);
+    }
+
     /**
      * Construct the object with no versions.
      *
@@ -78,6 +101,6 @@ public class UpdateResult {
      * Represents the type of the result.
      */
     public enum ResultType {
-        INVALID_PLUGIN, NOT_INSTALLED, OUT_OF_DATE, UP_TO_DATE
+        INVALID_PLUGIN, NOT_INSTALLED, OUT_OF_DATE, UP_TO_DATE, UNKNOWN
     }
 }
\ No newline at end of file
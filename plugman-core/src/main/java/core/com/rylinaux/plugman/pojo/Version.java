@@ -0,0 +1,283 @@
+package core.com.rylinaux.plugman.pojo;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A plugin version parsed once into its numeric core and qualifier tokens.
+ * <p>
+ * The first run of dot separated numbers is the core ({@code 1.20.4} in {@code v1.20.4-rc.1+abc}).
+ * The rest is split into qualifier tokens at separators and letter/digit boundaries, and anything
+ * after {@code +} is build metadata and ignored. Versions compare semver-style: core first, then a
+ * release beats a pre-release ({@code -SNAPSHOT}, {@code -rc.1}, {@code b45}, ...), then the
+ * qualifier tokens one by one.
+ * <p>
+ * Parsed versions are cached per string, so comparing the same versions repeatedly is free.
+ */
+public final class Version implements Comparable<Version> {
+
+    private static final int CACHE_LIMIT = 4096;
+    private static final Map<String, Version> CACHE = new ConcurrentHashMap<>();
+
+    private static final int[] EMPTY_CORE = new int[0];
+    private static final String[] EMPTY_QUALIFIERS = new String[0];
+
+    /**
+     * Qualifiers that mark a pre-release, ranked from least to most mature.
+     */
+    private static final Map<String, Integer> PRE_RELEASE_RANKS = Map.of("dev", 0, "alpha", 1, "beta", 2, "milestone", 3, "rc", 4);
+
+    /**
+     * Other spellings of the pre-release qualifiers, replaced while parsing so equal versions have equal tokens.
+     */
+    private static final Map<String, String> PRE_RELEASE_ALIASES = Map.of(
+            "nightly", "dev", "snapshot", "dev",
+            "a", "alpha",
+            "b", "beta",
+            "m", "milestone",
+            "pre", "rc", "preview", "rc", "cr", "rc");
+
+    /**
+     * Qualifiers that just restate that this is a release.
+     */
+    private static final Set<String> RELEASE_QUALIFIERS = Set.of("release", "final", "ga", "stable");
+
+    /**
+     * The version string this was parsed from.
+     */
+    private final String raw;
+
+    /**
+     * The numeric core, e.g. {@code [1, 20, 4]}.
+     */
+    private final int[] core;
+
+    /**
+     * The lower-cased qualifier tokens that take part in comparisons.
+     */
+    private final String[] qualifiers;
+
+    /**
+     * Whether a numeric core could be found.
+     */
+    @Getter
+    private final boolean parsed;
+
+    /**
+     * Whether the qualifiers mark this as a pre-release.
+     */
+    @Getter
+    private final boolean preRelease;
+
+    private Version(String raw, int[] core, String[] qualifiers, boolean parsed, boolean preRelease) {
+        this.raw = raw;
+        this.core = core;
+        this.qualifiers = qualifiers;
+        this.parsed = parsed;
+        this.preRelease = preRelease;
+    }
+
+    /**
+     * Parse a version string, reusing the cached result if it was parsed before.
+     *
+     * @param version the version string
+     * @return the parsed version, or null if {@code version} is null
+     */
+    public static Version parse(String version) {
+        if (version == null) return null;
+
+        var cached = CACHE.get(version);
+        if (cached != null) return cached;
+
+        var parsed = parseUncached(version);
+        if (CACHE.size() >= CACHE_LIMIT) CACHE.clear();
+        CACHE.put(version, parsed);
+        return parsed;
+    }
+
+    private static Version parseUncached(String version) {
+        var length = version.length();
+        var start = 0;
+        while (start < length && !isDigit(version.charAt(start))) start++;
+        if (start == length) return unparsed(version);
+
+        var numbers = new int[4];
+        var count = 0;
+        var index = start;
+        while (true) {
+            long value = 0;
+            var digitsStart = index;
+            while (index < length && isDigit(version.charAt(index))) {
+                value = value * 10 + (version.charAt(index) - '0');
+                if (value > Integer.MAX_VALUE) return unparsed(version);
+                index++;
+            }
+            if (index == digitsStart) break;
+
+            if (count == numbers.length) numbers = Arrays.copyOf(numbers, count * 2);
+            numbers[count++] = (int) value;
+
+            if (index + 1 < length && version.charAt(index) == '.' && isDigit(version.charAt(index + 1))) index++;
+            else break;
+        }
+
+        var end = version.indexOf('+', index);
+        if (end < 0) end = length;
+
+        var tokens = tokenize(version, index, end);
+        var preRelease = false;
+        for (var token : tokens)
+            if (PRE_RELEASE_RANKS.containsKey(token)) {
+                preRelease = true;
+                break;
+            }
+
+        // Release qualifiers like "paper" or "final" are flavour, only build numbers matter for ordering
+        if (!preRelease) tokens.removeIf(token -> !isDigit(token.charAt(0)));
+
+        return new Version(version, Arrays.copyOf(numbers, count), tokens.toArray(EMPTY_QUALIFIERS), true, preRelease);
+    }
+
+    private static ArrayList<String> tokenize(String version, int from, int to) {
+        var tokens = new ArrayList<String>();
+        var index = from;
+        while (index < to) {
+            var c = version.charAt(index);
+            if (!Character.isLetterOrDigit(c)) {
+                index++;
+                continue;
+            }
+
+            var digits = isDigit(c);
+            var start = index;
+            while (index < to && Character.isLetterOrDigit(version.charAt(index)) && isDigit(version.charAt(index)) == digits) index++;
+
+            var token = version.substring(start, index);
+            if (digits) token = stripLeadingZeros(token);
+            else {
+                token = token.toLowerCase(Locale.ROOT);
+                token = PRE_RELEASE_ALIASES.getOrDefault(token, token);
+            }
+
+            if (!RELEASE_QUALIFIERS.contains(token)) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    private static Version unparsed(String version) {
+        return new Version(version, EMPTY_CORE, EMPTY_QUALIFIERS, false, false);
+    }
+
+    /**
+     * Get one number of the numeric core.
+     *
+     * @param index the position, 0 being the major version
+     * @return the number, or 0 if the core is shorter
+     */
+    public int getNumber(int index) {
+        return index < core.length? core[index] : 0;
+    }
+
+    /**
+     * Get the amount of numbers in the numeric core.
+     *
+     * @return the core length
+     */
+    public int getCoreLength() {
+        return core.length;
+    }
+
+    /**
+     * Check if this version is newer than another.
+     *
+     * @param other the other version
+     * @return true if this version is strictly newer
+     */
+    public boolean isNewerThan(Version other) {
+        return compareTo(other) > 0;
+    }
+
+    /**
+     * Compare two parsed versions.
+     * Unparsed versions sort before every parsed version and among each other by their raw string.
+     *
+     * @param other the other version
+     * @return a negative number, zero or a positive number if this version is older, equal or newer
+     */
+    @Override
+    public int compareTo(Version other) {
+        if (parsed != other.parsed) return parsed? 1 : -1;
+        if (!parsed) return raw.compareToIgnoreCase(other.raw);
+
+        var coreLength = Math.max(core.length, other.core.length);
+        for (var i = 0; i < coreLength; i++) {
+            var result = Integer.compare(getNumber(i), other.getNumber(i));
+            if (result != 0) return result;
+        }
+
+        if (preRelease != other.preRelease) return preRelease? -1 : 1;
+
+        var qualifierLength = Math.min(qualifiers.length, other.qualifiers.length);
+        for (var i = 0; i < qualifierLength; i++) {
+            var result = compareTokens(qualifiers[i], other.qualifiers[i]);
+            if (result != 0) return result;
+        }
+        return Integer.compare(qualifiers.length, other.qualifiers.length);
+    }
+
+    private static int compareTokens(String a, String b) {
+        var aNumeric = isDigit(a.charAt(0));
+        var bNumeric = isDigit(b.charAt(0));
+
+        // Numeric identifiers have lower precedence than alphanumeric ones, as in semver
+        if (aNumeric != bNumeric) return aNumeric? -1 : 1;
+        if (aNumeric) return a.length() != b.length()? Integer.compare(a.length(), b.length()) : a.compareTo(b);
+
+        // Known pre-release names sort after any other word, so the order stays transitive
+        var aRank = PRE_RELEASE_RANKS.get(a);
+        var bRank = PRE_RELEASE_RANKS.get(b);
+        if (aRank == null && bRank == null) return a.compareTo(b);
+        if (aRank == null || bRank == null) return aRank == null? -1 : 1;
+        return Integer.compare(aRank, bRank);
+    }
+
+    private static String stripLeadingZeros(String digits) {
+        var index = 0;
+        while (index < digits.length() - 1 && digits.charAt(index) == '0') index++;
+        return digits.substring(index);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Version version)) return false;
+        return compareTo(version) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        if (!parsed) return raw.toLowerCase(Locale.ROOT).hashCode();
+
+        var hash = 1;
+        var length = core.length;
+        while (length > 0 && core[length - 1] == 0) length--;
+        for (var i = 0; i < length; i++) hash = 31 * hash + core[i];
+        hash = 31 * hash + Boolean.hashCode(preRelease);
+        return 31 * hash + Arrays.hashCode(qualifiers);
+    }
+
+    @Override
+    public String toString() {
+        return raw;
+    }
+}
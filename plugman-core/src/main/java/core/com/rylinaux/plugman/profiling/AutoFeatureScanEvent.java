@@ -0,0 +1,50 @@
+package core.com.rylinaux.plugman.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.function.IntSupplier;
+
+/**
+ * JFR event for one scan of the plugins folder by auto-load, auto-unload or auto-reload. The operations a scan
+ * queues are recorded as {@link PluginOperationEvent}s when they run.
+ */
+@Name("com.rylinaux.plugman.AutoFeatureScan")
+@Label("Auto Feature Scan")
+@Category("PlugManX")
+@Description("The plugins folder scanned by an auto feature of PlugManX")
+@StackTrace(false)
+public class AutoFeatureScanEvent extends Event {
+    @Label("Feature")
+    String feature;
+
+    @Label("Queued Operations")
+    int queued;
+
+    /**
+     * Run a scan and record it, if a recording asks for these events.
+     *
+     * @param feature the auto feature, for example {@code auto-load}
+     * @param scan    scans the folder and returns the number of operations it queued
+     */
+    public static void record(String feature, IntSupplier scan) {
+        var event = new AutoFeatureScanEvent();
+        event.begin();
+
+        var queued = 0;
+        try {
+            queued = scan.getAsInt();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.feature = feature;
+                event.queued = queued;
+                event.commit();
+            }
+        }
+    }
+}
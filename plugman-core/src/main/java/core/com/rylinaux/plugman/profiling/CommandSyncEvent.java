@@ -0,0 +1,42 @@
+package core.com.rylinaux.plugman.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the command tree being sent to every player again after plugins changed, which can take a
+ * while with many players or commands.
+ */
+@Name("com.rylinaux.plugman.CommandSync")
+@Label("Command Sync")
+@Category("PlugManX")
+@Description("The server's commands synced to every player by PlugManX")
+@StackTrace(false)
+public class CommandSyncEvent extends Event {
+    @Label("Players")
+    int players;
+
+    /**
+     * Sync the commands and record it, if a recording asks for these events.
+     *
+     * @param players the number of players the commands are sent to
+     * @param sync    syncs the commands
+     */
+    public static void record(int players, Runnable sync) {
+        var event = new CommandSyncEvent();
+        event.begin();
+        try {
+            sync.run();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.players = players;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package core.com.rylinaux.plugman.profiling;
+
+import core.com.rylinaux.plugman.PluginResult;
+import core.com.rylinaux.plugman.plugins.Plugin;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * JFR event for a plugin loaded, unloaded, reloaded, enabled or disabled through PlugManX, so the operation lines
+ * up with GC pauses and long ticks in a flight recording.
+ */
+@Name("com.rylinaux.plugman.PluginOperation")
+@Label("Plugin Operation")
+@Category("PlugManX")
+@Description("A plugin loaded, unloaded, reloaded, enabled or disabled by PlugManX")
+@StackTrace(false)
+public class PluginOperationEvent extends Event {
+    @Label("Plugin")
+    String plugin;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Success")
+    boolean success;
+
+    @Label("Message Id")
+    @Description("The message the operation ended with, or the exception it threw")
+    String messageId;
+
+    /**
+     * Run an operation and record it, if a recording asks for these events.
+     *
+     * @param phase     the operation
+     * @param plugin    the plugin, may be null
+     * @param operation the operation
+     * @return the result of the operation
+     */
+    public static PluginResult record(Phase phase, Plugin plugin, Supplier<PluginResult> operation) {
+        return record(phase, plugin == null? null : plugin.getName(), operation);
+    }
+
+    /**
+     * Run an operation and record it, if a recording asks for these events.
+     *
+     * @param phase     the operation
+     * @param plugin    the plugin or file name
+     * @param operation the operation
+     * @return the result of the operation
+     */
+    public static PluginResult record(Phase phase, String plugin, Supplier<PluginResult> operation) {
+        var event = new PluginOperationEvent();
+        event.begin();
+
+        PluginResult result = null;
+        Throwable thrown = null;
+        try {
+            return result = operation.get();
+        } catch (Throwable throwable) {
+            // Operations may rethrow checked exceptions through @SneakyThrows
+            thrown = throwable;
+            throw throwable;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.plugin = plugin;
+                event.phase = phase.getId();
+                event.success = result != null && result.success();
+                event.messageId = thrown != null? thrown.getClass().getName() : result == null? null : result.messageId();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * What was done to the plugin.
+     */
+    public enum Phase {
+        LOAD,
+        UNLOAD,
+        RELOAD,
+        ENABLE,
+        DISABLE;
+
+        public String getId() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package core.com.rylinaux.plugman.profiling;
+
+import lombok.Getter;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An opt-in profiler that attributes time to plugins, shown by {@code /plugman profile <name>}.
+ * <p>
+ * Platforms implement {@link #install()} and {@link #uninstall()} to hook into whatever they measure and record
+ * into {@link #stats(TimingKey)}. Hooks should look up their {@link TimingStats} once when they are installed, so
+ * recording a call is only two clock reads and a few adder increments.
+ * <p>
+ * Recorded timings are kept after stopping, so they can still be looked at, until {@link #reset()} is called or
+ * the profiler is started again.
+ */
+public abstract class Profiler {
+    @Getter
+    private final String name;
+    private final Map<TimingKey, TimingStats> timings = new ConcurrentHashMap<>();
+    private boolean running;
+
+    protected Profiler(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Start profiling, discarding earlier timings.
+     *
+     * @return false if the profiler was already running
+     */
+    public synchronized boolean start() {
+        if (running) return false;
+
+        timings.clear();
+        install();
+        running = true;
+        return true;
+    }
+
+    /**
+     * Stop profiling and restore everything that was hooked.
+     *
+     * @return false if the profiler was not running
+     */
+    public synchronized boolean stop() {
+        if (!running) return false;
+
+        running = false;
+        uninstall();
+        return true;
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Forget hooks into a plugin that is being unloaded, so nothing keeps its classes loaded.
+     *
+     * @param plugin the plugin name
+     */
+    public synchronized void pluginUnloaded(String plugin) {
+        if (running) forget(plugin);
+    }
+
+    /**
+     * Get the timings for a key, creating them the first time.
+     *
+     * @param key the key
+     * @return the timings
+     */
+    public TimingStats stats(TimingKey key) {
+        return timings.computeIfAbsent(key, ignored -> new TimingStats());
+    }
+
+    /**
+     * Get the recorded timings, most total time first.
+     *
+     * @param plugin only include timings attributed to this plugin, or null for all
+     * @param limit  the maximum number of timings
+     * @return the timings
+     */
+    public List<Map.Entry<TimingKey, TimingStats>> top(String plugin, int limit) {
+        return timings.entrySet().stream()
+                .filter(entry -> plugin == null || entry.getKey().plugin().equalsIgnoreCase(plugin))
+                .filter(entry -> entry.getValue().getCount() > 0)
+                .sorted(Comparator.comparingLong((Map.Entry<TimingKey, TimingStats> entry) -> entry.getValue().getTotalNanos()).reversed())
+                .limit(limit)
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Reset all recorded timings. Installed hooks keep recording into the same {@link TimingStats}.
+     */
+    public void reset() {
+        timings.values().forEach(TimingStats::reset);
+    }
+
+    /**
+     * Hook into whatever this profiler measures.
+     */
+    protected abstract void install();
+
+    /**
+     * Restore everything hooked by {@link #install()}.
+     */
+    protected abstract void uninstall();
+
+    /**
+     * Drop hooks into a plugin that is being unloaded.
+     *
+     * @param plugin the plugin name
+     */
+    protected void forget(String plugin) {
+    }
+}
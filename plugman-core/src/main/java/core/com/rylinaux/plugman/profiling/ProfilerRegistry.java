@@ -0,0 +1,47 @@
+package core.com.rylinaux.plugman.profiling;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The profilers available on this platform, by name.
+ */
+public class ProfilerRegistry {
+    private final Map<String, Profiler> profilers = new TreeMap<>();
+
+    public synchronized void register(Profiler profiler) {
+        profilers.put(profiler.getName().toLowerCase(Locale.ROOT), profiler);
+    }
+
+    /**
+     * Get a profiler by name.
+     *
+     * @param name the name, case-insensitive
+     * @return the profiler, or null if this platform does not have it
+     */
+    public synchronized Profiler get(String name) {
+        return profilers.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    public synchronized List<String> getNames() {
+        return List.copyOf(profilers.keySet());
+    }
+
+    /**
+     * Let every profiler drop its hooks into a plugin that is being unloaded.
+     *
+     * @param plugin the plugin name
+     */
+    public synchronized void pluginUnloaded(String plugin) {
+        for (var profiler : profilers.values()) profiler.pluginUnloaded(plugin);
+    }
+
+    /**
+     * Stop every running profiler.
+     */
+    public synchronized void shutdown() {
+        for (var profiler : profilers.values()) profiler.stop();
+    }
+}
@@ -0,0 +1,231 @@
+package core.com.rylinaux.plugman.profiling;
+
+import core.com.rylinaux.plugman.logging.PluginLogger;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the stacks of the server's tick threads at 100 Hz and attributes every sample to a plugin.
+ * <p>
+ * A sample belongs to the plugin owning the innermost frame of the stack that was loaded by a plugin, so time
+ * a plugin spends in server code it called is still the plugin's. Samples without plugin frames are the server's,
+ * or idle when the thread was waiting. Classes are matched to plugins by looking their class file up in each plugin
+ * class loader's own jar, once per class name, which neither loads classes nor asks other plugins; plugins loaded
+ * while the profiler runs count as the server.
+ * <p>
+ * Stacks are taken at safepoints, like any sampler built on {@link Thread#getStackTrace()}, so a tight loop
+ * shows up at its nearest safepoint rather than the exact line.
+ * <p>
+ * Stopping writes the samples to {@code profiles/} as a collapsed-stack file, which flame graph tools read, next
+ * to a summary of each plugin's share of the samples and of a 50ms tick.
+ */
+public abstract class SamplingProfiler extends Profiler {
+    private static final long PERIOD_MICROS = 10_000;
+    private static final int MAX_DEPTH = 256;
+    private static final int THREAD_REFRESH_SAMPLES = 100;
+    private static final String SERVER = "(server)";
+    private static final String IDLE = "(idle)";
+    private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("'sampler-'yyyy-MM-dd_HH-mm-ss");
+
+    private final File folder;
+    private final PluginLogger logger;
+    private final Map<ClassLoader, String> pluginLoaders = new ConcurrentHashMap<>();
+    private final Map<String, String> classOwners = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService sampler;
+    private ScheduledFuture<?> sampling;
+    private Session session;
+
+    /**
+     * @param folder the folder profiles are written to
+     * @param logger tells where a profile was written
+     */
+    protected SamplingProfiler(File folder, PluginLogger logger) {
+        super("sampler");
+        this.folder = folder;
+        this.logger = logger;
+    }
+
+    /**
+     * @return the threads running server ticks
+     */
+    protected abstract Collection<Thread> getSampledThreads();
+
+    /**
+     * @return the class loader of every plugin, with the plugin's name
+     */
+    protected abstract Map<ClassLoader, String> getPluginClassLoaders();
+
+    @Override
+    protected void install() {
+        pluginLoaders.clear();
+        pluginLoaders.putAll(getPluginClassLoaders());
+        classOwners.clear();
+        var session = this.session = new Session(LocalDateTime.now());
+
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "PlugManX Sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampling = sampler.scheduleAtFixedRate(session::sample, 0, PERIOD_MICROS, TimeUnit.MICROSECONDS);
+    }
+
+    @Override
+    protected void uninstall() {
+        sampling.cancel(false);
+        // Queued behind the last sample, so the results are complete and never touched by two threads
+        sampler.execute(session::save);
+        sampler.shutdown();
+    }
+
+    @Override
+    protected void forget(String plugin) {
+        pluginLoaders.values().removeIf(plugin::equalsIgnoreCase);
+    }
+
+    /**
+     * Find the plugin whose class loader defined a class.
+     *
+     * @return the plugin name, or null if the class is not a plugin's
+     */
+    private String getOwner(String className) {
+        var owner = classOwners.computeIfAbsent(className, this::resolveOwner);
+        return owner.isEmpty()? null : owner;
+    }
+
+    private String resolveOwner(String className) {
+        var lambda = className.indexOf("$$Lambda");
+        if (lambda >= 0) className = className.substring(0, lambda);
+
+        // Class.forName would go through the global plugin class lookup, warn about undeclared dependencies and define classes
+        var resource = className.replace('.', '/') + ".class";
+        for (var entry : pluginLoaders.entrySet())
+            if (entry.getKey() instanceof URLClassLoader loader && loader.findResource(resource) != null) return entry.getValue();
+
+        return "";
+    }
+
+    /**
+     * Turn a stack into a collapsed-stack line, outermost frame first.
+     */
+    private static String collapse(String label, StackTraceElement[] stack) {
+        var builder = new StringBuilder(label);
+        for (var i = Math.min(stack.length, MAX_DEPTH) - 1; i >= 0; i--)
+            builder.append(';').append(stack[i].getClassName()).append('.').append(stack[i].getMethodName());
+        return builder.toString();
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Name a thread without its number, so every region thread on Folia shares one label.
+     */
+    private static String threadLabel(Thread thread) {
+        return thread.getName().replaceAll("\\s*#?\\d+$", "");
+    }
+
+    /**
+     * The samples of one run, only touched by the sampler thread.
+     */
+    private final class Session {
+        private final LocalDateTime started;
+        private final Map<String, long[]> stacks = new HashMap<>();
+        private final Map<String, long[]> owners = new HashMap<>();
+        private Collection<Thread> threads = List.of();
+        private long samples;
+
+        private Session(LocalDateTime started) {
+            this.started = started;
+        }
+
+        void sample() {
+            if (samples++ % THREAD_REFRESH_SAMPLES == 0) threads = List.copyOf(getSampledThreads());
+
+            for (var thread : threads) {
+                var state = thread.getState();
+                var stack = thread.getStackTrace();
+                if (stack.length == 0) continue;
+
+                String owner = null;
+                String frame = null;
+                for (var element : stack) {
+                    owner = getOwner(element.getClassName());
+                    if (owner == null) continue;
+
+                    frame = simpleName(element.getClassName()) + "#" + element.getMethodName();
+                    break;
+                }
+
+                var waiting = state == Thread.State.WAITING || state == Thread.State.TIMED_WAITING;
+                if (owner == null) owner = waiting? IDLE : SERVER;
+
+                var label = threadLabel(thread);
+                stats(new TimingKey(owner, frame == null? "-" : frame, label)).record(TimeUnit.MICROSECONDS.toNanos(PERIOD_MICROS));
+                owners.computeIfAbsent(owner, ignored -> new long[1])[0]++;
+                stacks.computeIfAbsent(collapse(label, stack), ignored -> new long[1])[0]++;
+            }
+        }
+
+        void save() {
+            if (samples == 0) return;
+
+            var name = FILE_NAME.format(started);
+            var collapsedFile = new File(folder, name + ".collapsed");
+            var summaryFile = new File(folder, name + ".txt");
+
+            try {
+                Files.createDirectories(folder.toPath());
+
+                try (var writer = Files.newBufferedWriter(collapsedFile.toPath(), StandardCharsets.UTF_8)) {
+                    for (var entry : stacks.entrySet()) writer.append(entry.getKey()).append(' ').append(String.valueOf(entry.getValue()[0])).append('\n');
+                }
+
+                try (var writer = Files.newBufferedWriter(summaryFile.toPath(), StandardCharsets.UTF_8)) {
+                    writeSummary(writer);
+                }
+
+                logger.info("Saved sampling profile to " + collapsedFile.getPath() + " and " + summaryFile.getName());
+            } catch (IOException exception) {
+                logger.severe("Failed to save sampling profile", exception);
+            }
+        }
+
+        private void writeSummary(BufferedWriter writer) throws IOException {
+            var total = owners.values().stream().mapToLong(count -> count[0]).sum();
+            var idle = owners.getOrDefault(IDLE, new long[1])[0];
+
+            writer.append(String.format("Started %s, %d samples at %d Hz of %d thread(s)%n%n", started, total, 1_000_000 / PERIOD_MICROS, threads.size()));
+            writer.append(String.format("%-32s %10s %10s %12s%n", "Plugin", "Samples", "Share", "Busy share"));
+
+            var sorted = new ArrayList<>(owners.entrySet());
+            sorted.sort((first, second) -> Long.compare(second.getValue()[0], first.getValue()[0]));
+            for (var entry : sorted) {
+                var count = entry.getValue()[0];
+                var busy = entry.getKey().equals(IDLE) || total == idle? "-" : String.format("%.2f%%", 100.0 * count / (total - idle));
+                writer.append(String.format("%-32s %10d %9.2f%% %12s%n", entry.getKey(), count, 100.0 * count / total, busy));
+            }
+
+            writer.append(String.format("%nShare is the part of all samples, which with one tick thread is the part of every 50ms tick. Busy share leaves out idle time.%n"));
+        }
+    }
+}
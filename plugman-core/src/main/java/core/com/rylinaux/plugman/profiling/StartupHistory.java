@@ -0,0 +1,107 @@
+package core.com.rylinaux.plugman.profiling;
+
+import com.google.gson.JsonParseException;
+import core.com.rylinaux.plugman.logging.PluginLogger;
+import core.com.rylinaux.plugman.util.updatechecker.JsonStreamUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * The last few server startups, kept in {@code startup-history.json} so they can be compared across restarts.
+ */
+public class StartupHistory {
+    private static final String FILE = "startup-history.json";
+    private static final int MAX_STARTUPS = 10;
+
+    private final File file;
+    private final PluginLogger logger;
+    private List<StartupRecord> startups;
+
+    public StartupHistory(File dataFolder, PluginLogger logger) {
+        this.file = new File(dataFolder, FILE);
+        this.logger = logger;
+    }
+
+    /**
+     * @return the recorded startups, oldest first
+     */
+    public synchronized List<StartupRecord> getStartups() {
+        if (startups == null) startups = load();
+        return List.copyOf(startups);
+    }
+
+    /**
+     * Add a startup, forgetting the oldest one if there are too many, and save the history.
+     *
+     * @param startup the startup
+     */
+    public synchronized void record(StartupRecord startup) {
+        if (startups == null) startups = load();
+
+        startups.add(startup);
+        while (startups.size() > MAX_STARTUPS) startups.removeFirst();
+        save();
+    }
+
+    /**
+     * Get the average time a plugin took to load and enable during every startup but the last one.
+     *
+     * @param plugin the plugin name, or null for the whole server
+     * @return the average, or empty if there is no earlier startup with the plugin
+     */
+    public OptionalLong getEarlierAverage(String plugin) {
+        var earlier = getStartups();
+        if (earlier.isEmpty()) return OptionalLong.empty();
+
+        var total = 0L;
+        var count = 0;
+        for (var startup : earlier.subList(0, earlier.size() - 1)) {
+            var timings = plugin == null? null : startup.find(plugin);
+            if (plugin != null && timings == null) continue;
+
+            total += timings == null? startup.bootNanos() : timings.totalNanos();
+            count++;
+        }
+        return count == 0? OptionalLong.empty() : OptionalLong.of(total / count);
+    }
+
+    private List<StartupRecord> load() {
+        if (!file.isFile()) return new ArrayList<>();
+
+        try (var reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            var persisted = JsonStreamUtil.GSON.fromJson(reader, PersistedHistory.class);
+            if (persisted == null || persisted.startups() == null) return new ArrayList<>();
+            return new ArrayList<>(persisted.startups());
+        } catch (IOException | JsonParseException exception) {
+            logger.warning("Could not read " + FILE + ", starting with an empty startup history", exception);
+            return new ArrayList<>();
+        }
+    }
+
+    private void save() {
+        var temp = new File(file.getParentFile(), FILE + ".tmp");
+
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            Files.writeString(temp.toPath(), JsonStreamUtil.GSON.toJson(new PersistedHistory(startups)), StandardCharsets.UTF_8);
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ignored) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException exception) {
+            logger.warning("Could not save " + FILE, exception);
+        }
+    }
+
+    private record PersistedHistory(List<StartupRecord> startups) {
+    }
+}
@@ -0,0 +1,49 @@
+package core.com.rylinaux.plugman.profiling;
+
+import java.util.List;
+
+/**
+ * How long one server startup took, and how long every plugin took to load and enable during it.
+ *
+ * @param startedAt when the server was started, in epoch milliseconds
+ * @param bootNanos how long it took until the server was done loading
+ * @param plugins   the plugins, slowest first
+ */
+public record StartupRecord(long startedAt, long bootNanos, List<PluginStartup> plugins) {
+
+    /**
+     * Find a plugin's timings.
+     *
+     * @param plugin the plugin name, case-insensitive
+     * @return the timings, or null if the plugin was not timed during this startup
+     */
+    public PluginStartup find(String plugin) {
+        for (var startup : plugins) if (startup.plugin().equalsIgnoreCase(plugin)) return startup;
+        return null;
+    }
+
+    /**
+     * @param plugin the plugin name
+     * @param load   the time spent in {@code onLoad}
+     * @param enable the time spent in {@code onEnable}
+     */
+    public record PluginStartup(String plugin, PhaseTiming load, PhaseTiming enable) {
+
+        public long totalNanos() {
+            return load.wallNanos() + enable.wallNanos();
+        }
+    }
+
+    /**
+     * @param wallNanos wall clock time
+     * @param cpuNanos  CPU time of the server thread
+     * @param classes   classes loaded by the JVM meanwhile
+     */
+    public record PhaseTiming(long wallNanos, long cpuNanos, long classes) {
+        public static final PhaseTiming NONE = new PhaseTiming(0, 0, 0);
+
+        PhaseTiming plus(PhaseTiming other) {
+            return new PhaseTiming(wallNanos + other.wallNanos, cpuNanos + other.cpuNanos, classes + other.classes);
+        }
+    }
+}
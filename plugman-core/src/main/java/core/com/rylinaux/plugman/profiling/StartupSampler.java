@@ -0,0 +1,161 @@
+package core.com.rylinaux.plugman.profiling;
+
+import core.com.rylinaux.plugman.profiling.StartupRecord.PhaseTiming;
+import core.com.rylinaux.plugman.profiling.StartupRecord.PluginStartup;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Times every plugin's {@code onLoad} and {@code onEnable} while the server starts.
+ * <p>
+ * Plugins cannot be hooked before they are loaded, so the server thread's stack is sampled every 2ms instead.
+ * The time, server thread CPU time and JVM class count since the previous sample go to the plugin whose
+ * {@code onLoad} or {@code onEnable} is outermost on the stack, if any. Phases shorter than a sample can be
+ * missed, and class counts include classes loaded by other threads meanwhile.
+ */
+public class StartupSampler {
+    private static final long PERIOD_MICROS = 2_000;
+
+    private final Supplier<Thread> threadSupplier;
+    private final ScheduledExecutorService executor;
+    private final Map<PhaseKey, PhaseTiming> timings = new LinkedHashMap<>();
+    private final boolean cpuTime;
+
+    // Only touched by the sampler thread
+    private Thread thread;
+    private long lastNanos;
+    private long lastCpu;
+    private long lastClasses;
+
+    private StartupSampler(Supplier<Thread> threadSupplier) {
+        this.threadSupplier = threadSupplier;
+        this.cpuTime = ManagementFactory.getThreadMXBean().isThreadCpuTimeSupported();
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "PlugManX Startup Sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start sampling a thread.
+     *
+     * @param thread the server thread
+     * @return the sampler
+     */
+    public static StartupSampler start(Thread thread) {
+        return start(() -> thread);
+    }
+
+    /**
+     * Start sampling the thread with a name, as soon as it exists. Used before the server thread was started.
+     *
+     * @param threadName the name of the server thread
+     * @return the sampler
+     */
+    public static StartupSampler start(String threadName) {
+        return start(() -> ThreadFinder.findThreads(thread -> thread.getName().equals(threadName)).stream().findFirst().orElse(null));
+    }
+
+    private static StartupSampler start(Supplier<Thread> threadSupplier) {
+        var sampler = new StartupSampler(threadSupplier);
+        sampler.executor.scheduleAtFixedRate(sampler::sample, 0, PERIOD_MICROS, TimeUnit.MICROSECONDS);
+        return sampler;
+    }
+
+    /**
+     * Stop sampling and add up the timings by plugin.
+     *
+     * @param pluginNames finds the plugin a class with an {@code onLoad} or {@code onEnable} belongs to, or null
+     * @return the plugins that were timed, slowest first
+     */
+    public List<PluginStartup> stop(Function<String, String> pluginNames) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.SECONDS)) return List.of();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return List.of();
+        }
+
+        var loads = new HashMap<String, PhaseTiming>();
+        var enables = new HashMap<String, PhaseTiming>();
+        for (var entry : timings.entrySet()) {
+            var plugin = pluginNames.apply(entry.getKey().className());
+            if (plugin == null) continue;
+
+            (entry.getKey().enable()? enables : loads).merge(plugin, entry.getValue(), PhaseTiming::plus);
+        }
+
+        var names = new LinkedHashSet<>(loads.keySet());
+        names.addAll(enables.keySet());
+
+        var plugins = new ArrayList<PluginStartup>();
+        for (var plugin : names) plugins.add(new PluginStartup(plugin, loads.getOrDefault(plugin, PhaseTiming.NONE), enables.getOrDefault(plugin, PhaseTiming.NONE)));
+
+        plugins.sort(Comparator.comparingLong(PluginStartup::totalNanos).reversed());
+        return plugins;
+    }
+
+    private void sample() {
+        if (thread == null) {
+            thread = threadSupplier.get();
+            if (thread == null) return;
+
+            lastNanos = System.nanoTime();
+            lastCpu = getCpu();
+            lastClasses = getClasses();
+            return;
+        }
+
+        var stack = thread.getStackTrace();
+        var now = System.nanoTime();
+        var cpu = getCpu();
+        var classes = getClasses();
+
+        var key = findPhase(stack);
+        if (key != null) timings.merge(key, new PhaseTiming(now - lastNanos, Math.max(0, cpu - lastCpu), Math.max(0, classes - lastClasses)), PhaseTiming::plus);
+
+        lastNanos = now;
+        lastCpu = cpu;
+        lastClasses = classes;
+    }
+
+    /**
+     * Find the outermost {@code onLoad} or {@code onEnable} on a stack, the one the server called.
+     */
+    private static PhaseKey findPhase(StackTraceElement[] stack) {
+        for (var i = stack.length - 1; i >= 0; i--) {
+            var method = stack[i].getMethodName();
+            if (method.equals("onLoad")) return new PhaseKey(stack[i].getClassName(), false);
+            if (method.equals("onEnable")) return new PhaseKey(stack[i].getClassName(), true);
+        }
+        return null;
+    }
+
+    private long getCpu() {
+        if (!cpuTime) return 0;
+
+        var nanos = ManagementFactory.getThreadMXBean().getThreadCpuTime(thread.threadId());
+        return Math.max(0, nanos);
+    }
+
+    private static long getClasses() {
+        return ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+    }
+
+    private record PhaseKey(String className, boolean enable) {
+    }
+}
@@ -0,0 +1,166 @@
+package core.com.rylinaux.plugman.profiling;
+
+import core.com.rylinaux.plugman.util.ScheduledTask;
+import core.com.rylinaux.plugman.util.ThreadUtil;
+import core.com.rylinaux.plugman.util.reflection.FieldAccessor;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Times every plugin's scheduler tasks, by plugin, task class and whether they run on the main thread.
+ * <p>
+ * Schedulers cannot be hooked before a task is submitted, so the pending tasks are scanned every second and the
+ * body of every new one is swapped for a {@link TimedRunnable} or {@link TimedConsumer}. Repeating tasks are timed
+ * from the first scan after they were scheduled; one-off tasks that run before a scan are missed. Stopping puts
+ * the original bodies back.
+ *
+ * @param <T> the platform's task type
+ */
+public abstract class TaskProfiler<T> extends Profiler {
+    private static final Duration SCAN_PERIOD = Duration.ofSeconds(1);
+
+    private final ThreadUtil threadUtil;
+    private final String[] bodyFields;
+    private final Map<T, TimingKey> hooked = new IdentityHashMap<>();
+    private ScheduledTask scan;
+
+    /**
+     * @param threadUtil schedules the scans
+     * @param bodyFields the fields of the platform's task class that may hold its body, in the order they are tried
+     */
+    protected TaskProfiler(ThreadUtil threadUtil, String... bodyFields) {
+        super("tasks");
+        this.threadUtil = threadUtil;
+        this.bodyFields = bodyFields;
+    }
+
+    @Override
+    protected void install() {
+        scan();
+        scan = threadUtil.asyncRepeating(this::rescan, SCAN_PERIOD, SCAN_PERIOD);
+    }
+
+    @Override
+    protected void uninstall() {
+        scan.cancel();
+        scan = null;
+
+        for (var task : hooked.keySet()) unhook(task);
+        hooked.clear();
+    }
+
+    @Override
+    protected void forget(String plugin) {
+        var iterator = hooked.entrySet().iterator();
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            if (!entry.getValue().plugin().equalsIgnoreCase(plugin)) continue;
+
+            unhook(entry.getKey());
+            iterator.remove();
+        }
+    }
+
+    /**
+     * @return every task that is waiting to run or running
+     */
+    protected abstract Collection<T> getPendingTasks();
+
+    /**
+     * @return the name of the plugin owning the task, or null if it is not owned by a plugin
+     */
+    protected abstract String getOwner(T task);
+
+    /**
+     * @return whether the task runs on the main thread
+     */
+    protected abstract boolean isSync(T task);
+
+    private synchronized void rescan() {
+        if (isRunning()) scan();
+    }
+
+    private void scan() {
+        var pending = Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+
+        for (var task : getPendingTasks()) {
+            pending.add(task);
+            if (hooked.containsKey(task)) continue;
+
+            var key = hook(task);
+            if (key != null) hooked.put(task, key);
+        }
+
+        // Tasks that finished or were cancelled are gone from the scheduler, don't keep them
+        hooked.keySet().retainAll(pending);
+    }
+
+    private TimingKey hook(T task) {
+        try {
+            var field = findBody(task);
+            var owner = getOwner(task);
+            if (field == null || owner == null) return null;
+
+            var body = field.get(task);
+            if (body instanceof TimedRunnable || body instanceof TimedConsumer<?>) return null;
+
+            var key = new TimingKey(owner, getTaskName(body), isSync(task)? "sync" : "async");
+            if (body instanceof Runnable runnable) field.set(task, new TimedRunnable(runnable, stats(key)));
+            else if (body instanceof Consumer<?> consumer) field.set(task, timed(consumer, stats(key)));
+            else return null;
+
+            return key;
+        } catch (IllegalAccessException | RuntimeException exception) {
+            return null;
+        }
+    }
+
+    private void unhook(T task) {
+        try {
+            var field = findBody(task);
+            if (field == null) return;
+
+            var body = field.get(task);
+            if (body instanceof TimedRunnable runnable) field.set(task, runnable.getDelegate());
+            else if (body instanceof TimedConsumer<?> consumer) field.set(task, consumer.getDelegate());
+        } catch (IllegalAccessException | RuntimeException ignored) {
+        }
+    }
+
+    /**
+     * Find the first body field that is set, in the task's class or one of its superclasses.
+     */
+    private Field findBody(T task) throws IllegalAccessException {
+        for (Class<?> type = task.getClass(); type != null; type = type.getSuperclass())
+            for (var name : bodyFields) {
+                var field = FieldAccessor.getField(type, name);
+                if (field != null && field.get(task) != null) return field;
+            }
+
+        return null;
+    }
+
+    private static <C> TimedConsumer<C> timed(Consumer<C> consumer, TimingStats stats) {
+        return new TimedConsumer<>(consumer, stats);
+    }
+
+    /**
+     * Name a task after the class of its body, without the package. Lambdas are named after the class they
+     * were written in.
+     *
+     * @param body the task's body
+     * @return the name
+     */
+    public static String getTaskName(Object body) {
+        var name = body.getClass().getName();
+        var lambda = name.indexOf("$$Lambda");
+        if (lambda >= 0) name = name.substring(0, lambda) + " (lambda)";
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,29 @@
+package core.com.rylinaux.plugman.profiling;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Looks up the threads a sampler should watch.
+ */
+@UtilityClass
+public class ThreadFinder {
+
+    /**
+     * Find live threads without taking their stacks.
+     *
+     * @param filter which threads to keep
+     * @return the matching threads
+     */
+    public static List<Thread> findThreads(Predicate<Thread> filter) {
+        var group = Thread.currentThread().getThreadGroup();
+        while (group.getParent() != null) group = group.getParent();
+
+        var threads = new Thread[group.activeCount() * 2 + 16];
+        var count = group.enumerate(threads, true);
+        return Arrays.stream(threads, 0, count).filter(filter).toList();
+    }
+}
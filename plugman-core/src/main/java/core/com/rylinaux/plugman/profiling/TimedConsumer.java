@@ -0,0 +1,26 @@
+package core.com.rylinaux.plugman.profiling;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.Consumer;
+
+/**
+ * Times every run of a task that is handed itself. Put in place of the task's body by {@link TaskProfiler}.
+ */
+@RequiredArgsConstructor
+public final class TimedConsumer<T> implements Consumer<T> {
+    @Getter
+    private final Consumer<T> delegate;
+    private final TimingStats stats;
+
+    @Override
+    public void accept(T task) {
+        var start = System.nanoTime();
+        try {
+            delegate.accept(task);
+        } finally {
+            stats.record(System.nanoTime() - start);
+        }
+    }
+}
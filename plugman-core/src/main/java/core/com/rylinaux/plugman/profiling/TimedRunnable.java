@@ -0,0 +1,24 @@
+package core.com.rylinaux.plugman.profiling;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Times every run of a task. Put in place of the task's body by {@link TaskProfiler}.
+ */
+@RequiredArgsConstructor
+public final class TimedRunnable implements Runnable {
+    @Getter
+    private final Runnable delegate;
+    private final TimingStats stats;
+
+    @Override
+    public void run() {
+        var start = System.nanoTime();
+        try {
+            delegate.run();
+        } finally {
+            stats.record(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package core.com.rylinaux.plugman.profiling;
+
+/**
+ * What a timing was recorded for.
+ *
+ * @param plugin the name of the plugin the time is attributed to
+ * @param name   what ran, for example an event, a task class or a command
+ * @param detail where or how it ran, for example the listener method or sync/async
+ */
+public record TimingKey(String plugin, String name, String detail) {
+}
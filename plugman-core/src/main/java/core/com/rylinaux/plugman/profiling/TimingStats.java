@@ -0,0 +1,103 @@
+package core.com.rylinaux.plugman.profiling;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, total, maximum and a histogram of durations for one {@link TimingKey}.
+ * <p>
+ * Recording is lock-free: every counter is a striped {@link LongAdder}, so threads recording at the same time
+ * do not contend. The histogram has one bucket per power of two nanoseconds, which is enough to tell a 50 µs
+ * handler from a 5 ms one while staying a fixed size.
+ */
+public final class TimingStats {
+    private static final int BUCKETS = 40;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+    public TimingStats() {
+        for (var i = 0; i < BUCKETS; i++) histogram[i] = new LongAdder();
+    }
+
+    /**
+     * Record one call.
+     *
+     * @param nanos how long it took
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+
+        count.increment();
+        total.add(nanos);
+        max.accumulate(nanos);
+        histogram[bucket(nanos)].increment();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return total.sum();
+    }
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    public long getMeanNanos() {
+        var calls = getCount();
+        return calls == 0? 0 : getTotalNanos() / calls;
+    }
+
+    /**
+     * Get an upper bound for a percentile of the recorded durations, precise to a factor of two.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the upper bound in nanoseconds, never more than the maximum
+     */
+    public long getPercentileNanos(double percentile) {
+        var counts = new long[BUCKETS];
+        var calls = 0L;
+        for (var i = 0; i < BUCKETS; i++) calls += counts[i] = histogram[i].sum();
+        if (calls == 0) return 0;
+
+        var rank = (long) Math.ceil(calls * Math.min(100, Math.max(0, percentile)) / 100);
+        var seen = 0L;
+        for (var i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && counts[i] > 0) return Math.min(getMaxNanos(), upperBound(i));
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * Get the number of calls in every histogram bucket. Bucket {@code i} holds calls that took less than
+     * {@code 2^(i + 1)} nanoseconds, the last bucket holds everything longer.
+     *
+     * @return the counts
+     */
+    public long[] getHistogram() {
+        var counts = new long[BUCKETS];
+        for (var i = 0; i < BUCKETS; i++) counts[i] = histogram[i].sum();
+        return counts;
+    }
+
+    public void reset() {
+        count.reset();
+        total.reset();
+        max.reset();
+        for (var bucket : histogram) bucket.reset();
+    }
+
+    private static int bucket(long nanos) {
+        return Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(nanos | 1));
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket == BUCKETS - 1? Long.MAX_VALUE : (1L << (bucket + 1)) - 1;
+    }
+}
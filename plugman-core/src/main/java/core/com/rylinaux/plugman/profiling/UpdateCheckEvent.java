@@ -0,0 +1,51 @@
+package core.com.rylinaux.plugman.profiling;
+
+import core.com.rylinaux.plugman.pojo.UpdateResult;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * JFR event for a plugin checked for updates, from the lookup of its resource id until the provider answered.
+ * The event is committed by the thread that completed the check.
+ */
+@Name("com.rylinaux.plugman.UpdateCheck")
+@Label("Update Check")
+@Category("PlugManX")
+@Description("A plugin checked for updates by PlugManX")
+@StackTrace(false)
+public class UpdateCheckEvent extends Event {
+    @Label("Plugin")
+    String plugin;
+
+    @Label("Result")
+    String result;
+
+    /**
+     * Record a check once it completes, if a recording asks for these events.
+     *
+     * @param plugin the plugin name
+     * @param check  starts the check
+     * @return the check
+     */
+    public static CompletableFuture<UpdateResult> record(String plugin, Supplier<CompletableFuture<UpdateResult>> check) {
+        var event = new UpdateCheckEvent();
+        event.begin();
+
+        return check.get().whenComplete((result, failure) -> {
+            event.end();
+            if (!event.shouldCommit()) return;
+
+            event.plugin = plugin;
+            event.result = failure != null? failure.getClass().getName() : result == null? null : result.type().name().toLowerCase(Locale.ROOT);
+            event.commit();
+        });
+    }
+}
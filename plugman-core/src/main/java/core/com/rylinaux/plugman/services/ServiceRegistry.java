@@ -27,6 +27,8 @@ package core.com.rylinaux.plugman.services;
  */
 
 import core.com.rylinaux.plugman.file.messaging.MessageFormatter;
+import core.com.rylinaux.plugman.plugins.PluginLifecycleQueue;
+import core.com.rylinaux.plugman.plugins.PluginListIndex;
 import core.com.rylinaux.plugman.plugins.PluginManager;
 
 import java.util.Map;
@@ -134,6 +136,26 @@ public class ServiceRegistry {
         return get(PluginManager.class);
     }
 
+    /**
+     * Get the PluginListIndex service.
+     *
+     * @return the PluginListIndex instance
+     * @throws IllegalStateException if PluginListIndex is not registered
+     */
+    public PluginListIndex getPluginListIndex() {
+        return get(PluginListIndex.class);
+    }
+
+    /**
+     * Get the PluginLifecycleQueue service.
+     *
+     * @return the PluginLifecycleQueue instance
+     * @throws IllegalStateException if PluginLifecycleQueue is not registered
+     */
+    public PluginLifecycleQueue getPluginLifecycleQueue() {
+        return get(PluginLifecycleQueue.class);
+    }
+
     /**
      * Get the MessageFormatter service.
      *
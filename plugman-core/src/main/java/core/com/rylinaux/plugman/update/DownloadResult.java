@@ -0,0 +1,50 @@
+package core.com.rylinaux.plugman.update;
+
+import core.com.rylinaux.plugman.pojo.ReleaseFile;
+
+import java.io.File;
+
+/**
+ * The outcome of downloading the latest release of a plugin.
+ *
+ * @param type           the type of the result
+ * @param currentVersion the installed version, or null if the plugin is not installed
+ * @param file           the release file, or null if none was found
+ * @param target         the file the release was written to, or null if nothing was written
+ */
+public record DownloadResult(ResultType type, String currentVersion, ReleaseFile file, File target) {
+
+    /**
+     * Types of download results.
+     */
+    public enum ResultType {
+        /**
+         * The file was downloaded, verified and moved into the update folder.
+         */
+        DOWNLOADED,
+        /**
+         * The installed version is the latest one, nothing was downloaded.
+         */
+        UP_TO_DATE,
+        /**
+         * The plugin is not installed.
+         */
+        NOT_INSTALLED,
+        /**
+         * No provider that offers downloads knows the plugin.
+         */
+        NOT_FOUND,
+        /**
+         * The provider publishes no hash for the file, so it was not downloaded.
+         */
+        NO_CHECKSUM,
+        /**
+         * The downloaded file did not match the published hash or size and was deleted.
+         */
+        CHECKSUM_MISMATCH,
+        /**
+         * The download failed.
+         */
+        FAILED
+    }
+}
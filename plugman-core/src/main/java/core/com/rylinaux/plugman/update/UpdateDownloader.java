@@ -0,0 +1,220 @@
+package core.com.rylinaux.plugman.update;
+
+import core.com.rylinaux.plugman.config.PlugManConfigurationManager;
+import core.com.rylinaux.plugman.logging.PluginLogger;
+import core.com.rylinaux.plugman.plugins.Plugin;
+import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.pojo.ReleaseFile;
+import core.com.rylinaux.plugman.pojo.UpdateResult;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.update.provider.UpdateProviderRegistry;
+import core.com.rylinaux.plugman.util.updatechecker.UpdateHttpUtil;
+import core.com.rylinaux.plugman.util.updatechecker.UpdateUtil;
+import lombok.Getter;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Downloads the latest releases of plugins into the server's update folder.
+ * <p>
+ * Files are looked up through the {@link UpdateProviderRegistry} and streamed straight from the response
+ * into a temporary file next to the target with {@link FileChannel#transferFrom}, hashing the bytes on the
+ * way, so a jar is never held in memory. Only files whose published hash and size match are moved into
+ * place, atomically where the file system allows it, so the server never picks up a partial or tampered
+ * jar. Files without a published hash are not downloaded at all.
+ * <p>
+ * At most {@code update-check.max-concurrent-downloads} files are downloaded at the same time.
+ */
+public class UpdateDownloader {
+    private static final long CHUNK_SIZE = 1024 * 1024;
+    /**
+     * Upper bound for files whose size is not published.
+     */
+    private static final long MAX_UNKNOWN_SIZE = 256L * 1024 * 1024;
+
+    private final ServiceRegistry serviceRegistry;
+    @Getter
+    private final File updateFolder;
+    /**
+     * Whether the platform installs the downloaded jars on its next start, otherwise they have to be moved by hand.
+     */
+    @Getter
+    private final boolean installedOnRestart;
+    private final ExecutorService executor;
+
+    public UpdateDownloader(ServiceRegistry serviceRegistry, File updateFolder) {
+        this(serviceRegistry, updateFolder, true);
+    }
+
+    public UpdateDownloader(ServiceRegistry serviceRegistry, File updateFolder, boolean installedOnRestart) {
+        this.serviceRegistry = serviceRegistry;
+        this.updateFolder = updateFolder;
+        this.installedOnRestart = installedOnRestart;
+
+        var threads = Math.max(1, serviceRegistry.get(PlugManConfigurationManager.class).getPlugManConfig().getUpdateCheck().getMaxConcurrentDownloads());
+        var counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            var thread = new Thread(runnable, "PlugManX Download #" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Download the latest release of every installed plugin that is out of date.
+     *
+     * @return a future completed with the results keyed by plugin name
+     */
+    public CompletableFuture<Map<String, DownloadResult>> downloadAll() {
+        var futures = new TreeMap<String, CompletableFuture<DownloadResult>>();
+        for (var plugin : getPluginManager().getPlugins()) futures.put(plugin.getName(), download(plugin.getName(), true));
+
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            var results = new TreeMap<String, DownloadResult>();
+            futures.forEach((name, future) -> results.put(name, future.join()));
+            return results;
+        });
+    }
+
+    /**
+     * Download the latest release of a plugin. The future never completes exceptionally.
+     *
+     * @param pluginName   the plugin name
+     * @param onlyIfNewer  whether to skip the download if the latest version is not newer than the installed one
+     * @return a future completed with the result
+     */
+    public CompletableFuture<DownloadResult> download(String pluginName, boolean onlyIfNewer) {
+        var plugin = getPluginManager().getPluginByName(pluginName);
+        if (plugin == null) return CompletableFuture.completedFuture(new DownloadResult(DownloadResult.ResultType.NOT_INSTALLED, null, null, null));
+
+        return get(UpdateProviderRegistry.class).findLatestFile(pluginName)
+                .thenApplyAsync(file -> download(plugin, file, onlyIfNewer), executor)
+                .exceptionally(exception -> {
+                    getLogger().warning("Failed to download " + pluginName, exception);
+                    return new DownloadResult(DownloadResult.ResultType.FAILED, plugin.getVersion(), null, null);
+                });
+    }
+
+    /**
+     * Stop the executor. Downloads still running are abandoned and their temporary files left behind.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private DownloadResult download(Plugin plugin, ReleaseFile file, boolean onlyIfNewer) {
+        var currentVersion = plugin.getVersion();
+        if (file == null) return new DownloadResult(DownloadResult.ResultType.NOT_FOUND, currentVersion, null, null);
+
+        if (onlyIfNewer && UpdateUtil.compareVersions(currentVersion, file.version()).type() != UpdateResult.ResultType.OUT_OF_DATE)
+            return new DownloadResult(DownloadResult.ResultType.UP_TO_DATE, currentVersion, file, null);
+
+        if (!file.hasChecksum()) return new DownloadResult(DownloadResult.ResultType.NO_CHECKSUM, currentVersion, file, null);
+
+        // Bukkit only swaps in files from the update folder that have the same name as the installed jar
+        var target = new File(updateFolder, getTargetName(plugin, file));
+
+        try {
+            var verified = transfer(file, target.toPath());
+            return new DownloadResult(verified? DownloadResult.ResultType.DOWNLOADED : DownloadResult.ResultType.CHECKSUM_MISMATCH, currentVersion, file, verified? target : null);
+        } catch (IOException | NoSuchAlgorithmException exception) {
+            getLogger().warning("Failed to download " + file.url(), exception);
+            return new DownloadResult(DownloadResult.ResultType.FAILED, currentVersion, file, null);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return new DownloadResult(DownloadResult.ResultType.FAILED, currentVersion, file, null);
+        }
+    }
+
+    /**
+     * Stream a file into a temporary file, verify it and move it to the target.
+     *
+     * @return true if the file was verified and moved, false if it did not match
+     */
+    private boolean transfer(ReleaseFile file, Path target) throws IOException, InterruptedException, NoSuchAlgorithmException {
+        var digest = MessageDigest.getInstance(file.algorithm());
+
+        Files.createDirectories(target.getParent());
+        var part = Files.createTempFile(target.getParent(), "." + target.getFileName(), ".part");
+
+        try {
+            var request = UpdateHttpUtil.newRequest(file.url()).build();
+            var response = UpdateHttpUtil.send(UpdateHttpUtil.DOWNLOAD, request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response == null) throw new IOException("Download of " + file.url() + " failed");
+
+            // Read one byte past the published size so an oversized file is noticed
+            var limit = file.size() >= 0? file.size() + 1 : MAX_UNKNOWN_SIZE + 1;
+            var written = 0L;
+
+            try (var in = new DigestInputStream(response.body(), digest);
+                 var source = Channels.newChannel(in);
+                 var channel = FileChannel.open(part, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long count;
+                while (written < limit && (count = channel.transferFrom(source, written, Math.min(CHUNK_SIZE, limit - written))) > 0) written += count;
+                channel.force(true);
+            }
+
+            if (written >= limit || (file.size() >= 0 && written != file.size())) {
+                getLogger().warning("Download of " + file.url() + " has the wrong size, expected " + file.size() + " bytes");
+                return false;
+            }
+
+            var hash = HexFormat.of().formatHex(digest.digest());
+            if (!hash.equalsIgnoreCase(file.hash())) {
+                getLogger().warning("Download of " + file.url() + " does not match its " + file.algorithm() + " hash, expected " + file.hash() + " but got " + hash);
+                return false;
+            }
+
+            move(part, target);
+            return true;
+        } finally {
+            Files.deleteIfExists(part);
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String getTargetName(Plugin plugin, ReleaseFile file) {
+        var installed = plugin.getFile();
+        if (installed != null && installed.getName().endsWith(".jar")) return installed.getName();
+        if (file.fileName() != null && !file.fileName().isBlank()) return Path.of(file.fileName()).getFileName().toString();
+        return plugin.getName() + ".jar";
+    }
+
+    private <T> T get(Class<T> type) {
+        return serviceRegistry.get(type);
+    }
+
+    private PluginManager getPluginManager() {
+        return get(PluginManager.class);
+    }
+
+    private PluginLogger getLogger() {
+        return get(PluginLogger.class);
+    }
+}
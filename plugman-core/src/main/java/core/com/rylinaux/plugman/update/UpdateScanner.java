@@ -0,0 +1,256 @@
+package core.com.rylinaux.plugman.update;
+
+import com.google.gson.JsonParseException;
+import core.com.rylinaux.plugman.config.PlugManConfigurationManager;
+import core.com.rylinaux.plugman.config.model.PlugManConfig;
+import core.com.rylinaux.plugman.logging.PluginLogger;
+import core.com.rylinaux.plugman.plugins.Plugin;
+import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.pojo.UpdateResult;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.update.provider.UpdateProviderRegistry;
+import core.com.rylinaux.plugman.util.updatechecker.JsonStreamUtil;
+import lombok.Getter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background job that keeps an {@link UpdateSnapshot} of every plugin up to date.
+ * <p>
+ * A pass checks one plugin at a time and spaces the checks evenly across the configured interval,
+ * so update providers see a steady trickle of requests instead of a burst. A forced refresh checks
+ * all remaining plugins at once through the {@link UpdateProviderRegistry}. The results of a pass are
+ * collected and published as one snapshot when it finishes, which is then persisted, so a restart starts
+ * from the last known state instead of nothing. Until then the previous pass's results are shown.
+ * <p>
+ * All pass state is only touched on the scanner's own thread.
+ */
+public class UpdateScanner {
+    private static final String SNAPSHOT_FILE = "update-snapshot.json";
+
+    private final ServiceRegistry serviceRegistry;
+    private final File snapshotFile;
+    private final ScheduledExecutorService executor;
+
+    /**
+     * The current snapshot, replaced when a pass finishes or a check made outside the scanner comes in.
+     */
+    @Getter
+    private volatile UpdateSnapshot snapshot = UpdateSnapshot.EMPTY;
+
+    private Pass currentPass;
+    private ScheduledFuture<?> nextPass;
+
+    public UpdateScanner(ServiceRegistry serviceRegistry, File dataFolder) {
+        this.serviceRegistry = serviceRegistry;
+        this.snapshotFile = new File(dataFolder, SNAPSHOT_FILE);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "PlugManX Update Scanner");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Load the persisted snapshot and schedule the first pass.
+     */
+    public void start() {
+        executor.execute(() -> {
+            snapshot = loadSnapshot();
+            var initialDelay = TimeUnit.SECONDS.toMillis(getConfig().getInitialDelaySeconds());
+            nextPass = executor.schedule(() -> startPass(false), initialDelay, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    /**
+     * Stop scanning. A running pass is abandoned without being persisted.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Check every plugin now without spacing out the requests.
+     * If a pass is already running, it is sped up instead of starting a second one.
+     *
+     * @return a future completed with the snapshot once the pass has finished
+     */
+    public CompletableFuture<UpdateSnapshot> refresh() {
+        return CompletableFuture.supplyAsync(() -> startPass(true), executor).thenCompose(future -> future);
+    }
+
+    /**
+     * Record the result of a check made outside the scanner, e.g. a single plugin check.
+     *
+     * @param pluginName the plugin name
+     * @param result     the result
+     */
+    public void record(String pluginName, UpdateResult result) {
+        executor.execute(() -> snapshot = snapshot.with(UpdateSnapshot.Entry.of(pluginName, result, System.currentTimeMillis())));
+    }
+
+    private CompletableFuture<UpdateSnapshot> startPass(boolean forced) {
+        if (currentPass != null) {
+            if (forced) currentPass.hurry();
+            return currentPass.future;
+        }
+
+        if (nextPass != null) nextPass.cancel(false);
+
+        var names = getPluginManager().getPlugins().stream().map(Plugin::getName).sorted(String.CASE_INSENSITIVE_ORDER).toList();
+        var spacing = forced? 0 : getIntervalMillis() / Math.max(1, names.size());
+
+        currentPass = new Pass(names, spacing);
+        executor.execute(() -> step(currentPass));
+        return currentPass.future;
+    }
+
+    private void step(Pass pass) {
+        if (pass != currentPass) return;
+
+        if (pass.index >= pass.names.size()) {
+            finish(pass);
+            return;
+        }
+
+        if (pass.spacing == 0) {
+            drain(pass);
+            return;
+        }
+
+        var name = pass.names.get(pass.index++);
+        getProviderRegistry().check(name).whenCompleteAsync((result, failure) -> {
+            collect(pass, name, result, failure);
+            pass.nextStep = executor.schedule(() -> step(pass), pass.spacing, TimeUnit.MILLISECONDS);
+        }, executor);
+    }
+
+    /**
+     * Check all remaining plugins at once, leaving the concurrency to the provider registry.
+     */
+    private void drain(Pass pass) {
+        var remaining = pass.names.subList(pass.index, pass.names.size());
+        pass.index = pass.names.size();
+
+        var futures = remaining.stream()
+                .map(name -> getProviderRegistry().check(name).whenCompleteAsync((result, failure) -> collect(pass, name, result, failure), executor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).whenCompleteAsync((ignored, failure) -> step(pass), executor);
+    }
+
+    private void collect(Pass pass, String name, UpdateResult result, Throwable failure) {
+        if (failure != null) getLogger().warning("Update check for " + name + " failed", failure);
+        else pass.results.put(name, UpdateSnapshot.Entry.of(name, result, System.currentTimeMillis()));
+    }
+
+    private void finish(Pass pass) {
+        currentPass = null;
+        snapshot = snapshot.completed(pass.names, pass.results, System.currentTimeMillis());
+        saveSnapshot(snapshot);
+        pass.future.complete(snapshot);
+
+        var delay = Math.max(0, pass.startedAt + getIntervalMillis() - System.currentTimeMillis());
+        nextPass = executor.schedule(() -> startPass(false), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private UpdateSnapshot loadSnapshot() {
+        if (!snapshotFile.isFile()) return UpdateSnapshot.EMPTY;
+
+        try (var reader = Files.newBufferedReader(snapshotFile.toPath(), StandardCharsets.UTF_8)) {
+            var persisted = JsonStreamUtil.GSON.fromJson(reader, PersistedSnapshot.class);
+            if (persisted == null || persisted.entries() == null) return UpdateSnapshot.EMPTY;
+            return UpdateSnapshot.of(persisted.entries(), persisted.completedAt());
+        } catch (IOException | JsonParseException exception) {
+            getLogger().warning("Could not read " + SNAPSHOT_FILE + ", starting with an empty update snapshot", exception);
+            return UpdateSnapshot.EMPTY;
+        }
+    }
+
+    private void saveSnapshot(UpdateSnapshot snapshot) {
+        var persisted = new PersistedSnapshot(snapshot.completedAt(), List.copyOf(snapshot.entries().values()));
+        var temp = new File(snapshotFile.getParentFile(), SNAPSHOT_FILE + ".tmp");
+
+        try {
+            Files.createDirectories(snapshotFile.getParentFile().toPath());
+            Files.writeString(temp.toPath(), JsonStreamUtil.GSON.toJson(persisted), StandardCharsets.UTF_8);
+            try {
+                Files.move(temp.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ignored) {
+                Files.move(temp.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException exception) {
+            getLogger().warning("Could not save " + SNAPSHOT_FILE, exception);
+        }
+    }
+
+    private long getIntervalMillis() {
+        return TimeUnit.MINUTES.toMillis(Math.max(1, getConfig().getIntervalMinutes()));
+    }
+
+    private UpdateProviderRegistry getProviderRegistry() {
+        return serviceRegistry.get(UpdateProviderRegistry.class);
+    }
+
+    private PlugManConfig.UpdateCheckConfig getConfig() {
+        return getConfigurationManager().getPlugManConfig().getUpdateCheck();
+    }
+
+    private PlugManConfigurationManager getConfigurationManager() {
+        return serviceRegistry.get(PlugManConfigurationManager.class);
+    }
+
+    private PluginManager getPluginManager() {
+        return serviceRegistry.get(PluginManager.class);
+    }
+
+    private PluginLogger getLogger() {
+        return serviceRegistry.get(PluginLogger.class);
+    }
+
+    /**
+     * A single pass over all plugins.
+     */
+    private class Pass {
+        private final List<String> names;
+        private final long startedAt = System.currentTimeMillis();
+        private final CompletableFuture<UpdateSnapshot> future = new CompletableFuture<>();
+        private final Map<String, UpdateSnapshot.Entry> results = new HashMap<>();
+        private long spacing;
+        private int index;
+        private ScheduledFuture<?> nextStep;
+
+        private Pass(List<String> names, long spacing) {
+            this.names = names;
+            this.spacing = spacing;
+        }
+
+        /**
+         * Drop the spacing and check all remaining plugins at once.
+         */
+        private void hurry() {
+            if (spacing == 0) return;
+            spacing = 0;
+            if (nextStep == null || !nextStep.cancel(false)) return;
+            executor.execute(() -> step(this));
+        }
+    }
+
+    /**
+     * The on-disk form of a snapshot.
+     */
+    private record PersistedSnapshot(long completedAt, List<UpdateSnapshot.Entry> entries) {
+    }
+}
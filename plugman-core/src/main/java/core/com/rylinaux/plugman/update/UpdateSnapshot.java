@@ -0,0 +1,116 @@
+package core.com.rylinaux.plugman.update;
+
+import core.com.rylinaux.plugman.pojo.UpdateResult;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable view of the last known update state of every plugin.
+ *
+ * @param entries     the results keyed by plugin name, case-insensitive
+ * @param completedAt when the last full pass finished in epoch millis, or 0 if none has yet
+ */
+public record UpdateSnapshot(Map<String, Entry> entries, long completedAt) {
+
+    public static final UpdateSnapshot EMPTY = new UpdateSnapshot(Map.of(), 0);
+
+    /**
+     * Get the entry of a plugin.
+     *
+     * @param pluginName the plugin name, case-insensitive
+     * @return the entry, or null if the plugin has not been checked yet
+     */
+    public Entry get(String pluginName) {
+        return entries.get(pluginName);
+    }
+
+    /**
+     * Check if nothing has been checked yet.
+     *
+     * @return true if there are no entries
+     */
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Get the time the oldest entry was checked.
+     *
+     * @return the epoch millis of the oldest check, or 0 if there are no entries
+     */
+    public long oldestCheck() {
+        return entries.values().stream().mapToLong(Entry::checkedAt).min().orElse(0);
+    }
+
+    /**
+     * Create a copy with one entry added or replaced.
+     *
+     * @param entry the entry
+     * @return the new snapshot
+     */
+    public UpdateSnapshot with(Entry entry) {
+        var copy = newEntryMap();
+        copy.putAll(entries);
+        copy.put(entry.name(), entry);
+        return new UpdateSnapshot(Collections.unmodifiableMap(copy), completedAt);
+    }
+
+    /**
+     * Create a copy for a finished pass with all of its results, dropping plugins that were not part of it.
+     * Plugins whose check failed keep their last entry, and so do plugins checked again since the pass checked them.
+     *
+     * @param checked     the plugins checked during the pass
+     * @param results     the entries the pass collected, keyed by plugin name
+     * @param completedAt when the pass finished in epoch millis
+     * @return the new snapshot
+     */
+    public UpdateSnapshot completed(Iterable<String> checked, Map<String, Entry> results, long completedAt) {
+        var copy = newEntryMap();
+        for (var name : checked) {
+            var entry = entries.get(name);
+            var result = results.get(name);
+            if (result != null && (entry == null || result.checkedAt() >= entry.checkedAt())) entry = result;
+            if (entry != null) copy.put(name, entry);
+        }
+        return new UpdateSnapshot(Collections.unmodifiableMap(copy), completedAt);
+    }
+
+    /**
+     * Create a snapshot from persisted entries.
+     *
+     * @param entries     the entries
+     * @param completedAt when the last full pass finished in epoch millis
+     * @return the snapshot
+     */
+    public static UpdateSnapshot of(Iterable<Entry> entries, long completedAt) {
+        var map = newEntryMap();
+        for (var entry : entries) if (entry != null && entry.name() != null) map.put(entry.name(), entry);
+        return new UpdateSnapshot(Collections.unmodifiableMap(map), completedAt);
+    }
+
+    private static TreeMap<String, Entry> newEntryMap() {
+        return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    }
+
+    /**
+     * The update state of a single plugin.
+     *
+     * @param name           the plugin name
+     * @param type           the result type
+     * @param currentVersion the installed version
+     * @param latestVersion  the latest available version
+     * @param checkedAt      when the check ran in epoch millis
+     */
+    public record Entry(String name, UpdateResult.ResultType type, String currentVersion, String latestVersion, long checkedAt) {
+
+        public static Entry of(String name, UpdateResult result, long checkedAt) {
+            return new Entry(name, result.type(), result.currentVersion(), result.latestVersion(), checkedAt);
+        }
+
+        public UpdateResult toResult() {
+            return new UpdateResult(type, currentVersion, latestVersion);
+        }
+    }
+}
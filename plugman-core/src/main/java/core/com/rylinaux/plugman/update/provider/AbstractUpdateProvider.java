@@ -0,0 +1,76 @@
+package core.com.rylinaux.plugman.update.provider;
+
+import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.pojo.ReleaseFile;
+import core.com.rylinaux.plugman.pojo.UpdateResult;
+import core.com.rylinaux.plugman.util.updatechecker.UpdateHttpUtil;
+import lombok.Getter;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Base class for providers built on blocking lookups.
+ * The blocking methods are run on the executor handed in by the {@link UpdateProviderRegistry}.
+ * A lookup that found nothing because the provider did not answer completes exceptionally, so it is not
+ * mistaken for a plugin the provider does not list.
+ */
+@Getter
+public abstract class AbstractUpdateProvider implements UpdateProvider {
+    private final String id;
+    private final Set<Capability> capabilities;
+    private final int defaultPriority;
+
+    protected AbstractUpdateProvider(String id, int defaultPriority, Capability first, Capability... rest) {
+        this.id = id;
+        this.defaultPriority = defaultPriority;
+        this.capabilities = Set.copyOf(EnumSet.of(first, rest));
+    }
+
+    @Override
+    public CompletableFuture<String> resolveId(String pluginName, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> UpdateHttpUtil.failIfUnanswered(() -> findId(pluginName), Objects::isNull), executor);
+    }
+
+    @Override
+    public CompletableFuture<UpdateResult> check(String pluginName, String resourceId, PluginManager pluginManager, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> UpdateHttpUtil.failIfUnanswered(() -> checkNow(pluginName, resourceId, pluginManager),
+                result -> result.type() == UpdateResult.ResultType.INVALID_PLUGIN), executor);
+    }
+
+    @Override
+    public CompletableFuture<ReleaseFile> getLatestFile(String resourceId, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> UpdateHttpUtil.failIfUnanswered(() -> findLatestFile(resourceId), Objects::isNull), executor);
+    }
+
+    /**
+     * Find the resource id of a plugin, blocking.
+     *
+     * @param pluginName the plugin name
+     * @return the resource id, or null if not found
+     */
+    protected abstract String findId(String pluginName);
+
+    /**
+     * Check a plugin, blocking.
+     *
+     * @param pluginName    the plugin name
+     * @param resourceId    the resource id
+     * @param pluginManager the plugin manager
+     * @return the result
+     */
+    protected abstract UpdateResult checkNow(String pluginName, String resourceId, PluginManager pluginManager);
+
+    /**
+     * Find the file of the latest release, blocking. Providers with {@link Capability#DOWNLOAD} must override this.
+     *
+     * @param resourceId the resource id
+     * @return the file, or null if there is none
+     */
+    protected ReleaseFile findLatestFile(String resourceId) {
+        throw new UnsupportedOperationException(getId() + " does not offer downloads");
+    }
+}
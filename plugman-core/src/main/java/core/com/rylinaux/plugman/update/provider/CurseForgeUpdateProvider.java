@@ -0,0 +1,31 @@
+package core.com.rylinaux.plugman.update.provider;
+
+import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.pojo.UpdateResult;
+import core.com.rylinaux.plugman.util.updatechecker.CurseForgeUtil;
+import core.com.rylinaux.plugman.util.updatechecker.UpdateHttpUtil;
+
+/**
+ * Checks plugins against CurseForge (BukkitDev) projects.
+ */
+public class CurseForgeUpdateProvider extends AbstractUpdateProvider {
+
+    public CurseForgeUpdateProvider() {
+        super(UpdateHttpUtil.CURSEFORGE, 10, Capability.SEARCH, Capability.EXPLICIT_ID);
+    }
+
+    @Override
+    protected String findId(String pluginName) {
+        var id = CurseForgeUtil.getPluginId(pluginName);
+        return id < 0? null : String.valueOf(id);
+    }
+
+    @Override
+    protected UpdateResult checkNow(String pluginName, String resourceId, PluginManager pluginManager) {
+        try {
+            return CurseForgeUtil.checkUpToDate(pluginName, Long.parseLong(resourceId), pluginManager);
+        } catch (NumberFormatException exception) {
+            return new UpdateResult(UpdateResult.ResultType.INVALID_PLUGIN, pluginName);
+        }
+    }
+}
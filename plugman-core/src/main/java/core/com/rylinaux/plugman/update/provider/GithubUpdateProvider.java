@@ -0,0 +1,33 @@
+package core.com.rylinaux.plugman.update.provider;
+
+import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.pojo.ReleaseFile;
+import core.com.rylinaux.plugman.pojo.UpdateResult;
+import core.com.rylinaux.plugman.util.updatechecker.GithubUtil;
+import core.com.rylinaux.plugman.util.updatechecker.UpdateHttpUtil;
+
+/**
+ * Checks plugins against GitHub releases. GitHub cannot be searched by plugin name,
+ * so only repositories configured in resourcemaps.yml are checked.
+ */
+public class GithubUpdateProvider extends AbstractUpdateProvider {
+
+    public GithubUpdateProvider() {
+        super(UpdateHttpUtil.GITHUB, 50, Capability.EXPLICIT_ID, Capability.DOWNLOAD);
+    }
+
+    @Override
+    protected String findId(String pluginName) {
+        return null;
+    }
+
+    @Override
+    protected UpdateResult checkNow(String pluginName, String resourceId, PluginManager pluginManager) {
+        return GithubUtil.checkUpToDate(pluginName, resourceId, pluginManager);
+    }
+
+    @Override
+    protected ReleaseFile findLatestFile(String resourceId) {
+        return GithubUtil.getLatestFile(resourceId);
+    }
+}
@@ -0,0 +1,41 @@
+package core.com.rylinaux.plugman.update.provider;
+
+import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.pojo.ReleaseFile;
+import core.com.rylinaux.plugman.pojo.UpdateResult;
+import core.com.rylinaux.plugman.util.updatechecker.HangarUtil;
+import core.com.rylinaux.plugman.util.updatechecker.UpdateHttpUtil;
+
+/**
+ * Checks plugins against Hangar projects.
+ */
+public class HangarUpdateProvider extends AbstractUpdateProvider {
+    private final String platform;
+
+    public HangarUpdateProvider() {
+        this(HangarUtil.PAPER);
+    }
+
+    /**
+     * @param platform the Hangar platform to check and download files for, e.g. {@code PAPER} or {@code VELOCITY}
+     */
+    public HangarUpdateProvider(String platform) {
+        super(UpdateHttpUtil.HANGAR, 30, Capability.SEARCH, Capability.EXPLICIT_ID, Capability.DOWNLOAD);
+        this.platform = platform;
+    }
+
+    @Override
+    protected String findId(String pluginName) {
+        return HangarUtil.getProjectSlug(pluginName);
+    }
+
+    @Override
+    protected UpdateResult checkNow(String pluginName, String resourceId, PluginManager pluginManager) {
+        return HangarUtil.checkUpToDate(pluginName, resourceId, pluginManager, platform);
+    }
+
+    @Override
+    protected ReleaseFile findLatestFile(String resourceId) {
+        return HangarUtil.getLatestFile(resourceId, platform);
+    }
+}
@@ -0,0 +1,45 @@
+package core.com.rylinaux.plugman.update.provider;
+
+import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.pojo.ReleaseFile;
+import core.com.rylinaux.plugman.pojo.UpdateResult;
+import core.com.rylinaux.plugman.util.updatechecker.HangarUtil;
+import core.com.rylinaux.plugman.util.updatechecker.ModrinthUtil;
+import core.com.rylinaux.plugman.util.updatechecker.UpdateHttpUtil;
+
+/**
+ * Checks plugins against Modrinth projects.
+ */
+public class ModrinthUpdateProvider extends AbstractUpdateProvider {
+    private final String platform;
+    private final String gameVersion;
+
+    public ModrinthUpdateProvider() {
+        this(HangarUtil.PAPER, null);
+    }
+
+    /**
+     * @param platform    the Hangar platform the server runs, whose Modrinth loaders versions are filtered by
+     * @param gameVersion the Minecraft version the server runs, preferred when filtering versions, or null if unknown
+     */
+    public ModrinthUpdateProvider(String platform, String gameVersion) {
+        super(UpdateHttpUtil.MODRINTH, 40, Capability.SEARCH, Capability.EXPLICIT_ID, Capability.DOWNLOAD);
+        this.platform = platform;
+        this.gameVersion = gameVersion;
+    }
+
+    @Override
+    protected String findId(String pluginName) {
+        return ModrinthUtil.getProjectId(pluginName);
+    }
+
+    @Override
+    protected UpdateResult checkNow(String pluginName, String resourceId, PluginManager pluginManager) {
+        return ModrinthUtil.checkUpToDate(pluginName, resourceId, pluginManager, platform, gameVersion);
+    }
+
+    @Override
+    protected ReleaseFile findLatestFile(String resourceId) {
+        return ModrinthUtil.getLatestFile(resourceId, platform, gameVersion);
+    }
+}
@@ -0,0 +1,31 @@
+package core.com.rylinaux.plugman.update.provider;
+
+import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.pojo.UpdateResult;
+import core.com.rylinaux.plugman.util.updatechecker.SpiGetUtil;
+import core.com.rylinaux.plugman.util.updatechecker.UpdateHttpUtil;
+
+/**
+ * Checks plugins against SpigotMC resources through SpiGet.
+ */
+public class SpigotUpdateProvider extends AbstractUpdateProvider {
+
+    public SpigotUpdateProvider() {
+        super(UpdateHttpUtil.SPIGET, 20, Capability.SEARCH, Capability.EXPLICIT_ID);
+    }
+
+    @Override
+    protected String findId(String pluginName) {
+        var id = SpiGetUtil.getPluginId(pluginName);
+        return id < 0? null : String.valueOf(id);
+    }
+
+    @Override
+    protected UpdateResult checkNow(String pluginName, String resourceId, PluginManager pluginManager) {
+        try {
+            return SpiGetUtil.checkUpToDate(pluginName, Long.parseLong(resourceId), pluginManager);
+        } catch (NumberFormatException exception) {
+            return new UpdateResult(UpdateResult.ResultType.INVALID_PLUGIN, pluginName);
+        }
+    }
+}
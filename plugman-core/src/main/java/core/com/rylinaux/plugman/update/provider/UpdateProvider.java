@@ -0,0 +1,92 @@
+package core.com.rylinaux.plugman.update.provider;
+
+import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.pojo.ReleaseFile;
+import core.com.rylinaux.plugman.pojo.UpdateResult;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * A source of plugin updates, e.g. Modrinth or a private Maven repository.
+ * <p>
+ * Providers are registered with the {@link UpdateProviderRegistry}, which decides which provider
+ * handles a plugin and runs the work on its own bounded executor. Implementations should do their
+ * blocking work on the executor they are given and never block the calling thread.
+ */
+public interface UpdateProvider {
+
+    /**
+     * Get the id of this provider. It is also the key used for this provider in resourcemaps.yml
+     * and in the {@code update-check.provider-priorities} config section.
+     *
+     * @return the lower-case provider id
+     */
+    String getId();
+
+    /**
+     * Get what this provider can do.
+     *
+     * @return the capabilities
+     */
+    Set<Capability> getCapabilities();
+
+    /**
+     * Get the priority used when no priority is configured. Providers with a higher priority are asked first.
+     *
+     * @return the default priority
+     */
+    default int getDefaultPriority() {
+        return 0;
+    }
+
+    /**
+     * Find the resource id of a plugin by its name. Only called if the provider has {@link Capability#SEARCH}.
+     *
+     * @param pluginName the plugin name
+     * @param executor   the executor to run blocking work on
+     * @return a future completed with the resource id, or with null if the plugin was not found
+     */
+    CompletableFuture<String> resolveId(String pluginName, Executor executor);
+
+    /**
+     * Check if the installed version of a plugin is up-to-date.
+     *
+     * @param pluginName    the plugin name
+     * @param resourceId    the resource id, either from resourcemaps.yml or from {@link #resolveId}
+     * @param pluginManager the plugin manager
+     * @param executor      the executor to run blocking work on
+     * @return a future completed with the result
+     */
+    CompletableFuture<UpdateResult> check(String pluginName, String resourceId, PluginManager pluginManager, Executor executor);
+
+    /**
+     * Find the file of the latest release. Only called if the provider has {@link Capability#DOWNLOAD}.
+     *
+     * @param resourceId the resource id, either from resourcemaps.yml or from {@link #resolveId}
+     * @param executor   the executor to run blocking work on
+     * @return a future completed with the file, or with null if the resource has no downloadable file
+     */
+    default CompletableFuture<ReleaseFile> getLatestFile(String resourceId, Executor executor) {
+        return CompletableFuture.failedFuture(new UnsupportedOperationException(getId() + " does not offer downloads"));
+    }
+
+    /**
+     * Things a provider can do.
+     */
+    enum Capability {
+        /**
+         * The provider can find a plugin by name, so it takes part in auto-detection.
+         */
+        SEARCH,
+        /**
+         * The provider can check a resource id configured in resourcemaps.yml.
+         */
+        EXPLICIT_ID,
+        /**
+         * The provider publishes download URLs, so {@code /plugman download} can fetch updates from it.
+         */
+        DOWNLOAD
+    }
+}
@@ -0,0 +1,332 @@
+package core.com.rylinaux.plugman.update.provider;
+
+import core.com.rylinaux.plugman.config.PlugManConfigurationManager;
+import core.com.rylinaux.plugman.config.model.ResourceMappingsConfig;
+import core.com.rylinaux.plugman.logging.PluginLogger;
+import core.com.rylinaux.plugman.metrics.PlugManMetrics;
+import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.pojo.ReleaseFile;
+import core.com.rylinaux.plugman.pojo.UpdateResult;
+import core.com.rylinaux.plugman.profiling.UpdateCheckEvent;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.util.updatechecker.HangarUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Holds the registered {@link UpdateProvider}s and runs update checks through them.
+ * <p>
+ * A plugin mapped in resourcemaps.yml is checked by the highest priority provider that has a
+ * resource id for it. Every other plugin is searched for on each provider with
+ * {@link UpdateProvider.Capability#SEARCH}, in priority order, until one finds it. Resolved ids are
+ * cached, and all provider work runs on one bounded executor, so a {@code check all} never has more
+ * than {@code update-check.max-concurrent-requests} requests in flight. Release files for
+ * {@code /plugman download} are looked up the same way, among the providers with
+ * {@link UpdateProvider.Capability#DOWNLOAD}.
+ * <p>
+ * Third-party plugins can add their own provider through {@link #register(UpdateProvider)}.
+ */
+public class UpdateProviderRegistry {
+    private static final long FOUND_TTL = TimeUnit.HOURS.toMillis(24);
+    private static final long NOT_FOUND_TTL = TimeUnit.HOURS.toMillis(1);
+
+    private final ServiceRegistry serviceRegistry;
+    private final List<UpdateProvider> providers = new CopyOnWriteArrayList<>();
+    private final Map<String, CachedId> resolvedIds = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    public UpdateProviderRegistry(ServiceRegistry serviceRegistry) {
+        this.serviceRegistry = serviceRegistry;
+
+        var threads = Math.max(1, getConfigurationManager().getPlugManConfig().getUpdateCheck().getMaxConcurrentRequests());
+        var counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            var thread = new Thread(runnable, "PlugManX Update Check #" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Create a registry with the built-in providers registered.
+     *
+     * @param serviceRegistry the service registry
+     * @return the registry
+     */
+    public static UpdateProviderRegistry withBuiltinProviders(ServiceRegistry serviceRegistry) {
+        return withBuiltinProviders(serviceRegistry, HangarUtil.PAPER);
+    }
+
+    /**
+     * Create a registry with the built-in providers registered.
+     *
+     * @param serviceRegistry the service registry
+     * @param hangarPlatform  the Hangar platform to download files for
+     * @return the registry
+     */
+    public static UpdateProviderRegistry withBuiltinProviders(ServiceRegistry serviceRegistry, String hangarPlatform) {
+        return withBuiltinProviders(serviceRegistry, hangarPlatform, null);
+    }
+
+    /**
+     * Create a registry with the built-in providers registered.
+     *
+     * @param serviceRegistry the service registry
+     * @param hangarPlatform  the Hangar platform to check and download files for
+     * @param gameVersion     the Minecraft version the server runs, or null if unknown
+     * @return the registry
+     */
+    public static UpdateProviderRegistry withBuiltinProviders(ServiceRegistry serviceRegistry, String hangarPlatform, String gameVersion) {
+        var registry = new UpdateProviderRegistry(serviceRegistry);
+        registry.register(new GithubUpdateProvider());
+        registry.register(new ModrinthUpdateProvider(hangarPlatform, gameVersion));
+        registry.register(new HangarUpdateProvider(hangarPlatform));
+        registry.register(new SpigotUpdateProvider());
+        registry.register(new CurseForgeUpdateProvider());
+        return registry;
+    }
+
+    /**
+     * Register a provider.
+     *
+     * @param provider the provider
+     * @throws IllegalArgumentException if a provider with the same id is already registered
+     */
+    public void register(UpdateProvider provider) {
+        if (provider == null) throw new IllegalArgumentException("Provider cannot be null");
+        if (getProvider(provider.getId()).isPresent()) throw new IllegalArgumentException("Provider already registered: " + provider.getId());
+        providers.add(provider);
+    }
+
+    /**
+     * Unregister a provider and forget the ids it resolved.
+     *
+     * @param providerId the provider id
+     * @return true if a provider was removed
+     */
+    public boolean unregister(String providerId) {
+        resolvedIds.keySet().removeIf(key -> key.startsWith(providerId + ":"));
+        return providers.removeIf(provider -> provider.getId().equals(providerId));
+    }
+
+    /**
+     * Get a provider by id.
+     *
+     * @param providerId the provider id
+     * @return the provider, or empty if none is registered with that id
+     */
+    public Optional<UpdateProvider> getProvider(String providerId) {
+        return providers.stream().filter(provider -> provider.getId().equals(providerId)).findFirst();
+    }
+
+    /**
+     * Get the registered providers, highest priority first.
+     *
+     * @return the providers
+     */
+    public List<UpdateProvider> getProviders() {
+        var sorted = new ArrayList<>(providers);
+        sorted.sort(Comparator.comparingInt(this::getPriority).reversed());
+        return sorted;
+    }
+
+    /**
+     * Get the priority of a provider, from the config if set there.
+     *
+     * @param provider the provider
+     * @return the priority
+     */
+    public int getPriority(UpdateProvider provider) {
+        var priorities = getConfigurationManager().getPlugManConfig().getUpdateCheck().getProviderPriorities();
+        if (priorities == null) return provider.getDefaultPriority();
+        return priorities.getOrDefault(provider.getId(), provider.getDefaultPriority());
+    }
+
+    /**
+     * Check every installed plugin.
+     *
+     * @return a future completed with the results keyed by plugin name
+     */
+    public CompletableFuture<Map<String, UpdateResult>> checkAll() {
+        var futures = new TreeMap<String, CompletableFuture<UpdateResult>>();
+        for (var plugin : getPluginManager().getPlugins()) futures.put(plugin.getName(), check(plugin.getName()));
+
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            var results = new TreeMap<String, UpdateResult>();
+            futures.forEach((name, future) -> results.put(name, future.join()));
+            return results;
+        });
+    }
+
+    /**
+     * Check a single plugin. The future never completes exceptionally; a failing provider yields {@link UpdateResult.ResultType#UNKNOWN},
+     * only a plugin no provider lists yields {@link UpdateResult.ResultType#INVALID_PLUGIN}.
+     *
+     * @param pluginName the plugin name
+     * @return a future completed with the result
+     */
+    public CompletableFuture<UpdateResult> check(String pluginName) {
+        var start = System.nanoTime();
+        return UpdateCheckEvent.record(pluginName, () -> resolve(pluginName, getProviders())
+                .handle((resolved, failure) -> check(pluginName, resolved, failure)).thenCompose(Function.identity()))
+                .whenComplete((result, failure) -> serviceRegistry.getOptional(PlugManMetrics.class).ifPresent(metrics -> metrics.recordUpdateCheck(result, System.nanoTime() - start)));
+    }
+
+    /**
+     * Find the file of the latest release of a plugin on the providers with {@link UpdateProvider.Capability#DOWNLOAD}.
+     * The future never completes exceptionally.
+     *
+     * @param pluginName the plugin name
+     * @return a future completed with the file, or with null if no provider has one
+     */
+    public CompletableFuture<ReleaseFile> findLatestFile(String pluginName) {
+        var downloadable = getProviders().stream().filter(provider -> provider.getCapabilities().contains(UpdateProvider.Capability.DOWNLOAD)).toList();
+
+        return resolve(pluginName, downloadable).exceptionally(failure -> null).thenCompose(resolved -> {
+            if (resolved == null) return CompletableFuture.completedFuture(null);
+
+            var provider = resolved.provider();
+            return provider.getLatestFile(resolved.resourceId(), executor).exceptionally(exception -> {
+                getLogger().warning("Update provider " + provider.getId() + " failed to find a file for " + pluginName, exception);
+                return null;
+            });
+        });
+    }
+
+    /**
+     * Forget all resolved ids, e.g. after resourcemaps.yml changed.
+     */
+    public void clearCache() {
+        resolvedIds.clear();
+    }
+
+    /**
+     * Stop the executor. Checks still running are abandoned.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Find the provider and resource id of a plugin: an id from resourcemaps.yml for the first provider
+     * that has one, otherwise the first provider that finds the plugin by name. Completes with null if no
+     * provider lists it, and exceptionally if none did but some provider could not be asked.
+     */
+    private CompletableFuture<Resolved> resolve(String pluginName, List<UpdateProvider> providers) {
+        var resourceInfo = getResourceInfo(pluginName);
+        if (resourceInfo != null) for (var provider : providers) {
+            if (!provider.getCapabilities().contains(UpdateProvider.Capability.EXPLICIT_ID)) continue;
+
+            var resourceId = resourceInfo.getResourceId(provider.getId());
+            if (resourceId != null) return CompletableFuture.completedFuture(new Resolved(provider, resourceId));
+        }
+
+        var searchable = providers.stream().filter(provider -> provider.getCapabilities().contains(UpdateProvider.Capability.SEARCH)).toList();
+        return search(pluginName, searchable, 0, null);
+    }
+
+    private CompletableFuture<Resolved> search(String pluginName, List<UpdateProvider> providers, int index, Throwable failure) {
+        if (index >= providers.size()) return failure == null? CompletableFuture.completedFuture(null) : CompletableFuture.failedFuture(failure);
+
+        var provider = providers.get(index);
+        return resolveId(provider, pluginName).handle((resourceId, exception) -> {
+            if (exception != null) return search(pluginName, providers, index + 1, exception);
+            if (resourceId == null) return search(pluginName, providers, index + 1, failure);
+            return CompletableFuture.completedFuture(new Resolved(provider, resourceId));
+        }).thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<String> resolveId(UpdateProvider provider, String pluginName) {
+        var key = provider.getId() + ":" + pluginName.toLowerCase(Locale.ROOT);
+        var now = System.currentTimeMillis();
+
+        var cached = resolvedIds.compute(key, (ignored, existing) -> existing != null && !existing.isExpired(now)?
+                existing : new CachedId(provider.resolveId(pluginName, executor), now));
+
+        return cached.future().whenComplete((resourceId, exception) -> {
+            if (exception == null) return;
+            resolvedIds.remove(key, cached);
+            getLogger().warning("Update provider " + provider.getId() + " failed to look up " + pluginName, exception);
+        });
+    }
+
+    private CompletableFuture<UpdateResult> check(String pluginName, Resolved resolved, Throwable failure) {
+        if (failure != null) return CompletableFuture.completedFuture(unknown(pluginName));
+        if (resolved == null) return CompletableFuture.completedFuture(notFound(pluginName));
+        return check(resolved.provider(), pluginName, resolved.resourceId());
+    }
+
+    private CompletableFuture<UpdateResult> check(UpdateProvider provider, String pluginName, String resourceId) {
+        var start = System.nanoTime();
+        var check = provider.check(pluginName, resourceId, getPluginManager(), executor);
+        check.whenComplete((result, failure) -> serviceRegistry.getOptional(PlugManMetrics.class)
+                .ifPresent(metrics -> metrics.recordProviderCheck(provider.getId(), failure == null, System.nanoTime() - start)));
+
+        return check.exceptionally(exception -> {
+            getLogger().warning("Update provider " + provider.getId() + " failed to check " + pluginName, exception);
+            return unknown(pluginName);
+        });
+    }
+
+    private UpdateResult unknown(String pluginName) {
+        var plugin = getPluginManager().getPluginByName(pluginName);
+        return new UpdateResult(UpdateResult.ResultType.UNKNOWN, plugin == null? null : plugin.getVersion());
+    }
+
+    private UpdateResult notFound(String pluginName) {
+        var plugin = getPluginManager().getPluginByName(pluginName);
+        if (plugin == null) return new UpdateResult(UpdateResult.ResultType.INVALID_PLUGIN, pluginName);
+        return new UpdateResult(UpdateResult.ResultType.INVALID_PLUGIN, plugin.getVersion());
+    }
+
+    private ResourceMappingsConfig.ResourceInfo getResourceInfo(String pluginName) {
+        var resourceMappings = getConfigurationManager().getResourceMappingsConfig();
+        if (resourceMappings == null || resourceMappings.getResources() == null) return null;
+        return resourceMappings.getResources().get(pluginName.toLowerCase(Locale.ROOT));
+    }
+
+    private PlugManConfigurationManager getConfigurationManager() {
+        return serviceRegistry.get(PlugManConfigurationManager.class);
+    }
+
+    private PluginManager getPluginManager() {
+        return serviceRegistry.get(PluginManager.class);
+    }
+
+    private PluginLogger getLogger() {
+        return serviceRegistry.get(PluginLogger.class);
+    }
+
+    /**
+     * A provider and the id of a plugin on it.
+     */
+    private record Resolved(UpdateProvider provider, String resourceId) {
+    }
+
+    /**
+     * A resolved, or still resolving, resource id.
+     */
+    private record CachedId(CompletableFuture<String> future, long resolvedAt) {
+
+        private boolean isExpired(long now) {
+            if (!future.isDone()) return false;
+            if (future.isCompletedExceptionally()) return true;
+            var ttl = future.getNow(null) == null? NOT_FOUND_TTL : FOUND_TTL;
+            return now - resolvedAt > ttl;
+        }
+    }
+}
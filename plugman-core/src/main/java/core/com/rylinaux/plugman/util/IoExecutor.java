@@ -0,0 +1,37 @@
+package core.com.rylinaux.plugman.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs PlugMan's own blocking I/O, such as writing dumps and reports, on virtual threads.
+ * A task waiting on the disk then holds no thread of the server's shared async pool.
+ */
+public class IoExecutor implements Executor {
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("PlugManX IO #", 1).factory());
+
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Run a task and complete a future with its result.
+     *
+     * @param task the task
+     * @return a future completed with the result, or with the exception the task threw
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /**
+     * Stop accepting tasks. Tasks already running are left to finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
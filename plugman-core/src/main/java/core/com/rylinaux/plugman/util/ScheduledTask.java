@@ -0,0 +1,37 @@
+package core.com.rylinaux.plugman.util;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * A task scheduled through {@link ThreadUtil}.
+ */
+public interface ScheduledTask {
+
+    /**
+     * Wrap a platform's task.
+     *
+     * @param cancel    cancels the task
+     * @param cancelled tells if the task was cancelled
+     * @return the task
+     */
+    static ScheduledTask of(Runnable cancel, BooleanSupplier cancelled) {
+        return new ScheduledTask() {
+            @Override
+            public void cancel() {
+                cancel.run();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return cancelled.getAsBoolean();
+            }
+        };
+    }
+
+    /**
+     * Stop the task from running again.
+     */
+    void cancel();
+
+    boolean isCancelled();
+}
@@ -30,6 +30,7 @@ import com.google.common.base.Preconditions;
 import lombok.experimental.UtilityClass;
 
 import java.util.Collection;
+import java.util.Locale;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -71,4 +72,48 @@ public class StringUtil {
         Preconditions.checkArgument(string != null, "Cannot check a null string for a match");
         return string.length() >= prefix.length() && string.regionMatches(true, 0, prefix, 0, prefix.length());
     }
-}
\ No newline at end of file
+
+    /**
+     * Format a duration as a short human-readable string, e.g. "2h 5m" or "40s".
+     *
+     * @param millis the duration in milliseconds
+     * @return the formatted duration, using the two largest units
+     */
+    public static String formatDuration(long millis) {
+        var seconds = Math.max(0, millis / 1000);
+        var days = seconds / 86400;
+        var hours = seconds / 3600 % 24;
+        var minutes = seconds / 60 % 60;
+
+        if (days > 0) return days + "d " + hours + "h";
+        if (hours > 0) return hours + "h " + minutes + "m";
+        if (minutes > 0) return minutes + "m " + seconds % 60 + "s";
+        return seconds + "s";
+    }
+
+    /**
+     * Format a short duration with a unit that keeps it readable, e.g. "850ns", "12.4µs" or "3.07ms".
+     *
+     * @param nanos the duration in nanoseconds
+     * @return the formatted duration
+     */
+    public static String formatNanos(long nanos) {
+        if (nanos < 1_000) return nanos + "ns";
+        if (nanos < 1_000_000) return String.format(Locale.ROOT, "%.1fµs", nanos / 1e3);
+        if (nanos < 1_000_000_000) return String.format(Locale.ROOT, "%.2fms", nanos / 1e6);
+        return String.format(Locale.ROOT, "%.2fs", nanos / 1e9);
+    }
+
+    /**
+     * Format a size with a binary unit that keeps it readable, e.g. "512B", "12.4KiB" or "3.07MiB".
+     *
+     * @param bytes the size in bytes
+     * @return the formatted size
+     */
+    public static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + "B";
+        if (bytes < 1024 * 1024) return String.format(Locale.ROOT, "%.1fKiB", bytes / 1024.0);
+        if (bytes < 1024L * 1024 * 1024) return String.format(Locale.ROOT, "%.2fMiB", bytes / (1024.0 * 1024));
+        return String.format(Locale.ROOT, "%.2fGiB", bytes / (1024.0 * 1024 * 1024));
+    }
+}
@@ -1,11 +1,39 @@
 package core.com.rylinaux.plugman.util;
 
+import java.time.Duration;
+
 public interface ThreadUtil {
+    /**
+     * Length of a server tick.
+     */
+    Duration TICK = Duration.ofMillis(50);
+
+    /**
+     * Convert a delay to server ticks, rounding up so a task never runs early.
+     *
+     * @param delay the delay
+     * @return the delay in ticks, at least 0
+     */
+    static long toTicks(Duration delay) {
+        if (delay.isNegative() || delay.isZero()) return 0;
+        return (delay.toMillis() + TICK.toMillis() - 1) / TICK.toMillis();
+    }
+
+    /**
+     * Convert a period to server ticks, rounding up. A task runs at most once per tick.
+     *
+     * @param period the period
+     * @return the period in ticks, at least 1
+     */
+    static long toPeriodTicks(Duration period) {
+        return Math.max(1, toTicks(period));
+    }
+
     void async(Runnable runnable);
 
     void sync(Runnable runnable);
 
-    void syncRepeating(Runnable runnable, long delay, long period);
+    ScheduledTask syncRepeating(Runnable runnable, Duration delay, Duration period);
 
-    void asyncRepeating(Runnable runnable, long delay, long period);
+    ScheduledTask asyncRepeating(Runnable runnable, Duration delay, Duration period);
 }
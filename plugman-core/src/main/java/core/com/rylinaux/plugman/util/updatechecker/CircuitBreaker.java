@@ -0,0 +1,92 @@
+package core.com.rylinaux.plugman.util.updatechecker;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker that stops calling an update provider after repeated failures.
+ * <p>
+ * After {@code failureThreshold} consecutive failures the breaker opens and rejects calls for
+ * {@code openDuration}. Afterwards a single trial call is let through; if it succeeds the breaker
+ * closes again, otherwise it re-opens. A trial that never reports back is given up on after another
+ * {@code openDuration}, so a lost trial cannot keep the breaker half-open forever.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    @Getter
+    private final String providerId;
+    private final int failureThreshold;
+    private final long openNanos;
+
+    @Getter
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    /**
+     * Create a circuit breaker.
+     *
+     * @param providerId       the provider this breaker belongs to
+     * @param failureThreshold the number of consecutive failures that open the breaker
+     * @param openDuration     how long the breaker stays open before allowing a trial call
+     */
+    public CircuitBreaker(String providerId, int failureThreshold, Duration openDuration) {
+        this.providerId = providerId;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Check if a call may be made.
+     *
+     * @return true if the breaker is closed, or if this call is the half-open trial
+     */
+    public synchronized boolean allowRequest() {
+        return switch (state) {
+            case CLOSED -> true;
+            case HALF_OPEN, OPEN -> {
+                if (System.nanoTime() - openedAt < openNanos) yield false;
+                state = State.HALF_OPEN;
+                openedAt = System.nanoTime();
+                yield true;
+            }
+        };
+    }
+
+    /**
+     * Give up on a call that was allowed but never made or never answered, e.g. because it was interrupted.
+     * Neither a success nor a failure is counted, and a half-open trial can be made again right away.
+     */
+    public synchronized void recordAbandoned() {
+        if (state != State.HALF_OPEN) return;
+        state = State.OPEN;
+        openedAt = System.nanoTime() - openNanos;
+    }
+
+    /**
+     * Record a successful call.
+     */
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Record a failed call.
+     *
+     * @return true if this failure opened the breaker
+     */
+    public synchronized boolean recordFailure() {
+        consecutiveFailures++;
+        if (state != State.HALF_OPEN && consecutiveFailures < failureThreshold) return false;
+        var wasOpen = state == State.OPEN;
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        return !wasOpen;
+    }
+}
@@ -29,23 +29,19 @@ package core.com.rylinaux.plugman.util.updatechecker;
 import com.google.common.hash.HashCode;
 import com.google.common.hash.Hashing;
 import com.google.common.io.Files;
-import com.google.gson.Gson;
 import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import core.com.rylinaux.plugman.plugins.PluginManager;
 import core.com.rylinaux.plugman.pojo.UpdateResult;
-import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.URI;
 import java.net.URLDecoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.logging.Level;
@@ -100,9 +96,9 @@ public class CurseForgeUtil {
             return new UpdateResult(UpdateResult.ResultType.INVALID_PLUGIN, plugin.getVersion());
         }
 
-        var versions = CurseForgeUtil.getPluginVersions(pluginId);
+        var latest = CurseForgeUtil.getLatestFile(pluginId);
 
-        if (versions == null || versions.isEmpty()) {
+        if (latest == null) {
             var plugin = pluginManager.getPluginByName(pluginName);
             if (plugin == null)
                 if (idSpecified) return new UpdateResult(UpdateResult.ResultType.INVALID_PLUGIN, pluginName);
@@ -110,8 +106,6 @@ public class CurseForgeUtil {
             return new UpdateResult(UpdateResult.ResultType.INVALID_PLUGIN, plugin.getVersion());
         }
 
-        var latest = versions.get(versions.size() - 1).getAsJsonObject();
-
         var plugin = pluginManager.getPluginByName(pluginName);
         if (plugin == null) if (idSpecified) return new UpdateResult(UpdateResult.ResultType.INVALID_PLUGIN, "null");
         else return new UpdateResult(UpdateResult.ResultType.INVALID_PLUGIN, "null", "null");
@@ -144,9 +138,7 @@ public class CurseForgeUtil {
         if (currentVersion == null) return new UpdateResult(UpdateResult.ResultType.NOT_INSTALLED, currentVersion, latestVersion);
         else if (latestVersion == null) return new UpdateResult(UpdateResult.ResultType.INVALID_PLUGIN, currentVersion, latestVersion);
 
-        var isActual = UpdateUtil.isActualVersion(currentVersion, latestVersion);
-        if (isActual != null && isActual) return new UpdateResult(UpdateResult.ResultType.UP_TO_DATE, currentVersion, latestVersion);
-        else return new UpdateResult(UpdateResult.ResultType.OUT_OF_DATE, currentVersion, latestVersion);
+        return UpdateUtil.compareVersions(currentVersion, latestVersion);
 
     }
 
@@ -157,74 +149,99 @@ public class CurseForgeUtil {
      * @return the id of the plugin.
      */
     public static long getPluginId(String name) {
-        try (var client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build()) {
-
-            var request = HttpRequest.newBuilder()
-                    .uri(URI.create(API_BASE_URL + "projects?search=" + name.toLowerCase()))
-                    .header("User-Agent", "PlugMan")
-                    .timeout(Duration.ofSeconds(30))
-                    .GET()
-                    .build();
-
-            try {
-                var response = client.send(request, HttpResponse.BodyHandlers.ofString());
-                var body = response.body();
-
-                var gson = new Gson();
-                var object = gson.fromJson(body, JsonElement.class);
-
-                if (object.isJsonArray()) {
-                    var array = object.getAsJsonArray();
-
-                    for (var o : array) {
-                        var json = o.getAsJsonObject();
-                        var pluginName = json.get("slug").getAsString();
-                        if (!name.equalsIgnoreCase(pluginName)) continue;
-                        return json.get("id").getAsLong();
+        var request = UpdateHttpUtil.newRequest(getApiBaseUrl() + "projects?search=" + name.toLowerCase()).build();
+
+        try {
+            var response = UpdateHttpUtil.send(UpdateHttpUtil.CURSEFORGE, request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response == null) return -1;
+
+            try (var reader = JsonStreamUtil.reader(response.body())) {
+                if (!JsonStreamUtil.enterArray(reader)) return -1;
+
+                while (reader.hasNext()) {
+                    if (!JsonStreamUtil.enterObject(reader)) {
+                        reader.skipValue();
+                        continue;
                     }
-                }
 
-            } catch (IOException | InterruptedException exception) {
-                LOGGER.log(Level.SEVERE, "Failed to get plugin ID for: " + name, exception);
+                    String slug = null;
+                    String id = null;
+                    while (reader.hasNext()) switch (reader.nextName()) {
+                        case "slug" -> slug = JsonStreamUtil.nextString(reader);
+                        case "id" -> id = JsonStreamUtil.nextString(reader);
+                        default -> reader.skipValue();
+                    }
+                    reader.endObject();
+
+                    if (id != null && name.equalsIgnoreCase(slug)) return Long.parseLong(id);
+                }
             }
+
+        } catch (IOException | InterruptedException | IllegalStateException | NumberFormatException exception) {
+            LOGGER.log(Level.SEVERE, "Failed to get plugin ID for: " + name, exception);
         }
 
         return -1;
     }
 
+    /**
+     * Get the most recent file of a given plugin.
+     * <p>
+     * The API lists files oldest first, so the array is streamed and only the last entry is kept.
+     *
+     * @param id the plugin id.
+     * @return the latest file, or null if there is none.
+     */
+    public static JsonObject getLatestFile(long id) {
+        var request = UpdateHttpUtil.newRequest(getApiBaseUrl() + "files?projectIds=" + id).build();
+
+        try {
+            var response = UpdateHttpUtil.send(UpdateHttpUtil.CURSEFORGE, request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response == null) return null;
+
+            try (var reader = JsonStreamUtil.reader(response.body())) {
+                if (!JsonStreamUtil.enterArray(reader)) return null;
+
+                JsonObject latest = null;
+                while (reader.hasNext()) {
+                    var element = JsonParser.parseReader(reader);
+                    if (element.isJsonObject()) latest = element.getAsJsonObject();
+                }
+                return latest;
+            }
+
+        } catch (IOException | InterruptedException | IllegalStateException | JsonParseException exception) {
+            LOGGER.log(Level.SEVERE, "Failed to get latest file for ID: " + id, exception);
+        }
+
+        return null;
+    }
+
     /**
      * Get the versions for a given plugin.
      *
      * @param id the plugin id.
      * @return the JSON encoded data.
      */
-    @SneakyThrows
     public static JsonArray getPluginVersions(long id) {
-        try (var client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build()) {
-
-            var request = HttpRequest.newBuilder()
-                    .uri(URI.create(API_BASE_URL + "files?projectIds=" + id))
-                    .header("User-Agent", "PlugMan")
-                    .timeout(Duration.ofSeconds(30))
-                    .GET()
-                    .build();
-
-            try {
-                var response = client.send(request, HttpResponse.BodyHandlers.ofString());
-                var body = response.body();
-
-                var gson = new Gson();
-                return gson.fromJson(body, JsonArray.class);
-
-            } catch (IOException | InterruptedException exception) {
-                LOGGER.log(Level.SEVERE, "Failed to get plugin versions for ID: " + id, exception);
+        var request = UpdateHttpUtil.newRequest(getApiBaseUrl() + "files?projectIds=" + id).build();
+
+        try {
+            var response = UpdateHttpUtil.send(UpdateHttpUtil.CURSEFORGE, request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response == null) return null;
+
+            try (var reader = JsonStreamUtil.reader(response.body())) {
+                return JsonStreamUtil.GSON.fromJson(reader, JsonArray.class);
             }
+
+        } catch (IOException | InterruptedException | JsonParseException exception) {
+            LOGGER.log(Level.SEVERE, "Failed to get plugin versions for ID: " + id, exception);
         }
 
         return null;
     }
+
+    private static String getApiBaseUrl() {
+        return UpdateHttpUtil.getBaseUrl(UpdateHttpUtil.CURSEFORGE, API_BASE_URL);
+    }
 }
@@ -1,16 +1,14 @@
 package core.com.rylinaux.plugman.util.updatechecker;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.pojo.ReleaseFile;
 import core.com.rylinaux.plugman.pojo.UpdateResult;
+import com.google.gson.stream.JsonReader;
 import lombok.experimental.UtilityClass;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
+import java.io.IOException;
+
 import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -37,16 +35,13 @@ public class GithubUtil {
 
         if (latestVersion == null) {
             if (plugin == null) return new UpdateResult(UpdateResult.ResultType.NOT_INSTALLED);
-            return new UpdateResult(UpdateResult.ResultType.UP_TO_DATE, plugin.getVersion(), plugin.getVersion());
+            return new UpdateResult(UpdateResult.ResultType.INVALID_PLUGIN, plugin.getVersion());
         }
 
         if (plugin == null) return new UpdateResult(UpdateResult.ResultType.NOT_INSTALLED);
 
         var currentVersion = plugin.getVersion();
-        var isActual = UpdateUtil.isActualVersion(currentVersion, latestVersion);
-        if (isActual != null && isActual)
-            return new UpdateResult(UpdateResult.ResultType.UP_TO_DATE, currentVersion, latestVersion);
-        return new UpdateResult(UpdateResult.ResultType.OUT_OF_DATE, currentVersion, latestVersion);
+        return UpdateUtil.compareVersions(currentVersion, latestVersion);
     }
 
     /**
@@ -56,27 +51,107 @@ public class GithubUtil {
      * @return the latest version string (tag name, v-prefix stripped), or null on failure
      */
     public static String getLatestVersion(String repo) {
-        try (var client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build()) {
-            var request = HttpRequest.newBuilder()
-                    .uri(URI.create(API_BASE_URL + repo + "/releases/latest"))
-                    .header("User-Agent", "PlugManX/1.0")
+        try {
+            var request = UpdateHttpUtil.newRequest(getApiBaseUrl() + repo + "/releases/latest")
                     .header("Accept", "application/vnd.github+json")
-                    .timeout(Duration.ofSeconds(30))
-                    .GET()
                     .build();
 
-            var response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 200) return null;
+            var response = UpdateHttpUtil.send(UpdateHttpUtil.GITHUB, request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response == null) return null;
 
-            var json = new Gson().fromJson(response.body(), JsonObject.class);
-            if (json == null || !json.has("tag_name")) return null;
+            String tag;
+            try (var reader = JsonStreamUtil.reader(response.body())) {
+                if (!JsonStreamUtil.enterObject(reader) || !JsonStreamUtil.seek(reader, "tag_name")) return null;
+                tag = JsonStreamUtil.nextString(reader);
+            }
+            if (tag == null) return null;
 
-            var tag = json.get("tag_name").getAsString();
-            if (tag.startsWith("v") || tag.startsWith("V")) tag = tag.substring(1);
-            return tag;
+            return stripPrefix(tag);
         } catch (Exception e) {
             LOGGER.log(Level.WARNING, "Failed to fetch latest GitHub release for " + repo, e);
             return null;
         }
     }
+
+    /**
+     * Get the first jar attached to the latest release.
+     *
+     * @param repo the GitHub repository in "owner/repo" format
+     * @return the file, or null on failure or if the release has no jar. The hash is only known
+     * for assets GitHub has computed a digest for.
+     */
+    public static ReleaseFile getLatestFile(String repo) {
+        try {
+            var request = UpdateHttpUtil.newRequest(getApiBaseUrl() + repo + "/releases/latest")
+                    .header("Accept", "application/vnd.github+json")
+                    .build();
+
+            var response = UpdateHttpUtil.send(UpdateHttpUtil.GITHUB, request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response == null) return null;
+
+            try (var reader = JsonStreamUtil.reader(response.body())) {
+                if (!JsonStreamUtil.enterObject(reader)) return null;
+
+                String tag = null;
+                ReleaseFile jar = null;
+                while (reader.hasNext()) switch (reader.nextName()) {
+                    case "tag_name" -> tag = JsonStreamUtil.nextString(reader);
+                    case "assets" -> {
+                        if (!JsonStreamUtil.enterArray(reader)) {
+                            reader.skipValue();
+                            break;
+                        }
+                        while (reader.hasNext()) {
+                            var asset = readAsset(reader);
+                            if (jar == null && asset != null && asset.fileName() != null && asset.fileName().endsWith(".jar")) jar = asset;
+                        }
+                        reader.endArray();
+                    }
+                    default -> reader.skipValue();
+                }
+
+                if (jar == null) return null;
+                return new ReleaseFile(UpdateHttpUtil.GITHUB, tag == null? null : stripPrefix(tag), jar.fileName(), jar.url(), jar.algorithm(), jar.hash(), jar.size());
+            }
+        } catch (IOException | InterruptedException | IllegalStateException e) {
+            LOGGER.log(Level.WARNING, "Failed to get latest GitHub release file for " + repo, e);
+        }
+        return null;
+    }
+
+    private static ReleaseFile readAsset(JsonReader reader) throws IOException {
+        if (!JsonStreamUtil.enterObject(reader)) {
+            reader.skipValue();
+            return null;
+        }
+
+        String name = null;
+        String url = null;
+        String digest = null;
+        var size = -1L;
+        while (reader.hasNext()) switch (reader.nextName()) {
+            case "name" -> name = JsonStreamUtil.nextString(reader);
+            case "browser_download_url" -> url = JsonStreamUtil.nextString(reader);
+            case "digest" -> digest = JsonStreamUtil.nextString(reader);
+            case "size" -> size = JsonStreamUtil.nextLong(reader, -1);
+            default -> reader.skipValue();
+        }
+        reader.endObject();
+
+        if (url == null) return null;
+
+        // Digests look like "sha256:<hex>"
+        String hash = null;
+        if (digest != null && digest.startsWith("sha256:")) hash = digest.substring("sha256:".length());
+        return new ReleaseFile(UpdateHttpUtil.GITHUB, null, name, url, hash == null? null : ReleaseFile.SHA_256, hash, size);
+    }
+
+    private static String stripPrefix(String tag) {
+        if (tag.startsWith("v") || tag.startsWith("V")) return tag.substring(1);
+        return tag;
+    }
+
+    private static String getApiBaseUrl() {
+        return UpdateHttpUtil.getBaseUrl(UpdateHttpUtil.GITHUB, API_BASE_URL);
+    }
 }
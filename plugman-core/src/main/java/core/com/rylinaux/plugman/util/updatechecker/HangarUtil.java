@@ -1,19 +1,15 @@
 package core.com.rylinaux.plugman.util.updatechecker;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
 import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.pojo.ReleaseFile;
 import core.com.rylinaux.plugman.pojo.UpdateResult;
+import com.google.gson.stream.JsonReader;
 import lombok.experimental.UtilityClass;
 
 import java.io.IOException;
-import java.net.URI;
 import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -26,6 +22,10 @@ public class HangarUtil {
     private static final Logger LOGGER = Logger.getLogger(HangarUtil.class.getName());
     public static final String API_BASE_URL = "https://hangar.papermc.io/api/v1/";
 
+    public static final String PAPER = "PAPER";
+    public static final String VELOCITY = "VELOCITY";
+    public static final String WATERFALL = "WATERFALL";
+
     /**
      * Check if a plugin is up-to-date using Hangar.
      *
@@ -35,6 +35,19 @@ public class HangarUtil {
      * @return the update result
      */
     public static UpdateResult checkUpToDate(String pluginName, String projectSlug, PluginManager pluginManager) {
+        return checkUpToDate(pluginName, projectSlug, pluginManager, null);
+    }
+
+    /**
+     * Check if a plugin is up-to-date using Hangar, only looking at versions that have a file for the platform.
+     *
+     * @param pluginName    the name of the plugin
+     * @param projectSlug   "Author/Slug" for the Hangar project, or null to search by name
+     * @param pluginManager the plugin manager instance
+     * @param platform      the platform, e.g. {@link #PAPER}, or null for any
+     * @return the update result
+     */
+    public static UpdateResult checkUpToDate(String pluginName, String projectSlug, PluginManager pluginManager, String platform) {
         if (projectSlug == null) projectSlug = getProjectSlug(pluginName);
 
         if (projectSlug == null) {
@@ -43,7 +56,7 @@ public class HangarUtil {
             return new UpdateResult(UpdateResult.ResultType.INVALID_PLUGIN, plugin.getVersion());
         }
 
-        var latestVersion = getLatestVersion(projectSlug);
+        var latestVersion = getLatestVersion(projectSlug, platform);
 
         if (latestVersion == null) {
             var plugin = pluginManager.getPluginByName(pluginName);
@@ -55,10 +68,7 @@ public class HangarUtil {
         if (plugin == null) return new UpdateResult(UpdateResult.ResultType.NOT_INSTALLED);
 
         var currentVersion = plugin.getVersion();
-        var isActual = UpdateUtil.isActualVersion(currentVersion, latestVersion);
-        if (isActual != null && isActual)
-            return new UpdateResult(UpdateResult.ResultType.UP_TO_DATE, currentVersion, latestVersion);
-        return new UpdateResult(UpdateResult.ResultType.OUT_OF_DATE, currentVersion, latestVersion);
+        return UpdateUtil.compareVersions(currentVersion, latestVersion);
     }
 
     /**
@@ -68,31 +78,49 @@ public class HangarUtil {
      * @return "Author/Slug" or null if not found
      */
     public static String getProjectSlug(String name) {
-        try (var client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build()) {
+        try {
             var encoded = URLEncoder.encode(name, StandardCharsets.UTF_8);
-            var request = HttpRequest.newBuilder()
-                    .uri(URI.create(API_BASE_URL + "projects?query=" + encoded + "&limit=5"))
-                    .header("User-Agent", "PlugManX/1.0")
-                    .timeout(Duration.ofSeconds(30))
-                    .GET()
+            var request = UpdateHttpUtil.newRequest(getApiBaseUrl() + "projects?query=" + encoded + "&limit=5")
                     .build();
 
-            var response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            var root = new Gson().fromJson(response.body(), JsonElement.class);
-            if (!root.isJsonObject()) return null;
-
-            var results = root.getAsJsonObject().getAsJsonArray("result");
-            if (results == null) return null;
-
-            for (var result : results) {
-                var json = result.getAsJsonObject();
-                var projectName = json.get("name").getAsString();
-                if (projectName.equalsIgnoreCase(name)) {
-                    var ns = json.getAsJsonObject("namespace");
-                    return ns.get("owner").getAsString() + "/" + ns.get("slug").getAsString();
+            var response = UpdateHttpUtil.send(UpdateHttpUtil.HANGAR, request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response == null) return null;
+
+            try (var reader = JsonStreamUtil.reader(response.body())) {
+                if (!JsonStreamUtil.enterObject(reader) || !JsonStreamUtil.seek(reader, "result")) return null;
+                if (!JsonStreamUtil.enterArray(reader)) return null;
+
+                while (reader.hasNext()) {
+                    if (!JsonStreamUtil.enterObject(reader)) {
+                        reader.skipValue();
+                        continue;
+                    }
+
+                    String projectName = null;
+                    String owner = null;
+                    String slug = null;
+                    while (reader.hasNext()) switch (reader.nextName()) {
+                        case "name" -> projectName = JsonStreamUtil.nextString(reader);
+                        case "namespace" -> {
+                            if (!JsonStreamUtil.enterObject(reader)) {
+                                reader.skipValue();
+                                break;
+                            }
+                            while (reader.hasNext()) switch (reader.nextName()) {
+                                case "owner" -> owner = JsonStreamUtil.nextString(reader);
+                                case "slug" -> slug = JsonStreamUtil.nextString(reader);
+                                default -> reader.skipValue();
+                            }
+                            reader.endObject();
+                        }
+                        default -> reader.skipValue();
+                    }
+                    reader.endObject();
+
+                    if (owner != null && slug != null && name.equalsIgnoreCase(projectName)) return owner + "/" + slug;
                 }
             }
-        } catch (IOException | InterruptedException e) {
+        } catch (IOException | InterruptedException | IllegalStateException e) {
             LOGGER.log(Level.WARNING, "Failed to search Hangar for: " + name, e);
         }
         return null;
@@ -105,24 +133,123 @@ public class HangarUtil {
      * @return the latest version name, or null on failure
      */
     public static String getLatestVersion(String projectSlug) {
-        try (var client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build()) {
-            var request = HttpRequest.newBuilder()
-                    .uri(URI.create(API_BASE_URL + "projects/" + projectSlug + "/versions?limit=1&offset=0"))
-                    .header("User-Agent", "PlugManX/1.0")
-                    .timeout(Duration.ofSeconds(30))
-                    .GET()
+        return getLatestVersion(projectSlug, null);
+    }
+
+    /**
+     * Get the latest version string for a Hangar project that has a file for the platform.
+     *
+     * @param projectSlug "Author/Slug" of the project
+     * @param platform    the platform, e.g. {@link #PAPER}, or null for any
+     * @return the latest version name, or null on failure
+     */
+    public static String getLatestVersion(String projectSlug, String platform) {
+        try {
+            var url = getApiBaseUrl() + "projects/" + projectSlug + "/versions?limit=1&offset=0";
+            if (platform != null) url += "&platform=" + platform;
+            var request = UpdateHttpUtil.newRequest(url)
                     .build();
 
-            var response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            var root = new Gson().fromJson(response.body(), JsonElement.class);
-            if (!root.isJsonObject()) return null;
+            var response = UpdateHttpUtil.send(UpdateHttpUtil.HANGAR, request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response == null) return null;
 
-            var results = root.getAsJsonObject().getAsJsonArray("result");
-            if (results == null || results.isEmpty()) return null;
-            return results.get(0).getAsJsonObject().get("name").getAsString();
-        } catch (IOException | InterruptedException e) {
+            try (var reader = JsonStreamUtil.reader(response.body())) {
+                if (!JsonStreamUtil.enterObject(reader) || !JsonStreamUtil.seek(reader, "result")) return null;
+                if (!JsonStreamUtil.enterArray(reader) || !reader.hasNext()) return null;
+                if (!JsonStreamUtil.enterObject(reader)) return null;
+                return JsonStreamUtil.seek(reader, "name")? JsonStreamUtil.nextString(reader) : null;
+            }
+        } catch (IOException | InterruptedException | IllegalStateException e) {
             LOGGER.log(Level.WARNING, "Failed to get Hangar version for: " + projectSlug, e);
         }
         return null;
     }
+
+    /**
+     * Get the file of the latest version of a Hangar project for a platform.
+     *
+     * @param projectSlug "Author/Slug" of the project
+     * @param platform    the platform, e.g. {@link #PAPER}
+     * @return the file with its SHA-256 hash, or null on failure or if the version has no file for the platform.
+     * Externally hosted files are returned without a hash.
+     */
+    public static ReleaseFile getLatestFile(String projectSlug, String platform) {
+        try {
+            var request = UpdateHttpUtil.newRequest(getApiBaseUrl() + "projects/" + projectSlug + "/versions?limit=1&offset=0&platform=" + platform)
+                    .build();
+
+            var response = UpdateHttpUtil.send(UpdateHttpUtil.HANGAR, request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response == null) return null;
+
+            try (var reader = JsonStreamUtil.reader(response.body())) {
+                if (!JsonStreamUtil.enterObject(reader) || !JsonStreamUtil.seek(reader, "result")) return null;
+                if (!JsonStreamUtil.enterArray(reader) || !reader.hasNext()) return null;
+                if (!JsonStreamUtil.enterObject(reader)) return null;
+
+                String version = null;
+                ReleaseFile file = null;
+                while (reader.hasNext()) switch (reader.nextName()) {
+                    case "name" -> version = JsonStreamUtil.nextString(reader);
+                    case "downloads" -> {
+                        if (!JsonStreamUtil.enterObject(reader)) {
+                            reader.skipValue();
+                            break;
+                        }
+                        while (reader.hasNext()) {
+                            if (reader.nextName().equals(platform)) file = readDownload(reader);
+                            else reader.skipValue();
+                        }
+                        reader.endObject();
+                    }
+                    default -> reader.skipValue();
+                }
+
+                if (file == null) return null;
+                return new ReleaseFile(UpdateHttpUtil.HANGAR, version, file.fileName(), file.url(), file.algorithm(), file.hash(), file.size());
+            }
+        } catch (IOException | InterruptedException | IllegalStateException e) {
+            LOGGER.log(Level.WARNING, "Failed to get Hangar file for: " + projectSlug, e);
+        }
+        return null;
+    }
+
+    private static ReleaseFile readDownload(JsonReader reader) throws IOException {
+        if (!JsonStreamUtil.enterObject(reader)) {
+            reader.skipValue();
+            return null;
+        }
+
+        String fileName = null;
+        String sha256 = null;
+        var size = -1L;
+        String downloadUrl = null;
+        String externalUrl = null;
+        while (reader.hasNext()) switch (reader.nextName()) {
+            case "downloadUrl" -> downloadUrl = JsonStreamUtil.nextString(reader);
+            case "externalUrl" -> externalUrl = JsonStreamUtil.nextString(reader);
+            case "fileInfo" -> {
+                if (!JsonStreamUtil.enterObject(reader)) {
+                    reader.skipValue();
+                    break;
+                }
+                while (reader.hasNext()) switch (reader.nextName()) {
+                    case "name" -> fileName = JsonStreamUtil.nextString(reader);
+                    case "sha256Hash" -> sha256 = JsonStreamUtil.nextString(reader);
+                    case "sizeBytes" -> size = JsonStreamUtil.nextLong(reader, -1);
+                    default -> reader.skipValue();
+                }
+                reader.endObject();
+            }
+            default -> reader.skipValue();
+        }
+        reader.endObject();
+
+        if (downloadUrl != null) return new ReleaseFile(UpdateHttpUtil.HANGAR, null, fileName, downloadUrl, sha256 == null? null : ReleaseFile.SHA_256, sha256, size);
+        if (externalUrl != null) return new ReleaseFile(UpdateHttpUtil.HANGAR, null, fileName, externalUrl, null, null, -1);
+        return null;
+    }
+
+    private static String getApiBaseUrl() {
+        return UpdateHttpUtil.getBaseUrl(UpdateHttpUtil.HANGAR, API_BASE_URL);
+    }
 }
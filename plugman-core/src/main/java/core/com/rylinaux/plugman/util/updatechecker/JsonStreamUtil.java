@@ -0,0 +1,118 @@
+package core.com.rylinaux.plugman.util.updatechecker;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helpers for reading provider responses with a streaming {@link JsonReader}.
+ * <p>
+ * Providers usually need a single field of a response, so they walk the stream up to that field
+ * and close it instead of building the whole tree.
+ */
+@UtilityClass
+public class JsonStreamUtil {
+
+    /**
+     * Shared Gson instance for the few places that still need a tree.
+     */
+    public static final Gson GSON = new Gson();
+
+    /**
+     * Open a JSON reader over a response body.
+     *
+     * @param in the response body
+     * @return the reader, closing it closes the body
+     */
+    public static JsonReader reader(InputStream in) {
+        return new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Enter an array if the next token starts one.
+     *
+     * @param reader the reader
+     * @return true if an array was entered
+     * @throws IOException if the stream could not be read
+     */
+    public static boolean enterArray(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) return false;
+        reader.beginArray();
+        return true;
+    }
+
+    /**
+     * Enter an object if the next token starts one.
+     *
+     * @param reader the reader
+     * @return true if an object was entered
+     * @throws IOException if the stream could not be read
+     */
+    public static boolean enterObject(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) return false;
+        reader.beginObject();
+        return true;
+    }
+
+    /**
+     * Skip the fields of the current object until the given field is found.
+     *
+     * @param reader the reader, positioned inside an object
+     * @param name   the field name
+     * @return true if the reader is now positioned at the field's value
+     * @throws IOException if the stream could not be read
+     */
+    public static boolean seek(JsonReader reader, String name) throws IOException {
+        while (reader.hasNext()) {
+            if (reader.nextName().equals(name)) return true;
+            reader.skipValue();
+        }
+        return false;
+    }
+
+    /**
+     * Read the next value as a string.
+     *
+     * @param reader the reader
+     * @return the value, or null if it is null or not a primitive
+     * @throws IOException if the stream could not be read
+     */
+    public static String nextString(JsonReader reader) throws IOException {
+        return switch (reader.peek()) {
+            case STRING, NUMBER -> reader.nextString();
+            case BOOLEAN -> String.valueOf(reader.nextBoolean());
+            case NULL -> {
+                reader.nextNull();
+                yield null;
+            }
+            default -> {
+                reader.skipValue();
+                yield null;
+            }
+        };
+    }
+
+    /**
+     * Read the next value as a long.
+     *
+     * @param reader       the reader
+     * @param defaultValue the value to return if the next value is not a number
+     * @return the value
+     * @throws IOException if the stream could not be read
+     */
+    public static long nextLong(JsonReader reader, long defaultValue) throws IOException {
+        var value = nextString(reader);
+        if (value == null) return defaultValue;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ignored) {
+            return defaultValue;
+        }
+    }
+}
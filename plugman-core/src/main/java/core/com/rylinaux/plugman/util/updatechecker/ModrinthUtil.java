@@ -1,22 +1,19 @@
 package core.com.rylinaux.plugman.util.updatechecker;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.pojo.ReleaseFile;
 import core.com.rylinaux.plugman.pojo.UpdateResult;
+import com.google.gson.stream.JsonReader;
 import lombok.experimental.UtilityClass;
 
 import java.io.IOException;
-import java.net.URI;
 import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 /**
  * Utilities for checking plugin updates via the Modrinth API.
@@ -36,6 +33,20 @@ public class ModrinthUtil {
      * @return the update result
      */
     public static UpdateResult checkUpToDate(String pluginName, String projectId, PluginManager pluginManager) {
+        return checkUpToDate(pluginName, projectId, pluginManager, null, null);
+    }
+
+    /**
+     * Check if a plugin is up-to-date using Modrinth, only looking at versions that run on the platform.
+     *
+     * @param pluginName    the name of the plugin
+     * @param projectId     the Modrinth project ID/slug, or null to search by name
+     * @param pluginManager the plugin manager instance
+     * @param platform      the Hangar platform the server runs, e.g. {@link HangarUtil#PAPER}, or null for any
+     * @param gameVersion   the Minecraft version the server runs, or null if unknown
+     * @return the update result
+     */
+    public static UpdateResult checkUpToDate(String pluginName, String projectId, PluginManager pluginManager, String platform, String gameVersion) {
         if (projectId == null) projectId = getProjectId(pluginName);
 
         if (projectId == null) {
@@ -44,7 +55,7 @@ public class ModrinthUtil {
             return new UpdateResult(UpdateResult.ResultType.INVALID_PLUGIN, plugin.getVersion());
         }
 
-        var latestVersion = getLatestVersion(projectId);
+        var latestVersion = getLatestVersion(projectId, platform, gameVersion);
 
         if (latestVersion == null) {
             var plugin = pluginManager.getPluginByName(pluginName);
@@ -56,10 +67,7 @@ public class ModrinthUtil {
         if (plugin == null) return new UpdateResult(UpdateResult.ResultType.NOT_INSTALLED);
 
         var currentVersion = plugin.getVersion();
-        var isActual = UpdateUtil.isActualVersion(currentVersion, latestVersion);
-        if (isActual != null && isActual)
-            return new UpdateResult(UpdateResult.ResultType.UP_TO_DATE, currentVersion, latestVersion);
-        return new UpdateResult(UpdateResult.ResultType.OUT_OF_DATE, currentVersion, latestVersion);
+        return UpdateUtil.compareVersions(currentVersion, latestVersion);
     }
 
     /**
@@ -69,30 +77,38 @@ public class ModrinthUtil {
      * @return the Modrinth project ID, or null if not found
      */
     public static String getProjectId(String name) {
-        try (var client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build()) {
+        try {
             var encoded = URLEncoder.encode(name, StandardCharsets.UTF_8);
-            var request = HttpRequest.newBuilder()
-                    .uri(URI.create(API_BASE_URL + "search?query=" + encoded
-                            + "&facets=[[%22project_type:plugin%22]]&limit=5"))
-                    .header("User-Agent", "PlugManX/1.0")
-                    .timeout(Duration.ofSeconds(30))
-                    .GET()
+            var request = UpdateHttpUtil.newRequest(getApiBaseUrl() + "search?query=" + encoded
+                    + "&facets=[[%22project_type:plugin%22]]&limit=5")
                     .build();
 
-            var response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            var root = new Gson().fromJson(response.body(), JsonElement.class);
-            if (!root.isJsonObject()) return null;
+            var response = UpdateHttpUtil.send(UpdateHttpUtil.MODRINTH, request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response == null) return null;
+
+            try (var reader = JsonStreamUtil.reader(response.body())) {
+                if (!JsonStreamUtil.enterObject(reader) || !JsonStreamUtil.seek(reader, "hits")) return null;
+                if (!JsonStreamUtil.enterArray(reader)) return null;
 
-            var hits = root.getAsJsonObject().getAsJsonArray("hits");
-            if (hits == null) return null;
+                while (reader.hasNext()) {
+                    if (!JsonStreamUtil.enterObject(reader)) {
+                        reader.skipValue();
+                        continue;
+                    }
 
-            for (var hit : hits) {
-                var json = hit.getAsJsonObject();
-                var title = json.get("title").getAsString();
-                if (title.equalsIgnoreCase(name))
-                    return json.get("project_id").getAsString();
+                    String title = null;
+                    String id = null;
+                    while (reader.hasNext()) switch (reader.nextName()) {
+                        case "title" -> title = JsonStreamUtil.nextString(reader);
+                        case "project_id" -> id = JsonStreamUtil.nextString(reader);
+                        default -> reader.skipValue();
+                    }
+                    reader.endObject();
+
+                    if (id != null && name.equalsIgnoreCase(title)) return id;
+                }
             }
-        } catch (IOException | InterruptedException e) {
+        } catch (IOException | InterruptedException | IllegalStateException e) {
             LOGGER.log(Level.WARNING, "Failed to search Modrinth for: " + name, e);
         }
         return null;
@@ -105,21 +121,178 @@ public class ModrinthUtil {
      * @return the latest version string, or null on failure
      */
     public static String getLatestVersion(String projectId) {
-        try (var client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build()) {
-            var request = HttpRequest.newBuilder()
-                    .uri(URI.create(API_BASE_URL + "project/" + projectId + "/version?limit=1"))
-                    .header("User-Agent", "PlugManX/1.0")
-                    .timeout(Duration.ofSeconds(30))
-                    .GET()
-                    .build();
+        return getLatestVersion(projectId, null, null);
+    }
 
-            var response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            var arr = new Gson().fromJson(response.body(), JsonArray.class);
-            if (arr == null || arr.isEmpty()) return null;
-            return arr.get(0).getAsJsonObject().get("version_number").getAsString();
-        } catch (IOException | InterruptedException e) {
+    /**
+     * Get the latest version string for a Modrinth project that runs on the platform.
+     *
+     * @param projectId   the Modrinth project ID or slug
+     * @param platform    the Hangar platform the server runs, or null for any
+     * @param gameVersion the Minecraft version the server runs, or null if unknown
+     * @return the latest version string, or null on failure
+     */
+    public static String getLatestVersion(String projectId, String platform, String gameVersion) {
+        try (var reader = openLatestVersion(projectId, platform, gameVersion)) {
+            if (reader == null) return null;
+            return JsonStreamUtil.seek(reader, "version_number")? JsonStreamUtil.nextString(reader) : null;
+        } catch (IOException | InterruptedException | IllegalStateException e) {
             LOGGER.log(Level.WARNING, "Failed to get Modrinth version for: " + projectId, e);
         }
         return null;
     }
+
+    /**
+     * Get the primary file of the latest version of a Modrinth project.
+     *
+     * @param projectId the Modrinth project ID or slug
+     * @return the file with its SHA-512 hash, or null on failure
+     */
+    public static ReleaseFile getLatestFile(String projectId) {
+        return getLatestFile(projectId, null, null);
+    }
+
+    /**
+     * Get the primary file of the latest version of a Modrinth project that runs on the platform.
+     *
+     * @param projectId   the Modrinth project ID or slug
+     * @param platform    the Hangar platform the server runs, or null for any
+     * @param gameVersion the Minecraft version the server runs, or null if unknown
+     * @return the file with its SHA-512 hash, or null on failure
+     */
+    public static ReleaseFile getLatestFile(String projectId, String platform, String gameVersion) {
+        try (var reader = openLatestVersion(projectId, platform, gameVersion)) {
+            if (reader == null) return null;
+
+            String version = null;
+            VersionFile primary = null;
+            VersionFile first = null;
+            while (reader.hasNext()) switch (reader.nextName()) {
+                case "version_number" -> version = JsonStreamUtil.nextString(reader);
+                case "files" -> {
+                    if (!JsonStreamUtil.enterArray(reader)) {
+                        reader.skipValue();
+                        break;
+                    }
+                    while (reader.hasNext()) {
+                        var file = readFile(reader);
+                        if (file == null) continue;
+                        if (first == null) first = file;
+                        if (file.primary() && primary == null) primary = file;
+                    }
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+
+            var file = primary != null? primary : first;
+            if (file == null) return null;
+            return new ReleaseFile(UpdateHttpUtil.MODRINTH, version, file.fileName(), file.url(),
+                    file.sha512() == null? null : ReleaseFile.SHA_512, file.sha512(), file.size());
+        } catch (IOException | InterruptedException | IllegalStateException e) {
+            LOGGER.log(Level.WARNING, "Failed to get Modrinth file for: " + projectId, e);
+        }
+        return null;
+    }
+
+    /**
+     * Open the newest version of a project that runs on the platform, preferring versions published for the game
+     * version, since many projects do not list every game version they run on.
+     *
+     * @return a reader inside the version object, or null if there is none
+     */
+    private static JsonReader openLatestVersion(String projectId, String platform, String gameVersion) throws IOException, InterruptedException {
+        var reader = openLatestVersion(getVersionsUrl(projectId, platform, gameVersion));
+        if (reader == null && gameVersion != null) reader = openLatestVersion(getVersionsUrl(projectId, platform, null));
+        return reader;
+    }
+
+    private static JsonReader openLatestVersion(String url) throws IOException, InterruptedException {
+        var request = UpdateHttpUtil.newRequest(url).build();
+        var response = UpdateHttpUtil.send(UpdateHttpUtil.MODRINTH, request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response == null) return null;
+
+        var reader = JsonStreamUtil.reader(response.body());
+        var found = false;
+        try {
+            found = JsonStreamUtil.enterArray(reader) && reader.hasNext() && JsonStreamUtil.enterObject(reader);
+            return found? reader : null;
+        } finally {
+            if (!found) reader.close();
+        }
+    }
+
+    private static String getVersionsUrl(String projectId, String platform, String gameVersion) {
+        var url = new StringBuilder(getApiBaseUrl()).append("project/").append(projectId).append("/version?limit=1");
+        var loaders = getLoaders(platform);
+        if (!loaders.isEmpty()) url.append("&loaders=").append(toJsonArray(loaders));
+        if (gameVersion != null) url.append("&game_versions=").append(toJsonArray(List.of(gameVersion)));
+        return url.toString();
+    }
+
+    /**
+     * Get the Modrinth loaders whose plugins run on a platform.
+     *
+     * @param platform the Hangar platform, or null
+     * @return the loaders, empty to not filter
+     */
+    private static List<String> getLoaders(String platform) {
+        if (platform == null) return List.of();
+
+        return switch (platform) {
+            case HangarUtil.PAPER -> List.of("bukkit", "spigot", "paper");
+            case HangarUtil.VELOCITY -> List.of("velocity");
+            case HangarUtil.WATERFALL -> List.of("bungeecord", "waterfall");
+            default -> List.of();
+        };
+    }
+
+    private static String toJsonArray(List<String> values) {
+        var json = values.stream().map(value -> "\"" + value + "\"").collect(Collectors.joining(",", "[", "]"));
+        return URLEncoder.encode(json, StandardCharsets.UTF_8);
+    }
+
+    private static VersionFile readFile(JsonReader reader) throws IOException {
+        if (!JsonStreamUtil.enterObject(reader)) {
+            reader.skipValue();
+            return null;
+        }
+
+        String url = null;
+        String fileName = null;
+        String sha512 = null;
+        var size = -1L;
+        var primary = false;
+        while (reader.hasNext()) switch (reader.nextName()) {
+            case "url" -> url = JsonStreamUtil.nextString(reader);
+            case "filename" -> fileName = JsonStreamUtil.nextString(reader);
+            case "primary" -> primary = "true".equals(JsonStreamUtil.nextString(reader));
+            case "size" -> size = JsonStreamUtil.nextLong(reader, -1);
+            case "hashes" -> {
+                if (!JsonStreamUtil.enterObject(reader)) {
+                    reader.skipValue();
+                    break;
+                }
+                while (reader.hasNext()) {
+                    if (reader.nextName().equals("sha512")) sha512 = JsonStreamUtil.nextString(reader);
+                    else reader.skipValue();
+                }
+                reader.endObject();
+            }
+            default -> reader.skipValue();
+        }
+        reader.endObject();
+
+        return url == null? null : new VersionFile(url, fileName, sha512, size, primary);
+    }
+
+    private static String getApiBaseUrl() {
+        return UpdateHttpUtil.getBaseUrl(UpdateHttpUtil.MODRINTH, API_BASE_URL);
+    }
+
+    /**
+     * A file of a Modrinth version.
+     */
+    private record VersionFile(String url, String fileName, String sha512, long size, boolean primary) {
+    }
 }
@@ -0,0 +1,182 @@
+package core.com.rylinaux.plugman.util.updatechecker;
+
+import lombok.Getter;
+
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket rate limiter for a single update provider.
+ * <p>
+ * The bucket refills at the provider's documented rate and is additionally clamped by the
+ * {@code Retry-After} and {@code X-RateLimit-*} headers the provider sends back, so concurrent
+ * checks settle at the provider's real limit instead of running into 429 responses.
+ */
+public class ProviderRateLimiter {
+
+    /**
+     * Values of {@code X-RateLimit-Reset} above this are epoch seconds (GitHub), below it are
+     * seconds until the window resets (Modrinth).
+     */
+    private static final long EPOCH_SECONDS_THRESHOLD = 1_000_000_000L;
+
+    @Getter
+    private final String providerId;
+    @Getter
+    private final int capacity;
+    private final double refillPerNano;
+
+    private double tokens;
+    private long lastRefill;
+    private long blockedUntil;
+
+    /**
+     * Create a rate limiter.
+     *
+     * @param providerId the provider this limiter belongs to
+     * @param capacity   the maximum burst size
+     * @param period     the time it takes to refill the whole bucket
+     */
+    public ProviderRateLimiter(String providerId, int capacity, Duration period) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+        if (period.isZero() || period.isNegative()) throw new IllegalArgumentException("period must be positive");
+        this.providerId = providerId;
+        this.capacity = capacity;
+        this.refillPerNano = (double) capacity / period.toNanos();
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+        this.blockedUntil = lastRefill;
+    }
+
+    /**
+     * Take a token, waiting for one to become available.
+     *
+     * @param maxWait the longest time to wait for a token
+     * @return true if a token was taken, false if none would be available within {@code maxWait}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean acquire(Duration maxWait) throws InterruptedException {
+        var deadline = System.nanoTime() + maxWait.toNanos();
+        while (true) {
+            var wait = tryAcquire();
+            if (wait == 0) return true;
+            if (System.nanoTime() + wait - deadline > 0) return false;
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    /**
+     * Take a token if one is available.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until the next token is available
+     */
+    public synchronized long tryAcquire() {
+        var now = System.nanoTime();
+        if (blockedUntil - now > 0) return blockedUntil - now;
+
+        refill(now);
+        if (tokens >= 1) {
+            tokens--;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) / refillPerNano));
+    }
+
+    /**
+     * Check if the provider has told us to stop sending requests for now.
+     *
+     * @return true if requests are blocked by a Retry-After or exhausted rate limit window
+     */
+    public synchronized boolean isBlocked() {
+        return blockedUntil - System.nanoTime() > 0;
+    }
+
+    /**
+     * Feed the rate limit headers of a response back into the bucket.
+     *
+     * @param statusCode the response status code
+     * @param headers    the response headers
+     * @return the delay the provider asked for in milliseconds, or 0 if it did not ask for one
+     */
+    public synchronized long onResponse(int statusCode, HttpHeaders headers) {
+        var now = System.nanoTime();
+        refill(now);
+
+        var delay = parseRetryAfter(headers);
+
+        var remaining = headerAsLong(headers, "X-RateLimit-Remaining");
+        if (remaining.isPresent()) {
+            tokens = Math.min(tokens, remaining.getAsLong());
+            if (remaining.getAsLong() <= 0) delay = Math.max(delay, parseReset(headers));
+        }
+
+        if (statusCode == 429 && delay <= 0) tokens = 0;
+        if (delay > 0) block(now, delay);
+        return delay;
+    }
+
+    /**
+     * Stop handing out tokens for the given time.
+     *
+     * @param delayMillis the time to block for in milliseconds
+     */
+    public synchronized void blockFor(long delayMillis) {
+        block(System.nanoTime(), delayMillis);
+    }
+
+    private void block(long now, long delayMillis) {
+        var until = now + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        if (until - blockedUntil > 0) blockedUntil = until;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+
+    /**
+     * Parse a {@code Retry-After} header, which is either a number of seconds or an HTTP date.
+     *
+     * @param headers the response headers
+     * @return the delay in milliseconds, or 0 if absent or unparseable
+     */
+    static long parseRetryAfter(HttpHeaders headers) {
+        var value = headers.firstValue("Retry-After").orElse(null);
+        if (value == null || value.isBlank()) return 0;
+        value = value.trim();
+
+        try {
+            return Math.max(0, TimeUnit.SECONDS.toMillis(Long.parseLong(value)));
+        } catch (NumberFormatException ignored) {
+        }
+
+        try {
+            var date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, date.toInstant().toEpochMilli() - System.currentTimeMillis());
+        } catch (DateTimeParseException ignored) {
+            return 0;
+        }
+    }
+
+    private static long parseReset(HttpHeaders headers) {
+        var reset = headerAsLong(headers, "X-RateLimit-Reset");
+        if (reset.isEmpty()) return 0;
+
+        var value = reset.getAsLong();
+        if (value > EPOCH_SECONDS_THRESHOLD) return Math.max(0, TimeUnit.SECONDS.toMillis(value) - System.currentTimeMillis());
+        return Math.max(0, TimeUnit.SECONDS.toMillis(value));
+    }
+
+    private static OptionalLong headerAsLong(HttpHeaders headers, String name) {
+        try {
+            return headers.firstValueAsLong(name);
+        } catch (NumberFormatException exception) {
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -26,20 +26,14 @@ package core.com.rylinaux.plugman.util.updatechecker;
  * #L%
  */
 
-import com.google.gson.Gson;
 import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
 import core.com.rylinaux.plugman.plugins.PluginManager;
 import core.com.rylinaux.plugman.pojo.UpdateResult;
-import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.logging.Level;
@@ -100,9 +94,9 @@ public class SpiGetUtil {
             return new UpdateResult(UpdateResult.ResultType.INVALID_PLUGIN, plugin.getVersion());
         }
 
-        var versions = SpiGetUtil.getPluginVersions(pluginId);
+        var latestVersion = SpiGetUtil.getLatestVersion(pluginId);
 
-        if (versions == null || versions.isEmpty()) {
+        if (latestVersion == null) {
             var plugin = pluginManager.getPluginByName(pluginName);
             if (plugin == null)
                 if (idSpecified) return new UpdateResult(UpdateResult.ResultType.INVALID_PLUGIN, pluginName);
@@ -110,21 +104,15 @@ public class SpiGetUtil {
             return new UpdateResult(UpdateResult.ResultType.INVALID_PLUGIN, plugin.getVersion());
         }
 
-        var latest = versions.get(0).getAsJsonObject();
-
         var plugin = pluginManager.getPluginByName(pluginName);
         if (plugin == null) if (idSpecified) return new UpdateResult(UpdateResult.ResultType.INVALID_PLUGIN, "null");
         else return new UpdateResult(UpdateResult.ResultType.NOT_INSTALLED, "null", "null");
 
         var currentVersion = plugin.getVersion();
-        var latestVersion = latest.get("name").getAsString();
 
         if (currentVersion == null) return new UpdateResult(UpdateResult.ResultType.NOT_INSTALLED, currentVersion, latestVersion);
-        else if (latestVersion == null) return new UpdateResult(UpdateResult.ResultType.INVALID_PLUGIN, currentVersion, latestVersion);
 
-        var isActual = UpdateUtil.isActualVersion(currentVersion, latestVersion);
-        if (isActual != null && isActual) return new UpdateResult(UpdateResult.ResultType.UP_TO_DATE, currentVersion, latestVersion);
-        else return new UpdateResult(UpdateResult.ResultType.OUT_OF_DATE, currentVersion, latestVersion);
+        return UpdateUtil.compareVersions(currentVersion, latestVersion);
 
     }
 
@@ -135,74 +123,92 @@ public class SpiGetUtil {
      * @return the id of the plugin.
      */
     public static long getPluginId(String name) {
-        try (var client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build()) {
-
-            var request = HttpRequest.newBuilder()
-                    .uri(URI.create(API_BASE_URL + "search/resources/" + name + "?field=name&fields=id%2Cname"))
-                    .header("User-Agent", "PlugMan")
-                    .timeout(Duration.ofSeconds(30))
-                    .GET()
-                    .build();
-
-            try {
-                var response = client.send(request, HttpResponse.BodyHandlers.ofString());
-                var body = response.body();
-
-                var gson = new Gson();
-                var object = gson.fromJson(body, JsonElement.class);
-
-                if (object.isJsonArray()) {
-                    var array = object.getAsJsonArray();
-
-                    for (var o : array) {
-                        var json = o.getAsJsonObject();
-                        var pluginName = json.get("name").getAsString();
-                        if (name.equalsIgnoreCase(pluginName))
-                            return json.get("id").getAsLong();
+        var request = UpdateHttpUtil.newRequest(getApiBaseUrl() + "search/resources/" + name + "?field=name&fields=id%2Cname").build();
+
+        try {
+            var response = UpdateHttpUtil.send(UpdateHttpUtil.SPIGET, request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response == null) return -1;
+
+            try (var reader = JsonStreamUtil.reader(response.body())) {
+                if (!JsonStreamUtil.enterArray(reader)) return -1;
+
+                while (reader.hasNext()) {
+                    if (!JsonStreamUtil.enterObject(reader)) {
+                        reader.skipValue();
+                        continue;
                     }
-                }
 
-            } catch (IOException | InterruptedException exception) {
-                LOGGER.log(Level.SEVERE, "Failed to get plugin ID for: " + name, exception);
+                    String pluginName = null;
+                    String id = null;
+                    while (reader.hasNext()) switch (reader.nextName()) {
+                        case "name" -> pluginName = JsonStreamUtil.nextString(reader);
+                        case "id" -> id = JsonStreamUtil.nextString(reader);
+                        default -> reader.skipValue();
+                    }
+                    reader.endObject();
+
+                    if (id != null && name.equalsIgnoreCase(pluginName)) return Long.parseLong(id);
+                }
             }
+
+        } catch (IOException | InterruptedException | IllegalStateException | NumberFormatException exception) {
+            LOGGER.log(Level.SEVERE, "Failed to get plugin ID for: " + name, exception);
         }
 
         return -1;
     }
 
+    /**
+     * Get the name of the most recently released version of a plugin.
+     *
+     * @param id the plugin id.
+     * @return the latest version name, or null if it could not be fetched.
+     */
+    public static String getLatestVersion(long id) {
+        var request = UpdateHttpUtil.newRequest(getApiBaseUrl() + "resources/" + id + "/versions?size=1&sort=-releaseDate").build();
+
+        try {
+            var response = UpdateHttpUtil.send(UpdateHttpUtil.SPIGET, request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response == null) return null;
+
+            try (var reader = JsonStreamUtil.reader(response.body())) {
+                if (!JsonStreamUtil.enterArray(reader) || !reader.hasNext()) return null;
+                if (!JsonStreamUtil.enterObject(reader)) return null;
+                return JsonStreamUtil.seek(reader, "name")? JsonStreamUtil.nextString(reader) : null;
+            }
+
+        } catch (IOException | InterruptedException | IllegalStateException exception) {
+            LOGGER.log(Level.SEVERE, "Failed to get latest version for ID: " + id, exception);
+        }
+
+        return null;
+    }
+
     /**
      * Get the versions for a given plugin.
      *
      * @param id the plugin id.
      * @return the JSON encoded data.
      */
-    @SneakyThrows
     public static JsonArray getPluginVersions(long id) {
-        try (var client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build()) {
-
-            var request = HttpRequest.newBuilder()
-                    .uri(URI.create(API_BASE_URL + "resources/" + id + "/versions?sort=-releaseDate"))
-                    .header("User-Agent", "PlugMan")
-                    .timeout(Duration.ofSeconds(30))
-                    .GET()
-                    .build();
-
-            try {
-                var response = client.send(request, HttpResponse.BodyHandlers.ofString());
-                var body = response.body();
-
-                var gson = new Gson();
-                return gson.fromJson(body, JsonArray.class);
-
-            } catch (IOException | InterruptedException exception) {
-                LOGGER.log(Level.SEVERE, "Failed to get plugin versions for ID: " + id, exception);
+        var request = UpdateHttpUtil.newRequest(getApiBaseUrl() + "resources/" + id + "/versions?sort=-releaseDate").build();
+
+        try {
+            var response = UpdateHttpUtil.send(UpdateHttpUtil.SPIGET, request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response == null) return null;
+
+            try (var reader = JsonStreamUtil.reader(response.body())) {
+                return JsonStreamUtil.GSON.fromJson(reader, JsonArray.class);
             }
+
+        } catch (IOException | InterruptedException | JsonParseException exception) {
+            LOGGER.log(Level.SEVERE, "Failed to get plugin versions for ID: " + id, exception);
         }
 
         return null;
     }
+
+    private static String getApiBaseUrl() {
+        return UpdateHttpUtil.getBaseUrl(UpdateHttpUtil.SPIGET, API_BASE_URL);
+    }
 }
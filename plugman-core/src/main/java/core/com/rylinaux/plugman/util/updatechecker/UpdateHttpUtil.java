@@ -0,0 +1,288 @@
+package core.com.rylinaux.plugman.util.updatechecker;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shared HTTP plumbing for the update providers.
+ * <p>
+ * Every request goes through a per-provider {@link ProviderRateLimiter} and {@link CircuitBreaker}.
+ * 429 and 5xx responses as well as I/O errors are retried with jittered exponential backoff, and
+ * non-2xx responses are never handed to the JSON parser.
+ */
+@UtilityClass
+public class UpdateHttpUtil {
+    private static final Logger LOGGER = Logger.getLogger(UpdateHttpUtil.class.getName());
+
+    public static final String SPIGET = "spiget";
+    public static final String MODRINTH = "modrinth";
+    public static final String HANGAR = "hangar";
+    public static final String CURSEFORGE = "curseforge";
+    public static final String GITHUB = "github";
+    /**
+     * Pseudo provider for file downloads, which are served by CDNs rather than the provider APIs.
+     */
+    public static final String DOWNLOAD = "download";
+
+    public static final String USER_AGENT = "PlugManX/1.0";
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long BASE_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 10_000;
+    private static final Duration MAX_TOKEN_WAIT = Duration.ofSeconds(30);
+    private static final int FAILURE_THRESHOLD = 5;
+    private static final Duration OPEN_DURATION = Duration.ofMinutes(2);
+    private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    private static final Map<String, ProviderRateLimiter> RATE_LIMITERS = new ConcurrentHashMap<>();
+    private static final Map<String, CircuitBreaker> CIRCUIT_BREAKERS = new ConcurrentHashMap<>();
+    private static final Map<String, String> BASE_URLS = new ConcurrentHashMap<>();
+
+    /**
+     * Set while {@link #failIfUnanswered} runs, so {@link #send} can flag requests that got no answer.
+     */
+    private static final ThreadLocal<boolean[]> UNANSWERED = new ThreadLocal<>();
+
+    private static volatile Duration requestTimeout = DEFAULT_REQUEST_TIMEOUT;
+
+    /**
+     * Create a GET request with the default headers and timeout.
+     *
+     * @param url the URL to request
+     * @return the request builder
+     */
+    public static HttpRequest.Builder newRequest(String url) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .header("User-Agent", USER_AGENT)
+                .timeout(requestTimeout)
+                .GET();
+    }
+
+    /**
+     * Send a request to an update provider.
+     *
+     * @param providerId  the provider the request is sent to
+     * @param request     the request
+     * @param bodyHandler the body handler
+     * @param <T>         the body type
+     * @return the response, or null if the provider answered with a non-2xx status, is rate limited or is down
+     * @throws IOException          if the request still failed after retrying
+     * @throws InterruptedException if interrupted while waiting or sending
+     */
+    public static <T> HttpResponse<T> send(String providerId, HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        var limiter = getRateLimiter(providerId);
+        var breaker = getCircuitBreaker(providerId);
+
+        for (var attempt = 1; ; attempt++) {
+            // The breaker goes first, so calls it rejects do not use up rate limit tokens
+            if (!breaker.allowRequest()) {
+                LOGGER.log(Level.FINE, "Circuit for " + providerId + " is open, skipping " + request.uri());
+                markUnanswered();
+                return null;
+            }
+
+            boolean acquired;
+            try {
+                acquired = limiter.acquire(MAX_TOKEN_WAIT);
+            } catch (InterruptedException | RuntimeException exception) {
+                breaker.recordAbandoned();
+                throw exception;
+            }
+            if (!acquired) {
+                LOGGER.log(Level.FINE, "Rate limit for " + providerId + " exhausted, skipping " + request.uri());
+                breaker.recordAbandoned();
+                markUnanswered();
+                return null;
+            }
+
+            HttpResponse<T> response;
+            try {
+                response = CLIENT.send(request, bodyHandler);
+            } catch (InterruptedException | RuntimeException exception) {
+                breaker.recordAbandoned();
+                throw exception;
+            } catch (IOException exception) {
+                recordFailure(breaker);
+                if (attempt >= MAX_ATTEMPTS) {
+                    markUnanswered();
+                    throw exception;
+                }
+                Thread.sleep(backoff(attempt));
+                continue;
+            }
+
+            var status = response.statusCode();
+            var requestedDelay = limiter.onResponse(status, response.headers());
+
+            if (status >= 200 && status < 300) {
+                breaker.recordSuccess();
+                return response;
+            }
+
+            discard(response);
+
+            var retryable = status == 429 || status >= 500;
+            if (status >= 500) recordFailure(breaker);
+            else breaker.recordSuccess();
+
+            if (!retryable) return null;
+            if (attempt >= MAX_ATTEMPTS || requestedDelay > MAX_BACKOFF_MILLIS) {
+                LOGGER.log(Level.WARNING, providerId + " answered " + status + " for " + request.uri() + ", giving up");
+                markUnanswered();
+                return null;
+            }
+
+            Thread.sleep(Math.max(backoff(attempt), requestedDelay));
+        }
+    }
+
+    /**
+     * Run a blocking lookup that reports failures as "not found", and fail it instead when it found nothing
+     * because a request got no answer: it timed out, kept failing, was rate limited or hit an open circuit.
+     * This tells a provider that is down from a resource that does not exist.
+     *
+     * @param lookup   the lookup, run on the calling thread
+     * @param notFound whether a result means nothing was found
+     * @param <T>      the result type
+     * @return the result of the lookup
+     * @throws UncheckedIOException if nothing was found and a request got no answer
+     */
+    public static <T> T failIfUnanswered(Supplier<T> lookup, Predicate<T> notFound) {
+        var outer = UNANSWERED.get();
+        var unanswered = new boolean[1];
+        UNANSWERED.set(unanswered);
+        try {
+            var result = lookup.get();
+            if (unanswered[0] && notFound.test(result)) throw new UncheckedIOException(new IOException("The provider did not answer"));
+            return result;
+        } finally {
+            if (outer == null) UNANSWERED.remove();
+            else UNANSWERED.set(outer);
+        }
+    }
+
+    /**
+     * Get the rate limiter for a provider, creating it with the provider's default limit.
+     *
+     * @param providerId the provider id
+     * @return the rate limiter
+     */
+    public static ProviderRateLimiter getRateLimiter(String providerId) {
+        return RATE_LIMITERS.computeIfAbsent(providerId, UpdateHttpUtil::createDefaultRateLimiter);
+    }
+
+    /**
+     * Replace the rate limit of a provider.
+     *
+     * @param providerId the provider id
+     * @param capacity   the number of requests allowed per period
+     * @param period     the period
+     */
+    public static void setRateLimit(String providerId, int capacity, Duration period) {
+        RATE_LIMITERS.put(providerId, new ProviderRateLimiter(providerId, capacity, period));
+    }
+
+    /**
+     * Get the circuit breaker for a provider.
+     *
+     * @param providerId the provider id
+     * @return the circuit breaker
+     */
+    public static CircuitBreaker getCircuitBreaker(String providerId) {
+        return CIRCUIT_BREAKERS.computeIfAbsent(providerId, id -> new CircuitBreaker(id, FAILURE_THRESHOLD, OPEN_DURATION));
+    }
+
+    /**
+     * Get the API base URL of a provider.
+     *
+     * @param providerId the provider id
+     * @param defaultUrl the URL of the real service
+     * @return the overridden URL if one was set, otherwise {@code defaultUrl}
+     */
+    public static String getBaseUrl(String providerId, String defaultUrl) {
+        return BASE_URLS.getOrDefault(providerId, defaultUrl);
+    }
+
+    /**
+     * Point a provider at another API base URL, e.g. a local stub server in tests.
+     *
+     * @param providerId the provider id
+     * @param baseUrl    the base URL ending with a slash, or null to use the real service again
+     */
+    public static void setBaseUrl(String providerId, String baseUrl) {
+        if (baseUrl == null) BASE_URLS.remove(providerId);
+        else BASE_URLS.put(providerId, baseUrl);
+    }
+
+    /**
+     * Set the timeout of requests created by {@link #newRequest(String)}.
+     *
+     * @param timeout the timeout
+     */
+    public static void setRequestTimeout(Duration timeout) {
+        requestTimeout = timeout;
+    }
+
+    /**
+     * Drop all base URL overrides, rate limiters and circuit breakers and restore the default timeout.
+     */
+    public static void reset() {
+        BASE_URLS.clear();
+        RATE_LIMITERS.clear();
+        CIRCUIT_BREAKERS.clear();
+        requestTimeout = DEFAULT_REQUEST_TIMEOUT;
+    }
+
+    private static ProviderRateLimiter createDefaultRateLimiter(String providerId) {
+        return switch (providerId) {
+            case MODRINTH -> new ProviderRateLimiter(providerId, 300, Duration.ofMinutes(1));
+            // Unauthenticated requests are limited to 60 per hour
+            case GITHUB -> new ProviderRateLimiter(providerId, 60, Duration.ofHours(1));
+            case DOWNLOAD -> new ProviderRateLimiter(providerId, 120, Duration.ofMinutes(1));
+            default -> new ProviderRateLimiter(providerId, 60, Duration.ofMinutes(1));
+        };
+    }
+
+    private static void markUnanswered() {
+        var unanswered = UNANSWERED.get();
+        if (unanswered != null) unanswered[0] = true;
+    }
+
+    private static void recordFailure(CircuitBreaker breaker) {
+        if (breaker.recordFailure())
+            LOGGER.log(Level.WARNING, breaker.getProviderId() + " keeps failing, pausing update checks against it for " + OPEN_DURATION.toMinutes() + " minutes");
+    }
+
+    private static long backoff(int attempt) {
+        var delay = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << (attempt - 1));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    private static void discard(HttpResponse<?> response) {
+        if (!(response.body() instanceof AutoCloseable closeable)) return;
+        try {
+            closeable.close();
+        } catch (Exception ignored) {
+        }
+    }
+}
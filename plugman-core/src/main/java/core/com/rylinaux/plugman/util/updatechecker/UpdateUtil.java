@@ -30,21 +30,22 @@ import com.google.gson.JsonArray;
 import core.com.rylinaux.plugman.config.model.ResourceMappingsConfig;
 import core.com.rylinaux.plugman.plugins.PluginManager;
 import core.com.rylinaux.plugman.pojo.UpdateResult;
-import core.com.rylinaux.plugman.util.CollectionUtil;
+import core.com.rylinaux.plugman.pojo.Version;
 import lombok.experimental.UtilityClass;
-import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
 
 @UtilityClass
 public class UpdateUtil {
-    private static final Pattern VERSION_FAMILY_NUMBERS_PATTERN = Pattern.compile("\\d+(?:\\.\\d+)*+");
-
     /**
      * Check which plugins are up-to-date or not.
      *
      * @return a map of the plugins and the results.
+     * @deprecated use {@link core.com.rylinaux.plugman.update.provider.UpdateProviderRegistry#checkAll()},
+     * which also asks third-party providers and checks plugins concurrently.
      */
+    @Deprecated
     public static Map<String, UpdateResult> checkUpToDate(PluginManager pluginManager, ResourceMappingsConfig resourceMappings) {
         var results = new TreeMap<String, UpdateResult>();
         for (var plugin : pluginManager.getPlugins()) results.put(plugin.getName(), checkUpToDate(plugin.getName(), pluginManager, resourceMappings));
@@ -58,7 +59,9 @@ public class UpdateUtil {
      *
      * @param pluginName the plugin name.
      * @return the reflective UpdateResult.
+     * @deprecated use {@link core.com.rylinaux.plugman.update.provider.UpdateProviderRegistry#check(String)}.
      */
+    @Deprecated
     public static UpdateResult checkUpToDate(String pluginName, PluginManager pluginManager, ResourceMappingsConfig resourceMappings) {
         if (resourceMappings != null && resourceMappings.getResources() != null) {
             var resourceInfo = resourceMappings.getResources().get(pluginName.toLowerCase(Locale.ROOT));
@@ -132,41 +135,22 @@ public class UpdateUtil {
         return jsonArray;
     }
 
-    protected static Boolean isActualVersion(String current, String latest) {
-        if (current.equalsIgnoreCase(latest)) return true; // Strings are fully equals
-
-        List<List<Integer>> currentNumbers;
-        List<List<Integer>> latestNumbers;
-
-        try {
-            currentNumbers = parseNumbers(VERSION_FAMILY_NUMBERS_PATTERN.matcher(current));
-            latestNumbers = parseNumbers(VERSION_FAMILY_NUMBERS_PATTERN.matcher(latest));
-        } catch (NumberFormatException ex) {
-            return null; // Unable to parse numbers to int
-        }
-
-        for (var familyIndex = 0; familyIndex < CollectionUtil.maxCollectionsSize(currentNumbers, latestNumbers); familyIndex++) {
-            var currentFamily = CollectionUtil.getElementOrDefault(currentNumbers, familyIndex, ArrayList::new);
-            var latestFamily = CollectionUtil.getElementOrDefault(latestNumbers, familyIndex, ArrayList::new);
-
-            for (var numberIndex = 0; numberIndex < CollectionUtil.maxCollectionsSize(currentFamily, latestFamily); numberIndex++) {
-                var currentValue = CollectionUtil.getElementOrDefault(currentFamily, numberIndex, () -> 0);
-                var latestValue = CollectionUtil.getElementOrDefault(latestFamily, numberIndex, () -> 0);
+    /**
+     * Compare an installed version against the latest available one.
+     *
+     * @param current the installed version.
+     * @param latest  the latest available version.
+     * @return UP_TO_DATE or OUT_OF_DATE, or UNKNOWN if either version could not be parsed.
+     */
+    public static UpdateResult compareVersions(String current, String latest) {
+        if (current == null || latest == null) return new UpdateResult(UpdateResult.ResultType.UNKNOWN, current, latest);
+        if (current.equalsIgnoreCase(latest)) return new UpdateResult(UpdateResult.ResultType.UP_TO_DATE, current, latest);
 
-                if (latestValue > currentValue) return false;
-                else if (latestValue < currentValue) return true;
-            }
-        }
-        return true; // Numbers amount equals, numbers values too
-    }
+        var currentVersion = Version.parse(current);
+        var latestVersion = Version.parse(latest);
+        if (!currentVersion.isParsed() || !latestVersion.isParsed()) return new UpdateResult(UpdateResult.ResultType.UNKNOWN, current, latest);
 
-    private static List<List<Integer>> parseNumbers(Matcher matcher) {
-        var result = new ArrayList<List<Integer>>();
-        while (matcher.find()) {
-            var familyString = matcher.group();
-            var family = Arrays.stream(familyString.split("\\.")).map(Integer::parseInt).toList();
-            result.add(family);
-        }
-        return result;
+        var type = latestVersion.isNewerThan(currentVersion)? UpdateResult.ResultType.OUT_OF_DATE : UpdateResult.ResultType.UP_TO_DATE;
+        return new UpdateResult(type, current, latest);
     }
 }
@@ -0,0 +1,82 @@
+package com.rylinaux.plugman.file;
+
+import com.rylinaux.plugman.update.QuietLogger;
+import core.com.rylinaux.plugman.file.PlugManFileManager;
+import core.com.rylinaux.plugman.file.TrackedFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class to verify the file tracking of {@link PlugManFileManager}
+ */
+public class PlugManFileManagerTest {
+    private Path jar;
+    private PlugManFileManager fileManager;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) throws Exception {
+        jar = Files.writeString(tempDir.resolve("Alpha.jar"), "alpha jar");
+        fileManager = new PlugManFileManager(new QuietLogger());
+    }
+
+    @Test
+    @DisplayName("Test changed files are detected and unchanged files are not hashed again")
+    void testChanges() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing change detection...");
+
+        var file = jar.toFile();
+        fileManager.trackFile(file);
+        assertTrue(fileManager.isFileTracked("Alpha.jar"), "Expected the file to be tracked");
+        var hash = fileManager.getFileHash(file);
+        assertNotNull(hash, "Expected the file to be hashed");
+        assertFalse(fileManager.hasFileChanged(file), "Expected an untouched file not to have changed");
+
+        var modified = Files.getLastModifiedTime(jar);
+        Files.writeString(jar, "other jar");
+        Files.setLastModifiedTime(jar, modified);
+        assertFalse(fileManager.hasFileChanged(file), "Expected a file with the same size and modified time not to be read again");
+
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(modified.toMillis() + 10_000));
+        assertTrue(fileManager.hasFileChanged(file), "Expected new contents to be detected once the modified time changes");
+        assertNotEquals(hash, fileManager.getFileHash(file), "Expected the hash of the new contents");
+
+        fileManager.updateFileHash(file);
+        assertFalse(fileManager.hasFileChanged(file), "Expected the updated hash to be used");
+
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(modified.toMillis() + 20_000));
+        assertFalse(fileManager.hasFileChanged(file), "Expected a touched file with the same contents not to have changed");
+        assertTrue(fileManager.getTrackedFiles().iterator().next().matches(file), "Expected the new modified time to be remembered");
+
+        System.out.println("[DEBUG_LOG] Change detection tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test tracked files can be iterated while they change")
+    void testIteration() {
+        System.out.println("[DEBUG_LOG] Testing iteration...");
+
+        fileManager.setPluginNameForFile("Beta.jar", "Beta");
+        assertFalse(fileManager.isFileTracked("Beta.jar"), "Expected a plugin name alone not to track the file");
+        assertEquals("Beta", fileManager.getPluginNameForFile("Beta.jar"), "Expected the plugin name");
+
+        fileManager.trackFile(jar.toFile());
+        fileManager.setPluginNameForFile("Alpha.jar", "Alpha");
+        var alpha = fileManager.getTrackedFiles().stream().filter(tracked -> tracked.name().equals("Alpha.jar")).findFirst().orElseThrow();
+        assertEquals("Alpha", alpha.pluginName(), "Expected the plugin name to be kept with the hash");
+        assertNotNull(alpha.hash(), "Expected the hash to be kept with the plugin name");
+
+        for (var tracked : fileManager.getTrackedFiles()) fileManager.untrackFile(tracked.name());
+        assertTrue(fileManager.getTrackedFileNames().isEmpty(), "Expected every file to be untracked while iterating");
+        assertThrows(UnsupportedOperationException.class, () -> fileManager.getTrackedFiles().add(new TrackedFile("Gamma.jar", 0, 0, null, null)), "Expected the view to be read-only");
+
+        System.out.println("[DEBUG_LOG] Iteration tests passed!");
+    }
+}
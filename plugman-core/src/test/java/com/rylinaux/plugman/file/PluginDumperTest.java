@@ -0,0 +1,114 @@
+package com.rylinaux.plugman.file;
+
+import com.google.gson.JsonParser;
+import com.rylinaux.plugman.update.QuietLogger;
+import com.rylinaux.plugman.update.StubPluginManager;
+import core.com.rylinaux.plugman.file.PluginDumper;
+import core.com.rylinaux.plugman.logging.PluginLogger;
+import core.com.rylinaux.plugman.plugins.PluginListIndex;
+import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.util.IoExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class to verify the files written by {@link PluginDumper}
+ */
+public class PluginDumperTest {
+    private Path jar;
+    private Thread mainThread;
+    private volatile Thread writerThread;
+    private PluginDumper dumper;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) throws Exception {
+        mainThread = Thread.currentThread();
+        jar = Files.writeString(tempDir.resolve("Beta.jar"), "beta jar");
+
+        var pluginManager = new StubPluginManager();
+        pluginManager.add("Beta", "2.0", jar.toFile(), false, true, "Bob");
+        pluginManager.add("Alpha, \"The First\"", "1.0", null);
+
+        var serviceRegistry = new ServiceRegistry();
+        serviceRegistry.register(PluginLogger.class, new QuietLogger());
+        serviceRegistry.register(PluginManager.class, pluginManager);
+        serviceRegistry.register(PluginListIndex.class, new PluginListIndex(pluginManager));
+        serviceRegistry.register(IoExecutor.class, new IoExecutor() {
+            @Override
+            public void execute(Runnable task) {
+                super.execute(() -> {
+                    writerThread = Thread.currentThread();
+                    task.run();
+                });
+            }
+        });
+        dumper = new PluginDumper(serviceRegistry, tempDir.resolve("PlugManX").toFile());
+    }
+
+    @Test
+    @DisplayName("Test JSON Lines dumps")
+    void testJsonLines() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing JSON Lines dumps...");
+
+        var file = dumper.dump(PluginDumper.Format.JSONL).get(10, TimeUnit.SECONDS);
+        var lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+
+        assertNotEquals(mainThread, writerThread, "Expected the file to be written off the calling thread");
+        assertTrue(writerThread.isVirtual(), "Expected the file to be written on a virtual I/O thread");
+        assertEquals(2, lines.size(), "Expected one line per plugin");
+
+        var alpha = JsonParser.parseString(lines.get(0)).getAsJsonObject();
+        assertEquals("Alpha, \"The First\"", alpha.get("name").getAsString(), "Expected plugins sorted by name");
+        assertTrue(alpha.get("file").isJsonNull(), "Expected a missing jar to be written as null");
+        assertEquals(-1, alpha.get("size").getAsLong(), "Expected an unknown size for a missing jar");
+        assertTrue(alpha.get("commands").isJsonNull(), "Expected unknown counts to be written as null");
+
+        var beta = JsonParser.parseString(lines.get(1)).getAsJsonObject();
+        assertEquals("2.0", beta.get("version").getAsString(), "Expected the version");
+        assertFalse(beta.get("enabled").getAsBoolean(), "Expected the enabled state");
+        assertTrue(beta.get("paper").getAsBoolean(), "Expected the Paper flag");
+        assertEquals(Files.size(jar), beta.get("size").getAsLong(), "Expected the jar size");
+        assertEquals(sha256(jar), beta.get("sha256").getAsString(), "Expected the jar hash");
+        assertTrue(beta.get("depend").getAsJsonArray().isEmpty(), "Expected the dependencies");
+        assertNotNull(beta.get("classLoader").getAsString(), "Expected the class loader identity");
+
+        try (var files = Files.list(file.getParentFile().toPath())) {
+            assertEquals(1, files.count(), "Expected no temporary files to be left behind");
+        }
+
+        System.out.println("[DEBUG_LOG] JSON Lines dump tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test CSV and text dumps")
+    void testCsvAndText() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing CSV and text dumps...");
+
+        var csv = Files.readAllLines(dumper.dump(PluginDumper.Format.CSV).get(10, TimeUnit.SECONDS).toPath(), StandardCharsets.UTF_8);
+        assertEquals("name,version,enabled,paper,file,size,sha256,depend,softDepend,commands,listeners,classLoader", csv.get(0), "Expected a header row");
+        assertTrue(csv.get(1).startsWith("\"Alpha, \"\"The First\"\"\",1.0,true,false,,-1,,,,,,"), "Expected quoted names and empty unknowns, got " + csv.get(1));
+        assertTrue(csv.get(2).startsWith("Beta,2.0,false,true," + jar + "," + Files.size(jar) + "," + sha256(jar) + ","), "Expected the jar columns, got " + csv.get(2));
+
+        var text = Files.readAllLines(dumper.dump(PluginDumper.Format.TXT).get(10, TimeUnit.SECONDS).toPath(), StandardCharsets.UTF_8);
+        assertEquals("Alpha, \"The First\" v1.0 - Enabled", text.get(0), "Expected the full name and state");
+        assertEquals("Beta v2.0 - Disabled", text.get(1), "Expected the full name and state");
+
+        System.out.println("[DEBUG_LOG] CSV and text dump tests passed!");
+    }
+
+    private static String sha256(Path file) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file)));
+    }
+}
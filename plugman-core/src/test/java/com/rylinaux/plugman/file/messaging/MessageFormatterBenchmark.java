@@ -0,0 +1,49 @@
+package com.rylinaux.plugman.file.messaging;
+
+import core.com.rylinaux.plugman.file.messaging.MessageTemplate;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing compiled {@link MessageTemplate}s against the replace loop they replaced.
+ * Run with {@code java -cp <test classpath> com.rylinaux.plugman.file.messaging.MessageFormatterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageFormatterBenchmark {
+    private static final String PREFIX = "&7[&aPlugManX&7] ";
+    private static final String MESSAGE = "&a{0} &7has been updated from &c{1} &7to &a{2}&7.";
+
+    private Object[] args;
+    private MessageTemplate template;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MessageFormatterBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setup() {
+        args = new Object[]{"WorldEdit", "7.2.15", "7.3.0"};
+        template = MessageTemplate.compile(PREFIX + MESSAGE, MessageTemplateTest.LEGACY);
+    }
+
+    @Benchmark
+    public String replaceLoop() {
+        var message = PREFIX + MESSAGE;
+        for (var i = 0; i < args.length; i++) message = message.replace("{" + i + "}", String.valueOf(args[i]));
+        return MessageTemplateTest.LEGACY.translateAlternateColorCodes('&', message);
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return template.format(args);
+    }
+}
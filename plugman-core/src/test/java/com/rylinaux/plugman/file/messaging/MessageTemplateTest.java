@@ -0,0 +1,68 @@
+package com.rylinaux.plugman.file.messaging;
+
+import core.com.rylinaux.plugman.file.messaging.MessageTemplate;
+import core.com.rylinaux.plugman.messaging.ColorFormatter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class to verify compiling and formatting message templates
+ */
+public class MessageTemplateTest {
+    /**
+     * Translates {@code &x} to {@code §x} like Bukkit does.
+     */
+    static final ColorFormatter LEGACY = (altColorChar, text) -> {
+        var chars = text.toCharArray();
+        for (var i = 0; i < chars.length - 1; i++)
+            if (chars[i] == altColorChar && "0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx".indexOf(chars[i + 1]) >= 0) {
+                chars[i] = '§';
+                chars[i + 1] = Character.toLowerCase(chars[i + 1]);
+            }
+        return new String(chars);
+    };
+
+    @Test
+    @DisplayName("Test placeholders are replaced")
+    void testPlaceholders() {
+        System.out.println("[DEBUG_LOG] Testing placeholders...");
+
+        assertEquals("§aHello §eWorld§a!", MessageTemplate.compile("&aHello &e{0}&a!", LEGACY).format("World"), "Expected colors and argument");
+        assertEquals("b a b", MessageTemplate.compile("{1} {0} {1}", LEGACY).format("a", "b"), "Expected reordered and repeated placeholders");
+        assertEquals("§cNo placeholders", MessageTemplate.compile("&cNo placeholders", LEGACY).format("unused"), "Expected the literal message");
+        assertEquals("x {1} {", MessageTemplate.compile("{0} {1} {", LEGACY).format("x"), "Expected missing arguments to be kept");
+        assertEquals("{a} {} {12345} 7", MessageTemplate.compile("{a} {} {12345} {0}", LEGACY).format(7), "Expected only numeric placeholders to be replaced");
+        assertEquals("null", MessageTemplate.compile("{0}", LEGACY).format((Object) null), "Expected null arguments to be appended as null");
+
+        System.out.println("[DEBUG_LOG] Placeholder tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test arguments are inserted as they are")
+    void testArgumentsAreNotFormatted() {
+        System.out.println("[DEBUG_LOG] Testing arguments...");
+
+        var template = MessageTemplate.compile("&7{0} and {1}", LEGACY);
+
+        assertEquals("§7&cred and {0}", template.format("&cred", "{0}"), "Expected arguments to be neither translated nor substituted again");
+
+        System.out.println("[DEBUG_LOG] Argument tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test formatters that do not keep the placeholders")
+    void testFallback() {
+        System.out.println("[DEBUG_LOG] Testing formatters that drop placeholders...");
+
+        // Strips everything outside of printable ASCII, like a serializer that drops unknown characters
+        ColorFormatter stripping = (altColorChar, text) -> LEGACY.translateAlternateColorCodes(altColorChar, text).replaceAll("[^\\x20-\\x7E§]", "");
+
+        var template = MessageTemplate.compile("&a{0} loaded in &e{1}ms", stripping);
+
+        assertEquals("§aPlugin loaded in §e12ms", template.format("Plugin", 12), "Expected literals to be translated separately");
+
+        System.out.println("[DEBUG_LOG] Fallback tests passed!");
+    }
+}
@@ -0,0 +1,107 @@
+package com.rylinaux.plugman.metrics;
+
+import com.rylinaux.plugman.update.QuietLogger;
+import core.com.rylinaux.plugman.PluginResult;
+import core.com.rylinaux.plugman.metrics.ClassLoaderLeakTracker;
+import core.com.rylinaux.plugman.metrics.MetricsEndpoint;
+import core.com.rylinaux.plugman.metrics.OpenMetricsWriter;
+import core.com.rylinaux.plugman.metrics.PlugManMetrics;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class to verify the OpenMetrics output, the endpoint serving it and the class loader leak tracker
+ */
+public class MetricsEndpointTest {
+
+    @Test
+    @DisplayName("Test the metrics are written in the OpenMetrics format")
+    void testWriter() {
+        System.out.println("[DEBUG_LOG] Testing the OpenMetrics writer...");
+
+        var metrics = new PlugManMetrics();
+        metrics.recordOperation("RELOAD", "Test\"Plugin", new PluginResult(true, "reload.reloaded"), 2_000_000);
+        metrics.recordOperation("RELOAD", "Test\"Plugin", new PluginResult(false, "reload.failed"), 500_000_000);
+        metrics.recordCommandSync(1_000);
+
+        var text = OpenMetricsWriter.write(metrics, null, 7);
+        System.out.println("[DEBUG_LOG] " + text);
+
+        assertTrue(text.endsWith("# EOF\n"), "Expected the exposition to end with # EOF");
+        assertTrue(text.contains("plugman_plugins 7\n"), "Expected the plugin count");
+        assertTrue(text.contains("# TYPE plugman_operation_seconds histogram\n"), "Expected the operations as a histogram");
+        assertTrue(text.contains("plugman_operation_seconds_count{operation=\"reload\"} 2\n"), "Expected both reloads to be counted");
+        assertTrue(text.contains("plugman_operation_seconds_bucket{le=\"0.004194304\",operation=\"reload\"} 1\n"), "Expected the fast reload in the bucket below 4 ms");
+        assertTrue(text.contains("plugman_operation_seconds_bucket{le=\"+Inf\",operation=\"reload\"} 2\n"), "Expected both reloads in the +Inf bucket");
+        assertTrue(text.contains("plugman_operation_seconds_sum{operation=\"reload\"} 0.502\n"), "Expected the total time in seconds");
+        assertTrue(text.contains("plugman_operation_failures_total{operation=\"reload\"} 1\n"), "Expected the failed reload to be counted");
+        assertTrue(text.contains("plugman_plugin_reload_seconds_count{plugin=\"Test\\\"Plugin\"} 2\n"), "Expected the plugin name to be escaped");
+        assertTrue(text.contains("plugman_command_sync_seconds_count 1\n"), "Expected the command sync to be counted");
+
+        System.out.println("[DEBUG_LOG] OpenMetrics writer tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test the endpoint serves the metrics on localhost")
+    void testEndpoint() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing the metrics endpoint...");
+
+        var metrics = new PlugManMetrics();
+        metrics.recordAutoFeatureScan("auto-load", 1_000_000);
+
+        var serviceRegistry = new ServiceRegistry();
+        serviceRegistry.register(PlugManMetrics.class, metrics);
+
+        var endpoint = new MetricsEndpoint(serviceRegistry, new QuietLogger(), 0);
+        assertTrue(endpoint.start(), "Expected the endpoint to start on a free port");
+        try (var client = HttpClient.newHttpClient()) {
+            var request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + endpoint.getPort() + MetricsEndpoint.PATH)).build();
+            var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(200, response.statusCode(), "Expected the scrape to succeed");
+            assertEquals(OpenMetricsWriter.CONTENT_TYPE, response.headers().firstValue("Content-Type").orElse(null), "Expected the OpenMetrics content type");
+            assertTrue(response.body().contains("plugman_auto_feature_scan_seconds_count{feature=\"auto-load\"} 1\n"), "Expected the scan in the response");
+        } finally {
+            endpoint.stop();
+        }
+
+        assertEquals(-1, endpoint.getPort(), "Expected the endpoint to be stopped");
+
+        System.out.println("[DEBUG_LOG] Metrics endpoint tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test reachable class loaders of unloaded plugins are reported after the grace period")
+    void testLeakTracker() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing the class loader leak tracker...");
+
+        var tracker = new ClassLoaderLeakTracker(Duration.ofMillis(50));
+        try (var leaked = new URLClassLoader(new URL[0])) {
+            tracker.track("Leaky", leaked);
+            tracker.track("Self", getClass().getClassLoader());
+            tracker.track("Null", null);
+
+            assertEquals(List.of(), tracker.getSuspects(), "Expected no suspects during the grace period");
+            Thread.sleep(100);
+            assertEquals(List.of("Leaky"), tracker.getSuspects(), "Expected the reachable loader once the grace period is over");
+
+            var text = OpenMetricsWriter.write(new PlugManMetrics(), tracker, -1);
+            assertTrue(text.contains("plugman_leak_suspects{plugin=\"Leaky\"} 1\n"), "Expected the suspect in the metrics");
+            assertFalse(text.contains("plugman_plugins "), "Expected no plugin count when it is unknown");
+        }
+
+        System.out.println("[DEBUG_LOG] Class loader leak tracker tests passed!");
+    }
+}
@@ -0,0 +1,102 @@
+package com.rylinaux.plugman.metrics;
+
+import com.rylinaux.plugman.update.QuietLogger;
+import com.rylinaux.plugman.update.StubPluginManager;
+import com.rylinaux.plugman.util.DirectThreadUtil;
+import core.com.rylinaux.plugman.PluginResult;
+import core.com.rylinaux.plugman.metrics.PlugManMBeans;
+import core.com.rylinaux.plugman.metrics.PlugManMetrics;
+import core.com.rylinaux.plugman.plugins.Plugin;
+import core.com.rylinaux.plugman.plugins.PluginLifecycleQueue;
+import core.com.rylinaux.plugman.plugins.PluginListIndex;
+import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.util.ThreadUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class to verify {@link PlugManMBeans} exposes the state and metrics of PlugManX over JMX
+ */
+public class PlugManMBeansTest {
+
+    @Test
+    @DisplayName("Test the MBeans show the plugins, run operations and count them")
+    void testMBeans() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing the MBeans...");
+
+        var pluginManager = new StubPluginManager() {
+            @Override
+            public PluginResult load(String name) {
+                add(name, "1.0", new File(name + ".jar"));
+                return new PluginResult(true, "load.loaded");
+            }
+
+            @Override
+            public PluginResult unload(Plugin plugin) {
+                remove(plugin.getName());
+                return new PluginResult(true, "unload.unloaded");
+            }
+
+            @Override
+            public boolean isIgnored(Plugin plugin) {
+                return plugin.getName().equals("Beta");
+            }
+        };
+        pluginManager.add("Alpha", "1.0", new File("Alpha.jar"));
+        pluginManager.add("Beta", "1.0", new File("Beta.jar"), false, false);
+
+        var serviceRegistry = new ServiceRegistry();
+        serviceRegistry.register(PluginManager.class, pluginManager);
+        serviceRegistry.register(PluginListIndex.class, new PluginListIndex(pluginManager));
+        serviceRegistry.register(ThreadUtil.class, new DirectThreadUtil());
+        serviceRegistry.register(PluginLifecycleQueue.class, new PluginLifecycleQueue(serviceRegistry));
+        serviceRegistry.register(PlugManMetrics.class, new PlugManMetrics());
+
+        var mbeans = new PlugManMBeans(serviceRegistry, new QuietLogger());
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var status = new ObjectName(PlugManMBeans.DOMAIN + ":type=Status");
+        var operations = new ObjectName(PlugManMBeans.DOMAIN + ":type=Operations");
+
+        mbeans.register();
+        try {
+            assertEquals(2, server.getAttribute(status, "PluginCount"), "Expected both plugins to be counted");
+            assertEquals(1, server.getAttribute(status, "EnabledPluginCount"), "Expected only the enabled plugin to be counted");
+
+            var result = server.invoke(status, "reload", new Object[]{"Alpha"}, new String[]{String.class.getName()});
+            assertEquals("reload.reloaded", result, "Expected the reload operation to return the message id");
+            result = server.invoke(status, "reload", new Object[]{"Missing"}, new String[]{String.class.getName()});
+            assertEquals("error.invalid-plugin", result, "Expected a plugin that is not installed to be refused");
+            result = server.invoke(status, "reload", new Object[]{"Beta"}, new String[]{String.class.getName()});
+            assertEquals("error.ignored", result, "Expected an ignored plugin to be refused");
+
+            var counts = toMap((TabularData) server.getAttribute(operations, "Counts"));
+            assertEquals(1L, counts.get("reload"), "Expected only the queued reload to be counted, got " + counts);
+            var failures = toMap((TabularData) server.getAttribute(operations, "Failures"));
+            assertEquals(0L, failures.get("reload"), "Expected the reload not to count as a failure");
+            assertTrue(server.getAttribute(operations, "Histograms") instanceof TabularData, "Expected the histograms as a table");
+        } finally {
+            mbeans.unregister();
+        }
+
+        assertFalse(server.isRegistered(status), "Expected the MBeans to be unregistered");
+
+        System.out.println("[DEBUG_LOG] MBean tests passed!");
+    }
+
+    private static Map<Object, Object> toMap(TabularData table) {
+        var map = new HashMap<>();
+        for (var row : table.values()) map.put(((CompositeData) row).get("key"), ((CompositeData) row).get("value"));
+        return map;
+    }
+}
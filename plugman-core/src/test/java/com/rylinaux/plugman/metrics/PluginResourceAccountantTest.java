@@ -0,0 +1,170 @@
+package com.rylinaux.plugman.metrics;
+
+import com.rylinaux.plugman.update.StubPluginManager;
+import com.rylinaux.plugman.util.DirectThreadUtil;
+import core.com.rylinaux.plugman.metrics.PluginResourceAccountant;
+import core.com.rylinaux.plugman.plugins.Plugin;
+import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.util.IoExecutor;
+import core.com.rylinaux.plugman.util.ThreadUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class to verify {@link PluginResourceAccountant} attributes classes, threads and registrations to plugins
+ */
+public class PluginResourceAccountantTest {
+
+    @Test
+    @DisplayName("Test classes, threads, listeners, tasks and commands are counted by plugin")
+    void testResources() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing the plugin resource accountant...");
+
+        var pluginManager = new StubPluginManager() {
+            @Override
+            public Map<String, Integer> getListenerCounts() {
+                return Map.of("leaky", 3);
+            }
+
+            @Override
+            public Map<String, Integer> getTaskCounts() {
+                return Map.of("leaky", 2);
+            }
+        };
+        pluginManager.add("Leaky", "1.0", new File("Leaky.jar"));
+        pluginManager.add("Tidy", "1.0", new File("Tidy.jar"));
+
+        var serviceRegistry = new ServiceRegistry();
+        serviceRegistry.register(PluginManager.class, pluginManager);
+        serviceRegistry.register(ThreadUtil.class, new DirectThreadUtil());
+        serviceRegistry.register(IoExecutor.class, new IoExecutor());
+
+        try (var loader = new FakePluginClassLoader()) {
+            var spinner = (Runnable) loader.define(Spinner.class).getDeclaredConstructor().newInstance();
+            loader.classes.put(String.class.getName(), String.class);
+
+            var accountant = new PluginResourceAccountant(serviceRegistry) {
+                @Override
+                protected ClassLoader getClassLoader(Plugin plugin) {
+                    return plugin.getName().equals("Leaky")? loader : null;
+                }
+            };
+
+            var running = new Thread(spinner, "Leaky Worker");
+            var contextOnly = new Thread(() -> sleep(10_000), "Leaky Context");
+            contextOnly.setContextClassLoader(loader);
+            running.start();
+            contextOnly.start();
+            try {
+                // The worker only runs the plugin's code once it is sleeping in it
+                while (running.getState() != Thread.State.TIMED_WAITING || contextOnly.getState() != Thread.State.TIMED_WAITING) Thread.onSpinWait();
+
+                var all = accountant.getResources().get(10, TimeUnit.SECONDS);
+                System.out.println("[DEBUG_LOG] " + all);
+
+                var leaky = all.getFirst();
+                assertEquals("Leaky", leaky.plugin(), "Expected the plugin with the most classes first");
+                assertEquals(1, leaky.classes(), "Expected only the class the loader defined itself");
+                assertTrue(leaky.metaspaceBytes() > 0, "Expected the metaspace to be estimated");
+                assertEquals(List.of("Leaky Context", "Leaky Worker"), leaky.threads(), "Expected the thread running its code and the thread using its loader");
+                assertEquals(3, leaky.listeners(), "Expected the listeners of the plugin manager");
+                assertEquals(2, leaky.tasks(), "Expected the tasks of the plugin manager");
+                assertEquals(-1, leaky.commands(), "Expected unknown commands when the platform cannot tell");
+
+                var tidy = accountant.getResources("tidy").get(10, TimeUnit.SECONDS);
+                assertEquals(-1, tidy.classes(), "Expected unknown classes without a class loader");
+                assertEquals(List.of(), tidy.threads(), "Expected no threads");
+                assertEquals(0, tidy.listeners(), "Expected no listeners");
+                assertNull(accountant.getResources("Missing").get(10, TimeUnit.SECONDS), "Expected nothing for a plugin that is not installed");
+            } finally {
+                running.interrupt();
+                contextOnly.interrupt();
+            }
+        } finally {
+            serviceRegistry.get(IoExecutor.class).shutdown();
+        }
+
+        System.out.println("[DEBUG_LOG] Plugin resource accountant tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test results are reused until the TTL is over")
+    void testCache() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing the resource cache...");
+
+        var serviceRegistry = new ServiceRegistry();
+        serviceRegistry.register(PluginManager.class, new StubPluginManager());
+        serviceRegistry.register(ThreadUtil.class, new DirectThreadUtil());
+        serviceRegistry.register(IoExecutor.class, new IoExecutor());
+
+        try {
+            var cached = new PluginResourceAccountant(serviceRegistry, Duration.ofMinutes(1));
+            var first = cached.getResources();
+            first.get(10, TimeUnit.SECONDS);
+            assertSame(first, cached.getResources(), "Expected the result to be reused within the TTL");
+
+            var uncached = new PluginResourceAccountant(serviceRegistry, Duration.ZERO);
+            first = uncached.getResources();
+            first.get(10, TimeUnit.SECONDS);
+            assertNotSame(first, uncached.getResources(), "Expected the resources to be collected again after the TTL");
+        } finally {
+            serviceRegistry.get(IoExecutor.class).shutdown();
+        }
+
+        System.out.println("[DEBUG_LOG] Resource cache tests passed!");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ignored) {
+        }
+    }
+
+    /**
+     * Stands in for a plugin's code, it is defined again by {@link FakePluginClassLoader}.
+     */
+    public static class Spinner implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Keeps its classes in a {@code classes} map, like Bukkit's plugin class loader.
+     */
+    private static class FakePluginClassLoader extends URLClassLoader {
+        private final Map<String, Class<?>> classes = new ConcurrentHashMap<>();
+
+        FakePluginClassLoader() {
+            super(new URL[0], PluginResourceAccountantTest.class.getClassLoader());
+        }
+
+        Class<?> define(Class<?> type) throws IOException {
+            try (var in = getParent().getResourceAsStream(type.getName().replace('.', '/') + ".class")) {
+                var bytes = in.readAllBytes();
+                var defined = defineClass(type.getName(), bytes, 0, bytes.length);
+                classes.put(defined.getName(), defined);
+                return defined;
+            }
+        }
+    }
+}
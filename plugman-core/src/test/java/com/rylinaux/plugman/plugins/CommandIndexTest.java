@@ -0,0 +1,89 @@
+package com.rylinaux.plugman.plugins;
+
+import core.com.rylinaux.plugman.plugins.CommandIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class to verify lookups through {@link CommandIndex}
+ */
+public class CommandIndexTest {
+    private Map<String, TestCommand> commands;
+    private AtomicInteger resolutions;
+    private CommandIndex<TestCommand> index;
+
+    @BeforeEach
+    void setUp() {
+        commands = new LinkedHashMap<>();
+        resolutions = new AtomicInteger();
+        index = new CommandIndex<>(() -> commands, (key, command) -> {
+            resolutions.incrementAndGet();
+            return command.owner();
+        });
+
+        for (var i = 0; i < 100; i++) register("Plugin" + i, "command" + i);
+        register(null, "help");
+    }
+
+    @Test
+    @DisplayName("Test commands are found by label and by plugin")
+    void testLookups() {
+        System.out.println("[DEBUG_LOG] Testing lookups...");
+
+        assertEquals(List.of("Plugin42"), index.findOwners("command42"), "Expected the namespaced and plain label to point at one plugin");
+        assertEquals(List.of("Plugin42"), index.findOwners("COMMAND42"), "Expected labels to be case-insensitive");
+        assertEquals(List.of(), index.findOwners("help"), "Expected commands without a plugin not to be owned");
+        assertEquals(List.of("command7", "plugin7:command7"), List.copyOf(index.getCommands("plugin7").keySet()), "Expected every key of a plugin in registration order");
+        assertEquals(Map.of(), index.getCommands("Missing"), "Expected no commands for an unknown plugin");
+
+        register("Plugin8", "command7");
+        assertEquals(Set.of("Plugin7", "Plugin8"), Set.copyOf(index.findOwners("command7")), "Expected a label shared by two plugins to list both");
+
+        System.out.println("[DEBUG_LOG] Lookup tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test commands are only resolved again when they change")
+    void testIncrementalRebuild() {
+        System.out.println("[DEBUG_LOG] Testing incremental rebuilds...");
+
+        index.findOwners("command1");
+        assertEquals(commands.size(), resolutions.get(), "Expected every command to be resolved once");
+
+        for (var i = 0; i < 1000; i++) index.findOwners("command" + i % 100);
+        assertEquals(commands.size(), resolutions.get(), "Expected lookups not to resolve commands again");
+
+        var before = resolutions.get();
+        commands.remove("plugin3:command3");
+        commands.remove("command3");
+        register("Plugin100", "command100");
+        assertEquals(List.of("Plugin100"), index.findOwners("command100"), "Expected a new command to be found");
+        assertEquals(List.of(), index.findOwners("command3"), "Expected a removed command to be gone");
+        assertEquals(before + 2, resolutions.get(), "Expected only the new command to be resolved");
+
+        commands.put("command5", new TestCommand("Plugin50"));
+        index.invalidate();
+        assertTrue(index.getCommands("Plugin50").containsKey("command5"), "Expected a replaced command to be resolved again");
+        assertEquals(before + 3, resolutions.get(), "Expected only the replaced command to be resolved");
+
+        System.out.println("[DEBUG_LOG] Incremental rebuild tests passed!");
+    }
+
+    private void register(String owner, String label) {
+        var command = new TestCommand(owner);
+        commands.put(label, command);
+        if (owner != null) commands.put(owner.toLowerCase() + ":" + label, command);
+    }
+
+    private record TestCommand(String owner) {
+    }
+}
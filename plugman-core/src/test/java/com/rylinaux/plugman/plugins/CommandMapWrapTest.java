@@ -0,0 +1,89 @@
+package com.rylinaux.plugman.plugins;
+
+import core.com.rylinaux.plugman.plugins.Command;
+import core.com.rylinaux.plugman.plugins.CommandMapWrap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class to verify {@link CommandMapWrap} is a live view over the platform's command map
+ */
+public class CommandMapWrapTest {
+    private Map<String, String> knownCommands;
+    private AtomicInteger wrapped;
+    private CommandMapWrap<String> wrap;
+
+    @BeforeEach
+    void setUp() {
+        knownCommands = new HashMap<>();
+        for (var i = 0; i < 5000; i++) knownCommands.put("plugin" + i % 10 + ":command" + i, "plugin" + i % 10);
+        wrapped = new AtomicInteger();
+        wrap = new CommandMapWrap<>(knownCommands, handle -> {
+            wrapped.incrementAndGet();
+            return new TestCommand(handle);
+        });
+    }
+
+    @Test
+    @DisplayName("Test commands are only wrapped when read")
+    void testLazyWrapping() {
+        System.out.println("[DEBUG_LOG] Testing lazy wrapping...");
+
+        assertEquals(0, wrapped.get(), "Expected nothing to be wrapped up front");
+        assertEquals(5000, wrap.size(), "Expected the size of the command map");
+        assertTrue(wrap.containsKey("plugin3:command3"), "Expected keys to be looked up directly");
+        assertEquals(0, wrapped.get(), "Expected size and key lookups not to wrap anything");
+
+        assertEquals("plugin3", wrap.get("plugin3:command3").getHandle(), "Expected the wrapped command");
+        assertEquals(1, wrapped.get(), "Expected only the read command to be wrapped");
+
+        var owned = wrap.filter((key, handle) -> handle.equals("plugin7"));
+        assertEquals(500, owned.size(), "Expected the filtered view to count matching commands");
+        assertEquals(1, wrapped.get(), "Expected counting not to wrap anything");
+        assertEquals(500, owned.entrySet().stream().filter(entry -> entry.getValue().getHandle().equals("plugin7")).count(), "Expected only matching commands");
+        assertEquals(501, wrapped.get(), "Expected only matching commands to be wrapped");
+        assertNull(owned.get("plugin3:command3"), "Expected commands that do not match to be hidden");
+
+        System.out.println("[DEBUG_LOG] Lazy wrapping tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test changes go through to the command map")
+    void testLiveView() {
+        System.out.println("[DEBUG_LOG] Testing the live view...");
+
+        var view = wrap.asMap();
+        var owned = wrap.filter((key, handle) -> handle.equals("plugin1"));
+
+        assertEquals("plugin1", wrap.remove("plugin1:command1").getHandle(), "Expected the removed command");
+        assertFalse(knownCommands.containsKey("plugin1:command1"), "Expected the command to be removed from the command map");
+        assertFalse(view.containsKey("plugin1:command1"), "Expected the view to follow removals");
+        assertEquals(499, owned.size(), "Expected the filtered view to follow removals");
+
+        assertNull(wrap.put("extra", new TestCommand("plugin1")), "Expected nothing under a new key");
+        assertNotNull(wrap.put("extra", new TestCommand("plugin2")), "Expected a taken key to be kept");
+        assertEquals("plugin1", knownCommands.get("extra"), "Expected the first command to stay registered");
+        assertEquals(500, owned.size(), "Expected the filtered view to follow additions");
+
+        knownCommands.clear();
+        assertTrue(view.isEmpty(), "Expected the view to follow changes made to the command map directly");
+        assertThrows(UnsupportedOperationException.class, () -> view.put("other", new TestCommand("plugin1")), "Expected the view to be read-only");
+
+        System.out.println("[DEBUG_LOG] Live view tests passed!");
+    }
+
+    private record TestCommand(String handle) implements Command {
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T getHandle() {
+            return (T) handle;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.rylinaux.plugman.plugins;
+
+import com.rylinaux.plugman.update.StubPluginManager;
+import core.com.rylinaux.plugman.PluginResult;
+import core.com.rylinaux.plugman.plugins.Plugin;
+import core.com.rylinaux.plugman.plugins.PluginLifecycleQueue;
+import core.com.rylinaux.plugman.plugins.PluginLifecycleQueue.Operation;
+import core.com.rylinaux.plugman.plugins.PluginListIndex;
+import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.util.ScheduledTask;
+import core.com.rylinaux.plugman.util.ThreadUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class to verify {@link PluginLifecycleQueue} runs operations in order and merges repeated ones
+ */
+public class PluginLifecycleQueueTest {
+    private RecordingPluginManager pluginManager;
+    private ManualThreadUtil threadUtil;
+    private PluginLifecycleQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        pluginManager = new RecordingPluginManager();
+        pluginManager.add("Alpha", "1.0", new File("Alpha.jar"));
+        pluginManager.add("Beta", "1.0", new File("Beta.jar"));
+        threadUtil = new ManualThreadUtil();
+
+        var serviceRegistry = new ServiceRegistry();
+        serviceRegistry.register(PluginManager.class, pluginManager);
+        serviceRegistry.register(PluginListIndex.class, new PluginListIndex(pluginManager));
+        serviceRegistry.register(ThreadUtil.class, threadUtil);
+        queue = new PluginLifecycleQueue(serviceRegistry);
+    }
+
+    @Test
+    @DisplayName("Test operations waiting for the same plugin are merged")
+    void testMerging() {
+        System.out.println("[DEBUG_LOG] Testing merging...");
+
+        var first = queue.reload("Alpha");
+        var second = queue.reload("alpha");
+        var third = queue.reload("Alpha");
+        assertSame(first, second, "Expected repeated reloads to share one future");
+        assertSame(first, third, "Expected repeated reloads to share one future");
+
+        var unload = queue.unload("Beta");
+        var load = queue.load("Beta");
+        assertSame(unload, load, "Expected an unload followed by a load to be merged");
+        assertEquals(2, queue.size(), "Expected one operation per plugin");
+        assertEquals(1, threadUtil.tasks.size(), "Expected one drain to be scheduled");
+
+        threadUtil.runAll();
+
+        assertEquals(List.of("unload Alpha", "load Alpha", "unload Beta", "load Beta"), pluginManager.calls, "Expected one reload per plugin");
+        assertEquals(new PluginResult(true, "reload.reloaded"), first.join(), "Expected the reload result");
+        assertEquals(new PluginResult(true, "reload.reloaded"), load.join(), "Expected the merged unload and load to report a reload");
+
+        assertEquals(Operation.UNLOAD, Operation.RELOAD.merge(Operation.UNLOAD), "Expected a reload followed by an unload to be an unload");
+        assertEquals(Operation.RELOAD, Operation.RELOAD.merge(Operation.LOAD), "Expected a reload followed by a load to be a reload");
+        assertEquals(Operation.LOAD, Operation.LOAD.merge(Operation.RELOAD), "Expected a load followed by a reload to be a load");
+        assertNull(Operation.LOAD.merge(Operation.UNLOAD), "Expected a load followed by an unload not to be merged");
+
+        System.out.println("[DEBUG_LOG] Merging tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test operations run in order and are not merged once started")
+    void testOrder() {
+        System.out.println("[DEBUG_LOG] Testing order...");
+
+        var load = queue.load("Gamma");
+        var unload = queue.unload("Gamma");
+        assertNotSame(load, unload, "Expected a load followed by an unload to run both");
+        var missing = queue.unload("Missing");
+        threadUtil.runAll();
+
+        assertEquals(List.of("load Gamma", "unload Gamma"), pluginManager.calls, "Expected the operations in submission order");
+        assertTrue(load.join().success(), "Expected the load to succeed");
+        assertTrue(unload.join().success(), "Expected the unload to succeed");
+        assertEquals(new PluginResult(false, "error.invalid-plugin"), missing.join(), "Expected unloading a missing plugin to fail");
+
+        pluginManager.calls.clear();
+        var reload = queue.reload("Alpha");
+        threadUtil.tasks.removeFirst().run();
+        var next = queue.reload("Alpha");
+        threadUtil.runAll();
+
+        assertNotSame(reload, next, "Expected a started operation not to be merged");
+        assertEquals(List.of("unload Alpha", "load Alpha", "unload Alpha", "load Alpha"), pluginManager.calls, "Expected both reloads to run");
+
+        pluginManager.failing = true;
+        var failed = queue.reload("Beta");
+        threadUtil.runAll();
+        assertTrue(failed.isCompletedExceptionally(), "Expected a failing operation to complete the future exceptionally");
+
+        pluginManager.failing = false;
+        pluginManager.error = new StackOverflowError("Broken plugin");
+        var broken = queue.reload("Alpha");
+        threadUtil.runAll();
+        assertTrue(broken.isCompletedExceptionally(), "Expected an error to complete the future exceptionally");
+
+        pluginManager.error = null;
+        var after = queue.load("Delta");
+        threadUtil.runAll();
+        assertTrue(after.join().success(), "Expected the queue to keep draining after an error");
+
+        System.out.println("[DEBUG_LOG] Order tests passed!");
+    }
+
+    private static class RecordingPluginManager extends StubPluginManager {
+        private final List<String> calls = new ArrayList<>();
+        private boolean failing;
+        private Error error;
+
+        @Override
+        public PluginResult load(String name) {
+            if (failing) throw new IllegalStateException("Broken plugin");
+            if (error != null) throw error;
+            calls.add("load " + name);
+            add(name, "1.0", new File(name + ".jar"));
+            return new PluginResult(true, "load.loaded");
+        }
+
+        @Override
+        public PluginResult unload(Plugin plugin) {
+            calls.add("unload " + plugin.getName());
+            remove(plugin.getName());
+            return new PluginResult(true, "unload.unloaded");
+        }
+    }
+
+    private static class ManualThreadUtil implements ThreadUtil {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        private void runAll() {
+            while (!tasks.isEmpty()) tasks.removeFirst().run();
+        }
+
+        @Override
+        public void async(Runnable runnable) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void sync(Runnable runnable) {
+            tasks.add(runnable);
+        }
+
+        @Override
+        public ScheduledTask syncRepeating(Runnable runnable, Duration delay, Duration period) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ScheduledTask asyncRepeating(Runnable runnable, Duration delay, Duration period) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
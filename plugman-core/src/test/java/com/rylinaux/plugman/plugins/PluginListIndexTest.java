@@ -0,0 +1,102 @@
+package com.rylinaux.plugman.plugins;
+
+import com.rylinaux.plugman.update.StubPluginManager;
+import core.com.rylinaux.plugman.plugins.Plugin;
+import core.com.rylinaux.plugman.plugins.PluginListIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class to verify paging and filtering through {@link PluginListIndex}
+ */
+public class PluginListIndexTest {
+    private StubPluginManager pluginManager;
+    private PluginListIndex index;
+
+    @BeforeEach
+    void setUp() {
+        pluginManager = new StubPluginManager();
+        for (var i = 0; i < 250; i++) pluginManager.add(String.format("Plugin%03d", i), "1.0", null, i % 3 != 0, i % 5 == 0, i % 2 == 0? "Alice" : "Bob");
+        index = new PluginListIndex(pluginManager);
+    }
+
+    @Test
+    @DisplayName("Test pages are sorted and counted")
+    void testPaging() {
+        System.out.println("[DEBUG_LOG] Testing pages...");
+
+        var first = index.page(PluginListIndex.Filter.ALL, 1, 40);
+        assertEquals(250, first.total(), "Expected every plugin to be counted");
+        assertTrue(first.hasMore(), "Expected more pages");
+        assertEquals(List.of("Plugin000", "Plugin001", "Plugin002"), names(first).subList(0, 3), "Expected alphabetical order");
+
+        var last = index.page(PluginListIndex.Filter.ALL, 7, 40);
+        assertEquals(10, last.plugins().size(), "Expected the rest on the last page");
+        assertEquals("Plugin249", names(last).get(9), "Expected the last plugin on the last page");
+        assertFalse(last.hasMore(), "Expected no more pages");
+
+        assertTrue(index.page(PluginListIndex.Filter.ALL, 8, 40).plugins().isEmpty(), "Expected an empty page past the end");
+
+        System.out.println("[DEBUG_LOG] Paging tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test filters")
+    void testFilters() {
+        System.out.println("[DEBUG_LOG] Testing filters...");
+
+        var prefix = index.page(new PluginListIndex.Filter(PluginListIndex.State.ANY, false, "plugin1", null), 1, 40);
+        assertEquals(100, prefix.total(), "Expected the prefix to be counted exactly");
+        assertEquals("Plugin100", names(prefix).get(0), "Expected the prefix range to start at Plugin100");
+
+        var disabled = index.page(new PluginListIndex.Filter(PluginListIndex.State.DISABLED, false, null, null), 1, 100);
+        assertEquals(-1, disabled.total(), "Expected scanned filters not to be counted");
+        assertEquals(84, disabled.plugins().size(), "Expected every third plugin to be disabled");
+        assertTrue(disabled.plugins().stream().noneMatch(Plugin::isEnabled), "Expected only disabled plugins");
+        assertFalse(disabled.hasMore(), "Expected all disabled plugins on one page");
+
+        var paperByAlice = index.page(new PluginListIndex.Filter(PluginListIndex.State.ENABLED, true, "plugin0", "alice"), 1, 40);
+        assertEquals(List.of("Plugin010", "Plugin020", "Plugin040", "Plugin050", "Plugin070", "Plugin080"), names(paperByAlice), "Expected filters to be combined");
+
+        var secondPage = index.page(new PluginListIndex.Filter(PluginListIndex.State.ENABLED, false, null, "bob"), 2, 20);
+        assertEquals(20, secondPage.plugins().size(), "Expected a full second page");
+        assertTrue(secondPage.hasMore(), "Expected more matches after the second page");
+
+        System.out.println("[DEBUG_LOG] Filter tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test loads and unloads update the snapshot")
+    void testIncrementalUpdates() {
+        System.out.println("[DEBUG_LOG] Testing incremental updates...");
+
+        assertEquals(250, index.size(), "Expected the snapshot to be built");
+
+        pluginManager.add("AAA", "1.0", null);
+        index.pluginLoaded("AAA");
+        pluginManager.remove("Plugin000");
+        index.pluginUnloaded("Plugin000");
+        pluginManager.add("Plugin001", "2.0", null);
+        index.pluginLoaded("plugin001");
+
+        var first = index.page(PluginListIndex.Filter.ALL, 1, 3);
+        assertEquals(250, first.total(), "Expected one plugin added and one removed");
+        assertEquals(List.of("AAA", "Plugin001", "Plugin002"), names(first), "Expected the new plugin in order and the removed one gone");
+        assertEquals("2.0", first.plugins().get(1).getVersion(), "Expected a reloaded plugin to be replaced");
+
+        pluginManager.add("Zeta", "1.0", null);
+        index.pluginLoaded("zeta-1.0");
+        assertEquals(251, index.size(), "Expected an unknown name to rebuild the snapshot");
+
+        System.out.println("[DEBUG_LOG] Incremental update tests passed!");
+    }
+
+    private static List<String> names(PluginListIndex.Page page) {
+        return page.plugins().stream().map(Plugin::getName).toList();
+    }
+}
@@ -0,0 +1,94 @@
+package com.rylinaux.plugman.pojo;
+
+import core.com.rylinaux.plugman.pojo.Version;
+import core.com.rylinaux.plugman.util.CollectionUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JMH benchmark comparing {@link Version} against the regex based comparison it replaced.
+ * Run with {@code java -cp <test classpath> com.rylinaux.plugman.pojo.VersionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionBenchmark {
+
+    private static final Pattern VERSION_FAMILY_NUMBERS_PATTERN = Pattern.compile("\\d+(?:\\.\\d+)*+");
+
+    private static final String[][] PAIRS = {
+            {"1.20.4", "1.20.6"},
+            {"2.20.1", "2.20.1"},
+            {"5.4.102-dev+10-f5e1a3b", "5.4.101"},
+            {"7.3.0-SNAPSHOT", "7.3.0"},
+            {"v4.0.0-rc.1", "4.0.0-rc.2"},
+            {"1.0-b45", "1.0-b46"},
+    };
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        for (var pair : PAIRS) blackhole.consume(legacyIsActualVersion(pair[0], pair[1]));
+    }
+
+    @Benchmark
+    public void version(Blackhole blackhole) {
+        for (var pair : PAIRS) blackhole.consume(!Version.parse(pair[1]).isNewerThan(Version.parse(pair[0])));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(VersionBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * The comparison previously used by UpdateUtil#isActualVersion.
+     */
+    private static Boolean legacyIsActualVersion(String current, String latest) {
+        if (current.equalsIgnoreCase(latest)) return true;
+
+        List<List<Integer>> currentNumbers;
+        List<List<Integer>> latestNumbers;
+
+        try {
+            currentNumbers = parseNumbers(VERSION_FAMILY_NUMBERS_PATTERN.matcher(current));
+            latestNumbers = parseNumbers(VERSION_FAMILY_NUMBERS_PATTERN.matcher(latest));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+
+        for (var familyIndex = 0; familyIndex < CollectionUtil.maxCollectionsSize(currentNumbers, latestNumbers); familyIndex++) {
+            var currentFamily = CollectionUtil.getElementOrDefault(currentNumbers, familyIndex, ArrayList::new);
+            var latestFamily = CollectionUtil.getElementOrDefault(latestNumbers, familyIndex, ArrayList::new);
+
+            for (var numberIndex = 0; numberIndex < CollectionUtil.maxCollectionsSize(currentFamily, latestFamily); numberIndex++) {
+                var currentValue = CollectionUtil.getElementOrDefault(currentFamily, numberIndex, () -> 0);
+                var latestValue = CollectionUtil.getElementOrDefault(latestFamily, numberIndex, () -> 0);
+
+                if (latestValue > currentValue) return false;
+                else if (latestValue < currentValue) return true;
+            }
+        }
+        return true;
+    }
+
+    private static List<List<Integer>> parseNumbers(Matcher matcher) {
+        var result = new ArrayList<List<Integer>>();
+        while (matcher.find()) {
+            var family = Arrays.stream(matcher.group().split("\\.")).map(Integer::parseInt).toList();
+            result.add(family);
+        }
+        return result;
+    }
+}
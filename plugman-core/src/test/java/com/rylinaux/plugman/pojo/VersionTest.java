@@ -0,0 +1,106 @@
+package com.rylinaux.plugman.pojo;
+
+import core.com.rylinaux.plugman.pojo.UpdateResult;
+import core.com.rylinaux.plugman.pojo.Version;
+import core.com.rylinaux.plugman.util.updatechecker.UpdateUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class to verify Version parsing and ordering
+ */
+public class VersionTest {
+
+    @Test
+    @DisplayName("Test numeric core ordering")
+    void testCoreOrdering() {
+        System.out.println("[DEBUG_LOG] Testing numeric core ordering...");
+
+        assertTrue(Version.parse("1.10").isNewerThan(Version.parse("1.9")), "Expected 1.10 > 1.9");
+        assertTrue(Version.parse("2.0").isNewerThan(Version.parse("1.99.99")), "Expected 2.0 > 1.99.99");
+        assertEquals(0, Version.parse("1.0").compareTo(Version.parse("1.0.0")), "Expected trailing zeros to be ignored");
+        assertEquals(0, Version.parse("v2.1").compareTo(Version.parse("2.1")), "Expected v-prefix to be ignored");
+        assertEquals(Version.parse("1.0").hashCode(), Version.parse("1.0.0").hashCode(), "Expected equal versions to hash equally");
+
+        System.out.println("[DEBUG_LOG] Numeric core ordering tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test pre-release and qualifier ordering")
+    void testQualifierOrdering() {
+        System.out.println("[DEBUG_LOG] Testing qualifier ordering...");
+
+        assertTrue(Version.parse("1.0").isNewerThan(Version.parse("1.0-SNAPSHOT")), "Expected release > snapshot");
+        assertTrue(Version.parse("1.0-rc.2").isNewerThan(Version.parse("1.0-rc.1")), "Expected rc.2 > rc.1");
+        assertTrue(Version.parse("1.0-rc1").isNewerThan(Version.parse("1.0-beta3")), "Expected rc > beta");
+        assertTrue(Version.parse("1.0-b46").isNewerThan(Version.parse("1.0-b45")), "Expected b46 > b45");
+        assertTrue(Version.parse("1.0.1-SNAPSHOT").isNewerThan(Version.parse("1.0")), "Expected core to win over qualifiers");
+        assertTrue(Version.parse("1.20.4").isNewerThan(Version.parse("1.20.4-R0.1-SNAPSHOT")), "Expected release > R0.1-SNAPSHOT");
+        assertTrue(Version.parse("1.0-2").isNewerThan(Version.parse("1.0-1")), "Expected build 2 > build 1");
+
+        assertEquals(0, Version.parse("1.0+abc").compareTo(Version.parse("1.0+def")), "Expected build metadata to be ignored");
+        assertEquals(0, Version.parse("1.0-paper").compareTo(Version.parse("1.0")), "Expected release flavour to be ignored");
+        assertEquals(0, Version.parse("1.0-RELEASE").compareTo(Version.parse("1.0")), "Expected RELEASE qualifier to be ignored");
+
+        System.out.println("[DEBUG_LOG] Qualifier ordering tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test qualifier ordering is transitive")
+    void testTransitiveOrdering() {
+        System.out.println("[DEBUG_LOG] Testing transitive qualifier ordering...");
+
+        var alpha = Version.parse("1.0-alpha");
+        var buildAlpha = Version.parse("1.0-build-alpha");
+        var dev = Version.parse("1.0-dev");
+
+        assertTrue(alpha.isNewerThan(buildAlpha), "Expected a pre-release name to sort after other words");
+        assertTrue(dev.isNewerThan(buildAlpha), "Expected a pre-release name to sort after other words");
+        assertTrue(alpha.isNewerThan(dev), "Expected alpha to be newer than dev");
+
+        var versions = new ArrayList<>(List.of(alpha, dev, buildAlpha));
+        Collections.sort(versions);
+        assertEquals(List.of(buildAlpha, dev, alpha), versions, "Expected the versions to sort in one order");
+
+        System.out.println("[DEBUG_LOG] Transitive qualifier ordering tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test equal versions have equal hash codes")
+    void testHashCode() {
+        System.out.println("[DEBUG_LOG] Testing version hash codes...");
+
+        assertEquals(Version.parse("1.0-alpha1"), Version.parse("1.0-a1"), "Expected a to be alpha");
+        assertEquals(Version.parse("1.0-alpha1").hashCode(), Version.parse("1.0-a1").hashCode(), "Expected a1 and alpha1 to hash alike");
+        assertEquals(Version.parse("1.0-RC.1").hashCode(), Version.parse("1.0-pre1").hashCode(), "Expected rc and pre to hash alike");
+        assertEquals(Version.parse("1.0.0").hashCode(), Version.parse("1.0").hashCode(), "Expected trailing zeros to be ignored");
+        assertEquals(Version.parse("1.0-paper").hashCode(), Version.parse("1.0").hashCode(), "Expected release flavour to be ignored");
+
+        System.out.println("[DEBUG_LOG] Version hash code tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test unparseable versions")
+    void testUnparseable() {
+        System.out.println("[DEBUG_LOG] Testing unparseable versions...");
+
+        assertNull(Version.parse(null), "Expected null for null input");
+        assertFalse(Version.parse("latest").isParsed(), "Expected 'latest' to be unparsed");
+        assertFalse(Version.parse("99999999999").isParsed(), "Expected overflowing numbers to be unparsed");
+        assertTrue(Version.parse("1.0").isParsed(), "Expected '1.0' to be parsed");
+        assertSame(Version.parse("1.2.3"), Version.parse("1.2.3"), "Expected parsed versions to be cached");
+
+        assertEquals(UpdateResult.ResultType.UNKNOWN, UpdateUtil.compareVersions("1.0", "latest").type(), "Expected UNKNOWN for unparseable latest version");
+        assertEquals(UpdateResult.ResultType.UP_TO_DATE, UpdateUtil.compareVersions("dev", "DEV").type(), "Expected equal strings to be up-to-date");
+        assertEquals(UpdateResult.ResultType.OUT_OF_DATE, UpdateUtil.compareVersions("1.0", "1.1").type(), "Expected OUT_OF_DATE for 1.0 -> 1.1");
+        assertEquals(UpdateResult.ResultType.UP_TO_DATE, UpdateUtil.compareVersions("1.1", "1.1-SNAPSHOT").type(), "Expected UP_TO_DATE for 1.1 -> 1.1-SNAPSHOT");
+
+        System.out.println("[DEBUG_LOG] Unparseable version tests passed!");
+    }
+}
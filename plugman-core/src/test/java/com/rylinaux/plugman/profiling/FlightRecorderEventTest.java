@@ -0,0 +1,86 @@
+package com.rylinaux.plugman.profiling;
+
+import core.com.rylinaux.plugman.PluginResult;
+import core.com.rylinaux.plugman.pojo.UpdateResult;
+import core.com.rylinaux.plugman.profiling.AutoFeatureScanEvent;
+import core.com.rylinaux.plugman.profiling.CommandSyncEvent;
+import core.com.rylinaux.plugman.profiling.PluginOperationEvent;
+import core.com.rylinaux.plugman.profiling.PluginOperationEvent.Phase;
+import core.com.rylinaux.plugman.profiling.UpdateCheckEvent;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class to verify PlugManX operations show up in flight recordings
+ */
+public class FlightRecorderEventTest {
+
+    @Test
+    @DisplayName("Test operations are recorded as JFR events")
+    void testEvents(@TempDir Path folder) throws Exception {
+        System.out.println("[DEBUG_LOG] Testing JFR events...");
+
+        var file = folder.resolve("plugman.jfr");
+        try (var recording = new Recording()) {
+            recording.enable(PluginOperationEvent.class);
+            recording.enable(CommandSyncEvent.class);
+            recording.enable(UpdateCheckEvent.class);
+            recording.enable(AutoFeatureScanEvent.class);
+            recording.start();
+
+            PluginOperationEvent.record(Phase.LOAD, "TestPlugin", () -> new PluginResult(true, "load.loaded"));
+            assertThrows(IllegalStateException.class, () -> PluginOperationEvent.record(Phase.UNLOAD, "TestPlugin", () -> {
+                throw new IllegalStateException("Expected by the test");
+            }), "Expected the exception to be rethrown");
+            assertThrows(IOException.class, () -> PluginOperationEvent.record(Phase.ENABLE, "TestPlugin", () -> failWith(new IOException("Expected by the test"))),
+                    "Expected a sneaky checked exception to be rethrown");
+            CommandSyncEvent.record(3, () -> {
+            });
+            AutoFeatureScanEvent.record("auto-reload", () -> 2);
+            UpdateCheckEvent.record("TestPlugin", () -> CompletableFuture.completedFuture(new UpdateResult(UpdateResult.ResultType.UP_TO_DATE, "1.0"))).join();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        var events = RecordingFile.readAllEvents(file);
+
+        var operations = byName(events, "com.rylinaux.plugman.PluginOperation");
+        assertEquals(3, operations.size(), "Expected the load, the failed unload and the failed enable");
+        assertEquals("load", operations.getFirst().getString("phase"), "Expected the phase of the operation");
+        assertEquals("TestPlugin", operations.getFirst().getString("plugin"), "Expected the plugin of the operation");
+        assertTrue(operations.getFirst().getBoolean("success"), "Expected the load to succeed");
+        assertEquals("load.loaded", operations.getFirst().getString("messageId"), "Expected the message of the result");
+        assertFalse(operations.get(1).getBoolean("success"), "Expected the unload to fail");
+        assertEquals(IllegalStateException.class.getName(), operations.get(1).getString("messageId"), "Expected the exception in place of a message");
+        assertEquals("enable", operations.getLast().getString("phase"), "Expected the failed enable to be recorded");
+        assertEquals(IOException.class.getName(), operations.getLast().getString("messageId"), "Expected the checked exception in place of a message");
+
+        assertEquals(3, byName(events, "com.rylinaux.plugman.CommandSync").getFirst().getInt("players"), "Expected the players the commands were sent to");
+        assertEquals(2, byName(events, "com.rylinaux.plugman.AutoFeatureScan").getFirst().getInt("queued"), "Expected the operations the scan queued");
+        assertEquals("up_to_date", byName(events, "com.rylinaux.plugman.UpdateCheck").getFirst().getString("result"), "Expected the result of the check");
+
+        System.out.println("[DEBUG_LOG] JFR event tests passed!");
+    }
+
+    @SneakyThrows
+    private static PluginResult failWith(Exception exception) {
+        throw exception;
+    }
+
+    private static List<RecordedEvent> byName(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+    }
+}
@@ -0,0 +1,305 @@
+package com.rylinaux.plugman.profiling;
+
+import com.rylinaux.plugman.update.QuietLogger;
+import core.com.rylinaux.plugman.profiling.Profiler;
+import core.com.rylinaux.plugman.profiling.ProfilerRegistry;
+import core.com.rylinaux.plugman.profiling.SamplingProfiler;
+import core.com.rylinaux.plugman.profiling.TaskProfiler;
+import core.com.rylinaux.plugman.profiling.TimingKey;
+import core.com.rylinaux.plugman.profiling.TimingStats;
+import core.com.rylinaux.plugman.util.ScheduledTask;
+import core.com.rylinaux.plugman.util.StringUtil;
+import core.com.rylinaux.plugman.util.ThreadUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class to verify the timings recorded through {@link Profiler}
+ */
+public class ProfilerTest {
+
+    @Test
+    @DisplayName("Test timings are counted and bucketed")
+    void testStats() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing timing stats...");
+
+        var stats = new TimingStats();
+        for (var i = 0; i < 99; i++) stats.record(1_000);
+        stats.record(5_000_000);
+
+        assertEquals(100, stats.getCount(), "Expected every call to be counted");
+        assertEquals(99 * 1_000 + 5_000_000, stats.getTotalNanos(), "Expected the total of every call");
+        assertEquals(5_000_000, stats.getMaxNanos(), "Expected the longest call");
+        assertEquals(50_990, stats.getMeanNanos(), "Expected the mean of every call");
+        assertTrue(stats.getPercentileNanos(50) >= 1_000 && stats.getPercentileNanos(50) < 2_000, "Expected the median within a factor of two");
+        assertEquals(5_000_000, stats.getPercentileNanos(100), "Expected the top percentile to be capped at the maximum");
+
+        var threads = Executors.newFixedThreadPool(8);
+        for (var thread = 0; thread < 8; thread++) threads.execute(() -> {
+            for (var i = 0; i < 10_000; i++) stats.record(100);
+        });
+        threads.shutdown();
+        assertTrue(threads.awaitTermination(10, TimeUnit.SECONDS), "Expected the threads to finish");
+        assertEquals(80_100, stats.getCount(), "Expected calls from every thread to be counted");
+
+        stats.reset();
+        assertEquals(0, stats.getCount(), "Expected nothing after a reset");
+        assertEquals(0, stats.getPercentileNanos(99), "Expected no percentile after a reset");
+
+        assertEquals("850ns", StringUtil.formatNanos(850), "Expected nanoseconds");
+        assertEquals("3.07ms", StringUtil.formatNanos(3_070_000), "Expected milliseconds");
+
+        System.out.println("[DEBUG_LOG] Timing stats tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test profilers are started, stopped and told about unloads")
+    void testProfiler() {
+        System.out.println("[DEBUG_LOG] Testing profilers...");
+
+        var profiler = new RecordingProfiler();
+        var registry = new ProfilerRegistry();
+        registry.register(profiler);
+        assertSame(profiler, registry.get("TEST"), "Expected profilers to be found by name");
+
+        registry.pluginUnloaded("Alpha");
+        assertEquals(List.of(), profiler.calls, "Expected a stopped profiler not to be told about unloads");
+
+        assertTrue(profiler.start(), "Expected the profiler to start");
+        assertFalse(profiler.start(), "Expected the profiler not to start twice");
+        profiler.stats(new TimingKey("Alpha", "Event", "a")).record(10);
+        profiler.stats(new TimingKey("Beta", "Event", "b")).record(30);
+        profiler.stats(new TimingKey("Beta", "Other", "c"));
+
+        assertEquals(List.of("Beta", "Alpha"), profiler.top(null, 10).stream().map(entry -> entry.getKey().plugin()).toList(), "Expected the most total time first, without empty timings");
+        assertEquals(1, profiler.top("alpha", 10).size(), "Expected timings filtered by plugin");
+
+        registry.pluginUnloaded("Alpha");
+        registry.shutdown();
+        assertFalse(profiler.isRunning(), "Expected the profiler to be stopped on shutdown");
+        assertEquals(List.of("install", "forget Alpha", "uninstall"), profiler.calls, "Expected hooks to be installed, dropped and restored");
+        assertEquals(2, profiler.top(null, 10).size(), "Expected timings to be kept after stopping");
+
+        profiler.start();
+        assertEquals(List.of(), profiler.top(null, 10), "Expected timings to be discarded when starting again");
+
+        System.out.println("[DEBUG_LOG] Profiler tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test scheduler tasks are timed and restored")
+    void testTaskProfiler() {
+        System.out.println("[DEBUG_LOG] Testing the task profiler...");
+
+        Runnable body = () -> {
+        };
+        Consumer<FakeTask> consumerBody = ignored -> {
+        };
+        var runnableTask = new FakeTask("Alpha", body, null);
+        var consumerTask = new FakeTask("Beta", null, consumerBody);
+        var profiler = new FakeTaskProfiler(new ScanThreadUtil());
+        profiler.pending.add(runnableTask);
+
+        assertTrue(profiler.start(), "Expected the profiler to start");
+        assertNotSame(body, runnableTask.runnable, "Expected the body of a pending task to be wrapped");
+        runnableTask.run();
+        runnableTask.run();
+
+        profiler.pending.add(consumerTask);
+        profiler.threadUtil.scan.run();
+        consumerTask.run();
+
+        var timings = profiler.top(null, 10);
+        assertEquals(2, timings.size(), "Expected a timing for both tasks");
+        var alpha = profiler.top("Alpha", 10).getFirst();
+        assertEquals(new TimingKey("Alpha", "ProfilerTest (lambda)", "sync"), alpha.getKey(), "Expected tasks to be named after their class");
+        assertEquals(2, alpha.getValue().getCount(), "Expected every run to be counted");
+
+        profiler.pluginUnloaded("Beta");
+        assertSame(consumerBody, consumerTask.consumer, "Expected the tasks of an unloaded plugin to be restored");
+        profiler.stop();
+        assertSame(body, runnableTask.runnable, "Expected tasks to be restored when stopping");
+        assertTrue(profiler.threadUtil.cancelled, "Expected the scans to stop");
+
+        profiler.threadUtil.scan.run();
+        assertSame(body, runnableTask.runnable, "Expected a late scan not to wrap tasks again");
+        assertEquals("Object", TaskProfiler.getTaskName(new Object()), "Expected the package to be dropped");
+
+        System.out.println("[DEBUG_LOG] Task profiler tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test samples are attributed to plugins and written as collapsed stacks")
+    void testSamplingProfiler(@TempDir Path folder) throws Exception {
+        System.out.println("[DEBUG_LOG] Testing the sampling profiler...");
+
+        var stop = new AtomicBoolean();
+        var busy = new Thread(() -> {
+            while (!stop.get()) spin();
+        }, "Busy Thread #3");
+        busy.start();
+
+        // Stands in for the plugin class loader, over the jar of the plugin's classes
+        var pluginLoader = new URLClassLoader(new URL[]{ProfilerTest.class.getProtectionDomain().getCodeSource().getLocation()}, null);
+        var saved = new CountDownLatch(1);
+        var logger = new QuietLogger() {
+            @Override
+            public void info(String message) {
+                saved.countDown();
+            }
+        };
+        var profiler = new SamplingProfiler(folder.toFile(), logger) {
+            @Override
+            protected Collection<Thread> getSampledThreads() {
+                return List.of(busy);
+            }
+
+            @Override
+            protected Map<ClassLoader, String> getPluginClassLoaders() {
+                return Map.of(pluginLoader, "TestPlugin");
+            }
+        };
+
+        try {
+            assertTrue(profiler.start(), "Expected the sampler to start");
+            Thread.sleep(300);
+            assertTrue(profiler.stop(), "Expected the sampler to stop");
+        } finally {
+            stop.set(true);
+            busy.join();
+            pluginLoader.close();
+        }
+
+        var top = profiler.top(null, 10).getFirst();
+        assertEquals("TestPlugin", top.getKey().plugin(), "Expected the busy thread's samples to be attributed to the plugin");
+        assertEquals("Busy Thread", top.getKey().detail(), "Expected samples to be labelled by thread, without its number");
+        assertTrue(top.getKey().name().startsWith("ProfilerTest"), "Expected the innermost plugin frame, got " + top.getKey().name());
+
+        assertTrue(saved.await(5, TimeUnit.SECONDS), "Expected the profile to be saved");
+        var files = List.of(folder.toFile().listFiles());
+        var collapsed = Files.readString(files.stream().filter(file -> file.getName().endsWith(".collapsed")).findFirst().orElseThrow().toPath());
+        var summary = Files.readString(files.stream().filter(file -> file.getName().endsWith(".txt")).findFirst().orElseThrow().toPath());
+        assertTrue(collapsed.lines().allMatch(line -> line.matches("Busy Thread;.+ \\d+")), "Expected a collapsed stack and count on every line");
+        assertTrue(collapsed.contains(";" + ProfilerTest.class.getName() + "."), "Expected the busy thread's frames in the stacks, got " + collapsed);
+        assertTrue(summary.contains("TestPlugin"), "Expected the plugin in the summary");
+
+        System.out.println("[DEBUG_LOG] Sampling profiler tests passed!");
+    }
+
+    private static double sink;
+
+    private static void spin() {
+        for (var i = 0; i < 10_000; i++) sink += Math.sqrt(i);
+    }
+
+    private static class RecordingProfiler extends Profiler {
+        private final List<String> calls = new ArrayList<>();
+
+        private RecordingProfiler() {
+            super("test");
+        }
+
+        @Override
+        protected void install() {
+            calls.add("install");
+        }
+
+        @Override
+        protected void uninstall() {
+            calls.add("uninstall");
+        }
+
+        @Override
+        protected void forget(String plugin) {
+            calls.add("forget " + plugin);
+        }
+    }
+
+    private static class FakeTask {
+        private final String owner;
+        private final Runnable runnable;
+        private final Consumer<FakeTask> consumer;
+
+        private FakeTask(String owner, Runnable runnable, Consumer<FakeTask> consumer) {
+            this.owner = owner;
+            this.runnable = runnable;
+            this.consumer = consumer;
+        }
+
+        private void run() {
+            if (runnable != null) runnable.run();
+            else consumer.accept(this);
+        }
+    }
+
+    private static class FakeTaskProfiler extends TaskProfiler<FakeTask> {
+        private final List<FakeTask> pending = new ArrayList<>();
+        private final ScanThreadUtil threadUtil;
+
+        private FakeTaskProfiler(ScanThreadUtil threadUtil) {
+            super(threadUtil, "runnable", "consumer");
+            this.threadUtil = threadUtil;
+        }
+
+        @Override
+        protected List<FakeTask> getPendingTasks() {
+            return pending;
+        }
+
+        @Override
+        protected String getOwner(FakeTask task) {
+            return task.owner;
+        }
+
+        @Override
+        protected boolean isSync(FakeTask task) {
+            return true;
+        }
+    }
+
+    /**
+     * Keeps the repeating scan so the test can run it by hand.
+     */
+    private static class ScanThreadUtil implements ThreadUtil {
+        private Runnable scan;
+        private boolean cancelled;
+
+        @Override
+        public void async(Runnable runnable) {
+        }
+
+        @Override
+        public void sync(Runnable runnable) {
+        }
+
+        @Override
+        public ScheduledTask syncRepeating(Runnable runnable, Duration delay, Duration period) {
+            return asyncRepeating(runnable, delay, period);
+        }
+
+        @Override
+        public ScheduledTask asyncRepeating(Runnable runnable, Duration delay, Duration period) {
+            scan = runnable;
+            cancelled = false;
+            return ScheduledTask.of(() -> cancelled = true, () -> cancelled);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.rylinaux.plugman.profiling;
+
+import com.rylinaux.plugman.update.QuietLogger;
+import core.com.rylinaux.plugman.profiling.StartupHistory;
+import core.com.rylinaux.plugman.profiling.StartupRecord;
+import core.com.rylinaux.plugman.profiling.StartupRecord.PhaseTiming;
+import core.com.rylinaux.plugman.profiling.StartupRecord.PluginStartup;
+import core.com.rylinaux.plugman.profiling.StartupSampler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class to verify startups are timed by {@link StartupSampler} and kept by {@link StartupHistory}
+ */
+public class StartupHistoryTest {
+
+    @Test
+    @DisplayName("Test startups are saved, capped and averaged")
+    void testHistory(@TempDir Path folder) {
+        System.out.println("[DEBUG_LOG] Testing the startup history...");
+
+        var history = new StartupHistory(folder.toFile(), new QuietLogger());
+        assertTrue(history.getStartups().isEmpty(), "Expected no startups before the first one was recorded");
+        assertEquals(OptionalLong.empty(), history.getEarlierAverage(null), "Expected no average without startups");
+
+        for (var i = 1; i <= 12; i++) history.record(startup(i, i * 100L, i == 12? null : i * 10L));
+
+        var reloaded = new StartupHistory(folder.toFile(), new QuietLogger());
+        var startups = reloaded.getStartups();
+        assertEquals(10, startups.size(), "Expected only the last 10 startups to be kept");
+        assertEquals(3, startups.getFirst().startedAt(), "Expected the oldest startups to be forgotten");
+        assertEquals(12, startups.getLast().startedAt(), "Expected the startups oldest first");
+        assertEquals(30, startups.getFirst().find("slowplugin").enable().wallNanos(), "Expected plugins to be found case-insensitively");
+
+        // Startups 3 to 11 are earlier than the last one
+        assertEquals(OptionalLong.of(700), reloaded.getEarlierAverage(null), "Expected the average boot time of the earlier startups");
+        assertEquals(OptionalLong.of(71), reloaded.getEarlierAverage("SlowPlugin"), "Expected the average time of the plugin");
+        assertEquals(OptionalLong.empty(), reloaded.getEarlierAverage("Unknown"), "Expected no average for a plugin that was never timed");
+
+        System.out.println("[DEBUG_LOG] Startup history tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test the sampler attributes onLoad and onEnable to plugins")
+    void testSampler() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing the startup sampler...");
+
+        var plugin = new FakePlugin();
+        var server = new Thread(() -> {
+            plugin.onLoad();
+            plugin.onEnable();
+        }, "Fake Server Thread");
+
+        var sampler = StartupSampler.start("Fake Server Thread");
+        server.start();
+        server.join();
+        var plugins = sampler.stop(className -> className.equals(FakePlugin.class.getName())? "FakePlugin" : null);
+
+        assertEquals(1, plugins.size(), "Expected only the fake plugin to be timed");
+        var startup = plugins.getFirst();
+        assertEquals("FakePlugin", startup.plugin(), "Expected the class to be mapped to its plugin");
+        assertTrue(startup.load().wallNanos() >= TimeUnit.MILLISECONDS.toNanos(50), "Expected onLoad to be timed, got " + startup.load());
+        assertTrue(startup.enable().wallNanos() > startup.load().wallNanos(), "Expected onEnable to take longer than onLoad, got " + startup);
+
+        System.out.println("[DEBUG_LOG] Startup sampler tests passed!");
+    }
+
+    private static StartupRecord startup(long startedAt, long bootNanos, Long pluginNanos) {
+        var plugins = pluginNanos == null? List.<PluginStartup>of() : List.of(new PluginStartup("SlowPlugin", new PhaseTiming(1, 1, 1), new PhaseTiming(pluginNanos, 0, 0)));
+        return new StartupRecord(startedAt, bootNanos, plugins);
+    }
+
+    private static class FakePlugin {
+
+        void onLoad() {
+            sleep(100);
+        }
+
+        void onEnable() {
+            sleep(300);
+        }
+
+        private static void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.rylinaux.plugman.update;
+
+import core.com.rylinaux.plugman.util.updatechecker.CircuitBreaker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class to verify {@link CircuitBreaker} lets a trial through and recovers from lost trials
+ */
+public class CircuitBreakerTest {
+
+    @Test
+    @DisplayName("Test a trial that never reports back does not block the provider")
+    void testLostTrial() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing lost half-open trials...");
+
+        var breaker = new CircuitBreaker("test", 1, Duration.ofMillis(50));
+        assertTrue(breaker.recordFailure(), "Expected the failure to open the breaker");
+        assertFalse(breaker.allowRequest(), "Expected calls to be rejected while open");
+
+        Thread.sleep(60);
+        assertTrue(breaker.allowRequest(), "Expected a trial once the open duration is over");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState(), "Expected the breaker to be half-open");
+        assertFalse(breaker.allowRequest(), "Expected a single trial at a time");
+
+        breaker.recordAbandoned();
+        assertTrue(breaker.allowRequest(), "Expected an abandoned trial to be made again right away");
+
+        Thread.sleep(60);
+        assertTrue(breaker.allowRequest(), "Expected a trial that never reported back to be given up on");
+
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(), "Expected a successful trial to close the breaker");
+        breaker.recordAbandoned();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(), "Expected abandoned calls to leave a closed breaker alone");
+
+        System.out.println("[DEBUG_LOG] Lost half-open trial tests passed!");
+    }
+}
@@ -0,0 +1,33 @@
+package com.rylinaux.plugman.update;
+
+import core.com.rylinaux.plugman.logging.PluginLogger;
+
+/**
+ * Logger that drops everything, provider failures are expected in some of these tests.
+ */
+public class QuietLogger implements PluginLogger {
+
+    @Override
+    public void info(String message) {
+    }
+
+    @Override
+    public void info(String message, Throwable throwable) {
+    }
+
+    @Override
+    public void warning(String message) {
+    }
+
+    @Override
+    public void warning(String message, Throwable throwable) {
+    }
+
+    @Override
+    public void severe(String message) {
+    }
+
+    @Override
+    public void severe(String message, Throwable throwable) {
+    }
+}
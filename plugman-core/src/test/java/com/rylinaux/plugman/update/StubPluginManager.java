@@ -0,0 +1,191 @@
+package com.rylinaux.plugman.update;
+
+import core.com.rylinaux.plugman.PluginResult;
+import core.com.rylinaux.plugman.plugins.CommandMapWrap;
+import core.com.rylinaux.plugman.plugins.Plugin;
+import core.com.rylinaux.plugman.plugins.PluginManager;
+
+import java.io.File;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Plugin manager holding fake plugins that only have a name, a version, a jar file, authors and an enabled state.
+ * Everything that would touch a real server throws {@link UnsupportedOperationException}.
+ */
+public class StubPluginManager implements PluginManager {
+    private final Map<String, Plugin> plugins = new ConcurrentHashMap<>();
+    private final Set<String> paperPlugins = ConcurrentHashMap.newKeySet();
+
+    public void add(String name, String version, File file) {
+        add(name, version, file, true, false);
+    }
+
+    public void add(String name, String version, File file, boolean enabled, boolean paper, String... authors) {
+        plugins.put(name.toLowerCase(Locale.ROOT), new StubPlugin(name, version, file, enabled, List.of(authors)));
+        if (paper) paperPlugins.add(name.toLowerCase(Locale.ROOT));
+        else paperPlugins.remove(name.toLowerCase(Locale.ROOT));
+    }
+
+    public void remove(String name) {
+        plugins.remove(name.toLowerCase(Locale.ROOT));
+        paperPlugins.remove(name.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public Plugin getPluginByName(String name) {
+        return name == null? null : plugins.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public Plugin getPluginByName(String[] args, int start) {
+        return getPluginByName(String.join(" ", List.of(args).subList(start, args.length)));
+    }
+
+    @Override
+    public Set<Plugin> getPlugins() {
+        return new LinkedHashSet<>(plugins.values());
+    }
+
+    @Override
+    public List<String> getPluginNames(boolean fullName) {
+        return plugins.values().stream().map(Plugin::getName).toList();
+    }
+
+    @Override
+    public List<String> getDisabledPluginNames(boolean fullName) {
+        return List.of();
+    }
+
+    @Override
+    public List<String> getEnabledPluginNames(boolean fullName) {
+        return getPluginNames(fullName);
+    }
+
+    @Override
+    public String getPluginVersion(String name) {
+        var plugin = getPluginByName(name);
+        return plugin == null? null : plugin.getVersion();
+    }
+
+    @Override
+    public String getFormattedName(Plugin plugin) {
+        return plugin.getName();
+    }
+
+    @Override
+    public String getFormattedName(Plugin plugin, boolean includeVersions) {
+        return includeVersions? plugin.getName() + " (" + plugin.getVersion() + ")" : plugin.getName();
+    }
+
+    @Override
+    public boolean isIgnored(Plugin plugin) {
+        return false;
+    }
+
+    @Override
+    public boolean isIgnored(String plugin) {
+        return false;
+    }
+
+    @Override
+    public boolean isPaperPlugin(Plugin plugin) {
+        return paperPlugins.contains(plugin.getName().toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public PluginResult enable(Plugin plugin) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PluginResult enableAll() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PluginResult disable(Plugin plugin) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PluginResult disableAll() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getUsages(Plugin plugin) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<String> findByCommand(String command) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PluginResult load(String name) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CommandMapWrap<?> getKnownCommands() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PluginResult unload(Plugin plugin) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * A fake plugin.
+     */
+    private record StubPlugin(String name, String version, File file, boolean enabled, List<String> authors) implements Plugin {
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        @Override
+        public String getVersion() {
+            return version;
+        }
+
+        @Override
+        public List<String> getDepend() {
+            return List.of();
+        }
+
+        @Override
+        public List<String> getSoftDepend() {
+            return List.of();
+        }
+
+        @Override
+        public List<String> getAuthors() {
+            return authors;
+        }
+
+        @Override
+        public File getFile() {
+            return file;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getHandle() {
+            return (T) this;
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package com.rylinaux.plugman.update;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import core.com.rylinaux.plugman.util.updatechecker.UpdateHttpUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the Modrinth, Hangar, SpiGet, CurseForge and GitHub APIs.
+ * <p>
+ * Answers are rendered from the recorded responses in {@code fixtures/update}, filled in from the
+ * listings added with {@link #list}. Files published with {@link #publish} are served from {@code /files/}. Latency, 429 responses, stalled requests and oversized payloads
+ * can be injected to see how the update pipeline copes with them.
+ */
+public class StubUpdateServer implements AutoCloseable {
+    private static final String[] PROVIDERS = {UpdateHttpUtil.MODRINTH, UpdateHttpUtil.HANGAR, UpdateHttpUtil.SPIGET, UpdateHttpUtil.CURSEFORGE, UpdateHttpUtil.GITHUB};
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, String> fixtures = new HashMap<>();
+    private final Map<String, Listing> listings = new ConcurrentHashMap<>();
+    private final Map<String, Listing> listingsById = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+    private final Set<String> rateLimited = ConcurrentHashMap.newKeySet();
+    private final List<Map<String, String>> modrinthVersionQueries = new CopyOnWriteArrayList<>();
+    private final AtomicLong totalRequests = new AtomicLong();
+
+    private volatile long latencyMillis;
+    private volatile int rateLimitEvery;
+    private volatile int retryAfterSeconds;
+    private volatile int stallEvery;
+    private volatile long stallMillis;
+    private volatile int paddingBytes;
+    private volatile boolean corruptFiles;
+    private volatile String modrinthGameVersion;
+
+    public StubUpdateServer() throws IOException {
+        for (var name : new String[]{"modrinth-search", "modrinth-versions", "hangar-search", "hangar-versions", "spiget-search",
+                "spiget-versions", "curseforge-search", "curseforge-files", "github-release"})
+            fixtures.put(name, readFixture(name));
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        for (var provider : PROVIDERS) server.createContext("/" + provider + "/", exchange -> handle(provider, exchange));
+        server.createContext("/files/", this::handleFile);
+        server.start();
+    }
+
+    /**
+     * Point every update provider at this server.
+     */
+    public void install() {
+        for (var provider : PROVIDERS) UpdateHttpUtil.setBaseUrl(provider, getBaseUrl(provider));
+    }
+
+    public String getBaseUrl(String provider) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/" + provider + "/";
+    }
+
+    /**
+     * List a plugin on a provider.
+     *
+     * @param provider the provider id
+     * @param name     the plugin name
+     * @param id       the numeric resource id
+     * @param version  the latest version to report
+     */
+    public void list(String provider, String name, long id, String version) {
+        var path = provider + "/" + fileName(name, version);
+        add(provider, new Listing(name, id, version, getBaseUrl("files") + path, 1024, "00", "00"));
+    }
+
+    /**
+     * List a plugin on a provider and serve its latest version as a file with matching hashes.
+     *
+     * @param provider the provider id
+     * @param name     the plugin name
+     * @param id       the numeric resource id
+     * @param version  the latest version to report
+     * @param content  the file content
+     */
+    public void publish(String provider, String name, long id, String version, byte[] content) {
+        var path = provider + "/" + fileName(name, version);
+        files.put(path, content);
+        add(provider, new Listing(name, id, version, getBaseUrl("files") + path, content.length, hash("SHA-512", content), hash("SHA-256", content)));
+    }
+
+    public void clearListings() {
+        listings.clear();
+        listingsById.clear();
+        files.clear();
+    }
+
+    public long getRequestCount(String provider) {
+        var count = requestCounts.get(provider);
+        return count == null? 0 : count.get();
+    }
+
+    public long getTotalRequests() {
+        return totalRequests.get();
+    }
+
+    /**
+     * Delay every response.
+     */
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Answer every n-th request with 429, optionally with a Retry-After header. 0 disables it.
+     * A URL is only rate limited once, so retries always get through.
+     */
+    public void setRateLimitEvery(int every, int retryAfterSeconds) {
+        this.rateLimitEvery = every;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Hold every n-th request for a while before answering, so the client times out. 0 disables it.
+     */
+    public void setStallEvery(int every, long stallMillis) {
+        this.stallEvery = every;
+        this.stallMillis = stallMillis;
+    }
+
+    /**
+     * Pad the first object of every response with a string of this many bytes.
+     */
+    public void setPaddingBytes(int paddingBytes) {
+        this.paddingBytes = paddingBytes;
+    }
+
+    /**
+     * Flip the last byte of every file served, so its hash no longer matches.
+     */
+    public void setCorruptFiles(boolean corruptFiles) {
+        this.corruptFiles = corruptFiles;
+    }
+
+    /**
+     * Only list Modrinth versions for this game version, requests filtering by another one get none. Null lists
+     * them for every game version.
+     */
+    public void setModrinthGameVersion(String modrinthGameVersion) {
+        this.modrinthGameVersion = modrinthGameVersion;
+    }
+
+    /**
+     * @return the query of every Modrinth version request, in order
+     */
+    public List<Map<String, String>> getModrinthVersionQueries() {
+        return List.copyOf(modrinthVersionQueries);
+    }
+
+    public void resetFaults() {
+        latencyMillis = 0;
+        rateLimitEvery = 0;
+        rateLimited.clear();
+        stallEvery = 0;
+        paddingBytes = 0;
+        corruptFiles = false;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(String provider, HttpExchange exchange) throws IOException {
+        try (exchange) {
+            var number = totalRequests.incrementAndGet();
+            requestCounts.computeIfAbsent(provider, ignored -> new AtomicLong()).incrementAndGet();
+
+            if (latencyMillis > 0) Thread.sleep(latencyMillis);
+
+            if (stallEvery > 0 && number % stallEvery == 0) {
+                Thread.sleep(stallMillis);
+                return;
+            }
+
+            if (rateLimitEvery > 0 && number % rateLimitEvery == 0 && rateLimited.add(exchange.getRequestURI().toString())) {
+                if (retryAfterSeconds > 0) exchange.getResponseHeaders().add("Retry-After", String.valueOf(retryAfterSeconds));
+                send(exchange, 429, "{\"error\":\"rate limited\"}");
+                return;
+            }
+
+            var uri = exchange.getRequestURI();
+            var path = uri.getRawPath().substring(provider.length() + 2);
+            var query = parseQuery(uri.getRawQuery());
+
+            var body = switch (provider) {
+                case UpdateHttpUtil.MODRINTH -> modrinth(path, query);
+                case UpdateHttpUtil.HANGAR -> hangar(path, query);
+                case UpdateHttpUtil.SPIGET -> spiget(path);
+                case UpdateHttpUtil.CURSEFORGE -> curseForge(path, query);
+                default -> github(path);
+            };
+
+            if (body == null) send(exchange, 404, "{\"error\":\"not found\"}");
+            else send(exchange, 200, body);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handleFile(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            totalRequests.incrementAndGet();
+            requestCounts.computeIfAbsent("files", ignored -> new AtomicLong()).incrementAndGet();
+
+            var content = files.get(exchange.getRequestURI().getRawPath().substring("/files/".length()));
+            if (content == null) {
+                send(exchange, 404, "{\"error\":\"not found\"}");
+                return;
+            }
+
+            if (corruptFiles && content.length > 0) {
+                content = content.clone();
+                content[content.length - 1] ^= 1;
+            }
+
+            exchange.getResponseHeaders().add("Content-Type", "application/java-archive");
+            exchange.sendResponseHeaders(200, content.length);
+            exchange.getResponseBody().write(content);
+        }
+    }
+
+    private String modrinth(String path, Map<String, String> query) {
+        if (path.equals("search")) {
+            var listing = listings.get(key(UpdateHttpUtil.MODRINTH, query.get("query")));
+            return listing == null? "{\"hits\":[],\"offset\":0,\"limit\":5,\"total_hits\":0}" : render("modrinth-search", listing);
+        }
+
+        var parts = path.split("/");
+        if (parts.length == 3 && parts[0].equals("project") && parts[2].equals("version")) {
+            modrinthVersionQueries.add(query);
+            var gameVersions = query.get("game_versions");
+            if (modrinthGameVersion != null && gameVersions != null && !gameVersions.contains("\"" + modrinthGameVersion + "\"")) return "[]";
+
+            var listing = findById(UpdateHttpUtil.MODRINTH, parts[1]);
+            return listing == null? null : render("modrinth-versions", listing);
+        }
+        return null;
+    }
+
+    private String hangar(String path, Map<String, String> query) {
+        if (path.equals("projects")) {
+            var listing = listings.get(key(UpdateHttpUtil.HANGAR, query.get("query")));
+            return listing == null? "{\"pagination\":{\"limit\":5,\"offset\":0,\"count\":0},\"result\":[]}" : render("hangar-search", listing);
+        }
+
+        var parts = path.split("/");
+        if (parts.length == 4 && parts[0].equals("projects") && parts[3].equals("versions")) {
+            var listing = listings.get(key(UpdateHttpUtil.HANGAR, parts[2]));
+            return listing == null? null : render("hangar-versions", listing);
+        }
+        return null;
+    }
+
+    private String spiget(String path) {
+        var parts = path.split("/");
+        if (parts.length == 3 && parts[0].equals("search") && parts[1].equals("resources")) {
+            var listing = listings.get(key(UpdateHttpUtil.SPIGET, decode(parts[2])));
+            return listing == null? null : render("spiget-search", listing);
+        }
+
+        if (parts.length == 3 && parts[0].equals("resources") && parts[2].equals("versions")) {
+            var listing = findById(UpdateHttpUtil.SPIGET, parts[1]);
+            return listing == null? null : render("spiget-versions", listing);
+        }
+        return null;
+    }
+
+    private String curseForge(String path, Map<String, String> query) {
+        if (path.equals("projects")) {
+            var listing = listings.get(key(UpdateHttpUtil.CURSEFORGE, query.get("search")));
+            return listing == null? "[]" : render("curseforge-search", listing);
+        }
+
+        if (path.equals("files")) {
+            var listing = findById(UpdateHttpUtil.CURSEFORGE, query.get("projectIds"));
+            return listing == null? "[]" : render("curseforge-files", listing);
+        }
+        return null;
+    }
+
+    private String github(String path) {
+        var parts = path.split("/");
+        if (parts.length == 4 && parts[2].equals("releases") && parts[3].equals("latest")) {
+            var listing = listings.get(key(UpdateHttpUtil.GITHUB, parts[1]));
+            return listing == null? null : render("github-release", listing);
+        }
+        return null;
+    }
+
+    private Listing findById(String provider, String id) {
+        return id == null? null : listingsById.get(key(provider, id));
+    }
+
+    private String render(String fixture, Listing listing) {
+        var padding = paddingBytes > 0? "\"_padding\": \"" + "x".repeat(paddingBytes) + "\"," : "";
+        return fixtures.get(fixture)
+                .replace("${padding}", padding)
+                .replace("${name}", listing.name())
+                .replace("${slug}", listing.name().toLowerCase(Locale.ROOT))
+                .replace("${id}", String.valueOf(listing.id()))
+                .replace("${version}", listing.version())
+                .replace("${fileUrl}", listing.fileUrl())
+                .replace("${fileSize}", String.valueOf(listing.fileSize()))
+                .replace("${sha512}", listing.sha512())
+                .replace("${sha256}", listing.sha256());
+    }
+
+    private void add(String provider, Listing listing) {
+        listings.put(key(provider, listing.name()), listing);
+        listingsById.put(key(provider, String.valueOf(listing.id())), listing);
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        var bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        var query = new HashMap<String, String>();
+        if (rawQuery == null) return query;
+        for (var pair : rawQuery.split("&")) {
+            var separator = pair.indexOf('=');
+            if (separator > 0) query.put(decode(pair.substring(0, separator)), decode(pair.substring(separator + 1)));
+        }
+        return query;
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String fileName(String name, String version) {
+        return name.toLowerCase(Locale.ROOT) + "-" + version + ".jar";
+    }
+
+    private static String hash(String algorithm, byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(content));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static String key(String provider, String name) {
+        return provider + ":" + (name == null? "" : name.toLowerCase(Locale.ROOT));
+    }
+
+    private static String readFixture(String name) {
+        try (InputStream in = StubUpdateServer.class.getResourceAsStream("/fixtures/update/" + name + ".json")) {
+            if (in == null) throw new IllegalStateException("Missing fixture " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * A plugin listed on a provider, with the file of its latest version.
+     */
+    private record Listing(String name, long id, String version, String fileUrl, long fileSize, String sha512, String sha256) {
+    }
+}
@@ -0,0 +1,242 @@
+package com.rylinaux.plugman.update;
+
+import core.com.rylinaux.plugman.config.PlugManConfigurationManager;
+import core.com.rylinaux.plugman.config.model.PlugManConfig;
+import core.com.rylinaux.plugman.config.model.ResourceMappingsConfig;
+import core.com.rylinaux.plugman.logging.PluginLogger;
+import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.pojo.UpdateResult;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.update.provider.UpdateProviderRegistry;
+import core.com.rylinaux.plugman.util.updatechecker.UpdateHttpUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class running the update check pipeline against {@link StubUpdateServer}
+ */
+public class UpdateCheckLoadTest {
+    private static final String[] PROVIDERS = {UpdateHttpUtil.MODRINTH, UpdateHttpUtil.HANGAR, UpdateHttpUtil.SPIGET, UpdateHttpUtil.CURSEFORGE, UpdateHttpUtil.GITHUB};
+
+    private StubUpdateServer server;
+    private StubPluginManager pluginManager;
+    private PlugManConfig config;
+    private ResourceMappingsConfig resourceMappings;
+    private ServiceRegistry serviceRegistry;
+    private UpdateProviderRegistry registry;
+    private File jar;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) throws Exception {
+        UpdateHttpUtil.reset();
+        // The stub server does not care about the real services' limits
+        for (var provider : PROVIDERS) UpdateHttpUtil.setRateLimit(provider, 1_000_000, Duration.ofMinutes(1));
+
+        server = new StubUpdateServer();
+        server.install();
+
+        jar = Files.writeString(tempDir.resolve("plugin.jar"), "stub jar").toFile();
+        pluginManager = new StubPluginManager();
+        config = new PlugManConfig();
+        config.getUpdateCheck().setMaxConcurrentRequests(16);
+        resourceMappings = new ResourceMappingsConfig();
+        resourceMappings.setResources(new HashMap<>());
+
+        var logger = new QuietLogger();
+        serviceRegistry = new ServiceRegistry();
+        serviceRegistry.register(PluginLogger.class, logger);
+        serviceRegistry.register(PluginManager.class, pluginManager);
+        serviceRegistry.register(PlugManConfigurationManager.class, new PlugManConfigurationManager(null, logger, null) {
+            @Override
+            public PlugManConfig getPlugManConfig() {
+                return config;
+            }
+
+            @Override
+            public ResourceMappingsConfig getResourceMappingsConfig() {
+                return resourceMappings;
+            }
+        });
+        registry = UpdateProviderRegistry.withBuiltinProviders(serviceRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+        server.close();
+        UpdateHttpUtil.reset();
+    }
+
+    @Test
+    @DisplayName("Test every provider against recorded responses")
+    void testProviders() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing providers against the stub server...");
+
+        addPlugin(UpdateHttpUtil.MODRINTH, "ModrinthPlugin", 1, "1.0", "1.1");
+        addPlugin(UpdateHttpUtil.HANGAR, "HangarPlugin", 2, "2.0", "2.0");
+        addPlugin(UpdateHttpUtil.SPIGET, "SpigotPlugin", 3, "3.1", "3.0");
+        addPlugin(UpdateHttpUtil.CURSEFORGE, "CursePlugin", 4, "1.0", "2.0");
+        addPlugin(UpdateHttpUtil.GITHUB, "GithubPlugin", 5, "1.0", "1.2");
+        pluginManager.add("UnlistedPlugin", "1.0", jar);
+
+        var results = registry.checkAll().get(30, TimeUnit.SECONDS);
+
+        assertEquals(UpdateResult.ResultType.OUT_OF_DATE, results.get("ModrinthPlugin").type(), "Expected Modrinth plugin to be out of date");
+        assertEquals("1.1", results.get("ModrinthPlugin").latestVersion(), "Expected Modrinth version_number to be used");
+        assertEquals(UpdateResult.ResultType.UP_TO_DATE, results.get("HangarPlugin").type(), "Expected Hangar plugin to be up to date");
+        assertEquals(UpdateResult.ResultType.UP_TO_DATE, results.get("SpigotPlugin").type(), "Expected newer installed Spigot plugin to be up to date");
+        assertEquals(UpdateResult.ResultType.OUT_OF_DATE, results.get("CursePlugin").type(), "Expected CurseForge plugin to be out of date");
+        assertEquals("2.0", results.get("CursePlugin").latestVersion(), "Expected the last CurseForge file to be used");
+        assertEquals(UpdateResult.ResultType.OUT_OF_DATE, results.get("GithubPlugin").type(), "Expected GitHub plugin to be out of date");
+        assertEquals("1.2", results.get("GithubPlugin").latestVersion(), "Expected the v-prefix to be stripped from the tag");
+        assertEquals(UpdateResult.ResultType.INVALID_PLUGIN, results.get("UnlistedPlugin").type(), "Expected unlisted plugin to be invalid");
+
+        System.out.println("[DEBUG_LOG] Provider tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test 429 responses are retried")
+    void testRateLimitedRequestsAreRetried() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing 429 handling...");
+
+        for (var i = 0; i < 20; i++) addPlugin(UpdateHttpUtil.MODRINTH, "Plugin" + i, i + 1, "1.0", "1.1");
+        server.setRateLimitEvery(3, 0);
+
+        var results = registry.checkAll().get(60, TimeUnit.SECONDS);
+
+        assertEquals(20, results.size(), "Expected a result for every plugin");
+        for (var entry : results.entrySet())
+            assertEquals(UpdateResult.ResultType.OUT_OF_DATE, entry.getValue().type(), "Expected " + entry.getKey() + " to survive the 429");
+        assertTrue(server.getTotalRequests() > 40, "Expected rate limited requests to be sent again");
+
+        System.out.println("[DEBUG_LOG] 429 handling tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test stalled requests time out")
+    void testStalledRequestsTimeOut() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing request timeouts...");
+
+        UpdateHttpUtil.setRequestTimeout(Duration.ofMillis(200));
+        server.setStallEvery(1, 2000);
+        addPlugin(UpdateHttpUtil.MODRINTH, "SlowPlugin", 1, "1.0", "1.1");
+        mapPlugin("SlowPlugin").setModrinth("1");
+
+        var result = registry.check("SlowPlugin").get(15, TimeUnit.SECONDS);
+
+        assertEquals(UpdateResult.ResultType.UNKNOWN, result.type(), "Expected a timed out check to be reported as unknown");
+        assertEquals("1.0", result.currentVersion(), "Expected the installed version to be kept");
+        assertEquals(3, server.getRequestCount(UpdateHttpUtil.MODRINTH), "Expected the request to be tried three times");
+
+        System.out.println("[DEBUG_LOG] Request timeout tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test a GitHub outage is not reported as up to date")
+    void testGithubOutage() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing GitHub outages...");
+
+        UpdateHttpUtil.setRequestTimeout(Duration.ofMillis(200));
+        server.setStallEvery(1, 2000);
+        addPlugin(UpdateHttpUtil.GITHUB, "GithubPlugin", 1, "1.0", "1.1");
+
+        var result = registry.check("GithubPlugin").get(15, TimeUnit.SECONDS);
+
+        assertEquals(UpdateResult.ResultType.UNKNOWN, result.type(), "Expected a timed out GitHub check to be reported as unknown");
+        assertEquals("1.0", result.currentVersion(), "Expected the installed version to be kept");
+        assertEquals(3, server.getRequestCount(UpdateHttpUtil.GITHUB), "Expected the request to be tried three times");
+
+        System.out.println("[DEBUG_LOG] GitHub outage tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test huge payloads are streamed")
+    void testHugePayloads() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing huge payloads...");
+
+        server.setPaddingBytes(8 * 1024 * 1024);
+        addPlugin(UpdateHttpUtil.MODRINTH, "ModrinthPlugin", 1, "1.0", "1.1");
+        addPlugin(UpdateHttpUtil.HANGAR, "HangarPlugin", 2, "1.0", "1.1");
+        addPlugin(UpdateHttpUtil.SPIGET, "SpigotPlugin", 3, "1.0", "1.1");
+        addPlugin(UpdateHttpUtil.CURSEFORGE, "CursePlugin", 4, "1.0", "1.1");
+
+        var results = registry.checkAll().get(60, TimeUnit.SECONDS);
+
+        for (var entry : results.entrySet())
+            assertEquals(UpdateResult.ResultType.OUT_OF_DATE, entry.getValue().type(), "Expected " + entry.getKey() + " to be parsed despite the padding");
+
+        System.out.println("[DEBUG_LOG] Huge payload tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test check all with 500 plugins")
+    void testCheckAllLoad() throws Exception {
+        System.out.println("[DEBUG_LOG] Running check all with 500 plugins...");
+
+        server.setLatencyMillis(5);
+        var expected = new EnumMap<UpdateResult.ResultType, Integer>(UpdateResult.ResultType.class);
+        for (var i = 0; i < 500; i++) {
+            var outdated = i % 2 == 0;
+            addPlugin(PROVIDERS[i % PROVIDERS.length], "Plugin" + i, i + 1, "1.0", outdated? "1.1" : "1.0");
+            expected.merge(outdated? UpdateResult.ResultType.OUT_OF_DATE : UpdateResult.ResultType.UP_TO_DATE, 1, Integer::sum);
+        }
+
+        var latencies = new long[500];
+        var index = new AtomicInteger();
+        var futures = new ArrayList<CompletableFuture<UpdateResult>>();
+
+        var start = System.nanoTime();
+        for (var plugin : pluginManager.getPlugins()) {
+            var checkStart = System.nanoTime();
+            futures.add(registry.check(plugin.getName()).whenComplete((result, failure) ->
+                    latencies[index.getAndIncrement()] = System.nanoTime() - checkStart));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(120, TimeUnit.SECONDS);
+        var elapsed = System.nanoTime() - start;
+
+        var actual = new EnumMap<UpdateResult.ResultType, Integer>(UpdateResult.ResultType.class);
+        for (var future : futures) actual.merge(future.join().type(), 1, Integer::sum);
+        assertEquals(expected, actual, "Expected every plugin to be resolved on its provider");
+
+        Arrays.sort(latencies);
+        var seconds = elapsed / 1e9;
+        System.out.printf("[DEBUG_LOG] %d plugins, %d requests in %.2fs: %.1f checks/s, %.1f requests/s%n",
+                latencies.length, server.getTotalRequests(), seconds, latencies.length / seconds, server.getTotalRequests() / seconds);
+        System.out.printf("[DEBUG_LOG] latency p50=%dms p90=%dms p99=%dms max=%dms%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99), percentile(latencies, 1.0));
+
+        System.out.println("[DEBUG_LOG] Check all load test passed!");
+    }
+
+    private void addPlugin(String provider, String name, long id, String installed, String latest) {
+        pluginManager.add(name, installed, jar);
+        server.list(provider, name, id, latest);
+        if (provider.equals(UpdateHttpUtil.GITHUB)) mapPlugin(name).setGithub("stub/" + name.toLowerCase());
+    }
+
+    private ResourceMappingsConfig.ResourceInfo mapPlugin(String name) {
+        return resourceMappings.getResources().computeIfAbsent(name.toLowerCase(), ignored -> new ResourceMappingsConfig.ResourceInfo());
+    }
+
+    private static long percentile(long[] sortedNanos, double quantile) {
+        var rank = Math.max(1, (int) Math.ceil(quantile * sortedNanos.length));
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos[rank - 1]);
+    }
+}
@@ -0,0 +1,247 @@
+package com.rylinaux.plugman.update;
+
+import core.com.rylinaux.plugman.config.PlugManConfigurationManager;
+import core.com.rylinaux.plugman.config.model.PlugManConfig;
+import core.com.rylinaux.plugman.config.model.ResourceMappingsConfig;
+import core.com.rylinaux.plugman.logging.PluginLogger;
+import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.update.DownloadResult;
+import core.com.rylinaux.plugman.update.UpdateDownloader;
+import core.com.rylinaux.plugman.update.provider.ModrinthUpdateProvider;
+import core.com.rylinaux.plugman.update.provider.UpdateProviderRegistry;
+import core.com.rylinaux.plugman.util.updatechecker.HangarUtil;
+import core.com.rylinaux.plugman.util.updatechecker.UpdateHttpUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for {@link UpdateDownloader} running against {@link StubUpdateServer}
+ */
+public class UpdateDownloaderTest {
+    private static final String[] PROVIDERS = {UpdateHttpUtil.MODRINTH, UpdateHttpUtil.HANGAR, UpdateHttpUtil.SPIGET, UpdateHttpUtil.CURSEFORGE, UpdateHttpUtil.GITHUB, UpdateHttpUtil.DOWNLOAD};
+
+    private StubUpdateServer server;
+    private StubPluginManager pluginManager;
+    private ResourceMappingsConfig resourceMappings;
+    private UpdateProviderRegistry registry;
+    private UpdateDownloader downloader;
+    private Path pluginsFolder;
+    private Path updateFolder;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) throws Exception {
+        UpdateHttpUtil.reset();
+        for (var provider : PROVIDERS) UpdateHttpUtil.setRateLimit(provider, 1_000_000, Duration.ofMinutes(1));
+
+        server = new StubUpdateServer();
+        server.install();
+
+        pluginsFolder = Files.createDirectories(tempDir.resolve("plugins"));
+        updateFolder = pluginsFolder.resolve("update");
+
+        pluginManager = new StubPluginManager();
+        var config = new PlugManConfig();
+        resourceMappings = new ResourceMappingsConfig();
+        resourceMappings.setResources(new HashMap<>());
+
+        var logger = new QuietLogger();
+        var serviceRegistry = new ServiceRegistry();
+        serviceRegistry.register(PluginLogger.class, logger);
+        serviceRegistry.register(PluginManager.class, pluginManager);
+        serviceRegistry.register(PlugManConfigurationManager.class, new PlugManConfigurationManager(null, logger, null) {
+            @Override
+            public PlugManConfig getPlugManConfig() {
+                return config;
+            }
+
+            @Override
+            public ResourceMappingsConfig getResourceMappingsConfig() {
+                return resourceMappings;
+            }
+        });
+        registry = UpdateProviderRegistry.withBuiltinProviders(serviceRegistry);
+        serviceRegistry.register(UpdateProviderRegistry.class, registry);
+        downloader = new UpdateDownloader(serviceRegistry, updateFolder.toFile());
+    }
+
+    @AfterEach
+    void tearDown() {
+        downloader.shutdown();
+        registry.shutdown();
+        server.close();
+        UpdateHttpUtil.reset();
+    }
+
+    @Test
+    @DisplayName("Test files are verified and moved into the update folder")
+    void testDownloadsAreVerified() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing verified downloads...");
+
+        var modrinth = publish(UpdateHttpUtil.MODRINTH, "ModrinthPlugin", 1, "1.0", "1.1");
+        var hangar = publish(UpdateHttpUtil.HANGAR, "HangarPlugin", 2, "1.0", "1.1");
+        var github = publish(UpdateHttpUtil.GITHUB, "GithubPlugin", 3, "1.0", "1.1");
+
+        assertDownloaded("ModrinthPlugin", modrinth);
+        assertDownloaded("HangarPlugin", hangar);
+        assertDownloaded("GithubPlugin", github);
+        assertNoLeftovers();
+
+        System.out.println("[DEBUG_LOG] Verified download tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test Modrinth versions are filtered by loader and prefer the game version")
+    void testModrinthFilters() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing Modrinth version filters...");
+
+        var modrinth = publish(UpdateHttpUtil.MODRINTH, "ModrinthPlugin", 1, "1.0", "1.1");
+        server.setModrinthGameVersion("1.21.4");
+
+        var provider = new ModrinthUpdateProvider(HangarUtil.VELOCITY, "1.21.1");
+        var file = provider.getLatestFile("1", Runnable::run).get(30, TimeUnit.SECONDS);
+        assertNotNull(file, "Expected the version to be found without the game version filter");
+        assertEquals("1.1", file.version(), "Expected the latest version");
+
+        var queries = server.getModrinthVersionQueries();
+        System.out.println("[DEBUG_LOG] " + queries);
+        assertEquals(2, queries.size(), "Expected a second request without the game version");
+        assertEquals("[\"velocity\"]", queries.get(0).get("loaders"), "Expected the Velocity loader");
+        assertEquals("[\"1.21.1\"]", queries.get(0).get("game_versions"), "Expected the game version first");
+        assertEquals("[\"velocity\"]", queries.get(1).get("loaders"), "Expected the loader to be kept");
+        assertNull(queries.get(1).get("game_versions"), "Expected the game version to be dropped");
+
+        assertDownloaded("ModrinthPlugin", modrinth);
+        assertEquals("[\"bukkit\",\"spigot\",\"paper\"]", server.getModrinthVersionQueries().get(2).get("loaders"), "Expected the Bukkit loaders by default");
+
+        System.out.println("[DEBUG_LOG] Modrinth version filter tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test files that do not match their hash are discarded")
+    void testChecksumMismatch() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing checksum mismatches...");
+
+        publish(UpdateHttpUtil.MODRINTH, "ModrinthPlugin", 1, "1.0", "1.1");
+        server.setCorruptFiles(true);
+
+        var result = downloader.download("ModrinthPlugin", false).get(30, TimeUnit.SECONDS);
+
+        assertEquals(DownloadResult.ResultType.CHECKSUM_MISMATCH, result.type(), "Expected the corrupted file to be rejected");
+        assertNull(result.target(), "Expected no target for a rejected file");
+        assertFalse(Files.exists(updateFolder.resolve("ModrinthPlugin.jar")), "Expected nothing to be moved into place");
+        assertNoLeftovers();
+
+        System.out.println("[DEBUG_LOG] Checksum mismatch tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test a staged file is replaced atomically")
+    void testStagedFileIsReplaced() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing replacing a staged file...");
+
+        var content = publish(UpdateHttpUtil.MODRINTH, "ModrinthPlugin", 1, "1.0", "1.2");
+        Files.createDirectories(updateFolder);
+        Files.writeString(updateFolder.resolve("ModrinthPlugin.jar"), "old update");
+
+        assertDownloaded("ModrinthPlugin", content);
+
+        server.setCorruptFiles(true);
+        var result = downloader.download("ModrinthPlugin", false).get(30, TimeUnit.SECONDS);
+
+        assertEquals(DownloadResult.ResultType.CHECKSUM_MISMATCH, result.type(), "Expected the corrupted file to be rejected");
+        assertArrayEquals(content, Files.readAllBytes(updateFolder.resolve("ModrinthPlugin.jar")), "Expected a rejected file to leave the staged file alone");
+        assertNoLeftovers();
+
+        System.out.println("[DEBUG_LOG] Staged file tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test download all only fetches out of date plugins")
+    void testDownloadAll() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing download all...");
+
+        for (var i = 0; i < 30; i++) {
+            var provider = i % 3 == 0? UpdateHttpUtil.MODRINTH : i % 3 == 1? UpdateHttpUtil.HANGAR : UpdateHttpUtil.GITHUB;
+            publish(provider, "Plugin" + i, i + 1, "1.0", i % 2 == 0? "1.1" : "1.0");
+        }
+        addPlugin("SpigotPlugin", "1.0");
+        server.list(UpdateHttpUtil.SPIGET, "SpigotPlugin", 100, "1.1");
+
+        var results = downloader.downloadAll().get(60, TimeUnit.SECONDS);
+
+        assertEquals(31, results.size(), "Expected a result for every plugin");
+        for (var i = 0; i < 30; i++) {
+            var expected = i % 2 == 0? DownloadResult.ResultType.DOWNLOADED : DownloadResult.ResultType.UP_TO_DATE;
+            assertEquals(expected, results.get("Plugin" + i).type(), "Unexpected result for Plugin" + i);
+        }
+        assertEquals(DownloadResult.ResultType.NOT_FOUND, results.get("SpigotPlugin").type(), "Expected SpiGet to offer no downloads");
+        try (var staged = Files.list(updateFolder)) {
+            assertEquals(15, staged.count(), "Expected only the out of date plugins to be staged");
+        }
+
+        System.out.println("[DEBUG_LOG] Download all tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test large files are streamed to disk")
+    void testLargeFile() throws Exception {
+        System.out.println("[DEBUG_LOG] Testing a large download...");
+
+        var content = new byte[48 * 1024 * 1024];
+        new Random(42).nextBytes(content);
+        addPlugin("LargePlugin", "1.0");
+        server.publish(UpdateHttpUtil.MODRINTH, "LargePlugin", 1, "2.0", content);
+
+        assertDownloaded("LargePlugin", content);
+        assertNoLeftovers();
+
+        System.out.println("[DEBUG_LOG] Large download tests passed!");
+    }
+
+    private byte[] publish(String provider, String name, long id, String installed, String latest) throws IOException {
+        addPlugin(name, installed);
+        var content = (name + " " + latest).getBytes(StandardCharsets.UTF_8);
+        server.publish(provider, name, id, latest, content);
+        if (provider.equals(UpdateHttpUtil.GITHUB)) mapPlugin(name).setGithub("stub/" + name.toLowerCase());
+        return content;
+    }
+
+    private void addPlugin(String name, String version) throws IOException {
+        var jar = Files.writeString(pluginsFolder.resolve(name + ".jar"), name + " " + version);
+        pluginManager.add(name, version, jar.toFile());
+    }
+
+    private ResourceMappingsConfig.ResourceInfo mapPlugin(String name) {
+        return resourceMappings.getResources().computeIfAbsent(name.toLowerCase(), ignored -> new ResourceMappingsConfig.ResourceInfo());
+    }
+
+    private void assertDownloaded(String name, byte[] content) throws Exception {
+        var result = downloader.download(name, false).get(60, TimeUnit.SECONDS);
+
+        assertEquals(DownloadResult.ResultType.DOWNLOADED, result.type(), "Expected " + name + " to be downloaded");
+        assertEquals(updateFolder.resolve(name + ".jar").toFile(), result.target(), "Expected the installed jar name to be kept");
+        assertArrayEquals(content, Files.readAllBytes(result.target().toPath()), "Expected " + name + " to be written completely");
+    }
+
+    private void assertNoLeftovers() throws IOException {
+        if (!Files.exists(updateFolder)) return;
+        try (var files = Files.list(updateFolder)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().endsWith(".part")), "Expected temporary files to be cleaned up");
+        }
+    }
+}
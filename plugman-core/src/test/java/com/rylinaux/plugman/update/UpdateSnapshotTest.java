@@ -0,0 +1,50 @@
+package com.rylinaux.plugman.update;
+
+import core.com.rylinaux.plugman.pojo.UpdateResult;
+import core.com.rylinaux.plugman.update.UpdateSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class to verify {@link UpdateSnapshot} merges the results of a pass
+ */
+public class UpdateSnapshotTest {
+
+    @Test
+    @DisplayName("Test a finished pass publishes its results at once")
+    void testCompleted() {
+        System.out.println("[DEBUG_LOG] Testing finished passes...");
+
+        var previous = UpdateSnapshot.of(List.of(
+                entry("Alpha", UpdateResult.ResultType.UP_TO_DATE, 10),
+                entry("Beta", UpdateResult.ResultType.UP_TO_DATE, 10),
+                entry("Gamma", UpdateResult.ResultType.UP_TO_DATE, 30),
+                entry("Removed", UpdateResult.ResultType.UP_TO_DATE, 10)), 10);
+
+        var results = Map.of(
+                "Alpha", entry("Alpha", UpdateResult.ResultType.OUT_OF_DATE, 20),
+                "Gamma", entry("Gamma", UpdateResult.ResultType.OUT_OF_DATE, 20),
+                "Delta", entry("Delta", UpdateResult.ResultType.UNKNOWN, 20));
+        var snapshot = previous.completed(List.of("Alpha", "Beta", "Gamma", "Delta"), results, 40);
+        System.out.println("[DEBUG_LOG] " + snapshot);
+
+        assertEquals(40, snapshot.completedAt(), "Expected the time the pass finished");
+        assertEquals(UpdateResult.ResultType.OUT_OF_DATE, snapshot.get("alpha").type(), "Expected the result of the pass");
+        assertEquals(10, snapshot.get("Beta").checkedAt(), "Expected a failed check to keep the last entry");
+        assertEquals(30, snapshot.get("Gamma").checkedAt(), "Expected a newer check made outside the pass to win");
+        assertEquals(UpdateResult.ResultType.UNKNOWN, snapshot.get("Delta").type(), "Expected a new plugin to be added");
+        assertNull(snapshot.get("Removed"), "Expected plugins that are gone to be dropped");
+        assertEquals(10, previous.get("Alpha").checkedAt(), "Expected the previous snapshot to be left alone");
+
+        System.out.println("[DEBUG_LOG] Finished pass tests passed!");
+    }
+
+    private static UpdateSnapshot.Entry entry(String name, UpdateResult.ResultType type, long checkedAt) {
+        return new UpdateSnapshot.Entry(name, type, "1.0", "1.1", checkedAt);
+    }
+}
@@ -0,0 +1,32 @@
+package com.rylinaux.plugman.util;
+
+import core.com.rylinaux.plugman.util.ScheduledTask;
+import core.com.rylinaux.plugman.util.ThreadUtil;
+
+import java.time.Duration;
+
+/**
+ * Thread util that runs everything on the calling thread, there is no main thread in these tests.
+ */
+public class DirectThreadUtil implements ThreadUtil {
+
+    @Override
+    public void async(Runnable runnable) {
+        runnable.run();
+    }
+
+    @Override
+    public void sync(Runnable runnable) {
+        runnable.run();
+    }
+
+    @Override
+    public ScheduledTask syncRepeating(Runnable runnable, Duration delay, Duration period) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ScheduledTask asyncRepeating(Runnable runnable, Duration delay, Duration period) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,105 @@
+package com.rylinaux.plugman.util;
+
+import com.rylinaux.plugman.update.QuietLogger;
+import com.rylinaux.plugman.update.StubPluginManager;
+import core.com.rylinaux.plugman.auto.AbstractAutoFeatureManager;
+import core.com.rylinaux.plugman.config.PlugManConfigurationManager;
+import core.com.rylinaux.plugman.config.model.PlugManConfig;
+import core.com.rylinaux.plugman.logging.PluginLogger;
+import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.services.ServiceRegistry;
+import core.com.rylinaux.plugman.util.ScheduledTask;
+import core.com.rylinaux.plugman.util.ThreadUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class to verify the scheduling periods passed to and through {@link ThreadUtil}
+ */
+public class ThreadUtilTest {
+
+    @Test
+    @DisplayName("Test durations are converted to whole ticks")
+    void testTicks() {
+        System.out.println("[DEBUG_LOG] Testing tick conversion...");
+
+        assertEquals(200, ThreadUtil.toPeriodTicks(Duration.ofSeconds(10)), "Expected 10 seconds to be 200 ticks");
+        assertEquals(20, ThreadUtil.toTicks(Duration.ofSeconds(1)), "Expected 1 second to be 20 ticks");
+        assertEquals(1, ThreadUtil.toTicks(Duration.ofMillis(1)), "Expected partial ticks to be rounded up");
+        assertEquals(2, ThreadUtil.toTicks(Duration.ofMillis(51)), "Expected partial ticks to be rounded up");
+        assertEquals(0, ThreadUtil.toTicks(Duration.ZERO), "Expected no delay to stay 0 ticks");
+        assertEquals(0, ThreadUtil.toTicks(Duration.ofMillis(-5)), "Expected a negative delay to be 0 ticks");
+        assertEquals(1, ThreadUtil.toPeriodTicks(Duration.ZERO), "Expected a period to be at least one tick");
+        assertEquals(72000, ThreadUtil.toPeriodTicks(Duration.ofHours(1)), "Expected 1 hour to be 72000 ticks");
+
+        System.out.println("[DEBUG_LOG] Tick conversion tests passed!");
+    }
+
+    @Test
+    @DisplayName("Test auto features are scheduled with the configured period")
+    void testAutoFeaturePeriod() {
+        System.out.println("[DEBUG_LOG] Testing auto feature periods...");
+
+        var config = new PlugManConfig();
+        config.getAutoLoad().setEnabled(true);
+        config.getAutoLoad().setCheckEverySeconds(10);
+        config.getAutoUnload().setEnabled(true);
+        config.getAutoUnload().setCheckEverySeconds(30);
+        config.getAutoReload().setEnabled(true);
+        config.getAutoReload().setCheckEverySeconds(1);
+
+        var threadUtil = new RecordingThreadUtil();
+        var logger = new QuietLogger();
+        var serviceRegistry = new ServiceRegistry();
+        serviceRegistry.register(PluginLogger.class, logger);
+        serviceRegistry.register(PluginManager.class, new StubPluginManager());
+        serviceRegistry.register(ThreadUtil.class, threadUtil);
+        serviceRegistry.register(PlugManConfigurationManager.class, new PlugManConfigurationManager(null, logger, null) {
+            @Override
+            public PlugManConfig getPlugManConfig() {
+                return config;
+            }
+        });
+
+        new AbstractAutoFeatureManager(serviceRegistry) {
+        }.setupAutoFeatures();
+
+        assertEquals(List.of(Duration.ofSeconds(10), Duration.ofSeconds(30), Duration.ofSeconds(1)), threadUtil.periods, "Expected the configured periods");
+        assertEquals(List.of(200L, 600L, 20L), threadUtil.periods.stream().map(ThreadUtil::toPeriodTicks).toList(), "Expected the periods in ticks");
+
+        System.out.println("[DEBUG_LOG] Auto feature period tests passed!");
+    }
+
+    private static class RecordingThreadUtil implements ThreadUtil {
+        private final List<Duration> periods = new ArrayList<>();
+
+        @Override
+        public void async(Runnable runnable) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void sync(Runnable runnable) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ScheduledTask syncRepeating(Runnable runnable, Duration delay, Duration period) {
+            return asyncRepeating(runnable, delay, period);
+        }
+
+        @Override
+        public ScheduledTask asyncRepeating(Runnable runnable, Duration delay, Duration period) {
+            assertEquals(period, delay, "Expected the first run after one period");
+            periods.add(period);
+            return ScheduledTask.of(() -> {
+            }, () -> false);
+        }
+    }
+}
@@ -3,7 +3,7 @@ package paper.com.rylinaux.plugman;
 import bukkit.com.rylinaux.plugman.PlugManBukkit;
 import bukkit.com.rylinaux.plugman.pluginmanager.BukkitPluginManager;
 import core.com.rylinaux.plugman.plugins.PluginManager;
-import core.com.rylinaux.plugman.util.ThreadUtil;
+import core.com.rylinaux.plugman.profiling.StartupSampler;
 import io.papermc.paper.plugin.bootstrap.BootstrapContext;
 import io.papermc.paper.plugin.bootstrap.PluginBootstrap;
 import io.papermc.paper.plugin.bootstrap.PluginProviderContext;
@@ -11,18 +11,21 @@ import lombok.extern.slf4j.Slf4j;
 import org.bukkit.plugin.java.JavaPlugin;
 import paper.com.rylinaux.plugman.commands.OldPaperCommandCreator;
 import paper.com.rylinaux.plugman.commands.PaperCommandCreator;
-import paper.com.rylinaux.plugman.util.PaperThreadUtil;
 
 @Slf4j
 public class PaperPlugManBootstrapper implements PluginBootstrap {
+    private StartupSampler startupSampler;
 
     @Override
     public void bootstrap(BootstrapContext bootstrapContext) {
+        // Bootstrapping runs before the server thread exists, so every plugin's onLoad can be timed from here
+        startupSampler = StartupSampler.start("Server thread");
     }
 
     @Override
     public JavaPlugin createPlugin(PluginProviderContext context) {
         var plugMan = new PlugManBukkit();
+        plugMan.startupSampler = startupSampler;
 
         try {
             plugMan.commandCreator = new PaperCommandCreator();
@@ -47,9 +50,6 @@ public class PaperPlugManBootstrapper implements PluginBootstrap {
             registry.register(PluginManager.class, bukkitManager);
 
             initializer.showPaperWarningIfNeeded(bukkitManager);
-
-            registry.unregister(ThreadUtil.class);
-            registry.register(ThreadUtil.class, new PaperThreadUtil());
         };
 
         return plugMan;
@@ -28,8 +28,11 @@ package paper.com.rylinaux.plugman.pluginmanager;
 
 import bukkit.com.rylinaux.plugman.PlugManBukkit;
 import bukkit.com.rylinaux.plugman.pluginmanager.BukkitPluginManager;
+import bukkit.com.rylinaux.plugman.util.PlatformScheduler;
 import core.com.rylinaux.plugman.PluginResult;
 import core.com.rylinaux.plugman.plugins.Plugin;
+import core.com.rylinaux.plugman.profiling.PluginOperationEvent;
+import core.com.rylinaux.plugman.profiling.PluginOperationEvent.Phase;
 import core.com.rylinaux.plugman.util.reflection.ClassAccessor;
 import core.com.rylinaux.plugman.util.reflection.FieldAccessor;
 import core.com.rylinaux.plugman.util.reflection.MethodAccessor;
@@ -37,7 +40,6 @@ import lombok.SneakyThrows;
 import lombok.experimental.Delegate;
 import org.bukkit.plugin.EventExecutor;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -54,24 +56,26 @@ public class ModernPaperPluginManager extends PaperPluginManager {
 
     @Override
     public PluginResult unload(Plugin plugin) {
-        var result = unloadWithPaper(plugin);
-        if (!result.second().success()) return result.second();
+        return PluginOperationEvent.record(Phase.UNLOAD, plugin, () -> {
+            var result = unloadWithPaper(plugin);
+            if (!result.second().success()) return result.second();
 
-        var unloadData = setupUnloadData(result.first());
-        if (unloadData == null) return new PluginResult(false, "unload.failed");
+            var unloadData = setupUnloadData(result.first());
+            if (unloadData == null) return new PluginResult(false, "unload.failed");
 
-        cleanupEventExecutors(plugin, unloadData);
-        removeFromPluginLists(plugin, unloadData);
+            cleanupEventExecutors(plugin, unloadData);
+            removeFromPluginLists(plugin, unloadData);
 
-        if (!cleanupSafeClassDefiner(plugin)) return new PluginResult(false, "unload.failed");
+            if (!cleanupSafeClassDefiner(plugin)) return new PluginResult(false, "unload.failed");
 
-        scheduleCleanupTask();
+            scheduleCleanupTask();
 
-        syncCommands();
-        closeClassLoader(plugin);
-        System.gc();
+            syncCommands();
+            closeClassLoader(plugin);
+            System.gc();
 
-        return new PluginResult(true, "unload.unloaded");
+            return new PluginResult(true, "unload.unloaded");
+        });
     }
 
     @SneakyThrows
@@ -267,19 +271,11 @@ public class ModernPaperPluginManager extends PaperPluginManager {
     }
 
     private void scheduleCleanupTask() {
-        if (isFolia()) {
-            var foliaLib = new com.tcoded.folialib.FoliaLib(PlugManBukkit.getInstance());
-            foliaLib.getScheduler().runAsync((task) -> {
-                // attempt to do the same thing for folia
-            });
-        } else new BukkitRunnable() {
-            @Override
-            public void run() {
-                // schedule an empty BukkitRunnable to clear/reset the "head" field in CraftScheduler.
-                // that field can keep plugin classes loaded, and scheduling an empty runnable
-                // seems nicer and less harmful than clearing that field with reflection
-            }
-        }.runTask(PlugManBukkit.getInstance());
+        PlugManBukkit.getInstance().<PlatformScheduler>get(PlatformScheduler.class).runSync(() -> {
+            // schedule an empty task to clear/reset the "head" field in CraftScheduler.
+            // that field can keep plugin classes loaded, and scheduling an empty runnable
+            // seems nicer and less harmful than clearing that field with reflection
+        });
     }
 
     private record ModernUnloadData(@Delegate CommonUnloadData commonData, Map<String, org.bukkit.plugin.Plugin> lookupNames,
@@ -32,6 +32,8 @@ import bukkit.com.rylinaux.plugman.pluginmanager.BasePluginManager;
 import bukkit.com.rylinaux.plugman.pluginmanager.BukkitPluginManager;
 import core.com.rylinaux.plugman.PluginResult;
 import core.com.rylinaux.plugman.plugins.Plugin;
+import core.com.rylinaux.plugman.profiling.PluginOperationEvent;
+import core.com.rylinaux.plugman.profiling.PluginOperationEvent.Phase;
 import core.com.rylinaux.plugman.util.reflection.ClassAccessor;
 import core.com.rylinaux.plugman.util.reflection.FieldAccessor;
 import core.com.rylinaux.plugman.util.reflection.MethodAccessor;
@@ -46,7 +48,6 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import java.util.jar.JarFile;
 import java.util.logging.Level;
 
@@ -145,24 +146,26 @@ public class PaperPluginManager extends BasePluginManager {
      */
     @Override
     public PluginResult load(String name) {
-        var pluginFile = findPluginFile(name);
-        if (pluginFile == null) return new PluginResult(false, "load.cannot-find");
+        return PluginOperationEvent.record(Phase.LOAD, name, () -> {
+            var pluginFile = findPluginFile(name);
+            if (pluginFile == null) return new PluginResult(false, "load.cannot-find");
 
-        var validationResult = validatePluginFile(pluginFile);
-        if (!validationResult.success()) return validationResult;
+            var validationResult = validatePluginFile(pluginFile);
+            if (!validationResult.success()) return validationResult;
 
-        PlugManBukkit.getInstance().getLogger().info("Attempting to load " + pluginFile.getPath());
+            PlugManBukkit.getInstance().getLogger().info("Attempting to load " + pluginFile.getPath());
 
-        var target = loadPluginWithPaper(pluginFile);
-        if (target == null) {
-            target = loadAndEnablePlugin(pluginFile, true);
-            if (target == null) return new PluginResult(false, "load.invalid-plugin");
-        }
+            var target = loadPluginWithPaper(pluginFile);
+            if (target == null) {
+                target = loadAndEnablePlugin(pluginFile, true);
+                if (target == null) return new PluginResult(false, "load.invalid-plugin");
+            }
 
-        scheduleCommandLoading();
-        PlugManBukkit.getInstance().getFilePluginMap().put(pluginFile.getName(), target.getName());
+            scheduleCommandLoading();
+            PlugManBukkit.getInstance().setPluginNameForFile(pluginFile.getName(), target.getName());
 
-        return new PluginResult(true, "load.loaded");
+            return new PluginResult(true, "load.loaded");
+        });
     }
 
 
@@ -196,15 +199,6 @@ public class PaperPluginManager extends BasePluginManager {
     }
 
 
-    @Override
-    protected synchronized void scheduleCommandLoading() {
-        if (isFolia()) {
-            var foliaLib = new com.tcoded.folialib.FoliaLib(PlugManBukkit.getInstance());
-            foliaLib.getScheduler().runLater(this::syncCommands, 500, TimeUnit.MILLISECONDS);
-        } else super.scheduleCommandLoading();
-    }
-
-
     /**
      * Unload a plugin.
      *
@@ -213,14 +207,16 @@ public class PaperPluginManager extends BasePluginManager {
      */
     @Override
     public PluginResult unload(Plugin plugin) {
-        var out = unloadWithPaper(plugin);
-        if (!out.second().success()) return out.second();
+        return PluginOperationEvent.record(Phase.UNLOAD, plugin, () -> {
+            var out = unloadWithPaper(plugin);
+            if (!out.second().success()) return out.second();
 
-        closeClassLoader(plugin);
-        cleanupPaperPluginManager(plugin);
-        System.gc();
+            closeClassLoader(plugin);
+            cleanupPaperPluginManager(plugin);
+            System.gc();
 
-        return new PluginResult(true, "unload.unloaded");
+            return new PluginResult(true, "unload.unloaded");
+        });
     }
 
     public Tuple<CommonUnloadData, PluginResult> unloadWithPaper(Plugin plugin) {
@@ -94,6 +94,7 @@ public final class PlugManVelocity {
         server.getCommandManager().register(meta, new PlugManCommandHandler());
 
         initializer.setupAutoFeatures();
+        initializer.setupUpdateScanner();
     }
 
     @Subscribe
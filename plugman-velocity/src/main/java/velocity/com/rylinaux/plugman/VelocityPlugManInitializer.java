@@ -32,13 +32,16 @@ import core.com.rylinaux.plugman.file.messaging.MessageFormatter;
 import core.com.rylinaux.plugman.initialization.BasePlugManInitializer;
 import core.com.rylinaux.plugman.logging.PluginLogger;
 import core.com.rylinaux.plugman.plugins.PluginManager;
+import core.com.rylinaux.plugman.profiling.ProfilerRegistry;
 import core.com.rylinaux.plugman.services.ServiceRegistry;
 import core.com.rylinaux.plugman.util.ThreadUtil;
+import core.com.rylinaux.plugman.util.updatechecker.HangarUtil;
 import velocity.com.rylinaux.plugman.auto.VelocityAutoFeatureManager;
 import velocity.com.rylinaux.plugman.config.VelocityConfigurationProvider;
 import velocity.com.rylinaux.plugman.config.VelocityPlugManConfigurationManager;
 import velocity.com.rylinaux.plugman.messaging.VelocityColorFormatter;
 import velocity.com.rylinaux.plugman.pluginmanager.VelocityPluginManager;
+import velocity.com.rylinaux.plugman.profiling.VelocityTaskProfiler;
 import velocity.com.rylinaux.plugman.util.VelocityThreadUtil;
 import velocity.com.rylinaux.plugman.plugin.VelocityPlugin;
 import com.velocitypowered.api.plugin.PluginContainer;
@@ -79,6 +82,11 @@ public class VelocityPlugManInitializer extends BasePlugManInitializer {
         return new VelocityThreadUtil();
     }
 
+    @Override
+    protected void registerProfilers(ProfilerRegistry profilers) {
+        profilers.register(new VelocityTaskProfiler(serviceRegistry.get(ThreadUtil.class)));
+    }
+
     @Override
     protected MessageFormatter createMessageFormatter() throws IOException {
         var messagesFile = getDataFolder().toPath().resolve("messages.yml");
@@ -103,4 +111,9 @@ public class VelocityPlugManInitializer extends BasePlugManInitializer {
     public File getDataFolder() {
         return plugin.getDataDirectory().toFile();
     }
-}
\ No newline at end of file
+
+    @Override
+    protected String getHangarPlatform() {
+        return HangarUtil.VELOCITY;
+    }
+}
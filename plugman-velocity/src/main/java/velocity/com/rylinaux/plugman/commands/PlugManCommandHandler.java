@@ -44,7 +44,7 @@ public class PlugManCommandHandler implements SimpleCommand {
     /**
      * Valid command names.
      */
-    private static final String[] COMMANDS = {"check", "disable", "dump", "enable", "help", "info", "list", "load", "lookup", "reload", "restart", "unload", "usage"};
+    private static final String[] COMMANDS = {"check", "disable", "download", "dump", "enable", "help", "info", "list", "load", "lookup", "profile", "reload", "restart", "startup", "stats", "unload", "usage"};
 
     @Override
     public void execute(Invocation invocation) {
@@ -66,6 +66,10 @@ public class PlugManCommandHandler implements SimpleCommand {
             case "disable", "unload" -> new UnloadCommand(plugManSender, registry);
             case "restart", "reload" -> new ReloadCommand(plugManSender, registry);
             case "check" -> new CheckCommand(plugManSender, registry);
+            case "download" -> new DownloadCommand(plugManSender, registry);
+            case "profile" -> new ProfileCommand(plugManSender, registry);
+            case "startup" -> new StartupCommand(plugManSender, registry);
+            case "stats" -> new StatsCommand(plugManSender, registry);
             default -> new HelpCommand(plugManSender, registry);
         };
 
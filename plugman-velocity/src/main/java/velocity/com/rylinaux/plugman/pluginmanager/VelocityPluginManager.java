@@ -1,11 +1,14 @@
 package velocity.com.rylinaux.plugman.pluginmanager;
 
+import com.google.common.collect.Multimap;
 import com.velocitypowered.api.command.CommandManager;
+import com.velocitypowered.api.command.CommandMeta;
 import com.velocitypowered.api.plugin.PluginContainer;
 import com.velocitypowered.api.proxy.ProxyServer;
 import core.com.rylinaux.plugman.PluginResult;
 import core.com.rylinaux.plugman.config.PlugManConfigurationManager;
 import core.com.rylinaux.plugman.plugins.Command;
+import core.com.rylinaux.plugman.plugins.CommandIndex;
 import core.com.rylinaux.plugman.plugins.CommandMapWrap;
 import core.com.rylinaux.plugman.plugins.Plugin;
 import core.com.rylinaux.plugman.plugins.PluginManager;
@@ -27,6 +30,7 @@ import java.util.stream.Collectors;
  * @author rylinaux
  */
 public class VelocityPluginManager implements PluginManager {
+    private final CommandIndex<CommandMeta> commandIndex = new CommandIndex<>(this::getCommandMetas, this::resolveOwner);
 
     private ProxyServer getServer() {
         return PlugManVelocity.getInstance().getServer();
@@ -105,44 +109,72 @@ public class VelocityPluginManager implements PluginManager {
                 .orElse("Unknown");
     }
 
+    /**
+     * Count commands by the plugin named in their meta. Velocity has no per plugin view of the event bus,
+     * so listeners are not counted.
+     */
     @Override
-    public String getUsages(Plugin plugin) {
-        var list = new ArrayList<String>();
+    public Map<String, Integer> getCommandCounts() {
+        var commandManager = getServer().getCommandManager();
+        var commands = new HashMap<String, Set<Object>>();
+        for (var alias : commandManager.getAliases()) {
+            var commandMeta = commandManager.getCommandMeta(alias);
+            if (commandMeta == null || !(commandMeta.getPlugin() instanceof PluginContainer container)) continue;
 
-        for (var alias : getServer().getCommandManager().getAliases()) {
-            var name = plugin.getName();
+            var id = container.getDescription().getId().toLowerCase(Locale.ROOT);
+            commands.computeIfAbsent(id, ignored -> Collections.newSetFromMap(new IdentityHashMap<>())).add(commandMeta);
+        }
 
-            if (!findByCommand(alias).contains(name)) continue;
-            list.add(alias);
+        var counts = new HashMap<String, Integer>();
+        commands.forEach((id, metas) -> counts.put(id, metas.size()));
+        return counts;
+    }
+
+    /**
+     * Count tasks by plugin, from the scheduler's {@code tasksByPlugin}, which is keyed by plugin instance.
+     */
+    @SneakyThrows
+    @Override
+    public Map<String, Integer> getTaskCounts() {
+        var scheduler = getServer().getScheduler();
+        var tasksByPlugin = FieldAccessor.<Multimap<Object, ?>>getValue(scheduler.getClass(), "tasksByPlugin", scheduler);
+        if (tasksByPlugin == null) return null;
+
+        var counts = new HashMap<String, Integer>();
+        synchronized (tasksByPlugin) {
+            for (var entry : tasksByPlugin.asMap().entrySet())
+                getServer().getPluginManager().fromInstance(entry.getKey())
+                        .ifPresent(container -> counts.merge(container.getDescription().getId().toLowerCase(Locale.ROOT), entry.getValue().size(), Integer::sum));
         }
+        return counts;
+    }
 
-        return String.join(", ", list);
+    @Override
+    public String getUsages(Plugin plugin) {
+        return String.join(", ", commandIndex.getCommands(plugin.getName()).keySet());
     }
 
     @Override
     public List<String> findByCommand(String command) {
-        var list = new ArrayList<String>();
-
         try {
-            var commandMeta = getServer().getCommandManager().getCommandMeta(command);
-            if (commandMeta != null) {
-                var pluginContainer = commandMeta.getPlugin();
-                if (pluginContainer instanceof PluginContainer container) {
-                    var pluginName = container.getDescription().getName();
-                    pluginName.ifPresent(list::add);
-                }
-            }
-
-            for (var alias : getServer().getCommandManager().getAliases())
-                if (alias.contains(":")) {
-                    var parts = alias.split(":");
-                    if (parts.length == 2 && parts[1].equalsIgnoreCase(command)) if (!list.contains(parts[0])) list.add(parts[0]);
-                }
+            return new ArrayList<>(commandIndex.findOwners(command));
         } catch (Exception exception) {
             PlugManVelocity.getInstance().getLogger().warn("Error finding command: {}", command, exception);
+            return new ArrayList<>();
         }
+    }
 
-        return list;
+    /**
+     * Resolve the plugin owning a command by the id of the plugin that registered it, or by its namespace.
+     */
+    private String resolveOwner(String alias, CommandMeta commandMeta) {
+        if (commandMeta.getPlugin() instanceof PluginContainer container) return container.getDescription().getId();
+
+        var separator = alias.indexOf(':');
+        if (separator <= 0) return null;
+        return getServer().getPluginManager().getPlugin(alias.substring(0, separator))
+                .map(container -> container.getDescription().getId())
+                .orElse(null);
     }
 
     @Override
@@ -167,11 +199,14 @@ public class VelocityPluginManager implements PluginManager {
         return new PluginResult(false, "Not implemented");
     }
 
-    @SneakyThrows
     @Override
     public CommandMapWrap<?> getKnownCommands() {
-        var commandMetas = FieldAccessor.<Map<String, com.velocitypowered.api.command.CommandMeta>>getValue("commandMetas", getCommandManager());
-        return new CommandMapWrap<>(commandMetas, VelocityCommand::new);
+        return new CommandMapWrap<>(getCommandMetas(), VelocityCommand::new);
+    }
+
+    @SneakyThrows
+    private Map<String, CommandMeta> getCommandMetas() {
+        return FieldAccessor.getValue("commandMetas", getCommandManager());
     }
 
     public void setKnownCommands(Map<String, Command> knownCommands) {
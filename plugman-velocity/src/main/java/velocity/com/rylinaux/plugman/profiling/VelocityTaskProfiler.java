@@ -0,0 +1,51 @@
+package velocity.com.rylinaux.plugman.profiling;
+
+import com.google.common.collect.Multimap;
+import com.velocitypowered.api.scheduler.ScheduledTask;
+import core.com.rylinaux.plugman.profiling.TaskProfiler;
+import core.com.rylinaux.plugman.util.ThreadUtil;
+import core.com.rylinaux.plugman.util.reflection.FieldAccessor;
+import velocity.com.rylinaux.plugman.PlugManVelocity;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Times tasks on Velocity's scheduler. The scheduler keeps its tasks by plugin instance in {@code tasksByPlugin},
+ * with their body in {@code runnable} or {@code consumer}, and every task runs on its thread pool, so they are all
+ * async.
+ */
+public class VelocityTaskProfiler extends TaskProfiler<ScheduledTask> {
+
+    public VelocityTaskProfiler(ThreadUtil threadUtil) {
+        super(threadUtil, "runnable", "consumer");
+    }
+
+    @Override
+    protected Collection<ScheduledTask> getPendingTasks() {
+        var scheduler = PlugManVelocity.getInstance().getServer().getScheduler();
+
+        try {
+            Multimap<Object, ? extends ScheduledTask> tasks = FieldAccessor.getValue(scheduler.getClass(), "tasksByPlugin", scheduler);
+            if (tasks == null) return List.of();
+
+            synchronized (tasks) {
+                return List.copyOf(tasks.values());
+            }
+        } catch (IllegalAccessException exception) {
+            return List.of();
+        }
+    }
+
+    @Override
+    protected String getOwner(ScheduledTask task) {
+        return PlugManVelocity.getInstance().getServer().getPluginManager().fromInstance(task.plugin())
+                .map(container -> container.getDescription().getId())
+                .orElse(null);
+    }
+
+    @Override
+    protected boolean isSync(ScheduledTask task) {
+        return false;
+    }
+}
@@ -1,10 +1,11 @@
 package velocity.com.rylinaux.plugman.util;
 
+import com.velocitypowered.api.scheduler.TaskStatus;
+import core.com.rylinaux.plugman.util.ScheduledTask;
 import core.com.rylinaux.plugman.util.ThreadUtil;
 import velocity.com.rylinaux.plugman.PlugManVelocity;
 
 import java.time.Duration;
-import java.util.concurrent.TimeUnit;
 
 public class VelocityThreadUtil implements ThreadUtil {
 
@@ -21,20 +22,17 @@ public class VelocityThreadUtil implements ThreadUtil {
     }
 
     @Override
-    public void syncRepeating(Runnable runnable, long delay, long period) {
-        PlugManVelocity.getInstance().getServer().getScheduler()
-                .buildTask(PlugManVelocity.getInstance(), runnable)
-                .delay(Duration.ofMillis(delay))
-                .repeat(Duration.ofMillis(period))
-                .schedule();
+    public ScheduledTask syncRepeating(Runnable runnable, Duration delay, Duration period) {
+        return asyncRepeating(runnable, delay, period);
     }
 
     @Override
-    public void asyncRepeating(Runnable runnable, long delay, long period) {
-        PlugManVelocity.getInstance().getServer().getScheduler()
+    public ScheduledTask asyncRepeating(Runnable runnable, Duration delay, Duration period) {
+        var task = PlugManVelocity.getInstance().getServer().getScheduler()
                 .buildTask(PlugManVelocity.getInstance(), runnable)
-                .delay(Duration.ofMillis(delay))
-                .repeat(Duration.ofMillis(period))
+                .delay(delay)
+                .repeat(period)
                 .schedule();
+        return ScheduledTask.of(task::cancel, () -> task.status() == TaskStatus.CANCELLED);
     }
-}
\ No newline at end of file
+}